@@ -0,0 +1,48 @@
+package com.safebank.api.benchmarks;
+
+import com.safebank.api.entity.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+
+/**
+ * 이체 한 건마다 호출되는 Account 잔액 연산 (BigDecimal 덧셈/뺄셈/비교)
+ */
+@State(Scope.Thread)
+public class AccountBenchmark {
+
+    // 반복(iteration) 동안 출금을 계속해도 잔액이 부족해지지 않을 만큼 크게 잡는다
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000000000.00");
+
+    private final BigDecimal amount = new BigDecimal("10000.00");
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = Account.builder()
+                .accountNumber("3333123456789012")
+                .balance(INITIAL_BALANCE)
+                .build();
+    }
+
+    @Benchmark
+    public BigDecimal deposit() {
+        account.deposit(amount);
+        return account.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal withdraw() {
+        account.withdraw(amount);
+        return account.getBalance();
+    }
+
+    @Benchmark
+    public boolean hasEnoughBalance() {
+        return account.hasEnoughBalance(amount);
+    }
+}
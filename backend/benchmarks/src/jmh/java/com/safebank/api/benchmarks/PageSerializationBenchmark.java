@@ -0,0 +1,58 @@
+package com.safebank.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebank.api.dto.response.ApiResponse;
+import com.safebank.api.dto.response.TransactionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래 내역 조회 응답 (ApiResponse<Page<TransactionResponse>>, 20건) JSON 직렬화
+ * ObjectMapper는 Spring Boot와 같은 기본 설정(Jackson2ObjectMapperBuilder)으로 만든다
+ */
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Page<TransactionResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<TransactionResponse> content = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(TransactionResponse.builder()
+                    .id((long) i + 1)
+                    .fromAccountNumber("3333123456789012")
+                    .toAccountNumber("3333234567890123")
+                    .amount(new BigDecimal("10000.00").add(BigDecimal.valueOf(i)))
+                    .type("TRANSFER")
+                    .status("COMPLETED")
+                    .description("생활비 " + i)
+                    .createdAt(now.minusMinutes(i))
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(page));
+    }
+}
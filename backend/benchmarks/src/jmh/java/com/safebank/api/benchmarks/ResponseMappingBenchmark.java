@@ -0,0 +1,86 @@
+package com.safebank.api.benchmarks;
+
+import com.safebank.api.dto.response.AccountResponse;
+import com.safebank.api.dto.response.ApiResponse;
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 엔티티 -> 응답 DTO 변환과 ApiResponse 응답 포장 (timestamp 문자열 생성 포함)
+ */
+@State(Scope.Thread)
+public class ResponseMappingBenchmark {
+
+    private Account account;
+    private Transaction transaction;
+    private TransactionResponse transactionResponse;
+
+    @Setup
+    public void setUp() {
+        Member member = Member.builder()
+                .id(1L)
+                .name("홍길동")
+                .email("hong@safebank.com")
+                .phoneNumber("010-1234-5678")
+                .status(MemberStatus.ACTIVE)
+                .build();
+
+        account = Account.builder()
+                .id(1L)
+                .accountNumber("3333123456789012")
+                .member(member)
+                .balance(new BigDecimal("1500000.00"))
+                .status(AccountStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        Account toAccount = Account.builder()
+                .id(2L)
+                .accountNumber("3333234567890123")
+                .member(member)
+                .balance(new BigDecimal("500000.00"))
+                .status(AccountStatus.ACTIVE)
+                .build();
+
+        transaction = Transaction.builder()
+                .id(1L)
+                .fromAccount(account)
+                .toAccount(toAccount)
+                .amount(new BigDecimal("10000.00"))
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .description("생활비")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        transactionResponse = TransactionResponse.from(transaction);
+    }
+
+    @Benchmark
+    public TransactionResponse transactionResponseFrom() {
+        return TransactionResponse.from(transaction);
+    }
+
+    @Benchmark
+    public AccountResponse accountResponseFrom() {
+        return AccountResponse.from(account);
+    }
+
+    @Benchmark
+    public ApiResponse<TransactionResponse> apiResponseSuccess() {
+        return ApiResponse.success(transactionResponse);
+    }
+}
@@ -0,0 +1,75 @@
+package com.safebank.api.archive;
+
+import com.safebank.api.config.TransactionArchiveProperties;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 거래 보관 이동기
+ * 생성 후 hotRetention이 지난 거래를 청크 단위로 보관 테이블에 같은 ID로 복사하고 거래 테이블에서 삭제한다 (청크마다 한 트랜잭션)
+ * 거래 테이블에는 최근 거래만 남으므로 거래 내역 인덱스와 버퍼 풀 사용량이 전체 거래 수가 아닌 보관 기간에 비례한다
+ * 처리 대기(PENDING) 거래와 스냅샷으로 접히지 않은 분개가 있는 거래는 옮기지 않는다 (접힌 분개는 같은 청크 트랜잭션에서 삭제)
+ */
+@Component
+@ConditionalOnProperty(prefix = "safebank.transaction-archive", name = "enabled", havingValue = "true")
+@Slf4j
+public class TransactionArchiver {
+
+    private final TransactionArchiveProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionArchiver(TransactionArchiveProperties properties, TransactionRepository transactionRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 보관 기간이 지난 거래 이동
+     * @return 옮긴 거래 수
+     */
+    @Scheduled(fixedDelayString = "${safebank.transaction-archive.move-interval:PT1M}", initialDelayString = "${safebank.transaction-archive.move-interval:PT1M}")
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getHotRetention());
+        int moved = 0;
+
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            Integer count = transactionTemplate.execute(status -> moveChunk(cutoff));
+            moved += count;
+            if (count < properties.getChunkSize()) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("보관 기간이 지난 거래 {}건을 보관 테이블로 옮겼습니다. 기준 시각: {}", moved, cutoff);
+        }
+
+        return moved;
+    }
+
+    private int moveChunk(LocalDateTime cutoff) {
+        List<Long> ids = transactionRepository.findArchivableIds(cutoff, TransactionStatus.PENDING, PageRequest.of(0, properties.getChunkSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        transactionRepository.copyToArchive(ids);
+        // 접힌 분개는 잔액 계산에 쓰이지 않으므로, 거래 행을 지울 수 있도록 함께 정리한다
+        transactionRepository.deletePostingsByTransactionIdIn(ids);
+        transactionRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+}
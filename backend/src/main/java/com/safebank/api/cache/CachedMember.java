@@ -0,0 +1,33 @@
+package com.safebank.api.cache;
+
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캐시에 보관하는 회원 값 (엔티티를 스레드 간에 공유하지 않도록 불변 값으로 복사)
+ */
+record CachedMember(Long id, String name, String email, String phoneNumber, MemberStatus status,
+                    LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    static CachedMember from(Member member) {
+        return new CachedMember(member.getId(), member.getName(), member.getEmail(), member.getPhoneNumber(),
+                member.getStatus(), member.getCreatedAt(), member.getUpdatedAt());
+    }
+
+    /**
+     * 조회할 때마다 새 인스턴스를 만들어 반환 (영속 상태가 아님)
+     */
+    Member toMember() {
+        return Member.builder()
+                .id(id)
+                .name(name)
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
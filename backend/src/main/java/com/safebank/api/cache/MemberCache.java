@@ -0,0 +1,97 @@
+package com.safebank.api.cache;
+
+import com.safebank.api.config.MemberCacheProperties;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.entity.Member;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 회원 조회 캐시 (ID, 이메일)
+ * 회원은 거의 바뀌지 않고 계좌 생성/조회 때마다 읽히므로 조회 결과를 메모리에 둔다
+ * 캐시 적중 시 영속 상태가 아닌 사본을 반환하므로, 회원을 수정하려면 리포지토리로 다시 조회해야 한다
+ * 회원 변경은 MemberCacheInvalidator가 커밋 후 무효화한다
+ * 무효화 직후 복제 지연으로 변경 전 회원을 다시 채우지 않도록 캐시 미스 조회는 주 DB에서 한다
+ */
+@Component
+public class MemberCache {
+
+    private final NearCache<Long, CachedMember> byId;
+    private final NearCache<String, CachedMember> byEmail;
+    private final ReadYourWrites readYourWrites;
+
+    public MemberCache(MemberCacheProperties properties, ReadYourWrites readYourWrites) {
+        this.byId = new NearCache<>(properties.getMaxEntries(), properties.getTtl());
+        this.byEmail = new NearCache<>(properties.getMaxEntries(), properties.getTtl());
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * ID로 조회 (캐시에 없으면 loader로 읽어 채움)
+     * @param id
+     * @param loader 캐시 미스 시 DB 조회
+     * @return
+     */
+    public Optional<Member> findById(Long id, Function<Long, Optional<Member>> loader) {
+        return find(byId, id, loader);
+    }
+
+    /**
+     * 이메일로 조회 (캐시에 없으면 loader로 읽어 채움)
+     * @param email
+     * @param loader 캐시 미스 시 DB 조회
+     * @return
+     */
+    public Optional<Member> findByEmail(String email, Function<String, Optional<Member>> loader) {
+        return find(byEmail, email, loader);
+    }
+
+    /**
+     * 회원 생성
+     * 새 회원은 캐시에 없지만, 같은 키로 진행 중인 조회가 있으면 그 결과를 버리도록 버전을 올린다
+     */
+    void invalidateInserted(Member member) {
+        byId.invalidate(member.getId());
+        byEmail.invalidate(member.getEmail());
+    }
+
+    /**
+     * 회원 수정/삭제
+     * 이메일이 바뀌었을 수 있으므로 이메일 캐시는 통째로 비운다 (회원 변경은 드묾)
+     */
+    void invalidateChanged(Member member) {
+        byId.invalidate(member.getId());
+        byEmail.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    public NearCache<Long, ?> getByIdCache() {
+        return byId;
+    }
+
+    public NearCache<String, ?> getByEmailCache() {
+        return byEmail;
+    }
+
+    private <K> Optional<Member> find(NearCache<K, CachedMember> cache, K key, Function<K, Optional<Member>> loader) {
+        CachedMember cached = cache.get(key);
+        if (cached != null) {
+            return Optional.of(cached.toMember());
+        }
+
+        long readVersion = cache.version();
+        Optional<Member> loaded;
+        try (ReadYourWrites.Pin pin = readYourWrites.pinToPrimary()) {
+            loaded = loader.apply(key);
+        }
+        loaded.ifPresent(member -> cache.put(key, CachedMember.from(member), readVersion));
+
+        return loaded;
+    }
+}
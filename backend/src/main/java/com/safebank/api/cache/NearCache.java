@@ -0,0 +1,147 @@
+package com.safebank.api.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크기 제한(LRU) + TTL 메모리 캐시, 적중/미스/제거 횟수를 함께 센다
+ * 1. 최대 크기를 넘으면 가장 오래 조회되지 않은 항목을 버린다 (maxEntries가 0이면 아무것도 담지 않음)
+ * 2. 만료된 항목은 조회 시점에 미스로 처리하고 지운다
+ * 3. 무효화할 때마다 버전을 올리고, 무효화 전에 DB에서 읽은 값은 put에서 버린다 (읽는 도중 커밋된 변경을 옛 값으로 덮지 않도록)
+ * 가상 스레드로 요청을 처리할 때 캐리어 스레드가 고정되지 않도록 synchronized 대신 ReentrantLock을 사용한다
+ */
+public class NearCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    // 접근 순서 LinkedHashMap: 조회한 항목이 맨 뒤로 가므로 맨 앞이 가장 오래 조회되지 않은 항목
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public NearCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * @param key
+     * @return 값 (없거나 만료됐으면 null)
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 버전 (DB에서 읽기 전에 받아 두었다가 put에 넘긴다)
+     */
+    public long version() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 값 저장 (readVersion 이후 무효화가 있었으면 저장하지 않음)
+     * @param key
+     * @param value
+     * @param readVersion 값을 읽기 전에 받은 version()
+     */
+    public void put(K key, V value, long readVersion) {
+        lock.lock();
+        try {
+            if (maxEntries == 0 || readVersion != version) {
+                return;
+            }
+
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            if (entries.size() > maxEntries) {
+                Iterator<K> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            version++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            version++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 크기 제한으로 버린 항목 수 (만료, 무효화는 포함하지 않음)
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hit = getHits();
+        long total = hit + getMisses();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
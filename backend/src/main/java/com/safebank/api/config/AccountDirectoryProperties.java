@@ -0,0 +1,20 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 계좌번호 -> 계좌 ID 메모리 디렉터리 설정 (safebank.account-directory.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.account-directory")
+public class AccountDirectoryProperties {
+
+    /**
+     * 디렉터리 슬롯을 힙 밖(direct 메모리)에 둘지 여부 (기본 false)
+     * 계좌가 수천만 개면 GC가 훑는 힙을 줄이기 위해 켠다 (-XX:MaxDirectMemorySize를 슬롯 크기 이상으로 잡아야 함)
+     */
+    private boolean offHeap = false;
+}
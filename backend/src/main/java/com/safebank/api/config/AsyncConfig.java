@@ -0,0 +1,16 @@
+package com.safebank.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Async / @Scheduled 활성화
+ * 실행기는 Spring Boot 자동 구성을 그대로 사용하므로 spring.threads.virtual.enabled=true (Java 21)이면
+ * 요청 처리(Tomcat)와 함께 @Async 실행기, 스케줄러도 가상 스레드로 전환된다
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,21 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 엔티티 건수 카운터 설정 (safebank.counters.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.counters")
+public class CounterProperties {
+
+    /**
+     * 카운터를 COUNT(*) 결과로 다시 맞추는 주기 (ISO-8601 기간 또는 ms, 기본 5분)
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,113 @@
+package com.safebank.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * MySQL 커넥션 풀에 useCursorFetch=true가 설정되어 있는지 확인하고, 없으면 풀의 드라이버 속성으로 켠다
+ * 거래 내역 내보내기, /stream 조회, 거래내역서 계좌 스트림은 fetch size 단위로 나누어 읽는다고 가정하는데,
+ * 이 옵션이 없으면 MySQL 드라이버가 결과 전체를 메모리에 올린다
+ * URL 쿼리 또는 spring.datasource.hikari.data-source-properties.useCursorFetch 어느 쪽으로 설정해도 되고,
+ * 명시적으로 false로 둔 경우는 바꾸지 않고 경고만 남긴다
+ * 같은 방식으로 rewriteBatchedStatements=true도 확인한다 (없으면 Hibernate JDBC 배치가 MySQL에 한 문장씩 전송됨, 복제본 풀은 쓰지 않으므로 제외)
+ */
+@Slf4j
+@Component
+public class CursorFetchVerifier implements BeanPostProcessor {
+
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+    private static final String CURSOR_FETCH = "useCursorFetch";
+    private static final String REWRITE_BATCHED = "rewriteBatchedStatements";
+
+    /**
+     * spring.datasource.hikari.* 바인딩이 끝난 뒤에 확인해야 data-source-properties 설정이 보인다
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            enableCursorFetch(beanName, pool);
+            enableBatchRewrite(beanName, pool);
+        }
+        return bean;
+    }
+
+    /**
+     * 빈으로 등록되지 않는 풀(복제본)은 만든 쪽에서 직접 호출
+     * @param name 경고에 표시할 풀 이름
+     * @param pool 아직 시작하지 않은 커넥션 풀
+     */
+    public static void enableCursorFetch(String name, HikariDataSource pool) {
+        String url = pool.getJdbcUrl();
+        if (url == null || !url.startsWith(MYSQL_URL_PREFIX)) {
+            return;
+        }
+
+        String configured = setting(url, pool.getDataSourceProperties(), CURSOR_FETCH);
+        if (configured != null) {
+            if (!Boolean.parseBoolean(configured)) {
+                log.warn("{}에 {}={}로 설정되어 스트리밍 조회가 결과 전체를 메모리에 올립니다: {}", name, CURSOR_FETCH, configured, url);
+            }
+            return;
+        }
+
+        if (pool.isRunning()) {
+            log.warn("{}에 {}=true가 없어 스트리밍 조회가 결과 전체를 메모리에 올립니다 (이미 시작된 풀이라 켜지 못함): {}", name, CURSOR_FETCH, url);
+            return;
+        }
+
+        log.warn("{}에 {}=true가 없어 드라이버 속성으로 켭니다. URL이나 spring.datasource.hikari.data-source-properties에 명시해 주세요: {}", name, CURSOR_FETCH, url);
+        pool.addDataSourceProperty(CURSOR_FETCH, "true");
+    }
+
+    /**
+     * 일괄 이체, 원장 배치 반영의 JDBC 배치를 다중 행 INSERT로 묶어 보내도록 rewriteBatchedStatements를 켠다
+     */
+    private static void enableBatchRewrite(String name, HikariDataSource pool) {
+        String url = pool.getJdbcUrl();
+        if (url == null || !url.startsWith(MYSQL_URL_PREFIX)) {
+            return;
+        }
+
+        String configured = setting(url, pool.getDataSourceProperties(), REWRITE_BATCHED);
+        if (configured != null) {
+            if (!Boolean.parseBoolean(configured)) {
+                log.warn("{}에 {}={}로 설정되어 JDBC 배치가 한 문장씩 전송됩니다: {}", name, REWRITE_BATCHED, configured, url);
+            }
+            return;
+        }
+
+        if (pool.isRunning()) {
+            log.warn("{}에 {}=true가 없어 JDBC 배치가 한 문장씩 전송됩니다 (이미 시작된 풀이라 켜지 못함): {}", name, REWRITE_BATCHED, url);
+            return;
+        }
+
+        log.warn("{}에 {}=true가 없어 드라이버 속성으로 켭니다. URL이나 spring.datasource.hikari.data-source-properties에 명시해 주세요: {}", name, REWRITE_BATCHED, url);
+        pool.addDataSourceProperty(REWRITE_BATCHED, "true");
+    }
+
+    /**
+     * URL 쿼리나 드라이버 속성에 지정된 값 (둘 다 없으면 null)
+     */
+    private static String setting(String url, Properties dataSourceProperties, String name) {
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            for (String param : url.substring(query + 1).split("&")) {
+                int eq = param.indexOf('=');
+                if (eq > 0 && param.substring(0, eq).equalsIgnoreCase(name)) {
+                    return param.substring(eq + 1);
+                }
+            }
+        }
+
+        for (String key : dataSourceProperties.stringPropertyNames()) {
+            if (key.equalsIgnoreCase(name)) {
+                return dataSourceProperties.getProperty(key);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 일말 잔액 기록 설정 (safebank.daily-balance.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.daily-balance")
+public class DailyBalanceProperties {
+
+    /**
+     * 하루에 한 번 전날 일말 잔액을 기록할지 여부
+     * 끄더라도 과거 시점 잔액 조회는 되며, 기록이 없으면 현재 잔액에서 그 뒤 거래를 되돌려 계산한다
+     */
+    private boolean enabled = false;
+
+    /**
+     * 기록 실행 시각 (cron, 기본 매일 0시 5분)
+     */
+    private String cron = "0 5 0 * * *";
+
+    /**
+     * 한 DB 트랜잭션에서 처리할 계좌 ID 범위 크기
+     */
+    private int rangeSize = 1000;
+
+    /**
+     * 계좌 ID 범위를 나누어 동시에 처리할 작업자 수
+     */
+    private int workers = 4;
+}
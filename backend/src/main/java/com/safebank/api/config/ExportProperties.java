@@ -0,0 +1,22 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 거래 내역 내보내기 설정 (safebank.export.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.export")
+public class ExportProperties {
+
+    /**
+     * 스트리밍 응답(내보내기) 최대 전송 시간 (ISO-8601 기간 또는 ms, 기본 30분)
+     * 비동기 요청 기본 제한 시간(30초)으로는 수백만 건 내보내기가 중간에 끊긴다
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
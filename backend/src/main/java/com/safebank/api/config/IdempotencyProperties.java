@@ -0,0 +1,42 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 저장소 설정 (safebank.idempotency.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * 키와 최초 응답을 보관하는 기간 (지나면 같은 키도 새 요청으로 처리)
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 거래 ID 없이 처리 중으로 남은 키를 중단된 요청으로 보는 시간 (지나면 키를 지우고 같은 키로 다시 실행)
+     * 이체가 커밋되기까지 걸릴 수 있는 시간(원장 엔진을 쓰면 DB 반영 지연 포함)보다 길어야 한다
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * 메모리 캐시에 보관할 최대 키 수 (초과 시 가장 오래된 키부터 제거, DB에는 남음)
+     */
+    private int cacheMaxEntries = 10000;
+
+    /**
+     * 같은 키로 처리 중인 요청의 결과를 기다리는 최대 시간(ms)
+     */
+    private long inFlightTimeoutMs = 10000;
+
+    /**
+     * 보관 기간이 지난 키를 DB에서 지우는 주기 (ISO-8601 기간 또는 ms, 기본 1시간)
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
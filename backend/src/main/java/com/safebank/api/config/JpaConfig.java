@@ -0,0 +1,22 @@
+package com.safebank.api.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer() {
+        return properties -> {
+            // 플러시 시 UPDATE를 기본키 순으로 정렬하여, 락 없이 갱신하는 동시 이체끼리 행 락 획득 순서가 엇갈리지 않도록 함
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            // 일괄 이체처럼 한 트랜잭션에서 여러 계좌를 갱신할 때 UPDATE를 JDBC 배치로 전송
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, 100);
+            // INSERT를 엔티티 종류별로 모아 배치가 중간에 끊기지 않도록 함 (ID는 시퀀스에서 50개씩 미리 할당받으므로 IDENTITY와 달리 INSERT 배치가 가능)
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+        };
+    }
+}
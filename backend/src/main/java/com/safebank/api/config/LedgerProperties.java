@@ -0,0 +1,79 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 샤드 단일 쓰기 원장 엔진 설정 (safebank.ledger.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.ledger")
+public class LedgerProperties {
+
+    /**
+     * 이체를 샤드 원장 엔진으로 처리할지 여부 (false면 JPA 트랜잭션 경로 사용)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 샤드 수 (계좌번호 해시로 분배, 샤드마다 쓰기 스레드 1개)
+     */
+    private int shards = 4;
+
+    /**
+     * 엔진 전체에서 동시에 처리 중일 수 있는 이체 수 (초과 시 요청 거절)
+     */
+    private int maxInFlight = 10000;
+
+    /**
+     * 한 번의 DB 트랜잭션으로 반영할 최대 이체 수
+     */
+    private int flushBatchSize = 500;
+
+    /**
+     * 샤드마다 메모리에 보유할 최대 계좌 잔액 수 (넘으면 DB에 반영이 끝난 계좌부터 오래 쓰지 않은 순으로 내보내고, 다시 접근하면 DB에서 읽는다)
+     */
+    private int maxCachedAccounts = 100_000;
+
+    /**
+     * 요청 접수 및 DB 반영 완료까지 기다리는 최대 시간(ms)
+     */
+    private long timeoutMs = 5000;
+
+    /**
+     * 원장 엔진 쓰기 임대 시간 (1/3 주기로 갱신)
+     * 잔액을 인스턴스 메모리에 두므로 엔진은 임대를 가진 인스턴스 하나에서만 동작하고, 다른 인스턴스는 기동 시 실패한다
+     * 갱신하지 못한 채 이 시간이 지나면 새 이체를 거절하며, 인스턴스 간 시계 차이보다 충분히 길어야 한다
+     */
+    private Duration writerLeaseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 로컬 선기록 저널 설정
+     */
+    private Journal journal = new Journal();
+
+    @Getter
+    @Setter
+    public static class Journal {
+
+        /** 이체를 로컬 저널 파일에 fsync한 시점에 응답하고, DB 반영은 비동기 배치로 할지 여부 (false면 DB 커밋 후 응답) */
+        private boolean enabled = false;
+
+        /** 저널 세그먼트 파일을 둘 디렉터리 (로컬 디스크) */
+        private String directory = "./ledger-journal";
+
+        /** 세그먼트 파일 크기, 남은 공간이 부족하면 새 세그먼트 파일로 넘어간다 */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /** 한 번의 fsync로 묶어 기록할 최대 이체 수 */
+        private int groupCommitSize = 1000;
+
+        /** 응답 후 DB 반영을 기다리는 최대 이체 수, 이만큼 밀리면 반영될 때까지 새 이체를 거절한다 (읽기 전용) */
+        private int maxBacklog = 100_000;
+    }
+}
@@ -0,0 +1,58 @@
+package com.safebank.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * MySQL 커넥션 풀의 세션 락 대기 시간(innodb_lock_wait_timeout)을 safebank.transfer.lock-wait-timeout으로 지정
+ * MySQL은 쿼리별 락 대기 시간 힌트(jakarta.persistence.lock.timeout)를 무시하므로 이체 계좌 락 대기는 세션 변수로 제한한다
+ * URL이나 data-source-properties의 sessionVariables에 이미 지정되어 있으면 그대로 둔다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LockWaitTimeoutConfigurer implements BeanPostProcessor {
+
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+    private static final String SESSION_VARIABLES = "sessionVariables";
+    private static final String LOCK_WAIT_TIMEOUT = "innodb_lock_wait_timeout";
+
+    // 후처리기는 다른 빈보다 먼저 만들어지므로 설정 빈은 사용할 때 가져온다
+    private final ObjectProvider<TransferProperties> transferProperties;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource pool)) {
+            return bean;
+        }
+
+        String url = pool.getJdbcUrl();
+        if (url == null || !url.startsWith(MYSQL_URL_PREFIX) || pool.isRunning()) {
+            return bean;
+        }
+
+        if (url.toLowerCase().contains(SESSION_VARIABLES.toLowerCase() + "=")) {
+            // URL과 드라이버 속성의 sessionVariables는 합쳐지지 않으므로 덧붙이지 못한다
+            if (!url.toLowerCase().contains(LOCK_WAIT_TIMEOUT)) {
+                log.warn("{}의 URL에 sessionVariables가 있어 {}를 지정하지 못했습니다. 이체 락 대기 시간은 서버 기본값을 따릅니다: {}", beanName, LOCK_WAIT_TIMEOUT, url);
+            }
+            return bean;
+        }
+
+        String sessionVariables = pool.getDataSourceProperties().getProperty(SESSION_VARIABLES);
+        if (sessionVariables != null && sessionVariables.toLowerCase().contains(LOCK_WAIT_TIMEOUT)) {
+            return bean;
+        }
+
+        long seconds = Math.max(1, transferProperties.getObject().getLockWaitTimeout().toSeconds());
+        String lockWaitTimeout = LOCK_WAIT_TIMEOUT + "=" + seconds;
+        pool.addDataSourceProperty(SESSION_VARIABLES, sessionVariables == null || sessionVariables.isBlank()
+                ? lockWaitTimeout
+                : sessionVariables + "," + lockWaitTimeout);
+        return bean;
+    }
+}
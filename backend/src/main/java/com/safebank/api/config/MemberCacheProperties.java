@@ -0,0 +1,26 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 회원 조회 캐시 설정 (safebank.member-cache.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.member-cache")
+public class MemberCacheProperties {
+
+    /**
+     * ID, 이메일 캐시별 최대 회원 수 (초과 시 가장 오래 조회되지 않은 회원부터 제거, 0이면 캐시 사용 안 함)
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * 캐시에 보관하는 기간 (다른 인스턴스에서 바뀐 회원도 이 기간이 지나면 다시 읽음)
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
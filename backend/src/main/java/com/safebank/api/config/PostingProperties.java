@@ -0,0 +1,37 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 복식 부기 분개 원장 설정 (safebank.posting.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.posting")
+public class PostingProperties {
+
+    /**
+     * 이체를 분개 INSERT로 처리할지 여부 (false면 계좌 잔액을 직접 갱신하는 기존 경로 사용)
+     * 끈 뒤에도 남은 분개는 압축기가 계좌 잔액으로 접는다
+     */
+    private boolean enabled = false;
+
+    /**
+     * 계좌의 현재 차수 분개가 이 수 이상 쌓이면 새 스냅샷으로 접음 (잔액 조회 시 더해야 하는 분개 수의 상한)
+     */
+    private int snapshotEvery = 100;
+
+    /**
+     * 압축 대상 계좌를 찾는 주기 (ISO-8601 기간 또는 ms, 기본 10초)
+     */
+    private Duration compactInterval = Duration.ofSeconds(10);
+
+    /**
+     * 한 번의 압축 주기에서 처리할 최대 계좌 수 (넘는 계좌는 다음 주기에 처리)
+     */
+    private int compactBatchSize = 500;
+}
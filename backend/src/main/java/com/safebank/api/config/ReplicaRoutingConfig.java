@@ -0,0 +1,80 @@
+package com.safebank.api.config;
+
+import com.safebank.api.datasource.ReplicaLagMonitor;
+import com.safebank.api.datasource.ReplicaNode;
+import com.safebank.api.datasource.ReplicaRoutingDataSource;
+import com.safebank.api.datasource.ReplicaSelector;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * safebank.datasource.replicas가 하나 이상 설정된 경우에만 자동 구성 데이터소스 대신 라우팅 데이터소스를 등록
+ * 주 DB는 spring.datasource.*, spring.datasource.hikari.* 설정을 그대로 사용한다
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "safebank.datasource", name = "replicas[0].url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaSelector replicaSelector(ReplicaRoutingProperties properties, DataSourceProperties dataSourceProperties) {
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            String name = "replica-" + i;
+
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            CursorFetchVerifier.enableCursorFetch(name, pool);
+
+            replicas.add(new ReplicaNode(name, pool));
+        }
+
+        return new ReplicaSelector(replicas, properties.getPolicy());
+    }
+
+    /**
+     * 주 DB 커넥션 풀 (자동 구성과 같이 spring.datasource.hikari.* 설정을 바인딩)
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSelector replicaSelector) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaSelector);
+    }
+
+    /**
+     * 읽기 전용이 아닌 커넥션은 주 DB로 가므로 라우팅 데이터소스로 하트비트를 기록한다
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReplicaSelector replicaSelector, ReplicaRoutingProperties properties) throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(dataSource, replicaSelector, properties.getMaxLag());
+        monitor.createHeartbeatTable();
+        return monitor;
+    }
+}
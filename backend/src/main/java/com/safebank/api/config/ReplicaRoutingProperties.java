@@ -0,0 +1,79 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 복제본 라우팅 설정 (safebank.datasource.*)
+ * 복제본이 하나 이상 있으면 readOnly 트랜잭션은 복제본으로, 나머지는 spring.datasource(주 DB)로 보낸다
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.datasource")
+public class ReplicaRoutingProperties {
+
+    /**
+     * 읽기 전용 복제본 목록 (비어 있으면 모든 요청을 주 DB로 처리)
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 복제본 선택 방식
+     */
+    private Policy policy = Policy.ROUND_ROBIN;
+
+    /**
+     * 허용하는 최대 복제 지연 (넘으면 해당 복제본을 제외하고, 모두 제외되면 주 DB에서 읽음)
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * 주 DB에 하트비트를 기록하고 복제본 지연을 측정하는 주기 (ISO-8601 기간 또는 ms, 기본 1초)
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /**
+     * 이체 직후 거래 내역 조회를 주 DB로 보내는 설정
+     */
+    private ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    public enum Policy {
+        /** 정상 복제본을 차례로 사용 */
+        ROUND_ROBIN,
+        /** 사용 중인 커넥션이 가장 적은 정상 복제본 사용 */
+        LEAST_LOADED
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /** JDBC URL */
+        private String url;
+
+        /** 비어 있으면 spring.datasource.username 사용 */
+        private String username;
+
+        /** 비어 있으면 spring.datasource.password 사용 */
+        private String password;
+
+        /** 복제본 커넥션 풀 최대 크기 */
+        private int maximumPoolSize = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class ReadYourWrites {
+
+        /** 사용 여부 */
+        private boolean enabled = true;
+
+        /** 이체가 커밋된 뒤 해당 계좌의 거래 내역을 주 DB에서 읽는 기간 (최대 복제 지연보다 길게 잡는다) */
+        private Duration window = Duration.ofSeconds(10);
+    }
+}
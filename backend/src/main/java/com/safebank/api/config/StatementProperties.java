@@ -0,0 +1,40 @@
+package com.safebank.api.config;
+
+import com.safebank.api.statement.StatementFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 월간 거래 명세서 생성 설정 (safebank.statement.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.statement")
+public class StatementProperties {
+
+    /**
+     * 매월 지난달 거래 명세서를 생성할지 여부
+     */
+    private boolean enabled = false;
+
+    /**
+     * 생성 실행 시각 (cron, 기본 매월 1일 3시)
+     */
+    private String cron = "0 0 3 1 * *";
+
+    /**
+     * 명세서를 쓸 로컬 디렉터리 (월별 하위 디렉터리에 계좌번호별 파일로 기록)
+     */
+    private String directory = "./statements";
+
+    /**
+     * 명세서 파일 형식 (CSV, TEXT)
+     */
+    private StatementFormat format = StatementFormat.CSV;
+
+    /**
+     * 동시에 명세서를 만들 최대 계좌 수 (계좌마다 DB 커넥션 하나를 쓰므로 커넥션 풀 크기보다 작게 설정)
+     */
+    private int parallelism = 8;
+}
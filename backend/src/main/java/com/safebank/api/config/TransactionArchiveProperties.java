@@ -0,0 +1,42 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 거래 보관 이동 설정 (safebank.transaction-archive.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.transaction-archive")
+public class TransactionArchiveProperties {
+
+    /**
+     * 오래된 거래를 보관 테이블(transaction_archive)로 옮길지 여부
+     * 끄더라도 이미 옮긴 거래는 거래 내역 조회 시 계속 함께 읽는다
+     */
+    private boolean enabled = false;
+
+    /**
+     * 거래 테이블에 남겨 둘 기간 (생성 후 이 기간이 지난 거래를 옮김, 기본 90일)
+     */
+    private Duration hotRetention = Duration.ofDays(90);
+
+    /**
+     * 보관 이동 주기 (ISO-8601 기간 또는 ms, 기본 1분)
+     */
+    private Duration moveInterval = Duration.ofMinutes(1);
+
+    /**
+     * 한 DB 트랜잭션에서 옮길 최대 거래 수 (행 락을 짧게 유지하기 위해 나누어 옮김)
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 한 주기에 옮길 최대 청크 수 (밀린 이동이 많아도 한 주기가 길어지지 않도록 제한, 남은 거래는 다음 주기에 처리)
+     */
+    private int maxChunksPerRun = 100;
+}
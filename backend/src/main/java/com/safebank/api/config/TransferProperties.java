@@ -0,0 +1,88 @@
+package com.safebank.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 계좌 이체 동시성 제어 설정 (safebank.transfer.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safebank.transfer")
+public class TransferProperties {
+
+    /**
+     * 이체 시 계좌 락 전략
+     */
+    private LockMode lockMode = LockMode.PESSIMISTIC;
+
+    /**
+     * 비관적 락 대기 시간 (MySQL 세션의 innodb_lock_wait_timeout으로 적용, 초 단위로 내림)
+     */
+    private Duration lockWaitTimeout = Duration.ofSeconds(3);
+
+    /**
+     * 일괄 이체 시 한 DB 트랜잭션으로 처리할 최대 건수
+     */
+    private int batchChunkSize = 1000;
+
+    /**
+     * 락 획득 실패/버전 충돌 시 재시도 정책
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * 비동기 이체(?async=true) 작업자 설정
+     */
+    private Async async = new Async();
+
+    public enum LockMode {
+        /**
+         * 기존 설정(lock-mode=NONE) 호환용, OPTIMISTIC과 같이 동작
+         * 계좌에 @Version이 생겨 락 없이 갱신해도 충돌이 재시도되므로 갱신 손실은 더 이상 일어나지 않는다
+         */
+        @Deprecated
+        NONE,
+        /** 락 없이 조회 후 갱신, 커밋 시 @Version 충돌이 나면 재시도 */
+        OPTIMISTIC,
+        /** account_id 오름차순으로 SELECT ... FOR UPDATE */
+        PESSIMISTIC
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /** 최초 시도를 포함한 최대 시도 횟수 */
+        private int maxAttempts = 5;
+
+        /** 첫 재시도 전 대기 시간(ms), 이후 2배씩 증가하며 실제 대기는 [절반, 전체] 구간에서 무작위로 선택 */
+        private long initialBackoffMs = 20;
+
+        /** 재시도 대기 시간 상한(ms) */
+        private long maxBackoffMs = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        /** 접수된 이체를 처리하는 작업자 스레드 수 */
+        private int workers = 8;
+
+        /** 접수 후 처리를 기다릴 수 있는 최대 이체 수 (초과 시 접수 거절) */
+        private int queueCapacity = 10000;
+
+        /** 이 시간이 지나도 PENDING인 거래는 중단된 것으로 보고 다시 처리한다 (재기동/다른 인스턴스 중단 복구) */
+        private Duration recoverAfter = Duration.ofMinutes(1);
+
+        /** 이 시간이 지나도 PENDING인 거래는 다시 처리하지 않고 FAILED로 바꾼다 */
+        private Duration expireAfter = Duration.ofHours(1);
+
+        /** 멈춘 PENDING 거래를 찾는 주기 (기동 직후 한 번 실행) */
+        private Duration recoveryInterval = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.safebank.api.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC 설정
+ * StreamingResponseBody 응답은 비동기 요청으로 처리되므로 내보내기 제한 시간을 비동기 요청 제한 시간으로 사용한다
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ExportProperties exportProperties;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportProperties.getTimeout().toMillis());
+    }
+}
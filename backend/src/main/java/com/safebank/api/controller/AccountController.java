@@ -1,13 +1,27 @@
 package com.safebank.api.controller;
 
+import com.safebank.api.config.TransferProperties;
 import com.safebank.api.dto.request.AccountCreateRequest;
+import com.safebank.api.dto.request.BatchTransferRequest;
 import com.safebank.api.dto.request.TransferRequest;
 import com.safebank.api.dto.response.AccountResponse;
 import com.safebank.api.dto.response.ApiResponse;
+import com.safebank.api.dto.response.BalanceAsOfResponse;
+import com.safebank.api.dto.response.BatchTransferResponse;
+import com.safebank.api.dto.response.CursorPageResponse;
 import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.dto.response.TransferStatsResponse;
 import com.safebank.api.entity.Account;
 import com.safebank.api.entity.Transaction;
+import com.safebank.api.export.ExportFormat;
+import com.safebank.api.export.TransactionExportService;
+import com.safebank.api.facade.AsyncTransferPipeline;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.facade.TransferMetrics;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.idempotency.IdempotentResponse;
 import com.safebank.api.service.AccountService;
+import com.safebank.api.service.DailyBalanceService;
 import com.safebank.api.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,15 +29,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/accounts")
@@ -33,28 +50,76 @@ public class AccountController {
 
     private final AccountService accountService;
     private final TransactionService transactionService;
+    private final TransferFacade transferFacade;
+    private final TransferMetrics transferMetrics;
+    private final TransferProperties transferProperties;
+    private final IdempotencyService idempotencyService;
+    private final AsyncTransferPipeline asyncTransferPipeline;
+    private final TransactionExportService transactionExportService;
+    private final DailyBalanceService dailyBalanceService;
 
-    @GetMapping
-    @Operation(summary = "전체 계좌 조회", description = "개설된 전체 계좌를 조회합니다")
+    /**
+     * 파라미터가 없으면 기존처럼 전체 목록을 반환 (cursor/size/page 중 하나라도 있으면 페이지 조회 핸들러)
+     */
+    @GetMapping(params = {"!cursor", "!size", "!page"})
+    @Operation(summary = "전체 계좌 조회", description = "개설된 전체 계좌를 조회합니다. 계좌가 많으면 cursor/size 페이지 조회나 /stream을 사용하세요")
     public ResponseEntity<ApiResponse<List<AccountResponse>>> getAccounts() {
-        List<Account> accounts = accountService.getAccounts();
-        List<AccountResponse> collect = accounts.stream().map((account) -> AccountResponse.from(account)).collect(Collectors.toList());
+        List<AccountResponse> accounts = accountService.getAccounts();
 
-        return ResponseEntity.ok(ApiResponse.success(collect));
+        return ResponseEntity.ok(ApiResponse.success(accounts));
+    }
+
+    /**
+     * cursor 또는 size 파라미터가 있을 때의 키셋 페이지 조회 (첫 페이지는 size만 넘김)
+     */
+    @GetMapping(params = "!page")
+    @Operation(summary = "전체 계좌 페이지 조회", description = "개설된 전체 계좌를 ID 순으로 페이지 단위 조회합니다. cursor나 size를 넘겨야 하며, 다음 페이지는 응답의 next를 cursor로 넘겨 조회합니다")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AccountResponse>>> getAccountsCursor(
+            @Parameter(description = "이전 페이지 응답의 next (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPageResponse<AccountResponse> accounts = accountService.getAccounts(cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(accounts));
+    }
+
+    /**
+     * page 파라미터로 조회하던 기존 클라이언트 호환용 (page가 있으면 이 핸들러)
+     */
+    @Deprecated
+    @GetMapping(params = "page")
+    @Operation(summary = "전체 계좌 조회 (OFFSET 페이지)", description = "사용 중단 예정입니다. 깊은 페이지일수록 느려지므로 cursor 조회를 사용하세요", deprecated = true)
+    public ResponseEntity<ApiResponse<Page<AccountResponse>>> getAccountsPage(
+            @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam int page,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<AccountResponse> accounts = accountService.getAccountsPage(page, size);
+
+        return ResponseEntity.ok(ApiResponse.success(accounts));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "전체 계좌 스트리밍 조회", description = "개설된 전체 계좌를 ID 순으로 NDJSON(한 줄에 계좌 하나)으로 내려받습니다. 조회하는 대로 바로 전송합니다")
+    public ResponseEntity<StreamingResponseBody> streamAccounts() {
+        StreamingResponseBody body = out -> accountService.streamAccounts(out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/count")
     @Operation(summary = "전체 계좌 수 조회", description = "개설된 계좌의 개수를 조회합니다")
-    public ResponseEntity<ApiResponse<Integer>> getAccountsCount() {
-        int accountsCount = accountService.getAccountsCount();
+    public ResponseEntity<ApiResponse<Long>> getAccountsCount() {
+        long accountsCount = accountService.getAccountsCount();
 
         return ResponseEntity.ok(ApiResponse.success(accountsCount));
     }
 
     @GetMapping("/transactions/count")
     @Operation(summary = "전체 거래 수 조회", description = "전체 거래의 개수를 조회합니다")
-    public ResponseEntity<ApiResponse<Integer>> getTransactionsCount() {
-        int transactionCount = transactionService.getTransactionCount();
+    public ResponseEntity<ApiResponse<Long>> getTransactionsCount() {
+        long transactionCount = transactionService.getTransactionCount();
 
         return ResponseEntity.ok(ApiResponse.success(transactionCount));
     }
@@ -63,7 +128,7 @@ public class AccountController {
     @Operation(summary = "계좌 생성", description = "새로운 계좌를 생성합니다")
     public ResponseEntity<ApiResponse<AccountResponse>> createAccount(@Valid @RequestBody AccountCreateRequest request) {
         Account account = accountService.createAccount(request);
-        AccountResponse response = AccountResponse.from(account);
+        AccountResponse response = accountService.getAccountResponseByNumber(account.getAccountNumber());
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
@@ -81,32 +146,160 @@ public class AccountController {
     @GetMapping("/number/{accountNumber}")
     @Operation(summary = "계좌번호로 조회", description = "계좌번호로 계좌 정보를 조회합니다")
     public ResponseEntity<ApiResponse<AccountResponse>> getAccountByNumber(@Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber) {
-        Account account = accountService.getAccountByNumber(accountNumber);
-        AccountResponse response = AccountResponse.from(account);
+        AccountResponse response = accountService.getAccountResponseByNumber(accountNumber);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{accountNumber}/balance")
+    @Operation(summary = "과거 시점 잔액 조회", description = "asOf 시점의 잔액을 조회합니다. 가장 가까운 이전 일말 잔액에 그 뒤 거래만 더해 계산합니다")
+    public ResponseEntity<ApiResponse<BalanceAsOfResponse>> getBalanceAsOf(
+            @Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber,
+            @Parameter(description = "조회 시점 (ISO-8601, 예: 2026-10-01T00:00:00)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf
+    ) {
+        BalanceAsOfResponse response = dailyBalanceService.getBalanceAsOf(accountNumber, asOf);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @PostMapping("/transfer")
-    @Operation(summary = "계좌 이체", description = "계좌 간 이체를 실행합니다")
-    public ResponseEntity<ApiResponse<TransactionResponse>> transfer(@Valid @RequestBody TransferRequest request) {
-        Transaction transaction = transactionService.transfer(request);
+    @Operation(summary = "계좌 이체", description = "계좌 간 이체를 실행합니다. async=true면 접수만 하고 202를 반환하며, 처리 결과는 GET /transactions/{id}로 확인합니다")
+    public ResponseEntity<ApiResponse<TransactionResponse>> transfer(
+            @Valid @RequestBody TransferRequest request,
+            @Parameter(description = "비동기 처리 여부") @RequestParam(defaultValue = "false") boolean async
+    ) {
+        if (async) {
+            Transaction pending = asyncTransferPipeline.submit(request);
+
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("이체가 접수되었습니다", TransactionResponse.from(pending)));
+        }
+
+        Transaction transaction = transferFacade.transfer(request);
         TransactionResponse response = TransactionResponse.from(transaction);
 
         return ResponseEntity.ok(ApiResponse.success("이체가 성공적으로 완료되었습니다", response));
     }
 
-    @GetMapping("/{accountNumber}/transactions")
-    @Operation(summary = "거래 내역 조회", description = "특정 계좌의 거래 내역을 조회합니다")
+    @PostMapping(value = "/transfer", headers = IdempotencyService.HEADER)
+    @Operation(summary = "계좌 이체 (멱등)", description = "Idempotency-Key 헤더가 있으면 같은 키의 재요청은 이체하지 않고 최초 응답을 그대로 돌려줍니다. async=true면 접수 응답(202)을 저장하고 돌려줍니다")
+    public ResponseEntity<byte[]> transferIdempotent(
+            @Parameter(description = "클라이언트가 생성한 요청 고유 키", required = true) @RequestHeader(IdempotencyService.HEADER) String idempotencyKey,
+            @Valid @RequestBody TransferRequest request,
+            @Parameter(description = "비동기 처리 여부") @RequestParam(defaultValue = "false") boolean async
+    ) {
+        IdempotentResponse response = async
+                // 같은 키를 동기/비동기 요청에 번갈아 쓰지 못하도록 비동기 요청은 다른 지문으로 저장
+                ? idempotencyService.execute(idempotencyKey, new AsyncTransfer(request),
+                        () -> ApiResponse.success("이체가 접수되었습니다", TransactionResponse.from(asyncTransferPipeline.submit(request))),
+                        transactionId -> ApiResponse.success("이체가 접수되었습니다", TransactionResponse.from(transactionService.getTransaction(transactionId))))
+                : idempotencyService.execute(idempotencyKey, request,
+                        () -> ApiResponse.success("이체가 성공적으로 완료되었습니다", TransactionResponse.from(transferFacade.transfer(request))),
+                        transactionId -> ApiResponse.success("이체가 성공적으로 완료되었습니다", TransactionResponse.from(transactionService.getTransaction(transactionId))));
+
+        return ResponseEntity.status(async ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotent-Replayed", String.valueOf(response.replayed()))
+                .body(response.body());
+    }
+
+    @PostMapping("/transfers/batch")
+    @Operation(summary = "일괄 이체", description = "여러 건의 이체를 한 번에 실행하고 건별 처리 결과를 반환합니다")
+    public ResponseEntity<ApiResponse<BatchTransferResponse>> transferBatch(@Valid @RequestBody BatchTransferRequest request) {
+        BatchTransferResponse response = transferFacade.transferBatch(request.getTransfers());
+
+        return ResponseEntity.ok(ApiResponse.success("일괄 이체가 처리되었습니다", response));
+    }
+
+    @GetMapping("/transfer/stats")
+    @Operation(summary = "이체 재시도 지표 조회", description = "현재 락 전략과 재시도 횟수, 재시도 한도 초과 비율을 조회합니다")
+    public ResponseEntity<ApiResponse<TransferStatsResponse>> getTransferStats() {
+        TransferStatsResponse response = TransferStatsResponse.from(transferProperties.getLockMode().name(), transferMetrics);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping("/{accountNumber}/stripes")
+    @Operation(summary = "계좌 잔액 분할", description = "입금이 몰리는 계좌의 잔액을 여러 행으로 나누어 동시 입금이 한 행에서 직렬화되지 않도록 합니다")
+    public ResponseEntity<ApiResponse<AccountResponse>> enableStriping(
+            @Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber,
+            @Parameter(description = "분할 수 (늘리기만 가능)", required = true) @RequestParam int count
+    ) {
+        Account account = accountService.enableStriping(accountNumber, count);
+        AccountResponse response = accountService.getAccountResponseByNumber(account.getAccountNumber());
+
+        return ResponseEntity.ok(ApiResponse.success("계좌 잔액이 분할되었습니다", response));
+    }
+
+    /**
+     * 파라미터가 없으면 기존처럼 첫 페이지를 Page 형태로 반환 (cursor/size/includeTotal 중 하나라도 있으면 커서 조회, page가 있으면 OFFSET 페이지 조회)
+     */
+    @GetMapping(value = "/{accountNumber}/transactions", params = {"!cursor", "!size", "!includeTotal", "!page"})
+    @Operation(summary = "거래 내역 조회", description = "특정 계좌의 최근 거래 내역 20건을 조회합니다. 다음 페이지는 cursor/size 조회를 사용하세요")
     public ResponseEntity<ApiResponse<Page<TransactionResponse>>> getTransactions(
+            @Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber
+    ) {
+        Page<TransactionResponse> response = transactionService.getAccountTransactionsPage(accountNumber, 0, 20);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * cursor, size, includeTotal 중 하나가 있을 때의 키셋 페이지 조회 (첫 페이지는 size만 넘김)
+     */
+    @GetMapping(value = "/{accountNumber}/transactions", params = "!page")
+    @Operation(summary = "거래 내역 커서 조회", description = "특정 계좌의 거래 내역을 최신순으로 조회합니다. cursor나 size를 넘겨야 하며, 다음 페이지는 응답의 next를 cursor로 넘겨 조회합니다")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TransactionResponse>>> getTransactionsCursor(
             @Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber,
-            @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "20") int size
+            @Parameter(description = "이전 페이지 응답의 next (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "전체 거래 수 포함 여부") @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Transaction> transactions = transactionService.getAccountTransactions(accountNumber, pageable);
-        Page<TransactionResponse> response = transactions.map(TransactionResponse::from);
+        CursorPageResponse<TransactionResponse> response = transactionService.getAccountTransactionHistory(accountNumber, cursor, size, includeTotal);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
-}
\ No newline at end of file
+
+    /**
+     * page 파라미터로 조회하던 기존 클라이언트 호환용 (page가 있으면 이 핸들러, cursor와 함께 넘기면 어느 핸들러에도 맞지 않음)
+     */
+    @Deprecated
+    @GetMapping(value = "/{accountNumber}/transactions", params = {"page", "!cursor", "!includeTotal"})
+    @Operation(summary = "거래 내역 조회 (OFFSET 페이지)", description = "사용 중단 예정입니다. 깊은 페이지일수록 느려지므로 cursor 조회를 사용하세요", deprecated = true)
+    public ResponseEntity<ApiResponse<Page<TransactionResponse>>> getTransactionsPage(
+            @Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber,
+            @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam int page,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<TransactionResponse> response = transactionService.getAccountTransactionsPage(accountNumber, page, size);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{accountNumber}/transactions/export")
+    @Operation(summary = "거래 내역 내보내기", description = "특정 계좌의 전체 거래 내역을 시간순으로 CSV 또는 NDJSON으로 내려받습니다. 조회하는 대로 바로 전송하므로 거래 수와 관계없이 응답이 바로 시작됩니다")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @Parameter(description = "계좌번호", required = true) @PathVariable String accountNumber,
+            @Parameter(description = "형식 (csv, ndjson)") @RequestParam(defaultValue = "csv") String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Long accountId = accountService.getAccountIdByNumber(accountNumber);
+        StreamingResponseBody body = out -> transactionExportService.export(accountId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions-" + accountNumber + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * 비동기 이체의 Idempotency-Key 요청 지문
+     */
+    record AsyncTransfer(TransferRequest asyncRequest) {
+    }
+}
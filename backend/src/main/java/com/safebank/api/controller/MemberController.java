@@ -1,10 +1,12 @@
 package com.safebank.api.controller;
 
+import com.safebank.api.cache.MemberCache;
 import com.safebank.api.dto.request.MemberCreateRequest;
 import com.safebank.api.dto.response.AccountResponse;
 import com.safebank.api.dto.response.ApiResponse;
+import com.safebank.api.dto.response.CursorPageResponse;
+import com.safebank.api.dto.response.MemberCacheStatsResponse;
 import com.safebank.api.dto.response.MemberResponse;
-import com.safebank.api.entity.Account;
 import com.safebank.api.entity.Member;
 import com.safebank.api.service.AccountService;
 import com.safebank.api.service.MemberService;
@@ -13,12 +15,14 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/members")
@@ -28,24 +32,74 @@ public class MemberController {
 
     private final MemberService memberService;
     private final AccountService accountService;
+    private final MemberCache memberCache;
 
-    @GetMapping
-    @Operation(summary = "전체 회원 조회", description = "생성된 회원 목록을 조회합니다")
+    /**
+     * 파라미터가 없으면 기존처럼 전체 목록을 반환 (cursor/size/page 중 하나라도 있으면 페이지 조회 핸들러)
+     */
+    @GetMapping(params = {"!cursor", "!size", "!page"})
+    @Operation(summary = "전체 회원 조회", description = "생성된 회원 목록을 조회합니다. 회원이 많으면 cursor/size 페이지 조회나 /stream을 사용하세요")
     public ResponseEntity<ApiResponse<List<MemberResponse>>> getMembers() {
-        List<Member> members = memberService.getMembers();
-        List<MemberResponse> collect = members.stream().map(m -> MemberResponse.from(m)).collect(Collectors.toList());
+        List<MemberResponse> members = memberService.getMembers();
 
-        return ResponseEntity.ok(ApiResponse.success(collect));
+        return ResponseEntity.ok(ApiResponse.success(members));
+    }
+
+    /**
+     * cursor 또는 size 파라미터가 있을 때의 키셋 페이지 조회 (첫 페이지는 size만 넘김)
+     */
+    @GetMapping(params = "!page")
+    @Operation(summary = "전체 회원 페이지 조회", description = "생성된 회원 목록을 ID 순으로 페이지 단위 조회합니다. cursor나 size를 넘겨야 하며, 다음 페이지는 응답의 next를 cursor로 넘겨 조회합니다")
+    public ResponseEntity<ApiResponse<CursorPageResponse<MemberResponse>>> getMembersCursor(
+            @Parameter(description = "이전 페이지 응답의 next (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPageResponse<MemberResponse> members = memberService.getMembers(cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(members));
+    }
+
+    /**
+     * page 파라미터로 조회하던 기존 클라이언트 호환용 (page가 있으면 이 핸들러)
+     */
+    @Deprecated
+    @GetMapping(params = "page")
+    @Operation(summary = "전체 회원 조회 (OFFSET 페이지)", description = "사용 중단 예정입니다. 깊은 페이지일수록 느려지므로 cursor 조회를 사용하세요", deprecated = true)
+    public ResponseEntity<ApiResponse<Page<MemberResponse>>> getMembersPage(
+            @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam int page,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        Page<MemberResponse> members = memberService.getMembersPage(page, size);
+
+        return ResponseEntity.ok(ApiResponse.success(members));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "전체 회원 스트리밍 조회", description = "생성된 전체 회원을 ID 순으로 NDJSON(한 줄에 회원 하나)으로 내려받습니다. 조회하는 대로 바로 전송합니다")
+    public ResponseEntity<StreamingResponseBody> streamMembers() {
+        StreamingResponseBody body = out -> memberService.streamMembers(out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/count")
     @Operation(summary = "전체 멤버수 조회", description = "가입된 멤버의 수를 조회합니다.")
-    public ResponseEntity<ApiResponse<Integer>> getMemberCount() {
-        Integer memberCount = memberService.getMemberCount();
+    public ResponseEntity<ApiResponse<Long>> getMemberCount() {
+        long memberCount = memberService.getMemberCount();
 
         return ResponseEntity.ok(ApiResponse.success(memberCount));
     }
 
+    @GetMapping("/cache/stats")
+    @Operation(summary = "회원 캐시 지표 조회", description = "회원 조회 캐시(ID, 이메일)의 크기와 적중/미스/제거 횟수, 적중률을 조회합니다")
+    public ResponseEntity<ApiResponse<MemberCacheStatsResponse>> getMemberCacheStats() {
+        MemberCacheStatsResponse response = MemberCacheStatsResponse.from(memberCache);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PostMapping
     @Operation(summary = "회원 생성", description = "새로운 회원을 생성합니다")
     public ResponseEntity<ApiResponse<MemberResponse>> createMember(@Valid @RequestBody MemberCreateRequest request) {
@@ -69,10 +123,7 @@ public class MemberController {
     @GetMapping("/{memberId}/accounts")
     @Operation(summary = "회원별 계좌 목록", description = "특정 회원의 모든 계좌를 조회합니다")
     public ResponseEntity<ApiResponse<List<AccountResponse>>> getMemberAccounts(@Parameter(description = "회원 ID", required = true) @PathVariable Long memberId) {
-        List<Account> accounts = accountService.getAccountsByMemberId(memberId);
-        List<AccountResponse> response = accounts.stream()
-                .map(AccountResponse::from)
-                .collect(Collectors.toList());
+        List<AccountResponse> response = accountService.getAccountResponsesByMemberId(memberId);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
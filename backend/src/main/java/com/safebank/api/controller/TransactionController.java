@@ -0,0 +1,30 @@
+package com.safebank.api.controller;
+
+import com.safebank.api.dto.response.ApiResponse;
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.service.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/transactions")
+@RequiredArgsConstructor
+@Tag(name = "거래 관리", description = "거래 조회 관련 API")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "거래 단건 조회", description = "거래 ID로 거래 정보와 처리 상태(PENDING, COMPLETED, FAILED)를 조회합니다")
+    public ResponseEntity<ApiResponse<TransactionResponse>> getTransaction(@Parameter(description = "거래 ID", required = true) @PathVariable Long id) {
+        Transaction transaction = transactionService.getTransaction(id);
+        TransactionResponse response = TransactionResponse.from(transaction);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
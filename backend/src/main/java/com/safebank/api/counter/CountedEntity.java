@@ -0,0 +1,10 @@
+package com.safebank.api.counter;
+
+/**
+ * 건수를 메모리 카운터로 유지하는 엔티티 종류
+ */
+public enum CountedEntity {
+    MEMBER,
+    ACCOUNT,
+    TRANSACTION
+}
@@ -0,0 +1,116 @@
+package com.safebank.api.counter;
+
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원/계좌/거래 건수 카운터
+ * 건수 조회 API가 전체 행을 읽지 않도록 건수를 메모리에 유지한다
+ * 1. 시작 시 COUNT(*)로 초기값을 채운다
+ * 2. 생성한 트랜잭션이 커밋된 뒤에만 증가시킨다 (롤백된 생성은 반영되지 않음)
+ * 3. 다른 인스턴스에서 생성된 행이나 일괄 삭제처럼 카운터를 거치지 않은 변경은 주기적인 COUNT(*) 재조정으로 맞춘다
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCounters {
+
+    private final MemberRepository memberRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ReadYourWrites readYourWrites;
+
+    private final Map<CountedEntity, AtomicLong> counters = new EnumMap<>(Map.of(
+            CountedEntity.MEMBER, new AtomicLong(),
+            CountedEntity.ACCOUNT, new AtomicLong(),
+            CountedEntity.TRANSACTION, new AtomicLong()));
+
+    /**
+     * 현재 건수
+     * @param entity
+     * @return
+     */
+    public long get(CountedEntity entity) {
+        return counters.get(entity).get();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 건수를 증가시킨다 (트랜잭션 밖에서 호출하면 바로 증가)
+     * @param entity
+     * @param created 생성한 행 수
+     */
+    public void incrementAfterCommit(CountedEntity entity, long created) {
+        if (created == 0) {
+            return;
+        }
+
+        AtomicLong counter = counters.get(entity);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.addAndGet(created);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.addAndGet(created);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * COUNT(*) 결과로 카운터를 다시 맞춘다
+     * 세 건수를 주 DB의 한 읽기 트랜잭션에서 세므로, 그 사이 커밋된 보관 이동이 두 번 세어지거나 지연된 복제본 값으로 되돌아가지 않는다
+     * 조회 도중 커밋된 생성은 다음 재조정에서 맞춰진다
+     */
+    @Scheduled(fixedDelayString = "${safebank.counters.reconcile-interval:PT5M}", initialDelayString = "${safebank.counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Counts counts;
+        try (ReadYourWrites.Pin pin = readYourWrites.pinToPrimary()) {
+            counts = readOnly.execute(status -> new Counts(
+                    memberRepository.count(),
+                    accountRepository.count(),
+                    // 보관 테이블로 옮긴 거래도 전체 거래 수에 포함
+                    transactionRepository.count() + transactionRepository.countArchived()));
+        }
+
+        reconcile(CountedEntity.MEMBER, counts.members());
+        reconcile(CountedEntity.ACCOUNT, counts.accounts());
+        reconcile(CountedEntity.TRANSACTION, counts.transactions());
+    }
+
+    private void reconcile(CountedEntity entity, long actual) {
+        long previous = counters.get(entity).getAndSet(actual);
+        if (previous != actual) {
+            log.debug("{} 건수를 재조정했습니다. {} -> {}", entity, previous, actual);
+        }
+    }
+
+    private record Counts(long members, long accounts, long transactions) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.safebank.api.datasource;
+
+import com.safebank.api.config.ReplicaRoutingProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이체 직후 거래 내역 조회가 아직 복제되지 않은 복제본을 읽지 않도록, 최근 이체한 계좌의 조회를 주 DB로 고정
+ * 1. 이체 트랜잭션이 커밋되면 출금/입금 계좌번호와 커밋 시각을 기록한다
+ * 2. 거래 내역 조회는 커넥션을 얻기 전에 pinIfRecentlyWritten으로 주 DB 고정 여부를 정한다
+ * 같은 인스턴스에서 처리한 이체만 알 수 있으므로, 여러 인스턴스로 운영하면 윈도 동안 주 DB 고정은 최선 노력이다
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    // 기록이 이만큼 쌓이면 기록할 때 윈도가 지난 계좌를 정리
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(ReplicaRoutingProperties properties) {
+        this.enabled = properties.getReadYourWrites().isEnabled() && !properties.getReplicas().isEmpty();
+        this.windowNanos = properties.getReadYourWrites().getWindow().toNanos();
+    }
+
+    /**
+     * 현재 스레드의 조회가 주 DB로 고정되어 있는지 (라우팅 데이터소스에서 확인)
+     */
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 계좌들을 최근 쓰기로 기록 (트랜잭션 밖에서 호출하면 바로 기록)
+     * @param accountNumbers
+     */
+    public void recordAfterCommit(String... accountNumbers) {
+        recordAfterCommit(List.of(accountNumbers));
+    }
+
+    public void recordAfterCommit(Collection<String> accountNumbers) {
+        if (!enabled || accountNumbers.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(accountNumbers);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(accountNumbers);
+            }
+        });
+    }
+
+    /**
+     * 계좌가 윈도 안에 쓰였으면 닫을 때까지 현재 스레드의 조회를 주 DB로 고정
+     * 트랜잭션의 첫 쿼리 전에 호출해야 한다 (이미 얻은 커넥션은 바꾸지 않음)
+     * @param accountNumber
+     * @return try-with-resources로 닫는 고정 핸들
+     */
+    public Pin pinIfRecentlyWritten(String accountNumber) {
+        return pin(isRecentlyWritten(accountNumber));
+    }
+
+    /**
+     * 닫을 때까지 현재 스레드의 조회를 항상 주 DB로 고정
+     * 어느 계좌의 조회인지 조회 전에는 알 수 없는 ID 단건 조회, 다른 인스턴스의 쓰기를 바로 읽어야 하는 Idempotency-Key/회원 캐시 조회용
+     * 트랜잭션의 첫 쿼리 전에 호출해야 한다
+     * @return try-with-resources로 닫는 고정 핸들
+     */
+    public Pin pinToPrimary() {
+        return pin(enabled);
+    }
+
+    private Pin pin(boolean pinned) {
+        Boolean previous = PINNED.get();
+        if (pinned) {
+            PINNED.set(Boolean.TRUE);
+        }
+
+        return () -> {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        };
+    }
+
+    boolean isRecentlyWritten(String accountNumber) {
+        if (!enabled || accountNumber == null) {
+            return false;
+        }
+
+        Long writtenAt = lastWriteNanos.get(accountNumber);
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    private void record(Collection<String> accountNumbers) {
+        long now = System.nanoTime();
+        for (String accountNumber : accountNumbers) {
+            lastWriteNanos.put(accountNumber, now);
+        }
+
+        if (lastWriteNanos.size() > PRUNE_THRESHOLD) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+
+    /**
+     * 주 DB 고정 해제 핸들
+     */
+    @FunctionalInterface
+    public interface Pin extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.safebank.api.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * 복제본 지연 측정 (하트비트 행)
+ * 1. 주 DB의 replica_heartbeat 행에 현재 시각(ms)을 기록한다
+ * 2. 복제본에서 같은 행을 읽어, 복제되어 보이는 시각과 현재 시각의 차이를 지연으로 본다
+ * 3. 지연이 maxLag를 넘거나 측정에 실패한 복제본은 다음 측정에서 회복될 때까지 사용하지 않는다
+ * DB 종류별 복제 상태 조회에 의존하지 않으므로 MySQL 복제와 로컬 H2 두 개 구성에서 같게 동작한다
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    static final String UPDATE_BEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    static final String INSERT_BEAT = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    static final String SELECT_BEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+    private final ReplicaSelector selector;
+    private final long maxLagMillis;
+
+    public ReplicaLagMonitor(DataSource primary, ReplicaSelector selector, Duration maxLag) {
+        this.primary = primary;
+        this.selector = selector;
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    /**
+     * 주 DB에 하트비트 테이블 생성 (복제본에는 복제로 전달됨)
+     */
+    public void createHeartbeatTable() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+    }
+
+    /**
+     * 하트비트 기록 후 모든 복제본의 지연 측정
+     */
+    @Scheduled(fixedDelayString = "${safebank.datasource.heartbeat-interval:PT1S}", initialDelayString = "${safebank.datasource.heartbeat-interval:PT1S}")
+    public void check() {
+        try {
+            beat(System.currentTimeMillis());
+        } catch (SQLException e) {
+            log.warn("주 DB에 복제 하트비트를 기록하지 못했습니다. {}", e.getMessage());
+        }
+
+        for (ReplicaNode replica : selector.getReplicas()) {
+            measure(replica);
+        }
+    }
+
+    private void beat(long now) throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_BEAT)) {
+                update.setLong(1, now);
+                if (update.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_BEAT)) {
+                insert.setLong(1, now);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private void measure(ReplicaNode replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_BEAT);
+             ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) {
+                unreachable(replica, "하트비트가 아직 복제되지 않았습니다.");
+                return;
+            }
+
+            long lagMillis = Math.max(0, System.currentTimeMillis() - rs.getLong(1));
+            boolean withinLimit = lagMillis <= maxLagMillis;
+            if (replica.updateLag(lagMillis, withinLimit)) {
+                if (withinLimit) {
+                    log.info("복제본 {}을(를) 읽기에 사용합니다. 지연: {}ms", replica.getName(), lagMillis);
+                } else {
+                    log.warn("복제본 {}의 지연이 허용치를 넘어 주 DB에서 읽습니다. 지연: {}ms, 허용: {}ms", replica.getName(), lagMillis, maxLagMillis);
+                }
+            }
+        } catch (SQLException e) {
+            unreachable(replica, e.getMessage());
+        }
+    }
+
+    private void unreachable(ReplicaNode replica, String reason) {
+        if (replica.markUnreachable()) {
+            log.warn("복제본 {}의 지연을 측정하지 못해 주 DB에서 읽습니다. {}", replica.getName(), reason);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.safebank.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Getter;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 복제본 하나 (커넥션 풀과 마지막으로 측정한 복제 지연)
+ * 지연을 한 번도 측정하지 못한 복제본은 사용하지 않는다
+ */
+@Getter
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile boolean available;
+    // 마지막으로 측정한 복제 지연(ms), 측정 실패 시 -1
+    private volatile long lagMillis = -1;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 사용 중인 커넥션 수 (LEAST_LOADED 선택 기준, Hikari 풀이 아니면 0)
+     */
+    public int activeConnections() {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    /**
+     * 지연 측정 결과 반영
+     * @param lagMillis
+     * @param withinLimit 허용 지연 이내 여부
+     * @return 사용 가능 여부가 바뀌었으면 true
+     */
+    boolean updateLag(long lagMillis, boolean withinLimit) {
+        this.lagMillis = lagMillis;
+        boolean changed = available != withinLimit;
+        available = withinLimit;
+        return changed;
+    }
+
+    /**
+     * 지연을 측정하지 못함 (접속 실패, 하트비트 없음)
+     * @return 사용 가능 여부가 바뀌었으면 true
+     */
+    boolean markUnreachable() {
+        this.lagMillis = -1;
+        boolean changed = available;
+        available = false;
+        return changed;
+    }
+}
@@ -0,0 +1,75 @@
+package com.safebank.api.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 주 DB + 읽기 전용 복제본 라우팅 데이터소스
+ * 실제 커넥션을 첫 쿼리 시점까지 미루므로 @Transactional(readOnly = true)로 읽기 전용 표시된 커넥션은 복제본에서,
+ * 나머지 커넥션은 주 DB에서 얻는다
+ * 복제본은 다음 경우 주 DB로 대체한다
+ * 1. 사용 가능한 복제본이 없음 (지연 초과, 접속 실패, 아직 측정 전)
+ * 2. ReadYourWrites로 현재 스레드의 조회가 주 DB에 고정됨
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaSelector selector;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSelector selector) {
+        super(primary);
+        this.primary = primary;
+        this.selector = selector;
+        setReadOnlyDataSource(new ReadOnlyRouter());
+    }
+
+    /**
+     * 주 DB, 복제본 커넥션 풀 종료
+     */
+    @Override
+    public void close() throws Exception {
+        for (ReplicaNode replica : selector.getReplicas()) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * 읽기 전용 커넥션을 얻을 대상 선택
+     */
+    private class ReadOnlyRouter extends AbstractRoutingDataSource {
+
+        ReadOnlyRouter() {
+            Map<Object, Object> targets = new HashMap<>();
+            targets.put(PRIMARY, primary);
+            for (ReplicaNode replica : selector.getReplicas()) {
+                targets.put(replica.getName(), replica.getDataSource());
+            }
+
+            setTargetDataSources(targets);
+            setDefaultTargetDataSource(primary);
+            setLenientFallback(false);
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (ReadYourWrites.isPinned()) {
+                return PRIMARY;
+            }
+
+            ReplicaNode replica = selector.select();
+            return replica == null ? PRIMARY : replica.getName();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.safebank.api.datasource;
+
+import com.safebank.api.config.ReplicaRoutingProperties.Policy;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 요청을 보낼 복제본 선택 (사용 가능한 복제본 중에서만 선택)
+ */
+public class ReplicaSelector {
+
+    @Getter
+    private final List<ReplicaNode> replicas;
+    private final Policy policy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSelector(List<ReplicaNode> replicas, Policy policy) {
+        this.replicas = List.copyOf(replicas);
+        this.policy = policy;
+    }
+
+    /**
+     * @return 선택한 복제본 (사용 가능한 복제본이 없으면 null, 주 DB에서 읽음)
+     */
+    public ReplicaNode select() {
+        return policy == Policy.LEAST_LOADED ? leastLoaded() : roundRobin();
+    }
+
+    private ReplicaNode roundRobin() {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaNode leastLoaded() {
+        ReplicaNode selected = null;
+        int selectedLoad = Integer.MAX_VALUE;
+        for (ReplicaNode replica : replicas) {
+            if (!replica.isAvailable()) {
+                continue;
+            }
+
+            int load = replica.activeConnections();
+            if (load < selectedLoad) {
+                selected = replica;
+                selectedLoad = load;
+            }
+        }
+        return selected;
+    }
+}
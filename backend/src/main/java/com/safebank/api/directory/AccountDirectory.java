@@ -0,0 +1,143 @@
+package com.safebank.api.directory;
+
+import com.safebank.api.config.AccountDirectoryProperties;
+import com.safebank.api.repository.AccountIdView;
+import com.safebank.api.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+/**
+ * 계좌번호 -> 계좌 ID 메모리 디렉터리
+ * 계좌번호는 바뀌지 않으므로, 이체 때마다 계좌번호로 DB를 조회하지 않고 여기서 ID를 찾아 기본 키로 조회한다
+ * 1. 시작 시 전체 계좌를 스트리밍으로 읽어 채운다
+ * 2. 계좌 생성 트랜잭션이 커밋된 뒤 추가한다 (롤백된 계좌는 들어가지 않음)
+ * 3. 다른 인스턴스에서 생성된 계좌처럼 없는 계좌번호는 호출 측이 DB로 조회한 뒤 put으로 채운다
+ * 계좌는 삭제하지 않는다는 전제이므로 항목을 지우지 않는다
+ * 숫자로만 된 계좌번호(0으로 시작하지 않는 18자리 이하)만 담는다 (그 외 계좌번호는 항상 DB 조회)
+ */
+@Component
+@Slf4j
+public class AccountDirectory {
+
+    private static final int MAX_DIGITS = 18;
+
+    private final AccountRepository accountRepository;
+    private final boolean offHeap;
+    private volatile LongLongMap map;
+
+    public AccountDirectory(AccountRepository accountRepository, AccountDirectoryProperties properties) {
+        this.accountRepository = accountRepository;
+        this.offHeap = properties.isOffHeap();
+        this.map = new LongLongMap(0, offHeap);
+    }
+
+    /**
+     * @param accountNumber
+     * @return 계좌 ID (디렉터리에 없으면 empty)
+     */
+    public OptionalLong find(String accountNumber) {
+        long key = keyOf(accountNumber);
+        if (key < 0) {
+            return OptionalLong.empty();
+        }
+
+        long id = map.get(key);
+        return id == LongLongMap.NO_VALUE ? OptionalLong.empty() : OptionalLong.of(id);
+    }
+
+    /**
+     * 추가 또는 갱신 (담을 수 없는 계좌번호는 무시)
+     * @param accountNumber
+     * @param accountId
+     */
+    public void put(String accountNumber, long accountId) {
+        long key = keyOf(accountNumber);
+        if (key >= 0) {
+            map.put(key, accountId);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 추가한다 (트랜잭션 밖에서 호출하면 바로 추가)
+     * @param accountNumber
+     * @param accountId
+     */
+    public void putAfterCommit(String accountNumber, long accountId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(accountNumber, accountId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(accountNumber, accountId);
+            }
+        });
+    }
+
+    /**
+     * 전체 계좌로 디렉터리를 채운다
+     * 계좌 수에 맞춰 미리 키운 맵으로 교체한 뒤 채우므로, 채우는 도중 추가된 계좌도 빠지지 않는다
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        long started = System.nanoTime();
+        LongLongMap warmed = new LongLongMap(accountRepository.count(), offHeap);
+        map = warmed;
+
+        try (Stream<AccountIdView> refs = accountRepository.streamAccountRefs()) {
+            refs.forEach(ref -> put(ref.getAccountNumber(), ref.getId()));
+        }
+
+        log.info("계좌 디렉터리를 채웠습니다. 계좌 수: {}, 메모리: {}KB ({}), 소요: {}ms",
+                warmed.size(), warmed.footprintBytes() / 1024, offHeap ? "off-heap" : "heap", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 모든 항목 제거 (애플리케이션을 거치지 않고 계좌 행을 일괄 삭제했을 때 사용)
+     */
+    public void clear() {
+        map = new LongLongMap(0, offHeap);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * 슬롯 테이블이 차지하는 바이트 수
+     */
+    public long footprintBytes() {
+        return map.footprintBytes();
+    }
+
+    /**
+     * 계좌번호를 맵 키로 변환 (담을 수 없으면 -1)
+     */
+    static long keyOf(String accountNumber) {
+        int length = accountNumber == null ? 0 : accountNumber.length();
+        if (length == 0 || length > MAX_DIGITS || (accountNumber.charAt(0) == '0' && length > 1)) {
+            return -1;
+        }
+
+        long key = 0;
+        for (int i = 0; i < length; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            key = key * 10 + (c - '0');
+        }
+        return key;
+    }
+}
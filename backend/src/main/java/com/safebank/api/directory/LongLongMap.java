@@ -0,0 +1,263 @@
+package com.safebank.api.directory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 0 이상의 long 키 -> 0 이상의 long 값 오픈 어드레싱(선형 탐사) 맵
+ * 키와 값을 한 슬롯(16바이트)에 나란히 저장하므로 항목마다 객체가 생기지 않는다 (박싱된 HashMap 항목 대비 수 분의 1)
+ * 1. 조회는 락 없이 처리하고, 추가/갱신은 한 번에 하나씩 처리한다 (값을 먼저 쓰고 키를 release로 공개)
+ * 2. 적재율이 0.75를 넘으면 두 배 크기의 테이블을 만들어 옮긴 뒤 교체한다 (교체 전 테이블을 보던 조회는 방금 추가된 키를 못 볼 수 있음)
+ * 3. 삭제는 지원하지 않는다
+ * offHeap이면 슬롯을 direct 버퍼에 두어 GC 대상 힙을 늘리지 않는다
+ */
+public final class LongLongMap {
+
+    /**
+     * 키가 없을 때 get 반환값
+     */
+    public static final long NO_VALUE = -1L;
+
+    private static final float MAX_LOAD = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private final boolean offHeap;
+    private volatile Table table;
+    // 쓰기는 락 안에서만 하고, 락 없이 읽는 size()를 위해 volatile
+    private volatile int size;
+    // 가상 스레드가 캐리어 스레드를 고정하지 않도록 synchronized 대신 사용
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * @param expectedSize 예상 항목 수 (넘으면 자동으로 늘어남)
+     * @param offHeap 슬롯을 힙 밖(direct 버퍼)에 둘지 여부
+     */
+    public LongLongMap(long expectedSize, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.table = newTable(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param key
+     * @return 값 (없으면 NO_VALUE)
+     */
+    public long get(long key) {
+        if (key < 0) {
+            return NO_VALUE;
+        }
+
+        Table t = table;
+        long stored = key + 1;
+        for (int slot = t.slotOf(key); ; slot = (slot + 1) & t.mask) {
+            long k = t.key(slot);
+            if (k == stored) {
+                return t.value(slot);
+            }
+            if (k == 0) {
+                return NO_VALUE;
+            }
+        }
+    }
+
+    /**
+     * 추가 또는 갱신
+     * @param key 0 이상
+     * @param value 0 이상
+     */
+    public void put(long key, long value) {
+        if (key < 0 || value < 0) {
+            throw new IllegalArgumentException("키와 값은 0 이상이어야 합니다. key: " + key + ", value: " + value);
+        }
+
+        writeLock.lock();
+        try {
+            if (insert(table, key, value)) {
+                size++;
+                if (size > (long) (table.capacity() * MAX_LOAD)) {
+                    resize();
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 슬롯 테이블이 차지하는 바이트 수
+     */
+    public long footprintBytes() {
+        return (long) table.capacity() * Table.SLOT_BYTES;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * @return 새 키면 true, 기존 키의 값을 바꿨으면 false
+     */
+    private static boolean insert(Table t, long key, long value) {
+        // 빈 슬롯(0)과 구분하기 위해 키는 1을 더해 저장
+        long stored = key + 1;
+        for (int slot = t.slotOf(key); ; slot = (slot + 1) & t.mask) {
+            long k = t.key(slot);
+            if (k == stored) {
+                t.setValue(slot, value);
+                return false;
+            }
+            if (k == 0) {
+                t.setValue(slot, value);
+                t.setKey(slot, stored);
+                return true;
+            }
+        }
+    }
+
+    private void resize() {
+        Table old = table;
+        if (old.capacity() >= MAX_CAPACITY) {
+            throw new IllegalStateException("맵 최대 크기를 넘었습니다. size: " + size);
+        }
+
+        Table grown = newTable(old.capacity() << 1);
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            long k = old.key(slot);
+            if (k != 0) {
+                insert(grown, k - 1, old.value(slot));
+            }
+        }
+        table = grown;
+    }
+
+    private Table newTable(int capacity) {
+        return offHeap ? new DirectTable(capacity) : new HeapTable(capacity);
+    }
+
+    private static int capacityFor(long expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) MAX_LOAD) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("예상 항목 수가 너무 큽니다: " + expectedSize);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    /**
+     * 슬롯 i의 키는 long 인덱스 2i, 값은 2i + 1
+     */
+    private abstract static sealed class Table permits HeapTable, DirectTable {
+
+        static final int SLOT_BYTES = 2 * Long.BYTES;
+
+        final int mask;
+        private final int shift;
+
+        Table(int capacity) {
+            this.mask = capacity - 1;
+            this.shift = Long.numberOfLeadingZeros(capacity - 1);
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        /**
+         * 계좌번호처럼 연속된 키가 한쪽에 몰리지 않도록 피보나치 해싱 (상위 비트 사용)
+         */
+        int slotOf(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+        }
+
+        abstract long key(int slot);
+
+        abstract long value(int slot);
+
+        abstract void setKey(int slot, long key);
+
+        abstract void setValue(int slot, long value);
+    }
+
+    private static final class HeapTable extends Table {
+
+        private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+        private final long[] slots;
+
+        HeapTable(int capacity) {
+            super(capacity);
+            this.slots = new long[capacity * 2];
+        }
+
+        @Override
+        long key(int slot) {
+            return (long) LONGS.getAcquire(slots, slot * 2);
+        }
+
+        @Override
+        long value(int slot) {
+            return (long) LONGS.getAcquire(slots, slot * 2 + 1);
+        }
+
+        @Override
+        void setKey(int slot, long key) {
+            LONGS.setRelease(slots, slot * 2, key);
+        }
+
+        @Override
+        void setValue(int slot, long value) {
+            LONGS.setRelease(slots, slot * 2 + 1, value);
+        }
+    }
+
+    /**
+     * direct 버퍼 하나는 2GB를 넘을 수 없으므로 1GB 단위로 나눠 할당
+     */
+    private static final class DirectTable extends Table {
+
+        private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+        private static final int CHUNK_BITS = 30;
+        private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+        private final ByteBuffer[] chunks;
+
+        DirectTable(int capacity) {
+            super(capacity);
+            long bytes = (long) capacity * SLOT_BYTES;
+            this.chunks = new ByteBuffer[(int) ((bytes + CHUNK_MASK) >>> CHUNK_BITS)];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = ByteBuffer.allocateDirect((int) Math.min(1L << CHUNK_BITS, bytes - ((long) i << CHUNK_BITS)));
+            }
+        }
+
+        @Override
+        long key(int slot) {
+            long offset = (long) slot * SLOT_BYTES;
+            return (long) LONGS.getAcquire(chunks[(int) (offset >>> CHUNK_BITS)], (int) (offset & CHUNK_MASK));
+        }
+
+        @Override
+        long value(int slot) {
+            long offset = (long) slot * SLOT_BYTES + Long.BYTES;
+            return (long) LONGS.getAcquire(chunks[(int) (offset >>> CHUNK_BITS)], (int) (offset & CHUNK_MASK));
+        }
+
+        @Override
+        void setKey(int slot, long key) {
+            long offset = (long) slot * SLOT_BYTES;
+            LONGS.setRelease(chunks[(int) (offset >>> CHUNK_BITS)], (int) (offset & CHUNK_MASK), key);
+        }
+
+        @Override
+        void setValue(int slot, long value) {
+            long offset = (long) slot * SLOT_BYTES + Long.BYTES;
+            LONGS.setRelease(chunks[(int) (offset >>> CHUNK_BITS)], (int) (offset & CHUNK_MASK), value);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.safebank.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTransferRequest {
+
+    @Valid
+    @NotEmpty(message = "이체 목록은 필수입니다")
+    @Size(max = 10000, message = "한 번에 최대 10,000건까지 이체할 수 있습니다")
+    private List<TransferRequest> transfers;
+}
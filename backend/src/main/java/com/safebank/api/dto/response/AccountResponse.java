@@ -1,6 +1,8 @@
 package com.safebank.api.dto.response;
 
 import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class AccountResponse {
 
     private Long id;
@@ -18,12 +21,22 @@ public class AccountResponse {
     private String status;
     private LocalDateTime createdAt;
 
+    /**
+     * 조회 쿼리에서 바로 만드는 생성자 (AccountRepository의 SELECT new 프로젝션)
+     */
+    public AccountResponse(Long id, String accountNumber, String ownerName, BigDecimal balance, AccountStatus status, LocalDateTime createdAt) {
+        this(id, accountNumber, ownerName, balance, status.name(), createdAt);
+    }
+
+    /**
+     * 엔티티 값으로 변환 (스냅샷 이후 분개는 포함하지 않으므로, API 응답 잔액은 AccountService.getAccountResponseByNumber로 조회한다)
+     */
     public static AccountResponse from(Account account) {
         return AccountResponse.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
                 .ownerName(account.getMember().getName())
-                .balance(account.getBalance())
+                .balance(account.getTotalBalance())
                 .status(account.getStatus().name())
                 .createdAt(account.getCreatedAt())
                 .build();
@@ -0,0 +1,22 @@
+package com.safebank.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class BalanceAsOfResponse {
+
+    private String accountNumber;
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+
+    /**
+     * 계산에 사용한 일말 잔액 기준일 (일말 잔액 없이 현재 잔액에서 되돌려 계산했으면 null)
+     */
+    private LocalDate snapshotDate;
+}
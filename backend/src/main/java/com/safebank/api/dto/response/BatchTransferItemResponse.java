@@ -0,0 +1,45 @@
+package com.safebank.api.dto.response;
+
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Transaction;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class BatchTransferItemResponse {
+
+    private int index;
+    private boolean success;
+    private Long transactionId;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String errorCode;
+    private String message;
+
+    public static BatchTransferItemResponse success(int index, TransferRequest request, Transaction transaction) {
+        return BatchTransferItemResponse.builder()
+                .index(index)
+                .success(true)
+                .transactionId(transaction.getId())
+                .fromAccountNumber(request.getFromAccountNumber())
+                .toAccountNumber(request.getToAccountNumber())
+                .amount(request.getAmount())
+                .build();
+    }
+
+    public static BatchTransferItemResponse failure(int index, TransferRequest request, RuntimeException e) {
+        return BatchTransferItemResponse.builder()
+                .index(index)
+                .success(false)
+                .fromAccountNumber(request.getFromAccountNumber())
+                .toAccountNumber(request.getToAccountNumber())
+                .amount(request.getAmount())
+                .errorCode(e.getClass().getSimpleName())
+                .message(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.safebank.api.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchTransferResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<BatchTransferItemResponse> results;
+
+    public static BatchTransferResponse from(List<BatchTransferItemResponse> results) {
+        int succeeded = (int) results.stream().filter(BatchTransferItemResponse::isSuccess).count();
+
+        return BatchTransferResponse.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.safebank.api.dto.response;
+
+import com.safebank.api.cache.NearCache;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsResponse {
+
+    private int size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+
+    public static CacheStatsResponse from(NearCache<?, ?> cache) {
+        return CacheStatsResponse.builder()
+                .size(cache.size())
+                .hits(cache.getHits())
+                .misses(cache.getMisses())
+                .evictions(cache.getEvictions())
+                .hitRate(cache.getHitRate())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.safebank.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 키셋(커서) 페이지 응답
+ * next는 다음 페이지 요청에 그대로 넘기는 불투명한 커서이며, 마지막 페이지면 null
+ */
+@Data
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String next;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalCount;
+}
@@ -0,0 +1,20 @@
+package com.safebank.api.dto.response;
+
+import com.safebank.api.cache.MemberCache;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MemberCacheStatsResponse {
+
+    private CacheStatsResponse byId;
+    private CacheStatsResponse byEmail;
+
+    public static MemberCacheStatsResponse from(MemberCache memberCache) {
+        return MemberCacheStatsResponse.builder()
+                .byId(CacheStatsResponse.from(memberCache.getByIdCache()))
+                .byEmail(CacheStatsResponse.from(memberCache.getByEmailCache()))
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.safebank.api.dto.response;
 
 import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class MemberResponse {
 
     private Long id;
@@ -17,6 +20,13 @@ public class MemberResponse {
     private String status;
     private LocalDateTime createdAt;
 
+    /**
+     * 조회 쿼리에서 바로 만드는 생성자 (MemberRepository의 SELECT new 프로젝션)
+     */
+    public MemberResponse(Long id, String name, String email, String phoneNumber, MemberStatus status, LocalDateTime createdAt) {
+        this(id, name, email, phoneNumber, status.name(), createdAt);
+    }
+
     public static MemberResponse from(Member member) {
         return MemberResponse.builder()
                 .id(member.getId())
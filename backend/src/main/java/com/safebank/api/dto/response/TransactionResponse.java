@@ -1,6 +1,9 @@
 package com.safebank.api.dto.response;
 
 import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class TransactionResponse {
 
     private Long id;
@@ -19,6 +23,24 @@ public class TransactionResponse {
     private String status;
     private String description;
     private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    /**
+     * 조회 쿼리에서 바로 만드는 생성자 (TransactionRepository의 SELECT new 프로젝션)
+     */
+    public TransactionResponse(Long id, String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                               TransactionType type, TransactionStatus status, String description, LocalDateTime createdAt) {
+        this(id, fromAccountNumber, toAccountNumber, amount, type, status, description, createdAt, null);
+    }
+
+    /**
+     * 완료 시각까지 읽는 프로젝션 생성자 (거래 명세서용)
+     */
+    public TransactionResponse(Long id, String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                               TransactionType type, TransactionStatus status, String description,
+                               LocalDateTime createdAt, LocalDateTime completedAt) {
+        this(id, fromAccountNumber, toAccountNumber, amount, type.name(), status.name(), description, createdAt, completedAt);
+    }
 
     public static TransactionResponse from (Transaction transaction) {
         return TransactionResponse.builder()
@@ -30,6 +52,7 @@ public class TransactionResponse {
                 .status(transaction.getStatus().name())
                 .description(transaction.getDescription())
                 .createdAt(transaction.getCreatedAt())
+                .completedAt(transaction.getCompletedAt())
                 .build();
     }
 }
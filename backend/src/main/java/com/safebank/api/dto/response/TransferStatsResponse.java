@@ -0,0 +1,30 @@
+package com.safebank.api.dto.response;
+
+import com.safebank.api.facade.TransferMetrics;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TransferStatsResponse {
+
+    private String lockMode;
+    private long requests;
+    private long succeeded;
+    private long optimisticRetries;
+    private long pessimisticRetries;
+    private long aborted;
+    private double abortRate;
+
+    public static TransferStatsResponse from(String lockMode, TransferMetrics metrics) {
+        return TransferStatsResponse.builder()
+                .lockMode(lockMode)
+                .requests(metrics.getRequests())
+                .succeeded(metrics.getSucceeded())
+                .optimisticRetries(metrics.getOptimisticRetries())
+                .pessimisticRetries(metrics.getPessimisticRetries())
+                .aborted(metrics.getAborted())
+                .abortRate(metrics.getAbortRate())
+                .build();
+    }
+}
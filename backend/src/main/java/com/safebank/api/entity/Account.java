@@ -6,12 +6,15 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Data
@@ -20,7 +23,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Account {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     @Column(name = "account_id")
     private Long id;
 
@@ -49,6 +53,32 @@ public class Account {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    /**
+     * 낙관적 락 버전 (갱신 시마다 증가, 동시 갱신 충돌 감지)
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * 잔액 분할 수 (0이면 분할하지 않은 일반 계좌)
+     * 분할 계좌의 총 잔액은 balance + 분할 잔액(AccountStripe) 합계이며, 입금은 분할 잔액 행 하나에만 반영된다
+     */
+    @Column(nullable = false)
+    private int stripeCount;
+
+    /**
+     * 잔액 스냅샷 차수 (분개 원장 모드)
+     * balance는 마지막 스냅샷까지 반영된 잔액이며, 이 차수로 기록된 분개(Posting)를 더해야 현재 잔액이 된다
+     */
+    @Column(name = "snapshot_no", nullable = false)
+    private long snapshotNo;
+
+    @OneToMany(mappedBy = "account")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<AccountStripe> stripes;
+
     // 편의 메서드
 
     /**
@@ -70,6 +100,27 @@ public class Account {
         this.balance = this.balance.subtract(amount);
     }
 
+    /**
+     * 분할 계좌 여부
+     * @return
+     */
+    public boolean isStriped() {
+        return this.stripeCount > 0;
+    }
+
+    /**
+     * 분할 잔액을 포함한 총 잔액 (일반 계좌는 balance와 같고 분할 잔액 행을 조회하지 않음)
+     * @return
+     */
+    public BigDecimal getTotalBalance() {
+        if (!isStriped() || this.stripes == null) {
+            return this.balance;
+        }
+        return this.stripes.stream()
+                .map(AccountStripe::getBalance)
+                .reduce(this.balance, BigDecimal::add);
+    }
+
     /**
      * 잔액 존재 여부
      * @param amount
@@ -0,0 +1,41 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * 분할 계좌의 분할 잔액 행
+ * 입금이 몰리는 계좌의 잔액을 여러 행으로 나누어, 동시 입금이 계좌 행 하나에서 직렬화되지 않도록 한다
+ */
+@Entity
+@Table(name = "account_stripe", uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "stripe_no"}))
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class AccountStripe {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_stripe_seq")
+    @SequenceGenerator(name = "account_stripe_seq", sequenceName = "account_stripe_seq", allocationSize = 50)
+    @Column(name = "account_stripe_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Account account;
+
+    @Column(name = "stripe_no", nullable = false)
+    private int stripeNo;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+}
@@ -0,0 +1,94 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 보관 거래 (transaction_archive)
+ * hotRetention보다 오래된 거래를 TransactionArchiver가 같은 ID로 옮겨 둔 테이블로, 거래 테이블은 최근 거래만 유지한다
+ * 옮긴 뒤에는 변경하지 않으며, 계좌 거래 내역 조회는 TransactionRepository가 필요한 경우에만 이 테이블까지 읽는다
+ */
+@Entity
+@Table(name = "transaction_archive", indexes = {
+        @Index(name = "idx_transaction_archive_from_account_created_at", columnList = "from_account_id, created_at DESC, transaction_id DESC"),
+        @Index(name = "idx_transaction_archive_to_account_created_at", columnList = "to_account_id, created_at DESC, transaction_id DESC"),
+        // 보관된 가장 최근 거래 시각 조회용 (거래 테이블만으로 페이지를 채울 수 있는지 판단)
+        @Index(name = "idx_transaction_archive_created_at", columnList = "created_at"),
+        @Index(name = "idx_transaction_archive_from_account_completed_at", columnList = "from_account_id, completed_at"),
+        @Index(name = "idx_transaction_archive_to_account_completed_at", columnList = "to_account_id, completed_at")
+})
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class ArchivedTransaction {
+
+    @Id
+    @Column(name = "transaction_id")
+    private Long id;
+
+    /**
+     * 외래키 값 (INSERT ... SELECT로 옮길 때 계좌를 조인하지 않도록 값으로 매핑하고, 조회용 연관관계는 읽기 전용으로 둔다)
+     */
+    @Column(name = "from_account_id")
+    private Long fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private Long toAccountId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "from_account_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    private Account fromAccount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "to_account_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    private Account toAccount;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionStatus status;
+
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * 거래 내역 응답에 쓰는 거래로 변환 (영속 상태가 아닌 값 객체)
+     * @return
+     */
+    public Transaction toTransaction() {
+        return Transaction.builder()
+                .id(id)
+                .fromAccount(fromAccount)
+                .toAccount(toAccount)
+                .amount(amount)
+                .type(type)
+                .status(status)
+                .description(description)
+                .createdAt(createdAt)
+                .completedAt(completedAt)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 상태별 총 잔액 (분할 잔액 포함)
+ * 잔액이 상태 사이를 오가는 변경(계좌 개설, 상태가 다른 계좌 간 이체 등)과 같은 트랜잭션에서 증감분으로 갱신한다
+ */
+@Entity
+@Table(name = "balance_aggregate")
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class BalanceAggregate {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private AccountStatus status;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalBalance;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
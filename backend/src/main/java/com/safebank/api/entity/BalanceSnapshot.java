@@ -0,0 +1,67 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 잔액 스냅샷 이력 (INSERT만 함)
+ * 압축기가 한 차수의 분개를 접을 때마다 한 행을 남기며, 최신 스냅샷 잔액은 Account.balance에도 반영된다
+ */
+@Entity
+@Immutable
+@Table(name = "balance_snapshot", uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "snapshot_no"}))
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class BalanceSnapshot {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshot_seq")
+    @SequenceGenerator(name = "balance_snapshot_seq", sequenceName = "balance_snapshot_seq", allocationSize = 50)
+    @Column(name = "balance_snapshot_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Account account;
+
+    /**
+     * 이 스냅샷으로 시작하는 차수 (이전 차수의 분개가 balance에 포함됨)
+     */
+    @Column(name = "snapshot_no", nullable = false, updatable = false)
+    private long snapshotNo;
+
+    /**
+     * 스냅샷 시점의 Account.balance (분할 잔액 제외)
+     */
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * 접은 분개 수
+     */
+    @Column(nullable = false, updatable = false)
+    private long postingCount;
+
+    /**
+     * 접은 분개 합계
+     */
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal postingSum;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,52 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 일말 잔액 (INSERT만 함)
+ * DailyBalanceSnapshotter가 하루에 한 번 전날 자정 기준 잔액을 계좌마다 한 행씩 남긴다
+ * 과거 시점 잔액 조회는 가장 가까운 이전 일말 잔액에 그 뒤 거래만 더하므로, 조회 비용이 계좌 전체 거래가 아닌 하루치 거래에 비례한다
+ */
+@Entity
+@Immutable
+@Table(name = "daily_balance", uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "balance_date"}))
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class DailyBalance {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_balance_seq")
+    @SequenceGenerator(name = "daily_balance_seq", sequenceName = "daily_balance_seq", allocationSize = 50)
+    @Column(name = "daily_balance_id")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    /**
+     * 잔액 기준일 (이날이 끝난 시점, 즉 다음 날 0시 직전까지 완료된(completedAt) 거래가 반영된 잔액)
+     */
+    @Column(name = "balance_date", nullable = false, updatable = false)
+    private LocalDate balanceDate;
+
+    /**
+     * 분할 잔액과 분개를 포함한 총 잔액
+     */
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,61 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 별 최초 요청 지문과 응답 본문
+ * 응답 본문이 비어 있으면 최초 요청이 아직 처리 중인 상태
+ * 거래 ID는 이체와 같은 트랜잭션에서 기록되므로, 응답 저장 전에 중단되어도 거래 ID가 있으면 이체는 반영된 것이다
+ */
+@Entity
+@Table(name = "idempotency_key")
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Lob
+    @ToString.Exclude
+    private byte[] responseBody;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * 이 키로 만들어진 거래 ID (이체 트랜잭션 안에서 기록)
+     */
+    private Long transactionId;
+
+    /**
+     * 처리 중 반영 여부를 알 수 없는 실패가 난 키 (같은 키로 다시 실행하지 않음)
+     */
+    @Column(nullable = false)
+    private boolean outcomeUnknown;
+
+    public boolean isCompleted() {
+        return responseBody != null;
+    }
+
+    public boolean isLinked() {
+        return transactionId != null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 원장 저널 반영 위치
+ * DB에 반영된 마지막 저널 순번으로, 저널 항목을 DB에 쓰는 트랜잭션에서 함께 갱신하므로 재시작 시 이 순번 이후 항목만 다시 반영한다
+ */
+@Entity
+@Table(name = "ledger_checkpoint")
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class LedgerCheckpoint {
+
+    /** 저널이 하나뿐이므로 고정 ID 행 하나만 사용 */
+    public static final Long JOURNAL_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long appliedSeq;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 원장 엔진 쓰기 임대
+ * 샤드가 계좌 잔액을 프로세스 메모리에 두고 출금을 승인하므로, 임대를 가진 인스턴스 하나만 원장 엔진을 켤 수 있다
+ */
+@Entity
+@Table(name = "ledger_writer_lease")
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class LedgerWriterLease {
+
+    /** 원장 엔진이 하나뿐이므로 고정 ID 행 하나만 사용 */
+    public static final Long ENGINE_ID = 1L;
+
+    @Id
+    private Long id;
+
+    /**
+     * 임대를 가진 엔진 인스턴스 식별자 (프로세스 시작마다 새로 만듦)
+     */
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    /**
+     * 이 시각까지 갱신되지 않으면 다른 인스턴스가 임대를 가져갈 수 있다
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,89 @@
+package com.safebank.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 복식 부기 분개 행 (INSERT만 하고 수정/삭제하지 않음)
+ * 이체 1건은 출금 계좌의 DEBIT(-금액)과 입금 계좌의 CREDIT(+금액) 두 행을 만든다
+ * 계좌 잔액 = Account.balance(마지막 스냅샷) + 분할 잔액 + 현재 스냅샷 차수(snapshotNo)의 분개 합계
+ */
+@Entity
+@Immutable
+@Table(indexes = {
+        // 계좌의 현재 스냅샷 차수 분개 합계 조회용
+        @Index(name = "idx_posting_account_snapshot", columnList = "account_id, snapshot_no"),
+        // 압축 대상 계좌를 최근 분개에서만 찾기 위한 인덱스
+        @Index(name = "idx_posting_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class Posting {
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posting_seq")
+    @SequenceGenerator(name = "posting_seq", sequenceName = "posting_seq", allocationSize = 50)
+    @Column(name = "posting_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "transaction_id", nullable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Transaction transaction;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private PostingType type;
+
+    /**
+     * 부호 있는 금액 (DEBIT은 음수, CREDIT은 양수)
+     */
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * 분개를 기록할 때의 계좌 스냅샷 차수 (압축기가 이 차수의 분개를 다음 스냅샷으로 접는다)
+     */
+    @Column(name = "snapshot_no", nullable = false, updatable = false)
+    private long snapshotNo;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static Posting debit(Transaction transaction, Account account) {
+        return of(transaction, account, PostingType.DEBIT, transaction.getAmount().negate());
+    }
+
+    public static Posting credit(Transaction transaction, Account account) {
+        return of(transaction, account, PostingType.CREDIT, transaction.getAmount());
+    }
+
+    private static Posting of(Transaction transaction, Account account, PostingType type, BigDecimal amount) {
+        return Posting.builder()
+                .transaction(transaction)
+                .account(account)
+                .type(type)
+                .amount(amount)
+                .snapshotNo(account.getSnapshotNo())
+                .build();
+    }
+}
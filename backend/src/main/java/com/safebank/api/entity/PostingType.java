@@ -0,0 +1,5 @@
+package com.safebank.api.entity;
+
+public enum PostingType {
+    DEBIT, CREDIT
+}
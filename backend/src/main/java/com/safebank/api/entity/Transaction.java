@@ -13,13 +13,26 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 계좌 거래 내역의 출금/입금 갈래를 인덱스 순서대로 읽기 위한 인덱스 (created_at, transaction_id 역순 스캔으로 정렬 생략)
+        @Index(name = "idx_transaction_from_account_created_at", columnList = "from_account_id, created_at DESC, transaction_id DESC"),
+        @Index(name = "idx_transaction_to_account_created_at", columnList = "to_account_id, created_at DESC, transaction_id DESC"),
+        // 보관 이동 대상(오래된 거래)을 생성 순서대로 찾기 위한 인덱스
+        @Index(name = "idx_transaction_created_at", columnList = "created_at, transaction_id"),
+        // 멈춘 처리 대기(PENDING) 거래를 오래된 순으로 찾기 위한 인덱스
+        @Index(name = "idx_transaction_status_created_at", columnList = "status, created_at"),
+        // 일말 잔액 계산에서 계좌별 순입금을 완료 시각 범위로 읽기 위한 인덱스
+        @Index(name = "idx_transaction_from_account_completed_at", columnList = "from_account_id, completed_at"),
+        @Index(name = "idx_transaction_to_account_completed_at", columnList = "to_account_id, completed_at")
+})
 @Data
 @NoArgsConstructor
 @Builder
 @AllArgsConstructor
 public class Transaction {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     @Column(name = "transaction_id")
     private Long id;
 
@@ -50,4 +63,20 @@ public class Transaction {
     @CreationTimestamp
     @Column(nullable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * 잔액에 반영된 시각 (COMPLETED가 된 시각, 그 전에는 null)
+     * 비동기 접수 거래는 생성 시각보다 늦게 반영되므로 잔액 되감기는 이 시각을 기준으로 한다
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * 완료 상태로 바로 저장하는 거래는 저장 시각을 완료 시각으로 기록
+     */
+    @PrePersist
+    void onPersist() {
+        if (status == TransactionStatus.COMPLETED && completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+    }
 }
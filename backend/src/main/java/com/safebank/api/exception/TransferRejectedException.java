@@ -0,0 +1,15 @@
+package com.safebank.api.exception;
+
+/**
+ * 이체를 반영하기 전에 거절함 (종료 중, 처리 한도 초과, 락 충돌 재시도 한도 초과 등으로 잔액과 거래 내역은 바뀌지 않음)
+ */
+public class TransferRejectedException extends IllegalStateException {
+
+    public TransferRejectedException(String message) {
+        super(message);
+    }
+
+    public TransferRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
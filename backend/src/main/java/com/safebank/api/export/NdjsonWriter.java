@@ -0,0 +1,51 @@
+package com.safebank.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 조회 스트림을 NDJSON(한 줄에 JSON 하나)으로 출력 스트림에 기록
+ * 행을 모으지 않고 받는 대로 쓰므로 목록 크기와 관계없이 메모리 사용량이 일정하다
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonWriter {
+
+    // 첫 행과 이후 행들이 바로 나가도록 주기적으로 flush (응답 시작 지연 방지)
+    private static final int FLUSH_EVERY = 1_000;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param rows 기록할 행 (닫지 않음)
+     * @param out 응답 출력 스트림 (닫지 않음)
+     * @return 기록한 행 수
+     */
+    public long write(Stream<?> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+
+        Iterator<?> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.write(objectMapper.writeValueAsString(iterator.next()));
+            writer.write('\n');
+
+            if (++count == 1 || count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+
+        return count;
+    }
+}
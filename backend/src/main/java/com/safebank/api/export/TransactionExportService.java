@@ -0,0 +1,110 @@
+package com.safebank.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 계좌 거래 내역 내보내기 (CSV / NDJSON)
+ * 스트리밍 쿼리에서 한 행씩 받아 바로 출력 스트림에 쓰므로, 거래 수와 관계없이 메모리 사용량이 일정하다
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    static final String CSV_HEADER = "id,fromAccountNumber,toAccountNumber,amount,type,status,description,createdAt";
+
+    // 헤더와 첫 행들이 바로 나가도록 주기적으로 flush (응답 시작 지연 방지)
+    private static final int FLUSH_EVERY = 1_000;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 계좌 거래 내역 전체를 시간순으로 출력 스트림에 기록
+     * @param accountId
+     * @param format
+     * @param out 응답 출력 스트림 (닫지 않음)
+     * @return 기록한 거래 수
+     */
+    @Transactional(readOnly = true)
+    public long export(Long accountId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(TransactionResponse.class);
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        writer.flush();
+
+        try (Stream<TransactionResponse> rows = transactionRepository.streamHistoryByAccountId(accountId)) {
+            Iterator<TransactionResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionResponse row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                }
+                writer.write('\n');
+
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("거래 내역을 내보냈습니다. 계좌 ID: {}, 형식: {}, 건수: {}", accountId, format, count);
+
+        return count;
+    }
+
+    private void writeCsv(Writer writer, TransactionResponse row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(csv(row.getFromAccountNumber()));
+        writer.write(',');
+        writer.write(csv(row.getToAccountNumber()));
+        writer.write(',');
+        writer.write(row.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(row.getType());
+        writer.write(',');
+        writer.write(row.getStatus());
+        writer.write(',');
+        writer.write(csv(row.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCreatedAt()));
+    }
+
+    /**
+     * CSV 필드 이스케이프 (RFC 4180: 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 씀)
+     */
+    public static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
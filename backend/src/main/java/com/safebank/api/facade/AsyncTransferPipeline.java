@@ -0,0 +1,201 @@
+package com.safebank.api.facade;
+
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.service.TransactionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 이체 처리
+ * 요청 스레드는 PENDING 거래만 저장하고 바로 반환하며, 실제 잔액 이동은 고정 크기 작업자 풀에서 처리한다
+ * 처리 대기 중인 이체 수는 queueCapacity로 제한하고, 가득 차면 PENDING 거래를 만들기 전에 접수를 거절한다
+ * 가상 스레드 모드(spring.threads.virtual.enabled)에서는 작업자도 가상 스레드로 만든다. 동시 처리 수는 여전히 workers로 제한된다
+ *
+ * 처리 전에 중단된 PENDING 거래 복구:
+ * - 종료 시 유예 시간 안에 처리하지 못한 거래는 FAILED로 바꾼다
+ * - 비정상 종료로 남은 거래는 기동 직후와 recoveryInterval마다 찾아, recoverAfter가 지났으면 다시 처리하고 expireAfter가 지났으면 FAILED로 바꾼다
+ * 거래는 PENDING -> COMPLETED 선점 후에만 잔액을 옮기므로, 다른 인스턴스가 처리 중인 거래를 다시 처리해도 한 번만 반영된다
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncTransferPipeline {
+
+    private final TransferFacade transferFacade;
+    private final TransactionService transactionService;
+    private final TransferProperties transferProperties;
+    private final Environment environment;
+
+    private static final int RECOVERY_BATCH_SIZE = 500;
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    // 이 인스턴스의 작업자 큐에 들어 있거나 처리 중인 거래 (복구 시 중복 등록 방지, 종료 시 FAILED 대상)
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService workers;
+    private Semaphore permits;
+    private volatile boolean closed;
+
+    @PostConstruct
+    void start() {
+        TransferProperties.Async async = transferProperties.getAsync();
+
+        permits = new Semaphore(async.getQueueCapacity());
+        workers = Executors.newFixedThreadPool(async.getWorkers(), workerThreadFactory());
+    }
+
+    private ThreadFactory workerThreadFactory() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name("async-transfer-", 1).factory();
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> new Thread(runnable, "async-transfer-" + sequence.incrementAndGet());
+    }
+
+    /**
+     * 접수를 멈추고 유예 시간 동안 남은 거래를 처리한 뒤, 처리하지 못한 거래는 FAILED로 바꾼다
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        closed = true;
+        workers.shutdown();
+        if (!workers.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        List<Long> unprocessed = new ArrayList<>(queued);
+        if (!unprocessed.isEmpty()) {
+            int failed = transactionService.failPendingTransfers(unprocessed);
+            log.warn("종료 전에 처리하지 못한 접수 이체를 실패 처리했습니다. 건수: {}", failed);
+        }
+    }
+
+    /**
+     * 비동기 이체 접수
+     * @param request
+     * @return PENDING 상태의 거래 (처리 결과는 거래 ID로 조회)
+     */
+    public Transaction submit(TransferRequest request) {
+        if (closed) {
+            throw new IllegalStateException("서버가 종료 중이라 이체를 접수할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        if (!permits.tryAcquire()) {
+            throw new IllegalStateException("이체 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Transaction pending;
+        try {
+            pending = transactionService.createPendingTransfer(request);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        enqueue(pending.getId(), request);
+
+        return pending;
+    }
+
+    /**
+     * 멈춘 PENDING 거래 복구 (기동 직후와 recoveryInterval마다 실행)
+     * expireAfter가 지난 거래는 FAILED로 바꾸고, recoverAfter가 지난 거래는 작업자 큐에 남은 자리만큼 다시 처리한다
+     */
+    @Scheduled(fixedDelayString = "${safebank.transfer.async.recovery-interval:PT1M}")
+    public void recoverStalled() {
+        TransferProperties.Async async = transferProperties.getAsync();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 작업자 큐에 있는 거래는 건너뛰므로, 건너뛴 거래가 한 페이지를 채워도 다음 거래로 넘어가도록 ID로 페이지를 나눈다
+        long lastSeen = 0;
+        List<Long> ids;
+        do {
+            ids = transactionService.getPendingTransferIdsBefore(now.minus(async.getExpireAfter()), lastSeen, RECOVERY_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastSeen = ids.get(ids.size() - 1);
+
+            int expired = transactionService.failPendingTransfers(ids.stream()
+                    .filter(id -> !queued.contains(id))
+                    .toList());
+            if (expired > 0) {
+                log.warn("처리되지 않고 오래 남은 접수 이체를 실패 처리했습니다. 건수: {}", expired);
+            }
+        } while (ids.size() == RECOVERY_BATCH_SIZE);
+
+        int recovered = 0;
+        for (Transaction stalled : transactionService.getPendingTransfersBefore(now.minus(async.getRecoverAfter()), RECOVERY_BATCH_SIZE)) {
+            if (closed || queued.contains(stalled.getId())) {
+                continue;
+            }
+            if (!permits.tryAcquire()) {
+                break;
+            }
+
+            enqueue(stalled.getId(), toRequest(stalled));
+            recovered++;
+        }
+
+        if (recovered > 0) {
+            log.warn("중단된 접수 이체를 다시 처리합니다. 건수: {}", recovered);
+        }
+    }
+
+    private void enqueue(Long transactionId, TransferRequest request) {
+        queued.add(transactionId);
+        try {
+            workers.execute(() -> process(transactionId, request));
+        } catch (RuntimeException e) {
+            // 종료 중이라 작업자가 받지 않으면 queued에 남겨 stop()이 FAILED로 바꾼다
+            permits.release();
+            log.warn("접수 이체를 작업자에 넘기지 못했습니다. 거래 ID: {}, 사유: {}", transactionId, e.getMessage());
+        }
+    }
+
+    private TransferRequest toRequest(Transaction transaction) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(transaction.getFromAccount().getAccountNumber());
+        request.setToAccountNumber(transaction.getToAccount().getAccountNumber());
+        request.setAmount(transaction.getAmount());
+        request.setDescription(transaction.getDescription());
+        return request;
+    }
+
+    private void process(Long transactionId, TransferRequest request) {
+        try {
+            transferFacade.completePendingTransfer(transactionId, request);
+        } catch (RuntimeException e) {
+            log.warn("접수된 이체 처리에 실패했습니다. 거래 ID: {}, 사유: {}", transactionId, e.getMessage());
+            try {
+                transactionService.failPendingTransfer(transactionId);
+            } catch (RuntimeException failure) {
+                log.error("거래 실패 상태 저장에 실패했습니다. 거래 ID: {}", transactionId, failure);
+            }
+        } finally {
+            queued.remove(transactionId);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.safebank.api.facade;
+
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.BatchTransferItemResponse;
+import com.safebank.api.dto.response.BatchTransferResponse;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.ledger.ShardedLedgerEngine;
+import com.safebank.api.posting.PostingLedgerService;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 이체 재시도 퍼사드
+ * 락 획득 실패나 버전 충돌로 롤백된 이체를 새 트랜잭션에서 다시 실행해야 하므로, 트랜잭션 경계(TransactionService) 바깥에서 재시도한다
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferFacade {
+
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final TransferProperties transferProperties;
+    private final TransferMetrics transferMetrics;
+    private final ObjectProvider<ShardedLedgerEngine> ledgerEngine;
+    private final ObjectProvider<PostingLedgerService> postingLedger;
+
+    public Transaction transfer(TransferRequest request) {
+        // 원장 엔진이 켜져 있으면 샤드 쓰기 스레드가 직렬로 처리하므로 락 충돌 재시도가 필요 없다
+        ShardedLedgerEngine engine = ledgerEngine.getIfAvailable();
+        if (engine != null) {
+            return engine.transfer(request);
+        }
+
+        // 분개 원장 모드면 계좌 잔액을 갱신하지 않고 분개만 INSERT (출금 계좌 락 대기 실패는 같은 방식으로 재시도)
+        PostingLedgerService posting = postingLedger.getIfAvailable();
+
+        transferMetrics.recordRequest();
+        Transaction transaction = posting != null
+                ? withRetry(() -> posting.transfer(request))
+                : withRetry(() -> transactionService.transfer(request));
+        transferMetrics.recordSuccess();
+
+        return transaction;
+    }
+
+    /**
+     * 접수된(PENDING) 이체 완료 처리 (AsyncTransferPipeline 작업자에서 호출)
+     * 원장 엔진이 켜져 있으면 엔진만 잔액을 바꿀 수 있으므로 엔진으로 처리하고, PENDING 거래 행은 엔진 플러셔가 DB 반영 트랜잭션에서 선점한다
+     * @param transactionId
+     * @param request
+     * @return
+     */
+    public Transaction completePendingTransfer(Long transactionId, TransferRequest request) {
+        ShardedLedgerEngine engine = ledgerEngine.getIfAvailable();
+        if (engine != null) {
+            return engine.completePendingTransfer(transactionId, request);
+        }
+
+        PostingLedgerService posting = postingLedger.getIfAvailable();
+
+        transferMetrics.recordRequest();
+        Transaction transaction = posting != null
+                ? withRetry(() -> posting.completePendingTransfer(transactionId, request))
+                : withRetry(() -> transactionService.completePendingTransfer(transactionId, request));
+        transferMetrics.recordSuccess();
+
+        return transaction;
+    }
+
+    /**
+     * 일괄 이체
+     * 계좌번호는 한 번의 IN 쿼리로 확인하고, batchChunkSize 건씩 나누어 청크마다 하나의 DB 트랜잭션으로 처리한다
+     * 청크가 롤백되면(락 대기 시간 초과, 재시도 한도 초과 등) 그 청크의 건만 실패로 기록하고 다음 청크를 계속 처리한다
+     * @param requests
+     * @return 요청 순서와 같은 건별 결과
+     */
+    public BatchTransferResponse transferBatch(List<TransferRequest> requests) {
+        ShardedLedgerEngine engine = ledgerEngine.getIfAvailable();
+        if (engine != null) {
+            return BatchTransferResponse.from(engine.transferBatch(requests));
+        }
+
+        PostingLedgerService posting = postingLedger.getIfAvailable();
+        if (posting != null) {
+            return BatchTransferResponse.from(transferEach(request -> withRetry(() -> posting.transfer(request)), requests));
+        }
+
+        Set<String> accountNumbers = new HashSet<>();
+        for (TransferRequest request : requests) {
+            accountNumbers.add(request.getFromAccountNumber());
+            accountNumbers.add(request.getToAccountNumber());
+        }
+        Map<String, Long> accountIds = accountService.getAccountIdsByNumbers(accountNumbers);
+
+        int chunkSize = transferProperties.getBatchChunkSize();
+        List<BatchTransferItemResponse> results = new ArrayList<>(requests.size());
+
+        for (int offset = 0; offset < requests.size(); offset += chunkSize) {
+            List<TransferRequest> chunk = requests.subList(offset, Math.min(offset + chunkSize, requests.size()));
+            List<BatchTransferItemResponse> chunkResults;
+            try {
+                chunkResults = withRetry(() -> transactionService.transferBatch(chunk, accountIds));
+            } catch (RuntimeException e) {
+                // 앞선 청크는 이미 커밋되었으므로 예외로 끝내지 않고 건별 결과를 돌려준다
+                log.warn("일괄 이체 청크가 실패했습니다. 시작 순번: {}, 건수: {}", offset, chunk.size(), e);
+                chunkResults = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunkResults.add(BatchTransferItemResponse.failure(i, chunk.get(i), e));
+                }
+            }
+
+            for (BatchTransferItemResponse result : chunkResults) {
+                result.setIndex(offset + result.getIndex());
+                results.add(result);
+            }
+        }
+
+        return BatchTransferResponse.from(results);
+    }
+
+    /**
+     * 분개 원장 사용 시 건별로 위임 (건마다 INSERT만 하므로 청크로 묶지 않음)
+     */
+    private List<BatchTransferItemResponse> transferEach(Function<TransferRequest, Transaction> transfer, List<TransferRequest> requests) {
+        List<BatchTransferItemResponse> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            try {
+                results.add(BatchTransferItemResponse.success(i, request, transfer.apply(request)));
+            } catch (RuntimeException e) {
+                results.add(BatchTransferItemResponse.failure(i, request, e));
+            }
+        }
+
+        return results;
+    }
+
+    private <T> T withRetry(Supplier<T> action) {
+        TransferProperties.Retry retry = transferProperties.getRetry();
+        long backoffMs = retry.getInitialBackoffMs();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= retry.getMaxAttempts()) {
+                    transferMetrics.recordAbort();
+                    log.warn("이체 재시도 한도 초과. 시도 횟수: {}", attempt);
+                    throw e;
+                }
+
+                if (e instanceof OptimisticLockingFailureException) {
+                    transferMetrics.recordOptimisticRetry();
+                } else {
+                    transferMetrics.recordPessimisticRetry();
+                }
+
+                long sleepMs = withJitter(backoffMs);
+                log.debug("이체 동시성 충돌, 재시도합니다. 시도 횟수: {}, 대기: {}ms", attempt, sleepMs);
+                sleep(sleepMs);
+                backoffMs = Math.min(backoffMs * 2, retry.getMaxBackoffMs());
+            }
+        }
+    }
+
+    /**
+     * 같은 계좌에서 충돌한 요청들이 동시에 다시 깨어나 또 충돌하지 않도록 대기 시간을 [절반, 전체] 구간에서 무작위로 선택
+     */
+    private long withJitter(long backoffMs) {
+        long half = backoffMs / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoffMs - half + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이체 재시도 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+}
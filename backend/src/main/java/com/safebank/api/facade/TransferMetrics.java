@@ -0,0 +1,66 @@
+package com.safebank.api.facade;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이체 재시도 지표 (락 전략별 재시도 횟수, 포기 비율 비교용)
+ */
+@Component
+public class TransferMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder optimisticRetries = new LongAdder();
+    private final LongAdder pessimisticRetries = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+
+    void recordRequest() {
+        requests.increment();
+    }
+
+    void recordSuccess() {
+        succeeded.increment();
+    }
+
+    void recordOptimisticRetry() {
+        optimisticRetries.increment();
+    }
+
+    void recordPessimisticRetry() {
+        pessimisticRetries.increment();
+    }
+
+    void recordAbort() {
+        aborted.increment();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getOptimisticRetries() {
+        return optimisticRetries.sum();
+    }
+
+    public long getPessimisticRetries() {
+        return pessimisticRetries.sum();
+    }
+
+    public long getAborted() {
+        return aborted.sum();
+    }
+
+    /**
+     * 재시도 한도를 넘겨 포기한 이체 비율
+     */
+    public double getAbortRate() {
+        long total = getRequests();
+        return total == 0 ? 0.0 : (double) getAborted() / total;
+    }
+}
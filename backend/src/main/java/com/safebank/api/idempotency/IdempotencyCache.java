@@ -0,0 +1,102 @@
+package com.safebank.api.idempotency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 완료된 Idempotency-Key 응답의 메모리 캐시 (최대 크기 + TTL)
+ * 항목은 DB와 같이 키를 선점한 시각 + TTL에 만료된다. 삽입 순서가 만료 순서와 대체로 같으므로 조회 시 앞에서부터 만료된 항목을 걷어내고,
+ * 순서가 어긋난 항목은 조회할 때 만료 여부를 다시 확인한다. 크기를 넘으면 가장 오래된 항목을 버린다
+ * 가상 스레드로 요청을 처리할 때 캐리어 스레드가 고정되지 않도록 synchronized 대신 ReentrantLock을 사용한다
+ */
+class IdempotencyCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    IdempotencyCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    StoredResponse get(String key) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            evictExpired(now);
+
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry.expiresAt - now <= 0) {
+                entries.remove(key);
+                return null;
+            }
+
+            return entry.response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(String key, StoredResponse response) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            evictExpired(now);
+
+            // 재삽입 시 만료 순서를 유지하도록 기존 항목을 지우고 맨 뒤에 다시 넣는다
+            entries.remove(key);
+            long remainingNanos = remainingNanos(response.createdAt());
+            if (remainingNanos <= 0) {
+                return;
+            }
+            entries.put(key, new Entry(response, now + remainingNanos));
+
+            if (entries.size() > maxEntries) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 선점 시각 + TTL까지 남은 시간 (선점 시각을 모르면 TTL 전체)
+     */
+    private long remainingNanos(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return ttlNanos;
+        }
+        return Math.min(ttlNanos, Duration.between(LocalDateTime.now(), createdAt).toNanos() + ttlNanos);
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && iterator.next().getValue().expiresAt - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private record Entry(StoredResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,327 @@
+package com.safebank.api.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebank.api.config.IdempotencyProperties;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.entity.IdempotencyRecord;
+import com.safebank.api.exception.AccountNotFoundException;
+import com.safebank.api.exception.IdempotencyConflictException;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.exception.TransferRejectedException;
+import com.safebank.api.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 처리
+ * 1. 메모리 캐시에 완료된 응답이 있으면 DB를 거치지 않고 그대로 돌려준다
+ * 2. 같은 키의 요청이 이 인스턴스에서 처리 중이면 그 결과를 기다린다
+ * 3. DB에 키를 선점(INSERT)한 요청만 실제로 실행하고, 응답 본문을 저장한다 (다른 인스턴스와의 중복은 기본키로 막음)
+ *
+ * 실제 작업(이체)은 자체 트랜잭션과 재시도를 가지므로 이 클래스는 트랜잭션으로 감싸지 않는다
+ * 대신 이체 트랜잭션이 linkTransaction으로 키에 거래 ID를 함께 기록하므로, 응답 저장 전에 중단되어도 재요청은 거래 ID로 응답을 다시 만든다
+ *
+ * 실패 시 키 처리:
+ * - 반영되지 않은 것이 확실한 실패(검증 실패, 계좌 없음, 잔액 부족, 원장 엔진의 거절, 락 충돌 재시도 초과)는 선점을 풀어 같은 키로 다시 시도할 수 있게 한다
+ * - 그 밖의 실패(처리 대기 시간 초과, 커밋 결과 불명 등)는 반영 여부를 알 수 없으므로 키를 남겨 같은 키로 다시 실행하지 않는다
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    // action을 실행 중인 스레드의 키 (이체 트랜잭션에서 거래 ID를 기록할 때 사용)
+    private static final ThreadLocal<String> CURRENT_KEY = new ThreadLocal<>();
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+    private final ReadYourWrites readYourWrites;
+    private final IdempotencyCache cache;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              IdempotencyProperties idempotencyProperties,
+                              ObjectMapper objectMapper,
+                              ReadYourWrites readYourWrites) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyProperties = idempotencyProperties;
+        this.objectMapper = objectMapper;
+        this.readYourWrites = readYourWrites;
+        this.cache = new IdempotencyCache(idempotencyProperties.getCacheMaxEntries(), idempotencyProperties.getTtl());
+    }
+
+    /**
+     * 키 당 한 번만 action을 실행하고, 같은 키의 재요청에는 최초 응답 본문을 그대로 돌려준다
+     * @param key Idempotency-Key 헤더 값
+     * @param request 요청 본문 (같은 키를 다른 요청에 재사용했는지 확인하는 데 사용)
+     * @param action 실제 처리, 반환값이 응답 본문으로 직렬화되어 저장된다
+     * @return 응답 본문과 재전송 여부
+     */
+    public IdempotentResponse execute(String key, Object request, Supplier<?> action) {
+        return execute(key, request, action, null);
+    }
+
+    /**
+     * execute와 같고, 응답 저장 전에 중단된 키의 재요청이면 기록된 거래 ID로 응답을 다시 만든다
+     * @param recover 거래 ID로 응답 본문을 만드는 함수 (null이면 응답이 저장될 때까지 처리 중으로 본다)
+     */
+    public IdempotentResponse execute(String key, Object request, Supplier<?> action, Function<Long, ?> recover) {
+        validateKey(key);
+        String requestHash = hash(request);
+
+        StoredResponse cached = cache.get(key);
+        if (cached != null) {
+            return replay(key, cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(key, await(running), requestHash);
+        }
+
+        try {
+            // DB에 기록되는 선점 시각보다 앞서므로, 캐시가 DB보다 늦게 만료되지 않는다
+            LocalDateTime reservedAt = LocalDateTime.now();
+            StoredResponse stored = reserveOrLoad(key, requestHash, recover);
+            boolean replayed = (stored != null);
+
+            if (!replayed) {
+                stored = new StoredResponse(requestHash, run(key, action), reservedAt);
+            }
+
+            cache.put(key, stored);
+            mine.complete(stored);
+
+            return replayed ? replay(key, stored, requestHash) : new IdempotentResponse(stored.body(), false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 키에 거래 ID 기록 (이체 트랜잭션 안에서 호출, 키 없이 실행 중이면 무시)
+     * @param transactionId
+     */
+    public void linkTransaction(Long transactionId) {
+        linkTransaction(CURRENT_KEY.get(), transactionId);
+    }
+
+    /**
+     * 키에 거래 ID 기록 (다른 스레드가 이체를 반영하는 경우, 요청 스레드에서 currentKey로 얻은 키를 넘김)
+     * @param key
+     * @param transactionId
+     */
+    public void linkTransaction(String key, Long transactionId) {
+        if (key != null && transactionId != null) {
+            idempotencyRecordRepository.linkTransaction(key, transactionId);
+        }
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 Idempotency-Key (없으면 null)
+     */
+    public static String currentKey() {
+        return CURRENT_KEY.get();
+    }
+
+    /**
+     * 보관 기간이 지난 키 정리 (조회 시에도 만료 여부를 확인하므로, 다시 쓰이지 않는 키가 쌓이지 않게 하는 용도)
+     */
+    @Scheduled(fixedDelayString = "${safebank.idempotency.purge-interval:PT1H}", initialDelayString = "${safebank.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(idempotencyProperties.getTtl()));
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 Idempotency-Key {}건을 삭제했습니다.", deleted);
+        }
+    }
+
+    /**
+     * DB에 키를 선점한다
+     * 다른 인스턴스가 방금 완료한 키를 복제 지연으로 놓치지 않도록 키 조회는 주 DB에서 한다
+     * @return 이미 완료된 키면 저장된 응답, 선점에 성공하면 null
+     */
+    private StoredResponse reserveOrLoad(String key, String requestHash, Function<Long, ?> recover) {
+        try (ReadYourWrites.Pin pin = readYourWrites.pinToPrimary()) {
+            StoredResponse existing = loadCompleted(key, recover);
+            if (existing != null) {
+                return existing;
+            }
+
+            try {
+                idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .build());
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 같은 키를 먼저 선점함
+                StoredResponse stored = loadCompleted(key, recover);
+                if (stored == null) {
+                    throw new IdempotencyConflictException("같은 Idempotency-Key로 처리 중인 요청이 있습니다. 키: " + key);
+                }
+                return stored;
+            }
+        }
+    }
+
+    private StoredResponse loadCompleted(String key, Function<Long, ?> recover) {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(key).orElse(null);
+        if (record == null) {
+            return null;
+        }
+
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(idempotencyProperties.getTtl());
+        if (record.getCreatedAt() != null && record.getCreatedAt().isBefore(expiredBefore)) {
+            // 보관 기간이 지난 키는 새 요청으로 처리
+            idempotencyRecordRepository.deleteExpired(key, expiredBefore);
+            return null;
+        }
+
+        if (record.isCompleted()) {
+            return new StoredResponse(record.getRequestHash(), record.getResponseBody(), record.getCreatedAt());
+        }
+
+        if (record.isLinked() && recover != null) {
+            // 이체는 커밋되었지만 응답을 저장하기 전에 중단된 키
+            byte[] body = serialize(recover.apply(record.getTransactionId()));
+            idempotencyRecordRepository.complete(key, body, LocalDateTime.now());
+            log.info("응답 저장 전에 중단된 Idempotency-Key의 응답을 거래 내역으로 복구했습니다. 키: {}, 거래 ID: {}", key, record.getTransactionId());
+            return new StoredResponse(record.getRequestHash(), body, record.getCreatedAt());
+        }
+
+        if (!record.isLinked() && !record.isOutcomeUnknown() && isLeaseExpired(record)
+                && idempotencyRecordRepository.deleteAbandoned(key, LocalDateTime.now().minus(idempotencyProperties.getLease())) > 0) {
+            // 이체는 거래 ID를 같은 트랜잭션에서 기록하므로, 선점 유지 시간이 지나도록 거래 ID가 없으면 반영 전에 중단된 요청
+            log.warn("처리 중에 중단된 Idempotency-Key를 지우고 다시 실행합니다. 키: {}, 선점 시각: {}", key, record.getCreatedAt());
+            return null;
+        }
+
+        if (record.isOutcomeUnknown()) {
+            throw new IdempotencyConflictException("같은 Idempotency-Key의 이전 요청은 처리 여부를 확인할 수 없습니다. 거래 내역을 확인한 뒤 새 키로 요청해 주세요. 키: " + key);
+        }
+
+        throw new IdempotencyConflictException("같은 Idempotency-Key로 처리 중인 요청이 있습니다. 키: " + key);
+    }
+
+    private boolean isLeaseExpired(IdempotencyRecord record) {
+        return record.getCreatedAt() != null && record.getCreatedAt().plus(idempotencyProperties.getLease()).isBefore(LocalDateTime.now());
+    }
+
+    private byte[] run(String key, Supplier<?> action) {
+        Object response;
+        CURRENT_KEY.set(key);
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            releaseOrKeep(key, e);
+            throw e;
+        } finally {
+            CURRENT_KEY.remove();
+        }
+
+        byte[] body = serialize(response);
+        if (idempotencyRecordRepository.complete(key, body, LocalDateTime.now()) == 0) {
+            log.warn("응답을 저장할 Idempotency-Key가 없습니다. 키: {}", key);
+        }
+
+        return body;
+    }
+
+    /**
+     * 반영되지 않은 것이 확실한 실패만 선점을 풀고, 나머지는 반영 여부를 알 수 없는 키로 남긴다
+     */
+    private void releaseOrKeep(String key, RuntimeException failure) {
+        try {
+            if (isNotApplied(failure)) {
+                idempotencyRecordRepository.deleteById(key);
+            } else if (idempotencyRecordRepository.markOutcomeUnknown(key) > 0) {
+                log.warn("처리 여부를 알 수 없는 실패로 Idempotency-Key를 남깁니다. 키: {}, 원인: {}", key, failure.toString());
+            }
+        } catch (RuntimeException e) {
+            // 키를 정리하지 못하면 처리 중인 키로 남는다 (같은 키로 다시 실행되지는 않음)
+            log.error("실패한 Idempotency-Key를 정리하지 못했습니다. 키: {}", key, e);
+        }
+    }
+
+    private boolean isNotApplied(RuntimeException failure) {
+        // 락 충돌 재시도 한도를 넘긴 실패는 이체 트랜잭션이 롤백된 것
+        return failure instanceof IllegalArgumentException
+                || failure instanceof AccountNotFoundException
+                || failure instanceof InsufficientBalanceException
+                || failure instanceof TransferRejectedException
+                || failure instanceof ConcurrencyFailureException;
+    }
+
+    private IdempotentResponse replay(String key, StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key가 다른 요청에 이미 사용되었습니다. 키: " + key);
+        }
+
+        log.debug("Idempotency-Key 재요청에 저장된 응답을 반환합니다. 키: {}", key);
+        return new IdempotentResponse(stored.body(), true);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(idempotencyProperties.getInFlightTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 최초 요청이 실패하면 같은 실패를 돌려준다
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("같은 Idempotency-Key로 처리 중인 요청이 끝나지 않았습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Idempotency-Key 요청 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(serialize(request)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotency-Key 요청/응답을 직렬화할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.safebank.api.idempotency;
+
+/**
+ * 멱등 처리 결과
+ * @param body 직렬화된 응답 본문 (재요청이면 최초 응답과 바이트 단위로 동일)
+ * @param replayed 저장된 응답을 다시 돌려준 경우 true
+ */
+public record IdempotentResponse(byte[] body, boolean replayed) {
+}
@@ -0,0 +1,10 @@
+package com.safebank.api.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * 키에 묶인 최초 요청 지문과 직렬화된 응답 본문
+ * @param createdAt 키를 선점한 시각 (보관 기간은 이 시각부터 계산)
+ */
+record StoredResponse(String requestHash, byte[] body, LocalDateTime createdAt) {
+}
@@ -0,0 +1,152 @@
+package com.safebank.api.ledger;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 저널 세그먼트 파일 1개
+ * 파일 전체를 메모리에 매핑하고 [길이(4) | CRC32C(4) | 본문] 형식의 항목을 이어서 기록한다
+ * 새 파일은 0으로 채워져 있으므로 길이가 0인 위치가 기록의 끝이며, 기록 도중 중단되어 CRC가 맞지 않는 항목부터는 버린다
+ */
+class JournalSegment implements Closeable {
+
+    static final int HEADER_BYTES = 8;
+
+    @Getter
+    private final Path path;
+
+    @Getter
+    private final long firstSeq;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // 이 세그먼트에 기록된 마지막 순번 (비어 있으면 firstSeq - 1, 플러셔 스레드가 삭제 여부 판단에 읽음)
+    @Getter
+    private volatile long lastSeq;
+
+    private JournalSegment(Path path, long firstSeq, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSeq = firstSeq;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.lastSeq = firstSeq - 1;
+    }
+
+    /**
+     * 기록용 새 세그먼트 생성 (파일 크기를 미리 확보)
+     */
+    static JournalSegment create(Path path, long firstSeq, long sizeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new JournalSegment(path, firstSeq, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 복구용으로 기존 세그먼트 열기 (읽기 전용)
+     */
+    static JournalSegment open(Path path, long firstSeq) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new JournalSegment(path, firstSeq, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, Files.size(path)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    boolean hasRoom(int payloadBytes) {
+        // 항목 뒤에 끝 표시(길이 0)를 둘 자리까지 남긴다
+        return buffer.remaining() >= HEADER_BYTES + payloadBytes + Integer.BYTES;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    /**
+     * 항목 기록 (force() 전까지는 디스크 기록이 보장되지 않음)
+     */
+    void append(long seq, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        // 무효화했던 위치 뒤에 다시 기록하는 경우 이전 기록이 이어 읽히지 않도록 끝 표시를 둔다
+        buffer.putInt(buffer.position(), 0);
+        lastSeq = seq;
+    }
+
+    /**
+     * 매핑된 페이지를 디스크에 기록 (fsync)
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * position 이후 기록을 무효화 (실패한 그룹 기록이 재시작 시 반영되지 않도록 끝 표시를 되돌린다)
+     * @param position 무효화할 첫 항목 위치
+     * @param seq position 직전 항목의 순번
+     */
+    void truncate(int position, long seq) {
+        buffer.putInt(position, 0);
+        buffer.force();
+        buffer.position(position);
+        lastSeq = seq;
+    }
+
+    /**
+     * 처음부터 끝 표시 또는 손상된 항목 직전까지 본문 읽기
+     */
+    List<byte[]> readEntries() {
+        List<byte[]> entries = new ArrayList<>();
+        buffer.position(0);
+
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            entries.add(payload);
+        }
+
+        return entries;
+    }
+
+    void markLastSeq(long seq) {
+        this.lastSeq = seq;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
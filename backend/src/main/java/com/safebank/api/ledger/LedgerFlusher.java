@@ -0,0 +1,479 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.counter.CountedEntity;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.LedgerCheckpoint;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.LedgerCheckpointRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.BalanceAggregateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원장 플러셔
+ * 샤드에서 완료된 이체를 모아 한 DB 트랜잭션으로 거래 내역 INSERT와 계좌별 잔액 증감분 UPDATE를 반영한다
+ * 잔액을 절대값이 아닌 증감분으로 반영하므로 여러 샤드의 이체가 섞여 들어와도 순서와 무관하게 결과가 같다
+ * 저널을 쓰는 경우 이미 응답한 이체이므로 실패해도 응답을 되돌리지 않으며, 반영한 마지막 저널 순번을 같은 트랜잭션에서 기록한다
+ * - 일시적 오류는 반영될 때까지 재시도하고, 데이터 오류가 재시도 한도를 넘으면 배치를 반으로 나누어 다시 반영한다
+ * - 한 건만 남아도 반영되지 않으면 그 이체를 건너뛰지 않고 반영을 멈추며, 그동안 엔진이 새 이체를 거절한다
+ */
+@Slf4j
+class LedgerFlusher implements Runnable {
+
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    private static final long MAX_JOURNALED_BACKOFF_MS = 5000;
+
+    private final ShardedLedgerEngine engine;
+    private final int batchSize;
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCounters entityCounters;
+    private final BalanceAggregateService balanceAggregateService;
+    private final ReadYourWrites readYourWrites;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final IdempotencyService idempotencyService;
+    private final BlockingQueue<LedgerTransfer> pending;
+
+    // 저널에 기록하고 응답했지만 아직 DB에 반영하지 않은 이체 (거래 ID -> 이체, 반영 전 단건 조회용)
+    private final Map<Long, LedgerTransfer> unflushed = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    // 종료 중 DB 반영에 실패해 저널에 남겨 둔 이체가 있으면 이후 배치도 반영하지 않는다 (재시작 시 순번 순으로 재반영)
+    private boolean abandoned;
+
+    // 재시작 시 저널 재반영 중 (메모리 잔액이 아직 없으므로 샤드에 알리지 않고, 반영하지 못하면 기동을 중단)
+    private boolean replaying;
+
+    // 혼자서도 반영되지 않는 이체에 막혀 반영이 멈춤 (엔진이 새 이체를 저널 기록 전에 거절하도록 읽음)
+    private volatile boolean stalled;
+
+    /**
+     * @param capacity 반영 대기 큐 크기 (엔진이 이보다 먼저 새 이체를 거절하도록 여유를 두고 정함)
+     */
+    LedgerFlusher(ShardedLedgerEngine engine, int batchSize, int capacity,
+                  AccountService accountService, AccountRepository accountRepository,
+                  TransactionRepository transactionRepository, TransactionTemplate transactionTemplate,
+                  EntityCounters entityCounters, BalanceAggregateService balanceAggregateService,
+                  ReadYourWrites readYourWrites, LedgerCheckpointRepository checkpointRepository,
+                  IdempotencyService idempotencyService) {
+        this.engine = engine;
+        this.batchSize = batchSize;
+        this.accountService = accountService;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityCounters = entityCounters;
+        this.balanceAggregateService = balanceAggregateService;
+        this.readYourWrites = readYourWrites;
+        this.checkpointRepository = checkpointRepository;
+        this.idempotencyService = idempotencyService;
+        this.pending = new LinkedBlockingQueue<>(capacity);
+    }
+
+    void start() {
+        worker = new Thread(this, "ledger-flusher");
+        worker.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join();
+        }
+    }
+
+    void enqueue(LedgerTransfer transfer) {
+        try {
+            // 큐가 가득 차면 자리가 날 때까지 넘기는 쪽(저널 스레드)을 멈춘다
+            pending.put(transfer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("원장 반영 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * DB 반영을 기다리는 이체 수
+     */
+    int backlog() {
+        return pending.size();
+    }
+
+    boolean isStalled() {
+        return stalled;
+    }
+
+    /**
+     * 저널 기록 후 응답 직전에 호출 (응답을 받은 클라이언트가 DB 반영 전에 조회해도 거래를 찾도록)
+     */
+    void acknowledge(LedgerTransfer transfer) {
+        unflushed.put(transactionIdOf(transfer), transfer);
+    }
+
+    /**
+     * 응답했지만 아직 DB에 반영하지 않은 거래 (없으면 null)
+     */
+    Transaction findUnflushed(Long transactionId) {
+        LedgerTransfer transfer = unflushed.get(transactionId);
+        return transfer != null ? transfer.toJournaledResult() : null;
+    }
+
+    @Override
+    public void run() {
+        while (running || !pending.isEmpty()) {
+            LedgerTransfer first;
+            try {
+                first = pending.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (first == null) {
+                continue;
+            }
+
+            // 대기 중인 이체를 한 번에 가져오므로 부하가 클수록 배치가 커진다
+            List<LedgerTransfer> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            pending.drainTo(batch, batchSize - 1);
+
+            if (batch.get(0).isJournaled()) {
+                flushJournaled(batch);
+            } else {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * 재시작 시 저널에서 읽은 이체를 DB에 반영 (플러셔 스레드 시작 전에 호출)
+     * 반영되지 않는 이체가 있으면 반영 위치를 넘기지 않고 기동을 중단한다
+     */
+    void replay(List<LedgerTransfer> transfers) {
+        replaying = true;
+        try {
+            for (int offset = 0; offset < transfers.size(); offset += batchSize) {
+                flushJournaled(transfers.subList(offset, Math.min(offset + batchSize, transfers.size())));
+            }
+        } finally {
+            replaying = false;
+        }
+    }
+
+    /**
+     * 저널 배치 반영 (데이터 오류가 재시도 한도를 넘으면 반으로 나누어 반영하고, 한 건만 남으면 그 이체에서 반영을 멈춤)
+     * 나눈 배치도 순번 순으로 반영하므로 반영 위치는 앞에서부터 차례로 전진한다
+     */
+    private void flushJournaled(List<LedgerTransfer> batch) {
+        if (abandoned) {
+            return;
+        }
+
+        RuntimeException failure = tryFlushJournaled(batch);
+        if (failure == null || abandoned) {
+            return;
+        }
+
+        if (batch.size() > 1) {
+            int half = batch.size() / 2;
+            log.warn("원장 배치 DB 반영이 재시도 한도를 넘어 나누어 반영합니다. 건수: {}, 순번: {}부터", batch.size(), batch.get(0).getJournalSeq());
+            flushJournaled(batch.subList(0, half));
+            flushJournaled(batch.subList(half, batch.size()));
+            return;
+        }
+
+        retryUntilApplied(batch.get(0), failure);
+    }
+
+    /**
+     * 일시적 오류(교착 상태, 락 대기 시간 초과, DB 접속 실패 등)는 반영 위치를 넘기지 않고 반영될 때까지 재시도한다
+     * @return 데이터 오류로 재시도 한도까지 실패하면 마지막 예외, 반영했거나 종료 중 포기하면 null
+     */
+    private RuntimeException tryFlushJournaled(List<LedgerTransfer> batch) {
+        long backoffMs = 50;
+        int dataErrors = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<Transaction> results = transactionTemplate.execute(status -> write(batch));
+                // 커밋된 뒤에 지워야 조회가 메모리와 DB 사이에서 거래를 놓치지 않는다
+                batch.forEach(transfer -> unflushed.remove(transactionIdOf(transfer), transfer));
+                engine.onApplied(batch.get(batch.size() - 1).getJournalSeq());
+                compensateUnclaimed(batch, results);
+                // 재반영하는 이체는 샤드를 거치지 않았으므로 샤드에 알릴 것이 없다
+                if (!replaying) {
+                    engine.settle(batch);
+                }
+                return null;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    abandon(batch, e);
+                    return null;
+                }
+
+                if (isDataError(e)) {
+                    if (++dataErrors >= MAX_FLUSH_ATTEMPTS) {
+                        return e;
+                    }
+                } else if (replaying && attempt >= MAX_FLUSH_ATTEMPTS) {
+                    // 기동 중 DB 장애면 반영 위치를 넘기지 않고 기동을 중단한다
+                    throw new IllegalStateException("저널 항목을 DB에 다시 반영하지 못했습니다. 순번: " + batch.get(0).getJournalSeq(), e);
+                }
+
+                log.warn("원장 배치 DB 반영 실패, 재시도합니다. 시도 횟수: {}, 건수: {}, 순번: {}부터", attempt, batch.size(), batch.get(0).getJournalSeq(), e);
+                sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_JOURNALED_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * 혼자서도 반영되지 않는 이체는 건너뛰거나 되돌리지 않고 반영될 때까지 재시도한다
+     * 저널에 기록하고 응답한 이체이므로 반영 위치를 넘기지 않으며, 멈춘 동안 엔진은 새 이체를 저널 기록 전에 거절한다
+     */
+    private void retryUntilApplied(LedgerTransfer transfer, RuntimeException cause) {
+        if (replaying) {
+            // 기동 중이면 기동을 중단한다 (원인을 고친 뒤 재시작하면 이 순번부터 다시 반영)
+            throw new IllegalStateException("저널 항목을 DB에 다시 반영하지 못했습니다. 순번: " + transfer.getJournalSeq(), cause);
+        }
+
+        stalled = true;
+        try {
+            RuntimeException failure = cause;
+            while (failure != null && !abandoned) {
+                log.error("[원장 반영 중단] 응답한 이체를 DB에 반영하지 못해 반영될 때까지 재시도합니다. 그동안 새 이체는 거절합니다. 순번: {}, 거래 ID: {}, {} -> {}, 금액: {}",
+                        transfer.getJournalSeq(), transfer.isPending() ? transfer.getPendingTransactionId() : transfer.getTransactionId(),
+                        transfer.getRequest().getFromAccountNumber(), transfer.getRequest().getToAccountNumber(), transfer.getAmount(), failure);
+                sleep(MAX_JOURNALED_BACKOFF_MS);
+                failure = tryFlushJournaled(List.of(transfer));
+            }
+        } finally {
+            stalled = false;
+        }
+    }
+
+    /**
+     * 다시 시도해도 같은 결과인 데이터 오류 (제약 조건 위반 등, 이 경우에만 나누어 반영한다)
+     */
+    private static boolean isDataError(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException;
+    }
+
+    /**
+     * 종료 중 반영에 실패하면 이후 배치도 반영하지 않고 저널에 남긴다 (재시작 시 순번 순으로 재반영)
+     */
+    private void abandon(List<LedgerTransfer> batch, RuntimeException cause) {
+        abandoned = true;
+        log.error("종료 중 원장 배치 DB 반영에 실패했습니다. 재시작 시 저널에서 다시 반영합니다. 순번: {}부터", batch.get(0).getJournalSeq(), cause);
+    }
+
+    /**
+     * 배치 반영 (데이터 오류가 재시도 한도를 넘으면 반으로 나누어 반영하고, 한 건만 남으면 그 이체만 되돌리고 실패 처리)
+     */
+    private void flush(List<LedgerTransfer> batch) {
+        RuntimeException failure = tryFlush(batch);
+        if (failure == null) {
+            return;
+        }
+
+        if (batch.size() > 1 && isDataError(failure)) {
+            int half = batch.size() / 2;
+            log.warn("원장 배치 DB 반영이 재시도 한도를 넘어 나누어 반영합니다. 건수: {}", batch.size());
+            flush(batch.subList(0, half));
+            flush(batch.subList(half, batch.size()));
+            return;
+        }
+
+        // 응답 전인 이체이므로 DB 장애나 혼자서도 반영되지 않는 이체는 샤드 잔액을 되돌리고 실패로 응답한다
+        log.error("원장 배치 DB 반영에 실패했습니다. 건수: {}", batch.size(), failure);
+        for (LedgerTransfer transfer : batch) {
+            engine.compensate(transfer);
+            transfer.fail(new IllegalStateException("이체 내역 저장에 실패했습니다.", failure));
+        }
+        engine.settle(batch);
+    }
+
+    /**
+     * @return 재시도 한도까지 실패하면 마지막 예외, 반영했으면 null
+     */
+    private RuntimeException tryFlush(List<LedgerTransfer> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<Transaction> saved = transactionTemplate.execute(status -> write(batch));
+
+                compensateUnclaimed(batch, saved);
+                engine.settle(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (saved.get(i) != null) {
+                        batch.get(i).complete(toResult(saved.get(i), batch.get(i)));
+                    }
+                }
+                return null;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_FLUSH_ATTEMPTS) {
+                    return e;
+                }
+
+                log.warn("원장 배치 DB 반영 실패, 재시도합니다. 시도 횟수: {}, 건수: {}", attempt, batch.size(), e);
+                sleep(50L * attempt);
+            }
+        }
+    }
+
+    /**
+     * 배치 DB 반영
+     * @return batch와 같은 순서의 거래 (PENDING 거래를 선점하지 못해 반영하지 않은 이체는 null)
+     */
+    private List<Transaction> write(List<LedgerTransfer> batch) {
+        List<Transaction> results = new ArrayList<>(batch.size());
+        List<Transaction> inserts = new ArrayList<>(batch.size());
+        int preassigned = 0;
+        List<String> accountNumbers = new ArrayList<>(batch.size() * 2);
+        // account_id 순으로 갱신하여 다른 쓰기 경로와 행 락 획득 순서를 맞춘다
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+
+        for (LedgerTransfer transfer : batch) {
+            if (transfer.isPending()) {
+                // 접수된 이체는 PENDING 거래 행을 선점하고, 이미 실패 처리된 거래면 잔액을 반영하지 않는다
+                LocalDateTime completedAt = transfer.getProcessedAt() != null ? transfer.getProcessedAt() : LocalDateTime.now();
+                if (transactionRepository.completePending(transfer.getPendingTransactionId(), completedAt) == 0) {
+                    results.add(null);
+                    continue;
+                }
+                results.add(transactionRepository.findById(transfer.getPendingTransactionId()).orElseThrow());
+            } else if (transfer.getTransactionId() != null) {
+                // 저널에 기록하고 응답한 ID와 생성 시각 그대로 INSERT
+                transactionRepository.insertWithId(transfer.getTransactionId(), transfer.getFromAccountId(), transfer.getToAccountId(),
+                        transfer.getAmount(), TransactionType.TRANSFER.name(), TransactionStatus.COMPLETED.name(),
+                        transfer.getRequest().getDescription(), transfer.getProcessedAt(), transfer.getProcessedAt());
+                results.add(transfer.toJournaledResult());
+                preassigned++;
+            } else {
+                Transaction transaction = Transaction.builder()
+                        .fromAccount(accountRepository.getReferenceById(transfer.getFromAccountId()))
+                        .toAccount(accountRepository.getReferenceById(transfer.getToAccountId()))
+                        .amount(transfer.getAmount())
+                        .type(TransactionType.TRANSFER)
+                        .status(TransactionStatus.COMPLETED)
+                        .description(transfer.getRequest().getDescription())
+                        .build();
+                inserts.add(transaction);
+                results.add(transaction);
+            }
+
+            accountNumbers.add(transfer.getRequest().getFromAccountNumber());
+            accountNumbers.add(transfer.getRequest().getToAccountNumber());
+            deltas.merge(transfer.getFromAccountId(), transfer.getAmount().negate(), BigDecimal::add);
+            deltas.merge(transfer.getToAccountId(), transfer.getAmount(), BigDecimal::add);
+            balanceAggregateService.applyTransfer(transfer.getFromStatus(), transfer.getToStatus(), transfer.getAmount());
+        }
+
+        // 새 엔티티는 persist되어 같은 인스턴스에 ID가 채워진다
+        transactionRepository.saveAll(inserts);
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, inserts.size() + preassigned);
+        readYourWrites.recordAfterCommit(accountNumbers);
+
+        // Idempotency-Key로 들어온 이체는 거래 ID를 같은 트랜잭션에서 키에 기록 (응답 저장 전에 중단되어도 재요청이 응답을 복구)
+        for (int i = 0; i < batch.size(); i++) {
+            if (results.get(i) != null) {
+                idempotencyService.linkTransaction(batch.get(i).getIdempotencyKey(), results.get(i).getId());
+            }
+        }
+
+        // 샤드는 분할 잔액까지 더한 총 잔액으로 출금을 검증하므로, 분할 계좌는 balance가 음수가 되지 않게 부족분을 분할 잔액에서 먼저 옮긴다
+        List<Long> debited = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() < 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        Set<Long> striped = debited.isEmpty() ? Set.of() : new HashSet<>(accountRepository.findStripedIdsIn(debited));
+
+        // 계좌 ID 오름차순으로 잠그고 반영 (TreeMap)
+        deltas.forEach((accountId, delta) -> {
+            if (striped.contains(accountId)) {
+                sweepStripes(accountId, delta.negate());
+            }
+            if (delta.signum() != 0) {
+                accountRepository.applyBalanceDelta(accountId, delta);
+            }
+        });
+
+        LedgerTransfer last = batch.get(batch.size() - 1);
+        if (last.isJournaled()) {
+            checkpointRepository.advance(LedgerCheckpoint.JOURNAL_ID, last.getJournalSeq());
+        }
+
+        return results;
+    }
+
+    /**
+     * 분할 계좌의 balance가 amount보다 적으면 분할 잔액에서 부족분을 옮기고, 증감분 UPDATE 전에 반영한다 (총 잔액은 그대로)
+     */
+    private void sweepStripes(Long accountId, BigDecimal amount) {
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new IllegalStateException("계좌를 찾을 수 없습니다. ID: " + accountId));
+        accountService.sweepStripes(account, amount);
+        accountRepository.flush();
+    }
+
+    /**
+     * PENDING 거래를 선점하지 못한 이체의 메모리 잔액을 되돌린다 (DB에는 반영하지 않았으므로)
+     */
+    private void compensateUnclaimed(List<LedgerTransfer> batch, List<Transaction> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (results.get(i) == null) {
+                LedgerTransfer transfer = batch.get(i);
+                log.warn("처리 대기 중이 아닌 거래라 반영하지 않았습니다. 거래 ID: {}", transfer.getPendingTransactionId());
+                engine.compensate(transfer);
+                transfer.fail(new IllegalStateException("처리 대기 중인 거래가 아닙니다. ID: " + transfer.getPendingTransactionId()));
+            }
+        }
+    }
+
+    /**
+     * 커밋 후 분리된 엔티티의 계좌 프록시를 계좌번호와 이체 직후 잔액을 담은 값으로 교체 (응답 변환 시 지연 로딩 방지)
+     */
+    private Transaction toResult(Transaction saved, LedgerTransfer transfer) {
+        saved.setFromAccount(transfer.fromAccountResult());
+        saved.setToAccount(transfer.toAccountResult());
+
+        return saved;
+    }
+
+    private static Long transactionIdOf(LedgerTransfer transfer) {
+        return transfer.isPending() ? transfer.getPendingTransactionId() : transfer.getTransactionId();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
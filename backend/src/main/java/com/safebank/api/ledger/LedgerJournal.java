@@ -0,0 +1,383 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.config.LedgerProperties;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.AccountStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 원장 선기록 저널
+ * 샤드에서 잔액 처리가 끝난 이체를 메모리 매핑 세그먼트 파일에 순번과 함께 기록하고, 대기 중인 이체를 묶어 한 번만 fsync한 뒤 응답한다
+ * DB 반영은 플러셔가 비동기로 하며, 반영한 마지막 순번(LedgerCheckpoint)보다 작은 항목만 남은 세그먼트는 삭제한다
+ * 재시작 시에는 반영 위치 이후 항목을 읽어 DB에 다시 반영한 뒤 새 세그먼트부터 기록한다
+ */
+@Slf4j
+class LedgerJournal implements Runnable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ShardedLedgerEngine engine;
+    private final LedgerFlusher flusher;
+    private final TransactionIdAllocator idAllocator;
+    private final Path directory;
+    private final long segmentBytes;
+    private final int groupCommitSize;
+    private final BlockingQueue<LedgerTransfer> pending = new LinkedBlockingQueue<>();
+
+    // 다 채워 닫은 세그먼트 (저널 스레드가 뒤에 추가하고, 플러셔가 DB 반영이 끝난 앞쪽부터 삭제)
+    private final Deque<JournalSegment> sealed = new ConcurrentLinkedDeque<>();
+
+    // 저널 스레드 전용
+    private JournalSegment active;
+    private long nextSeq;
+    private boolean broken;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    LedgerJournal(ShardedLedgerEngine engine, LedgerFlusher flusher, TransactionIdAllocator idAllocator, LedgerProperties.Journal properties) {
+        this.engine = engine;
+        this.flusher = flusher;
+        this.idAllocator = idAllocator;
+        this.directory = Paths.get(properties.getDirectory());
+        this.segmentBytes = properties.getSegmentSize().toBytes();
+        this.groupCommitSize = properties.getGroupCommitSize();
+    }
+
+    /**
+     * 기존 세그먼트에서 appliedSeq 이후 항목을 읽고 새 기록용 세그먼트를 연다 (start() 전에 한 번 호출)
+     * @param appliedSeq DB에 반영된 마지막 순번
+     * @return DB에 다시 반영해야 할 이체 (순번 순)
+     */
+    List<LedgerTransfer> recover(long appliedSeq) {
+        List<LedgerTransfer> unapplied = new ArrayList<>();
+        long lastSeq = appliedSeq;
+
+        try {
+            Files.createDirectories(directory);
+
+            for (Path path : listSegments()) {
+                // 반영이 남은 세그먼트는 열린 채로 sealed에 두고 release()에서 닫으므로 여기서 닫지 않는다
+                JournalSegment segment = JournalSegment.open(path, firstSeqOf(path));
+                try {
+                    for (byte[] payload : segment.readEntries()) {
+                        LedgerTransfer transfer = decode(payload);
+                        segment.markLastSeq(transfer.getJournalSeq());
+                        if (transfer.getJournalSeq() > appliedSeq) {
+                            unapplied.add(transfer);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    segment.close();
+                    throw e;
+                }
+
+                lastSeq = Math.max(lastSeq, segment.getLastSeq());
+                if (segment.getLastSeq() <= appliedSeq) {
+                    segment.close();
+                    Files.deleteIfExists(path);
+                } else {
+                    sealed.addLast(segment);
+                }
+            }
+
+            nextSeq = lastSeq + 1;
+            active = JournalSegment.create(segmentPath(nextSeq), nextSeq, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("원장 저널을 열 수 없습니다. 디렉터리: " + directory.toAbsolutePath(), e);
+        }
+
+        if (!unapplied.isEmpty()) {
+            log.warn("DB에 반영되지 않은 저널 항목을 다시 반영합니다. 건수: {}, 순번: {} ~ {}",
+                    unapplied.size(), unapplied.get(0).getJournalSeq(), unapplied.get(unapplied.size() - 1).getJournalSeq());
+        }
+
+        return unapplied;
+    }
+
+    void start() {
+        writer = new Thread(this, "ledger-journal");
+        writer.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join();
+        }
+
+        closeSegments();
+    }
+
+    /**
+     * 열린 세그먼트를 모두 닫는다 (반영이 끝나지 않은 세그먼트는 파일을 남겨 두고 재시작 시 recover가 다시 연다)
+     */
+    void closeSegments() {
+        JournalSegment segment;
+        while ((segment = sealed.pollFirst()) != null) {
+            close(segment);
+        }
+        if (active != null) {
+            close(active);
+        }
+    }
+
+    private void close(JournalSegment segment) {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("원장 저널 세그먼트를 닫지 못했습니다. {}", e.getMessage());
+        }
+    }
+
+    void enqueue(LedgerTransfer transfer) {
+        pending.add(transfer);
+    }
+
+    @Override
+    public void run() {
+        while (running || !pending.isEmpty()) {
+            LedgerTransfer first;
+            try {
+                first = pending.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (first == null) {
+                continue;
+            }
+
+            // 대기 중인 이체를 한 번에 가져와 fsync 한 번으로 묶는다
+            List<LedgerTransfer> batch = new ArrayList<>(groupCommitSize);
+            batch.add(first);
+            pending.drainTo(batch, groupCommitSize - 1);
+
+            commit(batch);
+        }
+    }
+
+    /**
+     * DB 반영이 끝난 순번까지만 담긴 세그먼트 삭제 (플러셔 스레드에서 호출)
+     */
+    void release(long appliedSeq) {
+        JournalSegment segment;
+        while ((segment = sealed.peekFirst()) != null && segment.getLastSeq() <= appliedSeq) {
+            sealed.pollFirst();
+            try {
+                segment.close();
+                Files.deleteIfExists(segment.getPath());
+            } catch (IOException e) {
+                log.warn("반영이 끝난 저널 세그먼트를 삭제하지 못했습니다. 파일: {}, 원인: {}", segment.getPath(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 그룹 기록: 모두 기록하고 fsync한 뒤 응답하고 플러셔로 넘긴다
+     * 기록에 실패하면 메모리 잔액을 되돌리고 실패로 응답한다 (기록한 항목은 무효화하여 재시작 시 반영되지 않게 함)
+     */
+    private void commit(List<LedgerTransfer> batch) {
+        if (broken) {
+            reject(batch, new IllegalStateException("원장 저널에 기록할 수 없는 상태입니다. 서버를 재시작해 주세요."));
+            return;
+        }
+
+        long firstSeq = nextSeq;
+        int firstPosition = active.position();
+        JournalSegment firstSegment = active;
+
+        try {
+            assignTransactions(batch);
+            for (LedgerTransfer transfer : batch) {
+                transfer.setJournalSeq(nextSeq);
+                append(nextSeq, encode(transfer));
+                nextSeq++;
+            }
+            active.force();
+        } catch (IOException | RuntimeException e) {
+            log.error("원장 저널 기록에 실패했습니다. 건수: {}", batch.size(), e);
+            discard(firstSegment, firstPosition, firstSeq);
+            reject(batch, new IllegalStateException("이체 저널 기록에 실패했습니다.", e));
+            return;
+        }
+
+        for (LedgerTransfer transfer : batch) {
+            flusher.acknowledge(transfer);
+            transfer.complete(transfer.toJournaledResult());
+            flusher.enqueue(transfer);
+        }
+    }
+
+    /**
+     * 거래 ID와 처리 시각을 기록 전에 정한다 (응답과 DB 반영, 재시작 후 재반영이 모두 같은 값을 쓰도록)
+     */
+    private void assignTransactions(List<LedgerTransfer> batch) {
+        // DB 컬럼 정밀도(마이크로초)에 맞춰 저장 후 조회한 값이 응답과 같게 한다
+        LocalDateTime processedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int newTransactions = (int) batch.stream().filter(transfer -> !transfer.isPending()).count();
+        Iterator<Long> ids = idAllocator.next(newTransactions).iterator();
+
+        for (LedgerTransfer transfer : batch) {
+            transfer.setProcessedAt(processedAt);
+            if (!transfer.isPending()) {
+                transfer.setTransactionId(ids.next());
+            }
+        }
+    }
+
+    private void append(long seq, byte[] payload) throws IOException {
+        if (!active.hasRoom(payload.length)) {
+            if (active.position() == 0) {
+                throw new IllegalStateException("저널 항목이 세그먼트 크기보다 큽니다. 크기: " + payload.length);
+            }
+            rotate(seq);
+        }
+
+        active.append(seq, payload);
+    }
+
+    /**
+     * 현재 세그먼트를 fsync하여 닫고 seq부터 기록할 새 세그먼트를 연다
+     */
+    private void rotate(long seq) throws IOException {
+        active.force();
+        sealed.addLast(active);
+        active = JournalSegment.create(segmentPath(seq), seq, segmentBytes);
+    }
+
+    /**
+     * 실패한 그룹 기록 무효화 (이 그룹에서 새로 연 세그먼트는 삭제하고, 첫 세그먼트는 기록 시작 위치로 되돌림)
+     */
+    private void discard(JournalSegment firstSegment, int firstPosition, long firstSeq) {
+        try {
+            while (active != firstSegment) {
+                JournalSegment rotated = active;
+                rotated.close();
+                Files.deleteIfExists(rotated.getPath());
+                active = sealed.pollLast();
+            }
+            active.truncate(firstPosition, firstSeq - 1);
+            nextSeq = firstSeq;
+        } catch (IOException | RuntimeException e) {
+            // 무효화하지 못한 항목이 재시작 시 반영될 수 있으므로 이후 기록을 모두 거절
+            broken = true;
+            log.error("실패한 저널 기록을 무효화하지 못했습니다. 이후 이체는 거절합니다.", e);
+        }
+    }
+
+    private void reject(List<LedgerTransfer> batch, RuntimeException cause) {
+        for (LedgerTransfer transfer : batch) {
+            transfer.setJournalSeq(0);
+            engine.compensate(transfer);
+            transfer.fail(cause);
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(LedgerJournal::firstSeqOf))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSeqOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static byte[] encode(LedgerTransfer transfer) {
+        TransferRequest request = transfer.getRequest();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(transfer.getJournalSeq());
+            out.writeLong(transfer.getFromAccountId());
+            out.writeLong(transfer.getToAccountId());
+            out.writeLong(transfer.isPending() ? transfer.getPendingTransactionId() : 0);
+            out.writeLong(transfer.getTransactionId() != null ? transfer.getTransactionId() : 0);
+            out.writeLong(transfer.getProcessedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(transfer.getProcessedAt().getNano());
+            out.writeUTF(request.getFromAccountNumber());
+            out.writeUTF(request.getToAccountNumber());
+            out.writeUTF(transfer.getFromStatus().name());
+            out.writeUTF(transfer.getToStatus().name());
+            out.writeUTF(request.getAmount().toPlainString());
+            out.writeBoolean(request.getDescription() != null);
+            if (request.getDescription() != null) {
+                out.writeUTF(request.getDescription());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    static LedgerTransfer decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long seq = in.readLong();
+            long fromAccountId = in.readLong();
+            long toAccountId = in.readLong();
+            long pendingTransactionId = in.readLong();
+            long transactionId = in.readLong();
+            LocalDateTime processedAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+
+            TransferRequest request = new TransferRequest();
+            request.setFromAccountNumber(in.readUTF());
+            request.setToAccountNumber(in.readUTF());
+            AccountStatus fromStatus = AccountStatus.valueOf(in.readUTF());
+            AccountStatus toStatus = AccountStatus.valueOf(in.readUTF());
+            request.setAmount(new BigDecimal(in.readUTF()));
+            if (in.readBoolean()) {
+                request.setDescription(in.readUTF());
+            }
+
+            LedgerTransfer transfer = new LedgerTransfer(request, fromAccountId, toAccountId, fromStatus, toStatus);
+            transfer.setJournalSeq(seq);
+            if (pendingTransactionId > 0) {
+                transfer.setPendingTransactionId(pendingTransactionId);
+            }
+            if (transactionId > 0) {
+                transfer.setTransactionId(transactionId);
+            }
+            transfer.setProcessedAt(processedAt);
+            return transfer;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.exception.AccountNotFoundException;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원장 샤드
+ * 담당 계좌의 잔액을 메모리에 보유하며, 잔액 변경은 전용 쓰기 스레드 하나에서만 일어나므로 락이 필요 없다
+ * 메모리 잔액 = DB 잔액 + 아직 플러시되지 않은 증감분 (처음 접근하는 계좌만 DB에서 읽는다)
+ * 보유 계좌 수가 한도를 넘으면 플러시되지 않은 증감분이 없는 계좌만 내보내므로, 다시 읽은 DB 잔액이 곧 최신이다
+ */
+@Slf4j
+class LedgerShard implements Runnable {
+
+    private final int index;
+    private final ShardedLedgerEngine engine;
+    private final AccountRepository accountRepository;
+    private final BlockingQueue<Runnable> inbox;
+
+    private final int maxCachedAccounts;
+
+    // 쓰기 스레드 전용, 접근 순서로 유지하여 오래 쓰지 않은 계좌부터 내보낸다
+    private final LinkedHashMap<Long, CachedBalance> balances = new LinkedHashMap<>(16, 0.75f, true);
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    LedgerShard(int index, int capacity, int maxCachedAccounts, ShardedLedgerEngine engine, AccountRepository accountRepository) {
+        this.index = index;
+        this.maxCachedAccounts = maxCachedAccounts;
+        this.engine = engine;
+        this.accountRepository = accountRepository;
+        this.inbox = new ArrayBlockingQueue<>(capacity);
+    }
+
+    void start() {
+        writer = new Thread(this, "ledger-shard-" + index);
+        writer.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join();
+        }
+    }
+
+    /**
+     * 쓰기 스레드에서 실행할 명령 등록
+     * 엔진이 처리 중인 이체 수를 제한하므로 큐가 가득 차는 경우는 없어야 한다
+     */
+    void enqueue(Runnable command) {
+        if (!inbox.offer(command)) {
+            throw new IllegalStateException("원장 샤드 큐가 가득 찼습니다. 샤드: " + index);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !inbox.isEmpty()) {
+            Runnable command;
+            try {
+                command = inbox.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (command == null) {
+                continue;
+            }
+
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                log.error("원장 샤드 명령 처리 중 오류가 발생했습니다. 샤드: {}", index, e);
+            }
+        }
+    }
+
+    /**
+     * 출금 단계: 잔액 확인 후 차감하고 입금 샤드로 넘긴다
+     */
+    void debit(LedgerTransfer transfer) {
+        try {
+            CachedBalance from = cached(transfer.getFromAccountId());
+            if (from.balance.compareTo(transfer.getAmount()) < 0) {
+                transfer.fail(new InsufficientBalanceException("잔액이 부족합니다. 현재 잔액 " + from.balance));
+                return;
+            }
+
+            from.balance = from.balance.subtract(transfer.getAmount());
+            from.unflushed++;
+            transfer.setFromBalance(from.balance);
+        } catch (RuntimeException e) {
+            transfer.fail(e);
+            return;
+        }
+
+        engine.routeCredit(this, transfer);
+    }
+
+    /**
+     * 입금 단계: 입금은 실패하지 않으므로(계좌 존재는 접수 시 확인) 샤드 간 이체도 보상 없이 완료된다
+     */
+    void credit(LedgerTransfer transfer) {
+        try {
+            CachedBalance to = cached(transfer.getToAccountId());
+            to.balance = to.balance.add(transfer.getAmount());
+            to.unflushed++;
+            transfer.setToBalance(to.balance);
+        } catch (RuntimeException e) {
+            // 입금 계좌 잔액을 읽지 못한 경우 출금분을 되돌린다 (DB에 반영할 것이 없으므로 출금 계좌는 내보낼 수 있게 된다)
+            engine.routeAdjust(transfer.getFromAccountId(), transfer.getRequest().getFromAccountNumber(), transfer.getAmount());
+            engine.routeSettle(transfer.getFromAccountId(), transfer.getRequest().getFromAccountNumber());
+            transfer.fail(e);
+            return;
+        }
+
+        engine.routeFlush(transfer);
+    }
+
+    /**
+     * DB 반영에 실패한 이체의 메모리 잔액 보정
+     * 한 번도 읽지 않은 계좌는 DB 값이 곧 최신이므로 보정할 필요가 없다
+     */
+    void adjust(Long accountId, BigDecimal delta) {
+        CachedBalance cached = balances.get(accountId);
+        if (cached != null) {
+            cached.balance = cached.balance.add(delta);
+        }
+    }
+
+    /**
+     * 이체 한 건의 증감분이 DB에 반영되었거나 되돌려짐 (증감분이 모두 정리된 계좌는 내보낼 수 있다)
+     */
+    void settle(Long accountId) {
+        CachedBalance cached = balances.get(accountId);
+        if (cached != null && cached.unflushed > 0) {
+            cached.unflushed--;
+        }
+    }
+
+    int cachedAccounts() {
+        return balances.size();
+    }
+
+    private CachedBalance cached(Long accountId) {
+        CachedBalance cached = balances.get(accountId);
+        if (cached == null) {
+            cached = new CachedBalance(accountRepository.findBalanceById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. ID: " + accountId)));
+            balances.put(accountId, cached);
+            evict(accountId);
+        }
+
+        return cached;
+    }
+
+    /**
+     * 한도를 넘은 만큼 오래 쓰지 않은 계좌부터 내보낸다
+     * 플러시되지 않은 증감분이 있는 계좌는 DB 잔액이 아직 이전 값이므로 남기고, 모두 그런 계좌면 한도를 잠시 넘긴다
+     */
+    private void evict(Long loaded) {
+        Iterator<Map.Entry<Long, CachedBalance>> eldest = balances.entrySet().iterator();
+        while (balances.size() > maxCachedAccounts && eldest.hasNext()) {
+            Map.Entry<Long, CachedBalance> entry = eldest.next();
+            if (entry.getValue().unflushed == 0 && !entry.getKey().equals(loaded)) {
+                eldest.remove();
+            }
+        }
+    }
+
+    private static final class CachedBalance {
+
+        private BigDecimal balance;
+
+        // 아직 DB에 반영되지 않은 이 계좌의 이체 수
+        private int unflushed;
+
+        private CachedBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.repository.AccountIdView;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 원장 엔진에서 처리 중인 이체 1건
+ * 출금 샤드 -> 입금 샤드 -> (저널) -> 플러셔 순으로 큐를 통해 넘겨지므로 한 시점에는 한 스레드만 접근한다
+ */
+@Getter
+class LedgerTransfer {
+
+    private final TransferRequest request;
+    private final Long fromAccountId;
+    private final Long toAccountId;
+    private final AccountStatus fromStatus;
+    private final AccountStatus toStatus;
+    private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+    @Setter
+    private BigDecimal fromBalance;
+
+    @Setter
+    private BigDecimal toBalance;
+
+    /**
+     * 저널 순번 (저널을 쓰지 않거나 아직 기록 전이면 0)
+     */
+    @Setter
+    private long journalSeq;
+
+    /**
+     * 비동기 접수된 PENDING 거래 ID (일반 이체면 null, 플러셔가 새 거래 행 대신 이 행을 COMPLETED로 선점)
+     */
+    @Setter
+    private Long pendingTransactionId;
+
+    /**
+     * 저널 기록 전에 미리 할당한 거래 ID (접수된 이체나 저널을 쓰지 않으면 null, 플러셔가 이 ID로 INSERT)
+     */
+    @Setter
+    private Long transactionId;
+
+    /**
+     * 저널 기록 전에 정한 처리 시각 (저널을 쓰지 않으면 null, 새 거래 행의 생성 시각으로 그대로 저장)
+     */
+    @Setter
+    private LocalDateTime processedAt;
+
+    /**
+     * 요청 스레드의 Idempotency-Key (없으면 null, 플러셔가 DB 반영 트랜잭션에서 키에 거래 ID를 기록)
+     */
+    @Setter
+    private String idempotencyKey;
+
+    LedgerTransfer(TransferRequest request, AccountIdView from, AccountIdView to) {
+        this(request, from.getId(), to.getId(), from.getStatus(), to.getStatus());
+    }
+
+    /**
+     * 저널에서 읽은 이체 (재시작 시 DB 재반영용)
+     */
+    LedgerTransfer(TransferRequest request, Long fromAccountId, Long toAccountId, AccountStatus fromStatus, AccountStatus toStatus) {
+        this.request = request;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+    }
+
+    BigDecimal getAmount() {
+        return request.getAmount();
+    }
+
+    boolean isJournaled() {
+        return journalSeq > 0;
+    }
+
+    boolean isPending() {
+        return pendingTransactionId != null;
+    }
+
+    /**
+     * 응답용 출금 계좌 (계좌번호와 이체 직후 잔액만 담음)
+     */
+    Account fromAccountResult() {
+        return Account.builder()
+                .id(fromAccountId)
+                .accountNumber(request.getFromAccountNumber())
+                .balance(fromBalance)
+                .build();
+    }
+
+    /**
+     * 응답용 입금 계좌 (계좌번호와 이체 직후 잔액만 담음)
+     */
+    Account toAccountResult() {
+        return Account.builder()
+                .id(toAccountId)
+                .accountNumber(request.getToAccountNumber())
+                .balance(toBalance)
+                .build();
+    }
+
+    /**
+     * 저널 기록 직후 응답할 거래 (저널에 기록한 ID와 처리 시각 그대로, 플러셔도 같은 값으로 반영)
+     */
+    Transaction toJournaledResult() {
+        return Transaction.builder()
+                .id(isPending() ? pendingTransactionId : transactionId)
+                .fromAccount(fromAccountResult())
+                .toAccount(toAccountResult())
+                .amount(getAmount())
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .description(request.getDescription())
+                .createdAt(processedAt)
+                .completedAt(processedAt)
+                .build();
+    }
+
+    void complete(Transaction transaction) {
+        result.complete(transaction);
+    }
+
+    void fail(Throwable cause) {
+        result.completeExceptionally(cause);
+    }
+}
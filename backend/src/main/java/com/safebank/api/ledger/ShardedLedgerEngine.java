@@ -0,0 +1,415 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.config.LedgerProperties;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.BatchTransferItemResponse;
+import com.safebank.api.entity.LedgerCheckpoint;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.exception.TransferRejectedException;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.repository.AccountIdView;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.LedgerCheckpointRepository;
+import com.safebank.api.repository.LedgerWriterLeaseRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.BalanceAggregateService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 샤드 단일 쓰기 원장 엔진
+ * 계좌번호 해시로 계좌를 N개 샤드에 나누고, 샤드마다 쓰기 스레드 하나가 메모리 잔액을 갱신한다
+ *
+ * 이체 처리 순서:
+ * 1. 요청 스레드: 두 계좌 ID 확인 (존재하지 않으면 즉시 실패)
+ * 2. 출금 샤드: 잔액 확인 및 차감
+ * 3. 입금 샤드: 잔액 가산 (같은 샤드면 2단계에서 바로 처리)
+ * 4. 플러셔: 여러 이체를 묶어 한 DB 트랜잭션으로 반영한 뒤 응답 (DB 커밋 전에는 응답하지 않음)
+ *
+ * 저널 모드(safebank.ledger.journal.enabled=true)에서는 3단계 뒤 LedgerJournal이 로컬 파일에 묶어 fsync한 시점에 응답하고,
+ * 플러셔는 응답과 무관하게 뒤에서 DB에 반영한다 (응답 지연이 DB 커밋 지연과 분리되는 대신, 계좌 잔액과 거래 내역 목록 조회는 반영 전까지 이전 값을 보일 수 있다)
+ * 응답한 거래의 단건 조회는 반영 전까지 엔진이 메모리에서 답한다 (findUnflushed)
+ * 재시작 시에는 DB에 반영되지 않은 저널 항목을 먼저 반영한 뒤 이체를 받는다
+ * DB 반영을 기다리는 이체가 journal.maxBacklog만큼 밀리면 반영될 때까지 새 이체를 거절한다 (읽기 전용)
+ *
+ * 엔진이 켜져 있는 동안 계좌 잔액은 엔진만 변경해야 한다
+ * TransactionService.transfer와 같은 요청/응답/예외 규약을 따른다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "safebank.ledger", name = "enabled", havingValue = "true")
+public class ShardedLedgerEngine {
+
+    private final LedgerProperties properties;
+    private final AccountService accountService;
+    private final LedgerShard[] shards;
+    private final LedgerFlusher flusher;
+    private final LedgerJournal journal;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final WriterLease writerLease;
+    private final Semaphore inFlight;
+
+    // DB 반영이 밀려 새 이체를 거절하는 중인지 (상태가 바뀔 때만 로그를 남기기 위함)
+    private volatile boolean readOnly;
+
+    // 종료 중이라 새 이체를 받지 않는지
+    private volatile boolean closed;
+
+    public ShardedLedgerEngine(LedgerProperties properties, AccountService accountService, AccountRepository accountRepository,
+                               TransactionRepository transactionRepository, PlatformTransactionManager transactionManager,
+                               EntityCounters entityCounters, BalanceAggregateService balanceAggregateService,
+                               ReadYourWrites readYourWrites, LedgerCheckpointRepository checkpointRepository,
+                               IdempotencyService idempotencyService, EntityManagerFactory entityManagerFactory,
+                               LedgerWriterLeaseRepository writerLeaseRepository) {
+        this.properties = properties;
+        this.accountService = accountService;
+        this.checkpointRepository = checkpointRepository;
+        this.writerLease = new WriterLease(writerLeaseRepository, properties.getWriterLeaseTimeout());
+        this.inFlight = new Semaphore(properties.getMaxInFlight());
+
+        // 이체 1건이 동시에 차지하는 큐 슬롯은 최대 2개(실패 보상 시)이고, DB 반영 완료 표시는 배치마다 샤드당 1개이므로 이 크기면 큐가 가득 차지 않는다
+        int queueCapacity = properties.getMaxInFlight() * 2 + properties.getShards();
+        this.shards = new LedgerShard[properties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LedgerShard(i, queueCapacity, properties.getMaxCachedAccounts(), this, accountRepository);
+        }
+
+        // 저널 모드는 응답 후 반영을 기다리는 이체가 maxBacklog에서 거절되므로, 거절 직전까지 접수된 이체가 더 들어올 여유를 둔다
+        int flushCapacity = properties.getJournal().isEnabled()
+                ? properties.getJournal().getMaxBacklog() + properties.getMaxInFlight()
+                : properties.getMaxInFlight();
+        this.flusher = new LedgerFlusher(this, properties.getFlushBatchSize(), flushCapacity, accountService, accountRepository,
+                transactionRepository, new TransactionTemplate(transactionManager), entityCounters, balanceAggregateService,
+                readYourWrites, checkpointRepository, idempotencyService);
+
+        this.journal = properties.getJournal().isEnabled()
+                ? new LedgerJournal(this, flusher, new TransactionIdAllocator(entityManagerFactory), properties.getJournal())
+                : null;
+    }
+
+    @PostConstruct
+    void start() {
+        // 두 인스턴스가 각자의 메모리 잔액으로 출금을 승인하지 않도록, 저널 반영과 잔액 적재 전에 쓰기 임대부터 얻는다
+        writerLease.acquire();
+
+        // 샤드가 DB에서 잔액을 읽기 전에 저널에만 남은 이체를 먼저 반영한다
+        if (journal != null) {
+            try {
+                List<LedgerTransfer> unapplied = journal.recover(appliedJournalSeq());
+                flusher.replay(unapplied);
+                if (!unapplied.isEmpty()) {
+                    journal.release(unapplied.get(unapplied.size() - 1).getJournalSeq());
+                }
+            } catch (RuntimeException e) {
+                // 시작에 실패하면 종료 콜백이 불리지 않으므로 세그먼트와 임대 갱신을 여기서 정리한다
+                journal.closeSegments();
+                releaseWriterLease();
+                throw e;
+            }
+            journal.start();
+        }
+
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+        flusher.start();
+
+        log.info("원장 엔진을 시작합니다. 샤드 수: {}, 최대 동시 처리: {}, 저널: {}", shards.length, properties.getMaxInFlight(), journal != null);
+    }
+
+    /**
+     * 새 이체 접수를 막고 처리 중인 이체가 모두 응답된 뒤 샤드 큐와 저널 큐를 비우고, 남은 이체를 DB에 반영하고 종료
+     * 이체는 출금 샤드에서 입금 샤드로 넘어가므로, 처리 중인 이체가 남은 채로 샤드를 하나씩 멈추면 먼저 멈춘 샤드로 가는 입금이 유실된다
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        closed = true;
+        if (!inFlight.tryAcquire(properties.getMaxInFlight(), properties.getTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("처리 중인 이체가 {}ms 안에 끝나지 않은 채로 원장 엔진을 종료합니다. 남은 이체: {}",
+                    properties.getTimeoutMs(), properties.getMaxInFlight() - inFlight.availablePermits());
+        }
+
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        if (journal != null) {
+            journal.stop();
+        }
+        flusher.stop();
+        writerLease.release();
+    }
+
+    private void releaseWriterLease() {
+        try {
+            writerLease.release();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Transaction transfer(TransferRequest request) {
+        return submit(newTransfer(request));
+    }
+
+    /**
+     * 일괄 이체 (모든 건을 샤드에 먼저 넣은 뒤 함께 기다리므로 앞 건의 DB 반영을 기다리지 않고 같은 배치로 반영될 수 있다)
+     * @param requests
+     * @return 요청 순서와 같은 건별 결과
+     */
+    public List<BatchTransferItemResponse> transferBatch(List<TransferRequest> requests) {
+        LedgerTransfer[] transfers = new LedgerTransfer[requests.size()];
+        RuntimeException[] rejections = new RuntimeException[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                transfers[i] = newTransfer(requests.get(i));
+                enqueue(transfers[i]);
+            } catch (RuntimeException e) {
+                rejections[i] = e;
+            }
+        }
+
+        // 모두 넣은 뒤부터 한 번의 대기 시간 안에서 기다린다
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMs());
+        List<BatchTransferItemResponse> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            if (rejections[i] != null) {
+                results.add(BatchTransferItemResponse.failure(i, request, rejections[i]));
+                continue;
+            }
+
+            try {
+                long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                results.add(BatchTransferItemResponse.success(i, request, await(transfers[i], remainingMs)));
+            } catch (RuntimeException e) {
+                results.add(BatchTransferItemResponse.failure(i, request, e));
+            }
+        }
+
+        return results;
+    }
+
+    private LedgerTransfer newTransfer(TransferRequest request) {
+        AccountIdView from = accountService.getAccountRefByNumber(request.getFromAccountNumber());
+        AccountIdView to = accountService.getAccountRefByNumber(request.getToAccountNumber());
+
+        // 동일 계좌 검증
+        if (from.getId().equals(to.getId())) {
+            throw new IllegalArgumentException("동일한 계좌로는 이체할 수 없습니다.");
+        }
+
+        return new LedgerTransfer(request, from, to);
+    }
+
+    /**
+     * 접수된(PENDING) 이체 완료 처리 (AsyncTransferPipeline 작업자에서 호출)
+     * 잔액은 일반 이체와 같이 샤드에서 옮기고, 플러셔가 DB 반영 트랜잭션에서 PENDING 거래 행을 COMPLETED로 선점한다 (새 거래 행을 만들지 않음)
+     * 이미 다른 상태로 바뀌어 선점하지 못하면 메모리 잔액을 되돌리고 실패한다
+     * @param transactionId
+     * @param request 접수 시 요청
+     * @return
+     */
+    public Transaction completePendingTransfer(Long transactionId, TransferRequest request) {
+        AccountIdView from = accountService.getAccountRefByNumber(request.getFromAccountNumber());
+        AccountIdView to = accountService.getAccountRefByNumber(request.getToAccountNumber());
+
+        LedgerTransfer transfer = new LedgerTransfer(request, from, to);
+        transfer.setPendingTransactionId(transactionId);
+
+        return submit(transfer);
+    }
+
+    private Transaction submit(LedgerTransfer transfer) {
+        enqueue(transfer);
+        return await(transfer, properties.getTimeoutMs());
+    }
+
+    /**
+     * 샤드에 넣기만 하고 결과는 기다리지 않는다 (거절되면 예외)
+     */
+    private void enqueue(LedgerTransfer transfer) {
+        transfer.setIdempotencyKey(IdempotencyService.currentKey());
+        checkOpen();
+        checkBacklog();
+        acquire();
+        if (closed) {
+            // 허가를 얻는 사이 종료가 시작되면 샤드에 넣지 않는다 (종료는 처리 중인 이체가 끝나기를 기다리므로 넣기 전이면 거절해도 안전)
+            inFlight.release();
+            checkOpen();
+        }
+        transfer.getResult().whenComplete((transaction, error) -> inFlight.release());
+
+        try {
+            LedgerShard shard = shardOf(transfer.getRequest().getFromAccountNumber());
+            shard.enqueue(() -> shard.debit(transfer));
+        } catch (RuntimeException e) {
+            transfer.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 저널에 기록하고 응답했지만 아직 DB에 반영하지 않은 거래 (저널을 쓰지 않거나 이미 반영되었으면 빈 값)
+     */
+    public Optional<Transaction> findUnflushed(Long transactionId) {
+        return journal != null ? Optional.ofNullable(flusher.findUnflushed(transactionId)) : Optional.empty();
+    }
+
+    void routeCredit(LedgerShard current, LedgerTransfer transfer) {
+        LedgerShard target = shardOf(transfer.getRequest().getToAccountNumber());
+        if (target == current) {
+            target.credit(transfer);
+        } else {
+            target.enqueue(() -> target.credit(transfer));
+        }
+    }
+
+    void routeFlush(LedgerTransfer transfer) {
+        if (journal != null) {
+            journal.enqueue(transfer);
+        } else {
+            flusher.enqueue(transfer);
+        }
+    }
+
+    /**
+     * 저널 순번 appliedSeq까지 DB 반영이 끝남 (플러셔 스레드에서 호출)
+     */
+    void onApplied(long appliedSeq) {
+        journal.release(appliedSeq);
+    }
+
+    void routeAdjust(Long accountId, String accountNumber, BigDecimal delta) {
+        LedgerShard shard = shardOf(accountNumber);
+        shard.enqueue(() -> shard.adjust(accountId, delta));
+    }
+
+    void routeSettle(Long accountId, String accountNumber) {
+        LedgerShard shard = shardOf(accountNumber);
+        shard.enqueue(() -> shard.settle(accountId));
+    }
+
+    /**
+     * DB에 반영했거나 되돌린 이체의 계좌를 샤드가 메모리에서 내보낼 수 있게 표시 (샤드마다 명령 하나로 넘긴다)
+     */
+    void settle(List<LedgerTransfer> transfers) {
+        Map<LedgerShard, List<Long>> accountIds = new HashMap<>();
+        for (LedgerTransfer transfer : transfers) {
+            TransferRequest request = transfer.getRequest();
+            accountIds.computeIfAbsent(shardOf(request.getFromAccountNumber()), shard -> new ArrayList<>()).add(transfer.getFromAccountId());
+            accountIds.computeIfAbsent(shardOf(request.getToAccountNumber()), shard -> new ArrayList<>()).add(transfer.getToAccountId());
+        }
+        accountIds.forEach((shard, ids) -> {
+            try {
+                shard.enqueue(() -> ids.forEach(shard::settle));
+            } catch (IllegalStateException e) {
+                // DB에는 이미 반영되었으므로 실패로 돌리지 않는다 (해당 계좌는 메모리에서 내보내지 못할 뿐 잔액은 정확하다)
+                log.warn("원장 샤드에 DB 반영 완료를 넘기지 못했습니다. 계좌 수: {}", ids.size(), e);
+            }
+        });
+    }
+
+    /**
+     * DB 반영에 실패한 이체를 메모리 잔액에서 되돌린다
+     */
+    void compensate(LedgerTransfer transfer) {
+        TransferRequest request = transfer.getRequest();
+        routeAdjust(transfer.getFromAccountId(), request.getFromAccountNumber(), transfer.getAmount());
+        routeAdjust(transfer.getToAccountId(), request.getToAccountNumber(), transfer.getAmount().negate());
+    }
+
+    /**
+     * DB에 반영된 마지막 저널 순번 (반영 위치 행이 없으면 0으로 생성)
+     */
+    private long appliedJournalSeq() {
+        return checkpointRepository.findAppliedSeqById(LedgerCheckpoint.JOURNAL_ID)
+                .orElseGet(() -> checkpointRepository.save(LedgerCheckpoint.builder()
+                        .id(LedgerCheckpoint.JOURNAL_ID)
+                        .appliedSeq(0)
+                        .build()).getAppliedSeq());
+    }
+
+    private LedgerShard shardOf(String accountNumber) {
+        return shards[Math.floorMod(accountNumber.hashCode(), shards.length)];
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new TransferRejectedException("서버가 종료 중이라 이체를 받을 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        if (!writerLease.isValid()) {
+            throw new TransferRejectedException("원장 엔진 쓰기 임대를 갱신하지 못해 이체를 받을 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    /**
+     * 응답 후 DB 반영을 기다리는 이체가 한도만큼 밀렸으면 새 이체를 거절
+     */
+    private void checkBacklog() {
+        if (journal == null) {
+            return;
+        }
+
+        // 반영이 멈춘 동안 받은 이체는 응답 후 반영되지 못하고 쌓이기만 하므로 한도까지 기다리지 않고 거절한다
+        boolean backlogged = flusher.isStalled() || flusher.backlog() >= properties.getJournal().getMaxBacklog();
+        if (backlogged != readOnly) {
+            readOnly = backlogged;
+            if (backlogged) {
+                log.error("원장 DB 반영이 {}건 밀려 새 이체를 거절합니다.", flusher.backlog());
+            } else {
+                log.info("원장 DB 반영 대기가 줄어 이체 접수를 재개합니다.");
+            }
+        }
+
+        if (backlogged) {
+            throw new TransferRejectedException("이체 내역 반영이 밀려 있어 잠시 이체를 받을 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!inFlight.tryAcquire(properties.getTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new TransferRejectedException("이체 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferRejectedException("이체 접수 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private Transaction await(LedgerTransfer transfer, long timeoutMs) {
+        try {
+            return transfer.getResult().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("이체 처리 결과 대기 시간이 초과되었습니다. 처리 여부는 거래 내역에서 확인해 주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이체 처리 결과 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.entity.Transaction;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래 ID 미리 할당 (저널에 기록하기 전에 ID를 정해 응답과 DB 반영에 같은 값을 쓰기 위함)
+ * Transaction 엔티티의 시퀀스 생성기를 그대로 쓰므로 JPA로 저장하는 거래와 ID가 겹치지 않고, DB는 allocationSize마다 한 번만 조회한다
+ */
+class TransactionIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+
+    TransactionIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Transaction.class)
+                .getGenerator();
+    }
+
+    /**
+     * @param count 할당할 ID 수
+     * @return 새 거래 ID (할당 순)
+     */
+    List<Long> next(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids.add(((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue());
+            }
+        }
+
+        return ids;
+    }
+}
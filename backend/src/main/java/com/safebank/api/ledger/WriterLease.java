@@ -0,0 +1,120 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.entity.LedgerWriterLease;
+import com.safebank.api.repository.LedgerWriterLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 원장 엔진 단일 쓰기 임대 (DB 임대 행으로 엔진을 켠 인스턴스를 하나로 제한)
+ * 임대 시간의 1/3마다 갱신하고, 갱신하지 못한 채 임대 시간이 지나면 isValid가 false가 되어 엔진이 새 이체를 거절한다
+ */
+@Slf4j
+class WriterLease implements Runnable {
+
+    private final LedgerWriterLeaseRepository repository;
+    private final Duration timeout;
+    private final String owner = UUID.randomUUID().toString();
+
+    // 임대가 유효하다고 확신할 수 있는 시각 (System.nanoTime 기준, 마지막으로 얻은 갱신 요청을 보내기 직전 시각 + 임대 시간)
+    private volatile long validUntilNanos;
+    private volatile boolean running;
+    private Thread renewer;
+
+    WriterLease(LedgerWriterLeaseRepository repository, Duration timeout) {
+        this.repository = repository;
+        this.timeout = timeout;
+        this.validUntilNanos = System.nanoTime();
+    }
+
+    /**
+     * 임대를 얻고 갱신 스레드를 시작 (다른 인스턴스가 유효한 임대를 가지고 있으면 예외)
+     */
+    void acquire() {
+        if (!tryAcquire()) {
+            LedgerWriterLease holder = repository.findById(LedgerWriterLease.ENGINE_ID).orElse(null);
+            throw new IllegalStateException("다른 인스턴스가 원장 엔진을 사용 중이라 시작할 수 없습니다. safebank.ledger.enabled는 인스턴스 하나에서만 켜야 합니다."
+                    + (holder != null ? " 임대 만료 시각: " + holder.getExpiresAt() : ""));
+        }
+
+        running = true;
+        renewer = new Thread(this, "ledger-writer-lease");
+        renewer.setDaemon(true);
+        renewer.start();
+    }
+
+    /**
+     * 임대 시간 안에 갱신에 성공해 아직 다른 인스턴스가 임대를 가져갈 수 없는 상태인지
+     */
+    boolean isValid() {
+        return validUntilNanos - System.nanoTime() > 0;
+    }
+
+    void release() throws InterruptedException {
+        running = false;
+        if (renewer == null) {
+            return;
+        }
+        renewer.interrupt();
+        renewer.join();
+
+        try {
+            repository.release(LedgerWriterLease.ENGINE_ID, owner, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("원장 엔진 쓰기 임대를 반납하지 못했습니다. 다음 인스턴스는 임대가 만료된 뒤 시작할 수 있습니다. 원인: {}", e.toString());
+        }
+    }
+
+    @Override
+    public void run() {
+        long intervalMs = Math.max(1, timeout.toMillis() / 3);
+        while (running) {
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                if (!tryAcquire()) {
+                    log.error("원장 엔진 쓰기 임대를 다른 인스턴스가 가져갔습니다. 새 이체를 받지 않습니다.");
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // DB 장애로 갱신하지 못해도 임대 시간이 지나기 전까지는 유효하므로, 다음 주기에 다시 시도한다
+                log.warn("원장 엔진 쓰기 임대를 갱신하지 못했습니다. 원인: {}", e.toString());
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        long requestedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(timeout);
+
+        boolean acquired = repository.acquire(LedgerWriterLease.ENGINE_ID, owner, now, expiresAt) > 0;
+        if (!acquired && !repository.existsById(LedgerWriterLease.ENGINE_ID)) {
+            // 첫 기동이면 임대 행을 만든다 (동시에 만든 인스턴스가 있으면 기본키 충돌로 한쪽만 성공)
+            try {
+                repository.saveAndFlush(LedgerWriterLease.builder()
+                        .id(LedgerWriterLease.ENGINE_ID)
+                        .owner(owner)
+                        .expiresAt(expiresAt)
+                        .build());
+                acquired = true;
+            } catch (DataIntegrityViolationException e) {
+                acquired = false;
+            }
+        }
+
+        if (acquired) {
+            validUntilNanos = requestedAt + timeout.toNanos();
+        }
+        return acquired;
+    }
+}
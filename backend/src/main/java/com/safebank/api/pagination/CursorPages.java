@@ -0,0 +1,65 @@
+package com.safebank.api.pagination;
+
+import com.safebank.api.dto.response.CursorPageResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지 조회 공통 처리
+ * 다음 페이지 존재 여부를 COUNT 없이 알기 위해 size + 1건을 조회하고, 넘치는 한 건은 응답에서 뺀다
+ */
+public final class CursorPages {
+
+    public static final int MAX_SIZE = 100;
+
+    private CursorPages() {
+    }
+
+    /**
+     * 페이지 크기를 검증하고 size + 1건을 조회하는 Pageable 반환
+     */
+    public static Pageable lookahead(int size) {
+        checkSize(size);
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * 사용 중단 예정인 OFFSET 페이지 조회용 Pageable (페이지 크기 제한은 키셋 페이지와 같음)
+     */
+    public static Pageable offset(int page, int size) {
+        checkSize(size);
+        if (page < 0) {
+            throw new IllegalArgumentException("페이지 번호는 0 이상이어야 합니다");
+        }
+        return PageRequest.of(page, size);
+    }
+
+    private static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_SIZE + " 이하여야 합니다");
+        }
+    }
+
+    /**
+     * lookahead로 조회한 행으로 페이지 응답 생성
+     * @param rows size + 1건까지 조회한 결과
+     * @param size 요청한 페이지 크기
+     * @param cursorOf 마지막 행의 다음 페이지 커서
+     * @param totalCount 전체 건수 (생략 시 null)
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, String> cursorOf, Long totalCount) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPageResponse.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .next(hasNext ? cursorOf.apply(content.get(size - 1)) : null)
+                .totalCount(totalCount)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.safebank.api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * ID 오름차순 키셋 페이지네이션 커서 (마지막으로 반환한 행의 ID)
+ * 클라이언트에는 Base64URL로 인코딩한 불투명한 문자열로만 노출한다
+ */
+public record IdCursor(Long id) {
+
+    /**
+     * 첫 페이지 조회 시작점 (ID는 1부터 발급)
+     */
+    public static final IdCursor FIRST = new IdCursor(0L);
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor 이전 페이지 응답의 next (없으면 첫 페이지)
+     */
+    public static IdCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            return new IdCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.safebank.api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 거래 내역 키셋 페이지네이션 커서 (마지막으로 반환한 거래의 createdAt, id)
+ * 클라이언트에는 Base64URL로 인코딩한 불투명한 문자열로만 노출한다
+ */
+public record TransactionCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String DELIMITER = "|";
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int delimiter = raw.indexOf(DELIMITER);
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, delimiter)), Long.parseLong(raw.substring(delimiter + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+}
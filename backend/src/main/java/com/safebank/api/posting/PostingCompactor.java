@@ -0,0 +1,128 @@
+package com.safebank.api.posting;
+
+import com.safebank.api.config.PostingProperties;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.BalanceSnapshot;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.BalanceSnapshotRepository;
+import com.safebank.api.repository.PostingRepository;
+import com.safebank.api.repository.PostingSumView;
+import com.safebank.api.service.AccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분개 압축기
+ * 현재 차수 분개가 snapshotEvery건 이상 쌓인 계좌마다, 계좌 쓰기 락을 잡고 분개 합계를 Account.balance에 더한 뒤 차수를 올린다
+ * 1. 쓰기 락은 진행 중인 이체(출금 쓰기 락, 입금 공유 락)가 끝날 때까지 기다리므로, 접는 시점에 현재 차수 분개는 모두 커밋되어 있다
+ * 2. 이후 이체는 올라간 차수로 분개를 기록하므로, 분개 ID 순서와 관계없이 같은 분개가 두 번 더해지거나 빠지지 않는다
+ * 3. 차수마다 BalanceSnapshot 행을 남긴다 (접힌 분개는 TransactionArchiver가 거래를 옮길 때 함께 삭제하므로, 스냅샷이 감사 이력으로 남는다)
+ * 분개 원장 모드를 끈 뒤에도 남은 분개가 있는 계좌는 1건부터 접어, 기존 잔액 갱신 경로가 Account.balance만 보고 잔액을 확인해도 되도록 한다
+ */
+@Component
+@Slf4j
+public class PostingCompactor {
+
+    // 분개 생성 시각과 커밋 시각 차이, 인스턴스 간 시계 차이를 감안해 후보 조회 구간을 앞당기는 여유
+    private static final long CANDIDATE_MARGIN_SECONDS = 60;
+
+    private final PostingProperties properties;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final PostingRepository postingRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 다음 주기에 후보를 찾을 분개 생성 시각 하한 (처음에는 전체)
+    private LocalDateTime candidatesSince = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public PostingCompactor(PostingProperties properties, AccountRepository accountRepository, AccountService accountService,
+                            PostingRepository postingRepository, BalanceSnapshotRepository balanceSnapshotRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.postingRepository = postingRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 압축 대상 계좌를 찾아 계좌마다 한 트랜잭션으로 접음
+     * @return 새 스냅샷을 만든 계좌 수
+     */
+    @Scheduled(fixedDelayString = "${safebank.posting.compact-interval:PT10S}", initialDelayString = "${safebank.posting.compact-interval:PT10S}")
+    public int compact() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long threshold = properties.isEnabled() ? properties.getSnapshotEvery() : 1;
+        int batchSize = properties.getCompactBatchSize();
+
+        List<Long> accountIds = postingRepository.findAccountIdsToCompact(candidatesSince, threshold, PageRequest.of(0, batchSize));
+
+        int compacted = 0;
+        for (Long accountId : accountIds) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> compactAccount(accountId)))) {
+                    compacted++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("분개 압축에 실패했습니다. 다음 주기에 다시 시도합니다. 계좌 ID: {}, 원인: {}", accountId, e.getMessage());
+            }
+        }
+
+        // 한 주기에 다 처리하지 못했으면 같은 구간을 다시 조회
+        if (accountIds.size() < batchSize) {
+            candidatesSince = startedAt.minusSeconds(CANDIDATE_MARGIN_SECONDS);
+        }
+
+        if (compacted > 0) {
+            log.debug("분개를 스냅샷으로 접었습니다. 계좌 수: {}", compacted);
+        }
+
+        return compacted;
+    }
+
+    /**
+     * 계좌 하나의 현재 차수 분개를 접어 새 스냅샷 생성
+     * @return 접은 분개가 있으면 true
+     */
+    boolean compactAccount(Long accountId) {
+        Account account = accountRepository.findByIdForUpdate(accountId).orElse(null);
+        if (account == null) {
+            return false;
+        }
+
+        PostingSumView postings = postingRepository.sumByAccountIdAndSnapshotNo(accountId, account.getSnapshotNo());
+        if (postings.getPostingCount() == 0) {
+            return false;
+        }
+
+        // 분할 계좌는 출금 분개가 balance보다 크면 분할 잔액에서 부족분을 먼저 옮긴다 (총 잔액은 그대로)
+        if (account.isStriped() && postings.getPostingSum().signum() < 0) {
+            accountService.sweepStripes(account, postings.getPostingSum().negate());
+        }
+
+        BigDecimal balance = account.getBalance().add(postings.getPostingSum());
+        long snapshotNo = account.getSnapshotNo() + 1;
+        account.setBalance(balance);
+        account.setSnapshotNo(snapshotNo);
+
+        balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                .account(account)
+                .snapshotNo(snapshotNo)
+                .balance(balance)
+                .postingCount(postings.getPostingCount())
+                .postingSum(postings.getPostingSum())
+                .build());
+
+        return true;
+    }
+}
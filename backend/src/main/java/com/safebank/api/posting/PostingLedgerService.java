@@ -0,0 +1,153 @@
+package com.safebank.api.posting;
+
+import com.safebank.api.counter.CountedEntity;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.Posting;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.repository.AccountIdView;
+import com.safebank.api.repository.PostingRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.BalanceAggregateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 복식 부기 분개 원장 이체
+ * 계좌 행의 balance를 갱신하지 않고, 이체마다 출금 DEBIT / 입금 CREDIT 분개 두 행을 INSERT한다
+ * 잔액은 마지막 스냅샷(Account.balance) + 분할 잔액 + 현재 차수 분개 합계로 계산하며, PostingCompactor가 주기적으로 분개를 스냅샷으로 접는다
+ *
+ * 락 규칙 (account_id 오름차순으로 획득):
+ * 1. 출금 계좌: 쓰기 락. 같은 계좌 출금끼리 잔액 확인을 직렬화한다 (락만 잡고 행은 갱신하지 않음)
+ * 2. 입금 계좌: 공유 락. 입금끼리는 막지 않고, 분개가 기록한 스냅샷 차수가 압축 도중 바뀌지 않도록만 한다
+ * TransactionService.transfer와 같은 요청/응답/예외 규약을 따르며, 락 획득 실패는 TransferFacade가 재시도한다
+ */
+@Service
+@ConditionalOnProperty(prefix = "safebank.posting", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class PostingLedgerService {
+
+    private final AccountService accountService;
+    private final TransactionRepository transactionRepository;
+    private final PostingRepository postingRepository;
+    private final EntityCounters entityCounters;
+    private final BalanceAggregateService balanceAggregateService;
+    private final ReadYourWrites readYourWrites;
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * 계좌 이체 (거래 1행 + 분개 2행 INSERT)
+     * @param request
+     * @return
+     */
+    @Transactional
+    public Transaction transfer(TransferRequest request) {
+        AccountIdView from = accountService.getAccountRefByNumber(request.getFromAccountNumber());
+        AccountIdView to = accountService.getAccountRefByNumber(request.getToAccountNumber());
+        Account[] accounts = lockAccounts(from.getId(), to.getId());
+
+        Transaction transaction = Transaction.builder()
+                .fromAccount(accounts[0])
+                .toAccount(accounts[1])
+                .amount(request.getAmount())
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .description(request.getDescription())
+                .build();
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        post(savedTransaction, accounts[0], accounts[1]);
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, 1);
+        readYourWrites.recordAfterCommit(request.getFromAccountNumber(), request.getToAccountNumber());
+        idempotencyService.linkTransaction(savedTransaction.getId());
+
+        log.info("이체가 완료되었습니다. 거래 ID: {}, 금액: {}, {} -> {}", savedTransaction.getId(), request.getAmount(), request.getFromAccountNumber(), request.getToAccountNumber());
+
+        return savedTransaction;
+    }
+
+    /**
+     * PENDING 거래 완료 처리 (상태를 먼저 COMPLETED로 선점한 뒤 분개 기록)
+     * @param transactionId
+     * @param request 접수 시 요청
+     * @return
+     */
+    @Transactional
+    public Transaction completePendingTransfer(Long transactionId, TransferRequest request) {
+        if (transactionRepository.completePending(transactionId, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("처리 대기 중인 거래가 아닙니다. ID: " + transactionId);
+        }
+
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new IllegalStateException("거래 내역을 찾을 수 없습니다. ID: " + transactionId));
+        Account[] accounts = lockAccounts(transaction.getFromAccount().getId(), transaction.getToAccount().getId());
+
+        post(transaction, accounts[0], accounts[1]);
+        readYourWrites.recordAfterCommit(request.getFromAccountNumber(), request.getToAccountNumber());
+
+        log.info("접수된 이체가 완료되었습니다. 거래 ID: {}", transactionId);
+
+        return transaction;
+    }
+
+    /**
+     * 거래의 분개 조회 (감사용, 보관 테이블로 옮긴 거래는 분개를 정리하므로 빈 목록)
+     * @param transactionId
+     * @return
+     */
+    public List<Posting> getPostings(Long transactionId) {
+        return postingRepository.findByTransactionId(transactionId);
+    }
+
+    /**
+     * 출금 계좌 잔액 확인 후 DEBIT/CREDIT 분개 저장 (출금 계좌 쓰기 락을 잡은 상태에서 호출)
+     */
+    private void post(Transaction transaction, Account fromAccount, Account toAccount) {
+        BigDecimal balance = accountService.getCurrentBalance(fromAccount.getId());
+        if (balance.compareTo(transaction.getAmount()) < 0) {
+            throw new InsufficientBalanceException("잔액이 부족합니다. 현재 잔액 " + balance);
+        }
+
+        postingRepository.saveAll(List.of(
+                Posting.debit(transaction, fromAccount),
+                Posting.credit(transaction, toAccount)));
+        balanceAggregateService.applyTransfer(fromAccount.getStatus(), toAccount.getStatus(), transaction.getAmount());
+    }
+
+    /**
+     * account_id 오름차순으로 출금 계좌 쓰기 락, 입금 계좌 공유 락 획득
+     * @return [출금 계좌, 입금 계좌]
+     */
+    private Account[] lockAccounts(Long fromId, Long toId) {
+        // 동일 계좌 검증 (같은 행에 락을 두 번 요청하지 않도록 락 획득 전에 확인)
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("동일한 계좌로는 이체할 수 없습니다.");
+        }
+
+        if (fromId < toId) {
+            Account fromAccount = accountService.getAccountForUpdate(fromId);
+            Account toAccount = accountService.getAccountForShare(toId);
+            return new Account[]{fromAccount, toAccount};
+        }
+
+        Account toAccount = accountService.getAccountForShare(toId);
+        Account fromAccount = accountService.getAccountForUpdate(fromId);
+        return new Account[]{fromAccount, toAccount};
+    }
+}
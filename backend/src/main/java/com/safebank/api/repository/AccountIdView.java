@@ -0,0 +1,17 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.AccountStatus;
+
+/**
+ * 계좌번호 -> 계좌 ID 조회용 프로젝션 (락 대상 결정을 위해 분할 수, 총 잔액 집계 반영을 위해 상태 포함)
+ */
+public interface AccountIdView {
+
+    Long getId();
+
+    String getAccountNumber();
+
+    int getStripeCount();
+
+    AccountStatus getStatus();
+}
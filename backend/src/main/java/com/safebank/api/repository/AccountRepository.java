@@ -1,28 +1,188 @@
 package com.safebank.api.repository;
 
+import com.safebank.api.dto.response.AccountResponse;
 import com.safebank.api.entity.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    /**
+     * 마지막 스냅샷 이후 분개 합계 (분개 원장 모드, 분개가 없으면 0)
+     */
+    String POSTING_BALANCE = "COALESCE((SELECT SUM(p.amount) FROM Posting p WHERE p.account.id = a.id AND p.snapshotNo = a.snapshotNo), 0)";
+
+    /**
+     * 응답 잔액 (Account.getTotalBalance와 같이 분할 계좌만 분할 잔액을 더하고, 스냅샷 이후 분개를 더함)
+     */
+    String ACCOUNT_RESPONSE_BALANCE = "a.balance + CASE WHEN a.stripeCount > 0" +
+            " THEN COALESCE((SELECT SUM(s.balance) FROM AccountStripe s WHERE s.account.id = a.id), 0) ELSE 0 END + " + POSTING_BALANCE;
+
+    /**
+     * 스트리밍 조회 시 한 번에 가져올 행 수
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
     Optional<Account> findByAccountNumber(String accountNumber);
 
     boolean existsByAccountNumber(String accountNumber);
 
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.stripeCount AS stripeCount, a.status AS status FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountIdView> findRefByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.stripeCount AS stripeCount, a.status AS status FROM Account a WHERE a.id = :id")
+    Optional<AccountIdView> findRefById(@Param("id") Long id);
+
+    /**
+     * 전체 계좌 ID/계좌번호 스트리밍 (계좌 디렉터리 채우기용, 호출자는 트랜잭션 안에서 소비하고 닫아야 함)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.stripeCount AS stripeCount, a.status AS status FROM Account a")
+    Stream<AccountIdView> streamAccountRefs();
+
+    /**
+     * until 이전에 개설된 계좌 ID/계좌번호를 ID 순으로 스트리밍 (거래 명세서 생성용, 호출자는 트랜잭션 안에서 소비하고 닫아야 함)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.stripeCount AS stripeCount, a.status AS status FROM Account a" +
+            " WHERE a.createdAt < :until ORDER BY a.id")
+    Stream<AccountIdView> streamAccountRefsCreatedBefore(@Param("until") LocalDateTime until);
+
+    /**
+     * 비관적 쓰기 락(SELECT ... FOR UPDATE)으로 계좌 조회
+     * 여러 계좌를 잠글 때는 교착 상태 방지를 위해 반드시 account_id 오름차순으로 호출해야 한다
+     * MySQL은 쿼리별 락 대기 시간 힌트를 무시하므로, 대기 시간은 세션의 innodb_lock_wait_timeout(safebank.transfer.lock-wait-timeout)을 따른다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 공유 락(SELECT ... FOR SHARE)으로 계좌 조회 (분개 원장 모드 입금 계좌)
+     * 입금끼리는 서로 막지 않고, 같은 계좌의 스냅샷 압축(쓰기 락)과만 직렬화된다
+     * 다른 계좌와 함께 잠글 때는 쓰기 락과 마찬가지로 account_id 오름차순으로 호출해야 한다
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForShare(@Param("id") Long id);
+
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.stripeCount AS stripeCount, a.status AS status FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<AccountIdView> findIdsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    /**
+     * 여러 계좌를 account_id 오름차순으로 비관적 쓰기 락을 걸어 조회 (기본키 순서로 스캔하므로 락도 같은 순서로 획득)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 분할 잔액과 스냅샷 이후 분개를 포함한 총 잔액 조회
+     */
+    @Query("SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountStripe s WHERE s.account.id = a.id), 0) + " + POSTING_BALANCE + " FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findBalanceById(@Param("id") Long id);
+
+    /**
+     * ids 중 분할 계좌 ID
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id IN :ids AND a.stripeCount > 0")
+    List<Long> findStripedIdsIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 잔액 증감분 반영 (현재 값을 읽지 않고 DB에서 더하므로 반영 순서와 무관하게 결과가 같다)
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.version = a.version + 1, a.updatedAt = LOCAL DATETIME WHERE a.id = :id")
+    int applyBalanceDelta(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
     @Query("SELECT a FROM Account a WHERE a.member.id = :memberId")
     List<Account> findByMemberId(@Param("memberId") Long memberId);
 
+    /**
+     * 계좌 응답 키셋 페이지 (ID가 afterId보다 큰 계좌부터 ID 오름차순)
+     * 회원 조인 + 분할 잔액 합산을 쿼리 한 번으로 처리하여 계좌마다 회원/분할 잔액을 따로 조회하지 않음
+     */
+    @Query("SELECT new com.safebank.api.dto.response.AccountResponse(a.id, a.accountNumber, m.name, " + ACCOUNT_RESPONSE_BALANCE + ", a.status, a.createdAt)" +
+            " FROM Account a JOIN a.member m WHERE a.id > :afterId ORDER BY a.id")
+    List<AccountResponse> findAccountResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 전체 계좌 응답 목록 (파라미터 없는 전체 조회용, findAccountResponsesAfter와 같은 단일 쿼리 프로젝션)
+     */
+    @Query("SELECT new com.safebank.api.dto.response.AccountResponse(a.id, a.accountNumber, m.name, " + ACCOUNT_RESPONSE_BALANCE + ", a.status, a.createdAt)" +
+            " FROM Account a JOIN a.member m ORDER BY a.id")
+    List<AccountResponse> findAllAccountResponses();
+
+    /**
+     * 계좌 응답 OFFSET 페이지 (사용 중단 예정인 page 파라미터 조회용, 깊은 페이지일수록 느리고 전체 건수를 매번 센다)
+     */
+    @Query(value = "SELECT new com.safebank.api.dto.response.AccountResponse(a.id, a.accountNumber, m.name, " + ACCOUNT_RESPONSE_BALANCE + ", a.status, a.createdAt)" +
+            " FROM Account a JOIN a.member m ORDER BY a.id",
+            countQuery = "SELECT COUNT(a) FROM Account a")
+    Page<AccountResponse> findAccountResponses(Pageable pageable);
+
+    /**
+     * 전체 계좌 응답 스트리밍 (findAccountResponsesAfter와 같은 프로젝션, 호출자는 트랜잭션 안에서 소비하고 닫아야 함)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.AccountResponse(a.id, a.accountNumber, m.name, " + ACCOUNT_RESPONSE_BALANCE + ", a.status, a.createdAt)" +
+            " FROM Account a JOIN a.member m ORDER BY a.id")
+    Stream<AccountResponse> streamAccountResponses();
+
+    /**
+     * 회원의 계좌 응답 목록 (findAccountResponsesAfter와 같은 단일 쿼리 프로젝션)
+     */
+    @Query("SELECT new com.safebank.api.dto.response.AccountResponse(a.id, a.accountNumber, m.name, " + ACCOUNT_RESPONSE_BALANCE + ", a.status, a.createdAt)" +
+            " FROM Account a JOIN a.member m WHERE m.id = :memberId ORDER BY a.id")
+    List<AccountResponse> findAccountResponsesByMemberId(@Param("memberId") Long memberId);
+
+    /**
+     * 계좌 응답 단건 (findAccountResponsesAfter와 같은 프로젝션)
+     */
+    @Query("SELECT new com.safebank.api.dto.response.AccountResponse(a.id, a.accountNumber, m.name, " + ACCOUNT_RESPONSE_BALANCE + ", a.status, a.createdAt)" +
+            " FROM Account a JOIN a.member m WHERE a.id = :id")
+    Optional<AccountResponse> findAccountResponseById(@Param("id") Long id);
+
     @Query("SELECT a FROM Account a WHERE a.member.email = :email")
     List<Account> findByMemberEmail(@Param("email") String email);
 
-    @Query("SELECT COALESCE(SUM(a.balance), 0) FROM Account a WHERE a.status = 'ACTIVE'")
+    @Query("SELECT COALESCE(SUM(a.balance + " + POSTING_BALANCE + "), 0) + (SELECT COALESCE(SUM(s.balance), 0) FROM AccountStripe s WHERE s.account.status = 'ACTIVE') FROM Account a WHERE a.status = 'ACTIVE'")
     BigDecimal calculateTotalBalance();
+
+    /**
+     * 계좌 상태별 실제 잔액 합계 (분할 잔액, 스냅샷 이후 분개 포함, 전체 스캔이므로 총 잔액 집계 초기화와 검증에만 사용)
+     */
+    @Query("SELECT a.status AS status, SUM(a.balance + COALESCE((SELECT SUM(s.balance) FROM AccountStripe s WHERE s.account.id = a.id), 0) + " + POSTING_BALANCE + ") AS totalBalance" +
+            " FROM Account a GROUP BY a.status")
+    List<StatusBalanceView> sumBalanceByStatus();
 }
@@ -0,0 +1,31 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.AccountStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountStripeRepository extends JpaRepository<AccountStripe, Long> {
+
+    /**
+     * 분할 잔액 행 하나에 입금액을 더함 (계좌 행은 건드리지 않으므로 계좌 행 락과 버전 충돌이 없다)
+     */
+    @Modifying
+    @Query("UPDATE AccountStripe s SET s.balance = s.balance + :amount WHERE s.account.id = :accountId AND s.stripeNo = :stripeNo")
+    int addToStripe(@Param("accountId") Long accountId, @Param("stripeNo") int stripeNo, @Param("amount") BigDecimal amount);
+
+    /**
+     * 계좌의 분할 잔액 행을 stripe_no 오름차순으로 비관적 쓰기 락을 걸어 조회
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountStripe s WHERE s.account.id = :accountId ORDER BY s.stripeNo")
+    List<AccountStripe> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,179 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.entity.ArchivedTransaction;
+import com.safebank.api.entity.TransactionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 보관 거래(transaction_archive) 조회/이동 쿼리
+ * TransactionRepository가 상속하여, 거래 내역 조회 기본 메서드가 거래 테이블과 보관 테이블을 함께 라우팅한다
+ * 갈래 나누기와 정렬 키 조회 방식은 거래 테이블 쿼리와 같다
+ */
+public interface ArchivedTransactionQueries {
+
+    /**
+     * 보관된 가장 최근 거래 시각 (보관 거래가 없으면 null)
+     * 거래 테이블에서 읽은 정렬 키가 모두 이 시각보다 최신이면 보관 테이블을 읽지 않는다
+     */
+    @Query("SELECT MAX(a.createdAt) FROM ArchivedTransaction a")
+    LocalDateTime findArchiveHorizon();
+
+    /**
+     * 보관된 거래의 가장 최근 완료 시각 (보관 거래가 없으면 null, 완료 시각으로 자르는 명세서 조회용)
+     */
+    @Query("SELECT MAX(a.completedAt) FROM ArchivedTransaction a")
+    LocalDateTime findArchiveCompletedHorizon();
+
+    @Query("SELECT a.id AS id, a.createdAt AS createdAt FROM ArchivedTransaction a" +
+            " WHERE a.fromAccountId = :accountId" +
+            " ORDER BY a.createdAt DESC, a.id DESC")
+    List<TransactionKeyView> findArchivedOutgoingHistoryKeys(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query("SELECT a.id AS id, a.createdAt AS createdAt FROM ArchivedTransaction a" +
+            " WHERE a.fromAccountId = :accountId" +
+            " AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))" +
+            " ORDER BY a.createdAt DESC, a.id DESC")
+    List<TransactionKeyView> findArchivedOutgoingHistoryKeysBefore(@Param("accountId") Long accountId,
+                                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                                  @Param("id") Long id,
+                                                                  Pageable pageable);
+
+    @Query("SELECT a.id AS id, a.createdAt AS createdAt FROM ArchivedTransaction a" +
+            " WHERE a.toAccountId = :accountId" +
+            " AND (a.fromAccountId IS NULL OR a.fromAccountId <> :accountId)" +
+            " ORDER BY a.createdAt DESC, a.id DESC")
+    List<TransactionKeyView> findArchivedIncomingHistoryKeys(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query("SELECT a.id AS id, a.createdAt AS createdAt FROM ArchivedTransaction a" +
+            " WHERE a.toAccountId = :accountId" +
+            " AND (a.fromAccountId IS NULL OR a.fromAccountId <> :accountId)" +
+            " AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))" +
+            " ORDER BY a.createdAt DESC, a.id DESC")
+    List<TransactionKeyView> findArchivedIncomingHistoryKeysBefore(@Param("accountId") Long accountId,
+                                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                                  @Param("id") Long id,
+                                                                  Pageable pageable);
+
+    @Query("SELECT a FROM ArchivedTransaction a" +
+            " LEFT JOIN FETCH a.fromAccount" +
+            " JOIN FETCH a.toAccount" +
+            " WHERE a.id IN :ids")
+    List<ArchivedTransaction> findArchivedWithAccountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a FROM ArchivedTransaction a" +
+            " LEFT JOIN FETCH a.fromAccount" +
+            " JOIN FETCH a.toAccount" +
+            " WHERE a.id = :id")
+    Optional<ArchivedTransaction> findArchivedById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) FROM ArchivedTransaction a WHERE a.fromAccountId = :accountId")
+    long countArchivedOutgoing(@Param("accountId") Long accountId);
+
+    @Query("SELECT COUNT(a) FROM ArchivedTransaction a WHERE a.toAccountId = :accountId AND (a.fromAccountId IS NULL OR a.fromAccountId <> :accountId)")
+    long countArchivedIncoming(@Param("accountId") Long accountId);
+
+    @Query("SELECT COUNT(a) FROM ArchivedTransaction a")
+    long countArchived();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(a.id, f.accountNumber, t.accountNumber, a.amount, a.type, a.status, a.description, a.createdAt)" +
+            " FROM ArchivedTransaction a" +
+            " JOIN Account f ON f.id = a.fromAccountId" +
+            " JOIN Account t ON t.id = a.toAccountId" +
+            " WHERE a.fromAccountId = :accountId" +
+            " ORDER BY a.createdAt, a.id")
+    Stream<TransactionResponse> streamArchivedOutgoingHistory(@Param("accountId") Long accountId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(a.id, f.accountNumber, t.accountNumber, a.amount, a.type, a.status, a.description, a.createdAt)" +
+            " FROM ArchivedTransaction a" +
+            " LEFT JOIN Account f ON f.id = a.fromAccountId" +
+            " JOIN Account t ON t.id = a.toAccountId" +
+            " WHERE a.toAccountId = :accountId" +
+            " AND (a.fromAccountId IS NULL OR a.fromAccountId <> :accountId)" +
+            " ORDER BY a.createdAt, a.id")
+    Stream<TransactionResponse> streamArchivedIncomingHistory(@Param("accountId") Long accountId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(a.id, f.accountNumber, t.accountNumber, a.amount, a.type, a.status, a.description, a.createdAt, a.completedAt)" +
+            " FROM ArchivedTransaction a" +
+            " JOIN Account f ON f.id = a.fromAccountId" +
+            " JOIN Account t ON t.id = a.toAccountId" +
+            " WHERE a.fromAccountId = :accountId" +
+            " AND a.completedAt >= :since AND a.completedAt < :until" +
+            " AND a.status = com.safebank.api.entity.TransactionStatus.COMPLETED" +
+            " ORDER BY a.completedAt, a.id")
+    Stream<TransactionResponse> streamArchivedCompletedOutgoingBetween(@Param("accountId") Long accountId,
+                                                                       @Param("since") LocalDateTime since,
+                                                                       @Param("until") LocalDateTime until);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(a.id, f.accountNumber, t.accountNumber, a.amount, a.type, a.status, a.description, a.createdAt, a.completedAt)" +
+            " FROM ArchivedTransaction a" +
+            " LEFT JOIN Account f ON f.id = a.fromAccountId" +
+            " JOIN Account t ON t.id = a.toAccountId" +
+            " WHERE a.toAccountId = :accountId" +
+            " AND (a.fromAccountId IS NULL OR a.fromAccountId <> :accountId)" +
+            " AND a.completedAt >= :since AND a.completedAt < :until" +
+            " AND a.status = com.safebank.api.entity.TransactionStatus.COMPLETED" +
+            " ORDER BY a.completedAt, a.id")
+    Stream<TransactionResponse> streamArchivedCompletedIncomingBetween(@Param("accountId") Long accountId,
+                                                                       @Param("since") LocalDateTime since,
+                                                                       @Param("until") LocalDateTime until);
+
+    /**
+     * 보관 이동 대상 거래 ID (cutoff 이전에 생성되어 더 이상 바뀌지 않는 거래, 오래된 순)
+     * 처리 대기(PENDING) 거래와 아직 스냅샷으로 접히지 않은 분개가 있는 거래는 거래 테이블에 남긴다
+     */
+    @Query("SELECT t.id FROM Transaction t" +
+            " WHERE t.createdAt < :cutoff" +
+            " AND t.status <> :pending" +
+            " AND NOT EXISTS (SELECT 1 FROM Posting p WHERE p.transaction.id = t.id AND p.snapshotNo >= p.account.snapshotNo)" +
+            " ORDER BY t.createdAt, t.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("pending") TransactionStatus pending, Pageable pageable);
+
+    /**
+     * 거래를 같은 ID로 보관 테이블에 복사 (INSERT ... SELECT, 행을 애플리케이션으로 읽지 않음)
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedTransaction (id, fromAccountId, toAccountId, amount, type, status, description, createdAt, completedAt, archivedAt)" +
+            " SELECT t.id, t.fromAccount.id, t.toAccount.id, t.amount, t.type, t.status, t.description, t.createdAt, t.completedAt, LOCAL DATETIME" +
+            " FROM Transaction t WHERE t.id IN :ids")
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 보관할 거래의 분개 삭제 (스냅샷으로 접힌 분개만 남은 거래이므로 잔액은 바뀌지 않음, 분개는 수정/삭제하지 않는 엔티티라 네이티브 쿼리로 삭제)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM posting WHERE transaction_id IN (:ids)", nativeQuery = true)
+    int deletePostingsByTransactionIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
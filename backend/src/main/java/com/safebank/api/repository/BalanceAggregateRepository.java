@@ -0,0 +1,26 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.BalanceAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Repository
+public interface BalanceAggregateRepository extends JpaRepository<BalanceAggregate, AccountStatus> {
+
+    @Query("SELECT b.totalBalance FROM BalanceAggregate b WHERE b.status = :status")
+    Optional<BigDecimal> findTotalBalanceByStatus(@Param("status") AccountStatus status);
+
+    /**
+     * 상태별 총 잔액 증감분 반영 (현재 값을 읽지 않고 DB에서 더함)
+     */
+    @Modifying
+    @Query("UPDATE BalanceAggregate b SET b.totalBalance = b.totalBalance + :delta, b.updatedAt = LOCAL DATETIME WHERE b.status = :status")
+    int addToTotalBalance(@Param("status") AccountStatus status, @Param("delta") BigDecimal delta);
+}
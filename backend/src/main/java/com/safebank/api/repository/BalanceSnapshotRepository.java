@@ -0,0 +1,16 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    @Query("SELECT s FROM BalanceSnapshot s WHERE s.account.id = :accountId ORDER BY s.snapshotNo")
+    List<BalanceSnapshot> findByAccountId(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,88 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.DailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyBalanceRepository extends JpaRepository<DailyBalance, Long> {
+
+    /**
+     * :since 이후 잔액에 반영된 완료 거래 조건 (생성 시각이 아니라 완료 시각 기준, 비동기 접수 거래는 나중에 반영되므로)
+     */
+    String COMPLETED_SINCE = " AND t.status = com.safebank.api.entity.TransactionStatus.COMPLETED AND t.completedAt >= :since";
+
+    /**
+     * [:since, :until) 사이 잔액에 반영된 완료 거래 조건
+     */
+    String COMPLETED_BETWEEN = COMPLETED_SINCE + " AND t.completedAt < :until";
+
+    /**
+     * 입금 갈래 조건 (출금 거래는 from = to로 기록되므로 입금으로 세지 않는다)
+     */
+    String INFLOW = " AND t.type <> com.safebank.api.entity.TransactionType.WITHDRAWAL";
+
+    /**
+     * :since 이후 계좌 a의 순입금 (입금 - 출금, 거래 테이블과 보관 테이블 모두)
+     * 자기 계좌 간 이체는 상쇄되고, 출금 거래(from = to)는 출금 갈래에서만 세어 잔액에서 빠진다
+     * 계좌별 (계좌, 완료 시각) 인덱스를 범위로 읽으므로 비용은 구간 안의 거래 수에 비례한다
+     */
+    String NET_FLOW_SINCE =
+            "COALESCE((SELECT SUM(t.amount) FROM Transaction t WHERE t.toAccount.id = a.id" + INFLOW + COMPLETED_SINCE + "), 0)" +
+            " + COALESCE((SELECT SUM(t.amount) FROM ArchivedTransaction t WHERE t.toAccountId = a.id" + INFLOW + COMPLETED_SINCE + "), 0)" +
+            " - COALESCE((SELECT SUM(t.amount) FROM Transaction t WHERE t.fromAccount.id = a.id" + COMPLETED_SINCE + "), 0)" +
+            " - COALESCE((SELECT SUM(t.amount) FROM ArchivedTransaction t WHERE t.fromAccountId = a.id" + COMPLETED_SINCE + "), 0)";
+
+    /**
+     * [:since, :until) 사이 계좌 a의 순입금
+     */
+    String NET_FLOW_BETWEEN =
+            "COALESCE((SELECT SUM(t.amount) FROM Transaction t WHERE t.toAccount.id = a.id" + INFLOW + COMPLETED_BETWEEN + "), 0)" +
+            " + COALESCE((SELECT SUM(t.amount) FROM ArchivedTransaction t WHERE t.toAccountId = a.id" + INFLOW + COMPLETED_BETWEEN + "), 0)" +
+            " - COALESCE((SELECT SUM(t.amount) FROM Transaction t WHERE t.fromAccount.id = a.id" + COMPLETED_BETWEEN + "), 0)" +
+            " - COALESCE((SELECT SUM(t.amount) FROM ArchivedTransaction t WHERE t.fromAccountId = a.id" + COMPLETED_BETWEEN + "), 0)";
+
+    /**
+     * :date 이전 가장 가까운 일말 잔액
+     */
+    Optional<DailyBalance> findFirstByAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(Long accountId, LocalDate date);
+
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinAccountId();
+
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxAccountId();
+
+    /**
+     * [fromId, toId) 범위 계좌의 :since 시점 잔액 (현재 잔액에서 그 뒤 거래를 되돌림, 한 문장이라 같은 시점 데이터로 계산됨)
+     * :since 이후 개설된 계좌와 :date 일말 잔액이 이미 있는 계좌는 제외한다
+     */
+    @Query("SELECT a.id AS accountId, " + AccountRepository.ACCOUNT_RESPONSE_BALANCE + " - (" + NET_FLOW_SINCE + ") AS balance" +
+            " FROM Account a" +
+            " WHERE a.id >= :fromId AND a.id < :toId AND a.createdAt < :since" +
+            " AND NOT EXISTS (SELECT 1 FROM DailyBalance d WHERE d.accountId = a.id AND d.balanceDate = :date)")
+    List<DailyBalanceView> findBalancesToRecord(@Param("fromId") Long fromId,
+                                                @Param("toId") Long toId,
+                                                @Param("since") LocalDateTime since,
+                                                @Param("date") LocalDate date);
+
+    /**
+     * 계좌의 :since 시점 잔액 (현재 잔액에서 그 뒤 거래를 되돌림, 이전 일말 잔액이 없을 때 사용)
+     */
+    @Query("SELECT " + AccountRepository.ACCOUNT_RESPONSE_BALANCE + " - (" + NET_FLOW_SINCE + ") FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findBalanceRewoundTo(@Param("id") Long id, @Param("since") LocalDateTime since);
+
+    /**
+     * 계좌의 [:since, :until) 사이 순입금
+     */
+    @Query("SELECT " + NET_FLOW_BETWEEN + " FROM Account a WHERE a.id = :id")
+    Optional<BigDecimal> findNetFlowBetween(@Param("id") Long id, @Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
+}
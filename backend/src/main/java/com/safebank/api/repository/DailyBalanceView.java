@@ -0,0 +1,13 @@
+package com.safebank.api.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * 계좌별 특정 시점 잔액 프로젝션 (일말 잔액 기록용)
+ */
+public interface DailyBalanceView {
+
+    Long getAccountId();
+
+    BigDecimal getBalance();
+}
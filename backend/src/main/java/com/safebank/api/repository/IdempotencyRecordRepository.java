@@ -0,0 +1,71 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * 보관 기간이 지난 키 일괄 삭제
+     * @return 삭제된 키 수
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 보관 기간이 지난 키 삭제 (그 사이 지워지고 다시 선점된 키는 지우지 않음)
+     * @return 삭제된 키 수
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.createdAt < :cutoff")
+    int deleteExpired(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 선점 유지 시간이 지나도록 거래 ID도 응답도 없는 키 삭제 (그 사이 거래 ID가 기록되었으면 지우지 않음)
+     * @return 삭제된 키 수
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.createdAt < :cutoff"
+            + " AND r.transactionId IS NULL AND r.responseBody IS NULL AND r.outcomeUnknown = false")
+    int deleteAbandoned(@Param("key") String key, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 키에 거래 ID 기록 (이체와 같은 트랜잭션에서만 호출)
+     * @return 갱신된 키 수
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.transactionId = :transactionId WHERE r.idempotencyKey = :key")
+    int linkTransaction(@Param("key") String key, @Param("transactionId") Long transactionId);
+
+    /**
+     * 응답 본문 저장 (거래 ID 등 다른 컬럼은 건드리지 않음)
+     * @return 갱신된 키 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody, r.completedAt = :completedAt WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("responseBody") byte[] responseBody, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 반영 여부를 알 수 없는 키로 표시 (거래 ID가 기록된 키는 반영된 것이므로 제외)
+     * @return 갱신된 키 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.outcomeUnknown = true WHERE r.idempotencyKey = :key AND r.transactionId IS NULL")
+    int markOutcomeUnknown(@Param("key") String key);
+}
@@ -0,0 +1,24 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+
+    @Query("SELECT c.appliedSeq FROM LedgerCheckpoint c WHERE c.id = :id")
+    Optional<Long> findAppliedSeqById(@Param("id") Long id);
+
+    /**
+     * 반영 위치 전진 (뒤로 돌아가지 않음)
+     */
+    @Modifying
+    @Query("UPDATE LedgerCheckpoint c SET c.appliedSeq = :seq, c.updatedAt = LOCAL DATETIME WHERE c.id = :id AND c.appliedSeq < :seq")
+    int advance(@Param("id") Long id, @Param("seq") long seq);
+}
@@ -0,0 +1,34 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.LedgerWriterLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface LedgerWriterLeaseRepository extends JpaRepository<LedgerWriterLease, Long> {
+
+    /**
+     * 내 임대를 연장하거나, 만료된 다른 인스턴스의 임대를 가져옴
+     * @return 임대를 얻었으면 1, 다른 인스턴스가 유효한 임대를 가지고 있거나 행이 없으면 0
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LedgerWriterLease l SET l.owner = :owner, l.expiresAt = :expiresAt" +
+            " WHERE l.id = :id AND (l.owner = :owner OR l.expiresAt <= :now)")
+    int acquire(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 내 임대를 바로 만료시킴 (정상 종료 시, 다음 인스턴스가 만료를 기다리지 않고 시작할 수 있도록)
+     * @return 반납한 임대 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LedgerWriterLease l SET l.expiresAt = :now WHERE l.id = :id AND l.owner = :owner")
+    int release(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
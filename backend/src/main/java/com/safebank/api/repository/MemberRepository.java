@@ -1,21 +1,66 @@
 package com.safebank.api.repository;
 
+import com.safebank.api.dto.response.MemberResponse;
 import com.safebank.api.entity.Member;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
+    /**
+     * 스트리밍 조회 시 한 번에 가져올 행 수
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
     Optional<Member> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     @Query("SELECT m FROM Member m WHERE m.name = :name")
     List<Member> findByName(@Param("name") String name);
+
+    /**
+     * 회원 응답 키셋 페이지 (ID가 afterId보다 큰 회원부터 ID 오름차순)
+     */
+    @Query("SELECT new com.safebank.api.dto.response.MemberResponse(m.id, m.name, m.email, m.phoneNumber, m.status, m.createdAt)" +
+            " FROM Member m WHERE m.id > :afterId ORDER BY m.id")
+    List<MemberResponse> findMemberResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 전체 회원 응답 목록 (파라미터 없는 전체 조회용)
+     */
+    @Query("SELECT new com.safebank.api.dto.response.MemberResponse(m.id, m.name, m.email, m.phoneNumber, m.status, m.createdAt)" +
+            " FROM Member m ORDER BY m.id")
+    List<MemberResponse> findAllMemberResponses();
+
+    /**
+     * 회원 응답 OFFSET 페이지 (사용 중단 예정인 page 파라미터 조회용, 깊은 페이지일수록 느리고 전체 건수를 매번 센다)
+     */
+    @Query(value = "SELECT new com.safebank.api.dto.response.MemberResponse(m.id, m.name, m.email, m.phoneNumber, m.status, m.createdAt)" +
+            " FROM Member m ORDER BY m.id",
+            countQuery = "SELECT COUNT(m) FROM Member m")
+    Page<MemberResponse> findMemberResponses(Pageable pageable);
+
+    /**
+     * 전체 회원 응답 스트리밍 (호출자는 트랜잭션 안에서 소비하고 닫아야 함)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.MemberResponse(m.id, m.name, m.email, m.phoneNumber, m.status, m.createdAt)" +
+            " FROM Member m ORDER BY m.id")
+    Stream<MemberResponse> streamMemberResponses();
 }
@@ -0,0 +1,33 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.Posting;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostingRepository extends JpaRepository<Posting, Long> {
+
+    /**
+     * 계좌의 한 스냅샷 차수에 기록된 분개 수와 합계
+     */
+    @Query("SELECT COUNT(p) AS postingCount, COALESCE(SUM(p.amount), 0) AS postingSum FROM Posting p WHERE p.account.id = :accountId AND p.snapshotNo = :snapshotNo")
+    PostingSumView sumByAccountIdAndSnapshotNo(@Param("accountId") Long accountId, @Param("snapshotNo") long snapshotNo);
+
+    /**
+     * 압축 대상 계좌 ID (since 이후 분개가 있고, 현재 차수 분개가 threshold건 이상인 계좌)
+     * 최근 분개가 있는 계좌만 후보로 삼으므로 분개 테이블 전체를 집계하지 않는다
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id IN (SELECT p.account.id FROM Posting p WHERE p.createdAt >= :since)" +
+            " AND (SELECT COUNT(p2) FROM Posting p2 WHERE p2.account.id = a.id AND p2.snapshotNo = a.snapshotNo) >= :threshold" +
+            " ORDER BY a.id")
+    List<Long> findAccountIdsToCompact(@Param("since") LocalDateTime since, @Param("threshold") long threshold, Pageable pageable);
+
+    @Query("SELECT p FROM Posting p WHERE p.transaction.id = :transactionId ORDER BY p.id")
+    List<Posting> findByTransactionId(@Param("transactionId") Long transactionId);
+}
@@ -0,0 +1,13 @@
+package com.safebank.api.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * 한 스냅샷 차수의 분개 수/합계 프로젝션
+ */
+public interface PostingSumView {
+
+    long getPostingCount();
+
+    BigDecimal getPostingSum();
+}
@@ -0,0 +1,15 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.AccountStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * 계좌 상태별 실제 잔액 합계 프로젝션
+ */
+public interface StatusBalanceView {
+
+    AccountStatus getStatus();
+
+    BigDecimal getTotalBalance();
+}
@@ -0,0 +1,14 @@
+package com.safebank.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 정렬 키 프로젝션 (createdAt, id)
+ * 거래 내역 갈래 쿼리가 (계좌, created_at, transaction_id) 인덱스만 읽고 끝나도록 정렬 키만 조회한다
+ */
+public interface TransactionKeyView {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,29 +1,430 @@
 package com.safebank.api.repository;
 
+import com.safebank.api.dto.response.TransactionResponse;
 import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 거래 리포지토리
+ * 계좌 거래 내역은 출금(from) / 입금(to) 두 갈래로 나누어 각각 (계좌, created_at) 인덱스 순서로 정렬 키만 읽고,
+ * 애플리케이션에서 병합한 뒤 페이지에 들어가는 거래만 ID로 한 번에 로딩한다
+ * (from = ? OR to = ? 조건은 인덱스 하나로 정렬 순서를 만들 수 없어 전체 결과를 정렬(filesort)하게 됨)
+ *
+ * 오래된 거래는 TransactionArchiver가 보관 테이블(transaction_archive)로 옮기므로, 거래 내역 조회 기본 메서드는 거래 테이블을 먼저 읽고
+ * 읽은 정렬 키로 페이지를 채울 수 없거나 보관된 가장 최근 거래보다 오래된 구간까지 내려간 경우에만 보관 테이블의 같은 갈래를 읽어 병합한다
+ * 최근 거래 내역은 보관 테이블 크기와 무관하게 거래 테이블 인덱스만으로 조회된다
+ */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, ArchivedTransactionQueries {
 
-    @Query("SELECT t FROM Transaction t" +
-            " LEFT JOIN FETCH t.fromAccount" +
-            " LEFT JOIN FETCH t.toAccount" +
-            " WHERE t.fromAccount.accountNumber = :accountNumber" +
-            " OR t.toAccount.accountNumber = :accountNumber" +
-            " ORDER BY t.createdAt DESC")
-    Page<Transaction> findByAccountNumber(@Param("accountNumber") String accountNumber, Pageable pageable);
+    /**
+     * 거래 내역 정렬 순서 (createdAt DESC, id DESC)
+     */
+    Comparator<Transaction> HISTORY_ORDER = Comparator.comparing(Transaction::getCreatedAt)
+            .thenComparing(Transaction::getId)
+            .reversed();
+
+    /**
+     * 내보내기 정렬 순서 (createdAt ASC, id ASC)
+     */
+    Comparator<TransactionResponse> EXPORT_ORDER = Comparator.comparing(TransactionResponse::getCreatedAt)
+            .thenComparing(TransactionResponse::getId);
+
+    /**
+     * 거래 명세서 정렬 순서 (completedAt ASC, id ASC, 잔액에 반영된 순서)
+     */
+    Comparator<TransactionResponse> STATEMENT_ORDER = Comparator.comparing(TransactionResponse::getCompletedAt)
+            .thenComparing(TransactionResponse::getId);
+
+    /**
+     * 내보내기 스트리밍 쿼리의 JDBC fetch size (한 번에 메모리로 가져오는 행 수)
+     * MySQL은 useCursorFetch=true 일 때만 fetch size만큼 나누어 가져오고, 아니면 결과 전체를 메모리에 올린다 (설정이 없으면 기동 시 CursorFetchVerifier가 켠다)
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    Comparator<TransactionKeyView> HISTORY_KEY_ORDER = Comparator.comparing(TransactionKeyView::getCreatedAt)
+            .thenComparing(TransactionKeyView::getId)
+            .reversed();
+
+    /**
+     * 계좌 거래 내역 OFFSET 페이지 조회
+     * 두 갈래에서 각각 offset + size건의 정렬 키를 읽어 병합한 뒤 offset만큼 건너뛴다
+     */
+    default Page<Transaction> findByAccountId(Long accountId, Pageable pageable) {
+        Pageable head = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize());
+        List<Transaction> content = loadHistory(
+                mergeKeys(findOutgoingHistoryKeys(accountId, head), findIncomingHistoryKeys(accountId, head)),
+                () -> mergeKeys(findArchivedOutgoingHistoryKeys(accountId, head), findArchivedIncomingHistoryKeys(accountId, head)),
+                (int) pageable.getOffset(),
+                pageable.getPageSize());
+
+        return new PageImpl<>(content, pageable, countByAccountId(accountId));
+    }
+
+    /**
+     * 계좌 거래 내역 첫 페이지 (키셋 페이지네이션, createdAt DESC, id DESC)
+     */
+    default List<Transaction> findHistoryByAccountId(Long accountId, Pageable pageable) {
+        return loadHistory(
+                mergeKeys(findOutgoingHistoryKeys(accountId, pageable), findIncomingHistoryKeys(accountId, pageable)),
+                () -> mergeKeys(findArchivedOutgoingHistoryKeys(accountId, pageable), findArchivedIncomingHistoryKeys(accountId, pageable)),
+                0,
+                pageable.getPageSize());
+    }
+
+    /**
+     * 커서 (createdAt, id) 이후의 계좌 거래 내역 (OFFSET 없이 커서 위치부터 읽으므로 페이지 깊이와 무관)
+     */
+    default List<Transaction> findHistoryByAccountIdBefore(Long accountId, LocalDateTime createdAt, Long id, Pageable pageable) {
+        return loadHistory(
+                mergeKeys(findOutgoingHistoryKeysBefore(accountId, createdAt, id, pageable), findIncomingHistoryKeysBefore(accountId, createdAt, id, pageable)),
+                () -> mergeKeys(
+                        findArchivedOutgoingHistoryKeysBefore(accountId, createdAt, id, pageable),
+                        findArchivedIncomingHistoryKeysBefore(accountId, createdAt, id, pageable)),
+                0,
+                pageable.getPageSize());
+    }
+
+    default long countByAccountId(Long accountId) {
+        return countOutgoing(accountId) + countIncoming(accountId) + countArchivedOutgoing(accountId) + countArchivedIncoming(accountId);
+    }
+
+    /**
+     * 출금 갈래: 이 계좌에서 나간 거래의 정렬 키 (자기 계좌 간 거래 포함)
+     * 계좌를 조인하지 않아야 조건이 거래 테이블의 외래키 컬럼에 걸려 (from_account_id, created_at, transaction_id) 인덱스만으로 읽힌다
+     */
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt FROM Transaction t" +
+            " WHERE t.fromAccount.id = :accountId" +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionKeyView> findOutgoingHistoryKeys(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt FROM Transaction t" +
+            " WHERE t.fromAccount.id = :accountId" +
+            " AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))" +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionKeyView> findOutgoingHistoryKeysBefore(@Param("accountId") Long accountId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    /**
+     * 입금 갈래: 이 계좌로 들어온 거래의 정렬 키 (자기 계좌 간 거래는 출금 갈래에서 읽으므로 제외)
+     */
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt FROM Transaction t" +
+            " WHERE t.toAccount.id = :accountId" +
+            " AND (t.fromAccount IS NULL OR t.fromAccount.id <> :accountId)" +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionKeyView> findIncomingHistoryKeys(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.createdAt AS createdAt FROM Transaction t" +
+            " WHERE t.toAccount.id = :accountId" +
+            " AND (t.fromAccount IS NULL OR t.fromAccount.id <> :accountId)" +
+            " AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))" +
+            " ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionKeyView> findIncomingHistoryKeysBefore(@Param("accountId") Long accountId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
 
     @Query("SELECT t FROM Transaction t" +
             " LEFT JOIN FETCH t.fromAccount" +
-            " LEFT JOIN FETCH t.toAccount" +
+            " JOIN FETCH t.toAccount" +
+            " WHERE t.id IN :ids")
+    List<Transaction> findAllWithAccountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.fromAccount.id = :accountId")
+    long countOutgoing(@Param("accountId") Long accountId);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.toAccount.id = :accountId AND (t.fromAccount IS NULL OR t.fromAccount.id <> :accountId)")
+    long countIncoming(@Param("accountId") Long accountId);
+
+    /**
+     * 계좌 거래 내역 전체를 시간순(createdAt, id 오름차순)으로 스트리밍 (내보내기용)
+     * 거래 테이블과 보관 테이블의 출금/입금 갈래 스트림을 병합하므로 호출자는 트랜잭션 안에서 소비하고 반드시 닫아야 한다
+     */
+    default Stream<TransactionResponse> streamHistoryByAccountId(Long accountId) {
+        return mergeOrdered(
+                mergeOrdered(streamArchivedOutgoingHistory(accountId), streamArchivedIncomingHistory(accountId)),
+                mergeOrdered(streamOutgoingHistory(accountId), streamIncomingHistory(accountId)));
+    }
+
+    /**
+     * 계좌의 [since, until) 사이에 완료된 거래를 완료 시각순으로 스트리밍 (거래 명세서용)
+     * 과거 시점 잔액(DailyBalanceService)과 같이 완료 시각으로 자르므로, 월말에 접수되어 다음 달에 완료된 거래는 다음 달 명세서에 들어간다
+     * 거래 테이블 스트림을 먼저 연 뒤 보관 범위를 확인하므로, 그 사이 보관 테이블로 옮겨진 거래도 빠지지 않는다
+     * 구간이 모두 보관 범위 이후이면 보관 테이블은 읽지 않는다. 호출자는 트랜잭션 안에서 소비하고 반드시 닫아야 한다
+     */
+    default Stream<TransactionResponse> streamCompletedHistoryBetween(Long accountId, LocalDateTime since, LocalDateTime until) {
+        Stream<TransactionResponse> hot = mergeOrdered(
+                streamCompletedOutgoingBetween(accountId, since, until),
+                streamCompletedIncomingBetween(accountId, since, until),
+                STATEMENT_ORDER);
+
+        LocalDateTime horizon;
+        try {
+            horizon = findArchiveCompletedHorizon();
+        } catch (RuntimeException e) {
+            hot.close();
+            throw e;
+        }
+        if (horizon == null || horizon.isBefore(since)) {
+            return hot;
+        }
+
+        return mergeOrdered(
+                mergeOrdered(streamArchivedCompletedOutgoingBetween(accountId, since, until), streamArchivedCompletedIncomingBetween(accountId, since, until), STATEMENT_ORDER),
+                hot,
+                STATEMENT_ORDER);
+    }
+
+    /**
+     * 내보내기 출금 갈래 (응답 DTO로 바로 읽으므로 영속성 컨텍스트에 엔티티가 쌓이지 않음)
+     * 계좌는 연관관계가 아닌 엔티티 조인으로 붙여야 조건이 거래 테이블의 외래키 컬럼에 걸린다
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(t.id, f.accountNumber, a.accountNumber, t.amount, t.type, t.status, t.description, t.createdAt)" +
+            " FROM Transaction t" +
+            " JOIN Account f ON f.id = t.fromAccount.id" +
+            " JOIN Account a ON a.id = t.toAccount.id" +
+            " WHERE t.fromAccount.id = :accountId" +
+            " ORDER BY t.createdAt, t.id")
+    Stream<TransactionResponse> streamOutgoingHistory(@Param("accountId") Long accountId);
+
+    /**
+     * 내보내기 입금 갈래 (자기 계좌 간 거래는 출금 갈래에서 읽으므로 제외)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(t.id, f.accountNumber, a.accountNumber, t.amount, t.type, t.status, t.description, t.createdAt)" +
+            " FROM Transaction t" +
+            " LEFT JOIN Account f ON f.id = t.fromAccount.id" +
+            " JOIN Account a ON a.id = t.toAccount.id" +
+            " WHERE t.toAccount.id = :accountId" +
+            " AND (t.fromAccount IS NULL OR t.fromAccount.id <> :accountId)" +
+            " ORDER BY t.createdAt, t.id")
+    Stream<TransactionResponse> streamIncomingHistory(@Param("accountId") Long accountId);
+
+    /**
+     * 명세서 출금 갈래 (완료 거래만, (계좌, 완료 시각) 인덱스 범위)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(t.id, f.accountNumber, a.accountNumber, t.amount, t.type, t.status, t.description, t.createdAt, t.completedAt)" +
+            " FROM Transaction t" +
+            " JOIN Account f ON f.id = t.fromAccount.id" +
+            " JOIN Account a ON a.id = t.toAccount.id" +
             " WHERE t.fromAccount.id = :accountId" +
-            " OR t.toAccount.id = :accountId" +
-            " ORDER BY t.createdAt DESC")
-    Page<Transaction> findByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+            " AND t.completedAt >= :since AND t.completedAt < :until" +
+            " AND t.status = com.safebank.api.entity.TransactionStatus.COMPLETED" +
+            " ORDER BY t.completedAt, t.id")
+    Stream<TransactionResponse> streamCompletedOutgoingBetween(@Param("accountId") Long accountId,
+                                                               @Param("since") LocalDateTime since,
+                                                               @Param("until") LocalDateTime until);
+
+    /**
+     * 명세서 입금 갈래 (자기 계좌 간 거래는 출금 갈래에서 읽으므로 제외)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.safebank.api.dto.response.TransactionResponse(t.id, f.accountNumber, a.accountNumber, t.amount, t.type, t.status, t.description, t.createdAt, t.completedAt)" +
+            " FROM Transaction t" +
+            " LEFT JOIN Account f ON f.id = t.fromAccount.id" +
+            " JOIN Account a ON a.id = t.toAccount.id" +
+            " WHERE t.toAccount.id = :accountId" +
+            " AND (t.fromAccount IS NULL OR t.fromAccount.id <> :accountId)" +
+            " AND t.completedAt >= :since AND t.completedAt < :until" +
+            " AND t.status = com.safebank.api.entity.TransactionStatus.COMPLETED" +
+            " ORDER BY t.completedAt, t.id")
+    Stream<TransactionResponse> streamCompletedIncomingBetween(@Param("accountId") Long accountId,
+                                                               @Param("since") LocalDateTime since,
+                                                               @Param("until") LocalDateTime until);
+
+    /**
+     * ID와 생성/완료 시각을 미리 정한 거래 INSERT (원장 저널에 기록하고 응답한 값 그대로 반영할 때 사용)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, type, status, description, created_at, completed_at)" +
+            " VALUES (:id, :fromAccountId, :toAccountId, :amount, :type, :status, :description, :createdAt, :completedAt)", nativeQuery = true)
+    int insertWithId(@Param("id") Long id, @Param("fromAccountId") Long fromAccountId, @Param("toAccountId") Long toAccountId,
+                     @Param("amount") BigDecimal amount, @Param("type") String type, @Param("status") String status,
+                     @Param("description") String description, @Param("createdAt") LocalDateTime createdAt,
+                     @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 처리 대기(PENDING) 거래를 COMPLETED로 선점하고 완료 시각 기록 (변경된 행 수로 선점 여부를 판단)
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = com.safebank.api.entity.TransactionStatus.COMPLETED, t.completedAt = :completedAt" +
+            " WHERE t.id = :id AND t.status = com.safebank.api.entity.TransactionStatus.PENDING")
+    int completePending(@Param("id") Long id, @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 거래 상태 변경 (현재 상태가 expected일 때만 반영되므로 변경된 행 수로 선점 여부를 판단)
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status WHERE t.id = :id AND t.status = :expected")
+    int updateStatus(@Param("id") Long id, @Param("expected") TransactionStatus expected, @Param("status") TransactionStatus status);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status WHERE t.id IN :ids AND t.status = :expected")
+    int updateStatusIn(@Param("ids") Collection<Long> ids, @Param("expected") TransactionStatus expected, @Param("status") TransactionStatus status);
+
+    /**
+     * before 이전에 만들어진 status 상태 거래 (두 계좌 포함, 오래된 순)
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.fromAccount JOIN FETCH t.toAccount" +
+            " WHERE t.status = :status AND t.createdAt < :before ORDER BY t.createdAt, t.id")
+    List<Transaction> findByStatusCreatedBefore(@Param("status") TransactionStatus status, @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * before 이전에 만들어진 status 상태 거래 중 afterId 다음 ID (ID 순, 건너뛴 거래가 있어도 다음 페이지로 넘어가도록 ID로 페이지를 나눔)
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.status = :status AND t.createdAt < :before AND t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsByStatusCreatedBefore(@Param("status") TransactionStatus status, @Param("before") LocalDateTime before,
+                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 거래 테이블 정렬 키로 페이지를 채우고, 부족하거나 보관된 구간까지 내려가면 보관 테이블 정렬 키를 병합한 뒤 offset건을 건너뛰고 limit건의 거래를 로딩
+     * @param hot 거래 테이블 정렬 키 (최신순)
+     * @param archived 보관 테이블 정렬 키 (최신순, 필요할 때만 조회)
+     */
+    private List<Transaction> loadHistory(List<TransactionKeyView> hot, Supplier<List<TransactionKeyView>> archived, int offset, int limit) {
+        List<TransactionKeyView> keys = hot;
+        List<TransactionKeyView> archivedKeys = List.of();
+
+        // 거래 테이블을 먼저 읽은 뒤 확인하므로, 그 사이 보관 테이블로 옮겨진 거래도 빠지지 않는다
+        LocalDateTime horizon = findArchiveHorizon();
+        int needed = offset + limit;
+        if (horizon != null && (hot.size() < needed || !hot.get(needed - 1).getCreatedAt().isAfter(horizon))) {
+            archivedKeys = archived.get();
+            keys = mergeKeys(hot, archivedKeys);
+        }
+
+        List<Long> ids = new ArrayList<>(limit);
+        for (int position = offset; position < Math.min(needed, keys.size()); position++) {
+            ids.add(keys.get(position).getId());
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Transaction> transactions = new ArrayList<>(findAllWithAccountsByIdIn(ids));
+        if (transactions.size() < ids.size() && !archivedKeys.isEmpty()) {
+            Set<Long> missing = new HashSet<>(ids);
+            transactions.forEach(transaction -> missing.remove(transaction.getId()));
+            findArchivedWithAccountsByIdIn(missing).forEach(archivedTransaction -> transactions.add(archivedTransaction.toTransaction()));
+        }
+        transactions.sort(HISTORY_ORDER);
+        return transactions;
+    }
+
+    /**
+     * 각각 최신순으로 정렬된 두 정렬 키 목록 병합 (같은 거래가 양쪽에 있으면 하나만 남김)
+     */
+    private static List<TransactionKeyView> mergeKeys(List<TransactionKeyView> first, List<TransactionKeyView> second) {
+        List<TransactionKeyView> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            if (j == second.size()) {
+                merged.add(first.get(i++));
+            } else if (i == first.size()) {
+                merged.add(second.get(j++));
+            } else {
+                int order = HISTORY_KEY_ORDER.compare(first.get(i), second.get(j));
+                merged.add(order <= 0 ? first.get(i++) : second.get(j++));
+                if (order == 0) {
+                    j++;
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 각각 시간순으로 정렬된 두 스트림 병합
+     * 호출자가 결과 스트림을 닫으면 두 스트림이 모두 닫힌다
+     */
+    private static Stream<TransactionResponse> mergeOrdered(Stream<TransactionResponse> first, Stream<TransactionResponse> second) {
+        return mergeOrdered(first, second, EXPORT_ORDER);
+    }
+
+    /**
+     * 각각 order 순으로 정렬된 두 스트림 병합
+     */
+    private static Stream<TransactionResponse> mergeOrdered(Stream<TransactionResponse> first, Stream<TransactionResponse> second,
+                                                            Comparator<TransactionResponse> order) {
+        Iterator<TransactionResponse> left = first.iterator();
+        Iterator<TransactionResponse> right = second.iterator();
+
+        Iterator<TransactionResponse> merged = new Iterator<>() {
+            private TransactionResponse nextLeft = left.hasNext() ? left.next() : null;
+            private TransactionResponse nextRight = right.hasNext() ? right.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null;
+            }
+
+            @Override
+            public TransactionResponse next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TransactionResponse row;
+                if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+                    row = nextLeft;
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    row = nextRight;
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                return row;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try (second) {
+                        first.close();
+                    }
+                });
+    }
 }
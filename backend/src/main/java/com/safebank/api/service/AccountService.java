@@ -1,18 +1,43 @@
 package com.safebank.api.service;
 
+import com.safebank.api.counter.CountedEntity;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.directory.AccountDirectory;
 import com.safebank.api.dto.request.AccountCreateRequest;
+import com.safebank.api.dto.response.AccountResponse;
+import com.safebank.api.dto.response.CursorPageResponse;
 import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.AccountStripe;
 import com.safebank.api.entity.Member;
 import com.safebank.api.exception.AccountNotFoundException;
+import com.safebank.api.export.NdjsonWriter;
+import com.safebank.api.pagination.CursorPages;
+import com.safebank.api.pagination.IdCursor;
+import com.safebank.api.repository.AccountIdView;
 import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.AccountStripeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,23 +45,65 @@ import java.util.Random;
 @Transactional(readOnly = true)
 public class AccountService {
 
+    private static final int MAX_STRIPE_COUNT = 64;
+
     private final AccountRepository accountRepository;
     private final MemberService memberService;
+    private final AccountStripeRepository accountStripeRepository;
+    private final EntityCounters entityCounters;
+    private final BalanceAggregateService balanceAggregateService;
+    private final NdjsonWriter ndjsonWriter;
+    private final AccountDirectory accountDirectory;
+    private final ReadYourWrites readYourWrites;
 
     /**
-     * 전체 계좌 조회
+     * 전체 계좌 조회 (ID 오름차순 전체 목록, 단일 조인 쿼리)
+     * 계좌 수만큼 메모리에 올리므로 많은 계좌는 키셋 페이지나 스트리밍 조회를 사용
      */
-    public List<Account> getAccounts() {
-        return accountRepository.findAll();
+    public List<AccountResponse> getAccounts() {
+        return accountRepository.findAllAccountResponses();
     }
 
     /**
-     * 총 계좌 수
+     * 전체 계좌 조회 (ID 오름차순 키셋 페이지, 단일 조인 쿼리)
+     * @param cursor 이전 페이지 응답의 next (없으면 첫 페이지)
+     * @param size 페이지 크기
+     * @return
      */
-    public int getAccountsCount() {
-        List<Account> accounts = this.getAccounts();
+    public CursorPageResponse<AccountResponse> getAccounts(String cursor, int size) {
+        Pageable lookahead = CursorPages.lookahead(size);
+        List<AccountResponse> accounts = accountRepository.findAccountResponsesAfter(IdCursor.decode(cursor).id(), lookahead);
+
+        return CursorPages.of(accounts, size, last -> new IdCursor(last.getId()).encode(), null);
+    }
 
-        return accounts.size();
+    /**
+     * 전체 계좌 OFFSET 페이지 조회 (기존 클라이언트 호환용, 새 클라이언트는 getAccounts 사용)
+     * @param page 페이지 번호 (0부터 시작)
+     * @param size 페이지 크기
+     * @return
+     */
+    @Deprecated
+    public Page<AccountResponse> getAccountsPage(int page, int size) {
+        return accountRepository.findAccountResponses(CursorPages.offset(page, size));
+    }
+
+    /**
+     * 전체 계좌를 ID 오름차순 NDJSON으로 출력 스트림에 기록
+     * @param out 응답 출력 스트림 (닫지 않음)
+     * @return 기록한 계좌 수
+     */
+    public long streamAccounts(OutputStream out) throws IOException {
+        try (Stream<AccountResponse> rows = accountRepository.streamAccountResponses()) {
+            return ndjsonWriter.write(rows, out);
+        }
+    }
+
+    /**
+     * 총 계좌 수 (행을 읽지 않고 카운터 값을 반환)
+     */
+    public long getAccountsCount() {
+        return entityCounters.get(CountedEntity.ACCOUNT);
     }
 
     /**
@@ -56,6 +123,10 @@ public class AccountService {
                 .build();
 
         Account savedAccount = accountRepository.save(account);
+        entityCounters.incrementAfterCommit(CountedEntity.ACCOUNT, 1);
+        accountDirectory.putAfterCommit(savedAccount.getAccountNumber(), savedAccount.getId());
+        balanceAggregateService.apply(savedAccount.getStatus(), savedAccount.getBalance());
+        readYourWrites.recordAfterCommit(savedAccount.getAccountNumber());
         log.info("새 계좌가 생성되었습니다. 계좌번호: {}, 소유자: {}", savedAccount.getAccountNumber(), savedAccount.getMember().getName());
 
         return savedAccount;
@@ -73,12 +144,247 @@ public class AccountService {
 
     /**
      * 계좌번호로 계좌 정보 조회
+     * 계좌 디렉터리에 있으면 기본 키로 조회하고, 없거나 ID가 맞지 않으면 계좌번호로 조회한 뒤 디렉터리에 채운다
      * @param accountNumber
      * @return
      */
     public Account getAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
+        OptionalLong cachedId = accountDirectory.find(accountNumber);
+        if (cachedId.isPresent()) {
+            Optional<Account> account = accountRepository.findById(cachedId.getAsLong())
+                    .filter(a -> a.getAccountNumber().equals(accountNumber));
+            if (account.isPresent()) {
+                return account.get();
+            }
+        }
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. 계좌번호: " + accountNumber));
+        accountDirectory.put(accountNumber, account.getId());
+
+        return account;
+    }
+
+    /**
+     * 계좌번호로 계좌 ID 조회 (계좌 디렉터리에 있으면 DB를 조회하지 않음)
+     * @param accountNumber
+     * @return
+     */
+    public Long getAccountIdByNumber(String accountNumber) {
+        OptionalLong cachedId = accountDirectory.find(accountNumber);
+        if (cachedId.isPresent()) {
+            return cachedId.getAsLong();
+        }
+
+        Long id = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. 계좌번호: " + accountNumber));
+        accountDirectory.put(accountNumber, id);
+
+        return id;
+    }
+
+    /**
+     * 계좌번호로 계좌 ID와 분할 수 조회 (엔티티를 로딩하지 않음)
+     * 계좌 디렉터리에 있으면 기본 키로 조회한다
+     * @param accountNumber
+     * @return
+     */
+    public AccountIdView getAccountRefByNumber(String accountNumber) {
+        OptionalLong cachedId = accountDirectory.find(accountNumber);
+        if (cachedId.isPresent()) {
+            Optional<AccountIdView> ref = accountRepository.findRefById(cachedId.getAsLong())
+                    .filter(r -> r.getAccountNumber().equals(accountNumber));
+            if (ref.isPresent()) {
+                return ref.get();
+            }
+        }
+
+        AccountIdView ref = accountRepository.findRefByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. 계좌번호: " + accountNumber));
+        accountDirectory.put(accountNumber, ref.getId());
+
+        return ref;
+    }
+
+    /**
+     * 계좌번호 목록을 계좌 ID에 매핑 (존재하지 않는 계좌번호는 결과에서 빠짐)
+     * 계좌 디렉터리에 없는 계좌번호만 한 번의 IN 쿼리로 조회한다
+     * @param accountNumbers
+     * @return 계좌번호 -> 계좌 ID
+     */
+    public Map<String, Long> getAccountIdsByNumbers(Collection<String> accountNumbers) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            OptionalLong cachedId = accountDirectory.find(accountNumber);
+            if (cachedId.isPresent()) {
+                ids.put(accountNumber, cachedId.getAsLong());
+            } else {
+                missing.add(accountNumber);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (AccountIdView ref : accountRepository.findIdsByAccountNumberIn(missing)) {
+                ids.put(ref.getAccountNumber(), ref.getId());
+                accountDirectory.put(ref.getAccountNumber(), ref.getId());
+            }
+        }
+
+        return ids;
+    }
+
+    /**
+     * 여러 계좌를 락 없이 조회
+     * @param ids
+     * @return
+     */
+    public List<Account> getAccounts(Collection<Long> ids) {
+        return accountRepository.findAllById(ids);
+    }
+
+    /**
+     * ids 중 분할 계좌 ID (락 없이 조회)
+     * @param ids
+     * @return
+     */
+    public List<Long> getStripedAccountIds(Collection<Long> ids) {
+        return accountRepository.findStripedIdsIn(ids);
+    }
+
+    /**
+     * 여러 계좌에 account_id 오름차순으로 비관적 쓰기 락을 걸고 조회
+     * @param ids
+     * @return
+     */
+    public List<Account> getAccountsForUpdate(Collection<Long> ids) {
+        return accountRepository.findAllByIdInForUpdate(ids);
+    }
+
+    /**
+     * 비관적 쓰기 락을 걸고 계좌 조회 (호출 측 트랜잭션이 끝날 때까지 락 유지)
+     * @param id
+     * @return
+     */
+    public Account getAccountForUpdate(Long id) {
+        return accountRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. ID: " + id));
+    }
+
+    /**
+     * 공유 락을 걸고 계좌 조회 (호출 측 트랜잭션이 끝날 때까지 락 유지, 다른 공유 락과는 충돌하지 않음)
+     * @param id
+     * @return
+     */
+    public Account getAccountForShare(Long id) {
+        return accountRepository.findByIdForShare(id)
+                .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. ID: " + id));
+    }
+
+    /**
+     * 분할 잔액과 스냅샷 이후 분개를 포함한 현재 잔액
+     * @param id
+     * @return
+     */
+    public BigDecimal getCurrentBalance(Long id) {
+        return accountRepository.findBalanceById(id)
+                .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. ID: " + id));
+    }
+
+    /**
+     * 계좌번호로 계좌 응답 조회 (분할 잔액과 스냅샷 이후 분개를 더한 잔액, 단일 조인 쿼리)
+     * 생성/분할 직후면 주 DB에서 조회한다 (ReadYourWrites)
+     * @param accountNumber
+     * @return
+     */
+    public AccountResponse getAccountResponseByNumber(String accountNumber) {
+        try (ReadYourWrites.Pin pin = readYourWrites.pinIfRecentlyWritten(accountNumber)) {
+            return accountRepository.findAccountResponseById(getAccountIdByNumber(accountNumber))
+                    .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. 계좌번호: " + accountNumber));
+        }
+    }
+
+    /**
+     * 계좌 잔액 분할 (입금이 몰리는 계좌용, 분할 수는 늘리기만 가능)
+     * 기존 잔액은 그대로 두고 잔액 0인 분할 잔액 행을 추가한다
+     * @param accountNumber
+     * @param stripeCount
+     * @return
+     */
+    @Transactional
+    public Account enableStriping(String accountNumber, int stripeCount) {
+        if (stripeCount < 1 || stripeCount > MAX_STRIPE_COUNT) {
+            throw new IllegalArgumentException("분할 수는 1 이상 " + MAX_STRIPE_COUNT + " 이하여야 합니다.");
+        }
+
+        Account account = getAccountForUpdate(getAccountIdByNumber(accountNumber));
+        if (stripeCount < account.getStripeCount()) {
+            throw new IllegalArgumentException("분할 수는 줄일 수 없습니다. 현재 분할 수: " + account.getStripeCount());
+        }
+
+        List<AccountStripe> stripes = IntStream.range(account.getStripeCount(), stripeCount)
+                .mapToObj(stripeNo -> AccountStripe.builder()
+                        .account(account)
+                        .stripeNo(stripeNo)
+                        .balance(BigDecimal.ZERO)
+                        .build())
+                .toList();
+        accountStripeRepository.saveAll(stripes);
+        account.setStripeCount(stripeCount);
+        readYourWrites.recordAfterCommit(accountNumber);
+
+        log.info("계좌 잔액이 분할되었습니다. 계좌번호: {}, 분할 수: {}", accountNumber, stripeCount);
+
+        return account;
+    }
+
+    /**
+     * 분할 계좌 입금: 임의의 분할 잔액 행 하나에 원자적으로 더함 (계좌 행은 잠그지도 갱신하지도 않음)
+     * @param account
+     * @param amount
+     */
+    @Transactional
+    public void creditStripe(Account account, BigDecimal amount) {
+        int stripeNo = ThreadLocalRandom.current().nextInt(account.getStripeCount());
+        accountStripeRepository.addToStripe(account.getId(), stripeNo, amount);
+    }
+
+    /**
+     * 분할 계좌 출금 준비: 계좌 balance가 출금액에 못 미치면 부족분을 분할 잔액에서 balance로 옮김
+     * 호출 측이 계좌 행 락(또는 버전)을 잡고 있어야 하며, 분할 잔액 행은 stripe_no 오름차순으로 잠근다
+     * @param account
+     * @param amount
+     */
+    @Transactional
+    public void sweepStripes(Account account, BigDecimal amount) {
+        BigDecimal shortfall = amount.subtract(account.getBalance());
+        if (shortfall.signum() <= 0) {
+            return;
+        }
+
+        for (AccountStripe stripe : accountStripeRepository.findByAccountIdForUpdate(account.getId())) {
+            BigDecimal moved = stripe.getBalance().min(shortfall);
+            if (moved.signum() > 0) {
+                stripe.setBalance(stripe.getBalance().subtract(moved));
+                account.deposit(moved);
+                shortfall = shortfall.subtract(moved);
+            }
+
+            if (shortfall.signum() <= 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 회원의 계좌 응답 목록 (단일 조인 쿼리)
+     * @param memberId
+     * @return
+     */
+    public List<AccountResponse> getAccountResponsesByMemberId(Long memberId) {
+        // 회원 존재 여부 확인
+        memberService.getMember(memberId);
+        return accountRepository.findAccountResponsesByMemberId(memberId);
     }
 
     /**
@@ -99,13 +405,17 @@ public class AccountService {
     private String generateAccountNumber() {
         String accountNumber;
         do {
-            accountNumber = "3333" + String.format("%012d", new Random().nextLong() % 1000000000000L);
+            accountNumber = "3333" + String.format("%012d", ThreadLocalRandom.current().nextLong(1_000_000_000_000L));
         } while (accountRepository.existsByAccountNumber(accountNumber));
 
         return accountNumber;
     }
 
+    /**
+     * 활성 계좌 총 잔액 (계좌를 스캔하지 않고 상태별 집계 행을 조회)
+     * @return
+     */
     public BigDecimal getTotalBalance() {
-        return accountRepository.calculateTotalBalance();
+        return balanceAggregateService.getTotalBalance(AccountStatus.ACTIVE);
     }
 }
@@ -0,0 +1,134 @@
+package com.safebank.api.service;
+
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.BalanceAggregate;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.BalanceAggregateRepository;
+import com.safebank.api.repository.StatusBalanceView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 계좌 상태별 총 잔액 집계
+ * 총 잔액 조회는 집계 행 하나만 읽고, 잔액을 바꾸는 쪽이 같은 트랜잭션에서 상태별 증감분을 반영한다
+ * 같은 상태의 계좌끼리 이체하면 상태별 총액이 변하지 않으므로 집계 행을 갱신하지 않는다 (일반 이체가 집계 행 락을 두고 경합하지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BalanceAggregateService {
+
+    private final BalanceAggregateRepository balanceAggregateRepository;
+    private final AccountRepository accountRepository;
+
+    /**
+     * 상태별 총 잔액 (집계 행 조회)
+     * @param status
+     * @return
+     */
+    public BigDecimal getTotalBalance(AccountStatus status) {
+        return balanceAggregateRepository.findTotalBalanceByStatus(status).orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * 상태별 총 잔액 증감 (호출한 쪽의 트랜잭션에 참여)
+     * @param status
+     * @param delta
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(AccountStatus status, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+
+        if (balanceAggregateRepository.addToTotalBalance(status, delta) == 0) {
+            throw new IllegalStateException("총 잔액 집계가 초기화되지 않았습니다. 상태: " + status);
+        }
+    }
+
+    /**
+     * 이체로 인한 상태별 총 잔액 이동 (두 계좌의 상태가 같으면 변화 없음)
+     * @param fromStatus
+     * @param toStatus
+     * @param amount
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyTransfer(AccountStatus fromStatus, AccountStatus toStatus, BigDecimal amount) {
+        if (fromStatus == toStatus) {
+            return;
+        }
+
+        apply(fromStatus, amount.negate());
+        apply(toStatus, amount);
+    }
+
+    /**
+     * 집계 행이 없는 상태를 실제 합계로 채운다 (이미 있는 행은 그대로 둠)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initialize() {
+        Map<AccountStatus, BigDecimal> actual = sumByStatus();
+
+        for (AccountStatus status : AccountStatus.values()) {
+            if (balanceAggregateRepository.existsById(status)) {
+                continue;
+            }
+
+            try {
+                balanceAggregateRepository.saveAndFlush(BalanceAggregate.builder()
+                        .status(status)
+                        .totalBalance(actual.get(status))
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 먼저 초기화함
+                log.debug("총 잔액 집계 행이 이미 있습니다. 상태: {}", status);
+            }
+        }
+    }
+
+    /**
+     * 집계와 실제 합계 비교 (전체 스캔이므로 주기적으로만 실행, 기본 10분)
+     * 같은 읽기 트랜잭션에서 두 값을 읽으므로 MySQL(REPEATABLE READ)에서는 같은 시점의 값끼리 비교된다
+     * @return 상태별 차이 (집계 - 실제), 차이가 없는 상태는 제외
+     */
+    @Scheduled(fixedDelayString = "${safebank.balance-aggregate.verify-interval:PT10M}", initialDelayString = "${safebank.balance-aggregate.verify-interval:PT10M}")
+    public Map<AccountStatus, BigDecimal> verify() {
+        Map<AccountStatus, BigDecimal> actual = sumByStatus();
+        Map<AccountStatus, BigDecimal> drift = new EnumMap<>(AccountStatus.class);
+
+        for (BalanceAggregate aggregate : balanceAggregateRepository.findAll()) {
+            BigDecimal difference = aggregate.getTotalBalance().subtract(actual.get(aggregate.getStatus()));
+            if (difference.signum() != 0) {
+                drift.put(aggregate.getStatus(), difference);
+                log.warn("총 잔액 집계가 실제 합계와 다릅니다. 상태: {}, 집계: {}, 실제: {}",
+                        aggregate.getStatus(), aggregate.getTotalBalance(), actual.get(aggregate.getStatus()));
+            }
+        }
+
+        return drift;
+    }
+
+    private Map<AccountStatus, BigDecimal> sumByStatus() {
+        Map<AccountStatus, BigDecimal> sums = new EnumMap<>(AccountStatus.class);
+        for (AccountStatus status : AccountStatus.values()) {
+            sums.put(status, BigDecimal.ZERO);
+        }
+        for (StatusBalanceView view : accountRepository.sumBalanceByStatus()) {
+            sums.put(view.getStatus(), view.getTotalBalance());
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,81 @@
+package com.safebank.api.service;
+
+import com.safebank.api.dto.response.BalanceAsOfResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.DailyBalance;
+import com.safebank.api.exception.AccountNotFoundException;
+import com.safebank.api.repository.DailyBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 과거 시점 잔액 조회
+ * asOf 이전 가장 가까운 일말 잔액에 그 다음 날 0시부터 asOf 직전까지 완료된 거래를 더한다 (거래 완료 시각 completedAt 기준)
+ * 일말 잔액이 매일 기록되면 더하는 거래는 하루치로 제한되므로, 조회 비용이 계좌의 전체 거래 수와 관계없다
+ * 일말 잔액이 없으면 현재 잔액에서 asOf 이후 완료된 거래를 되돌려 계산한다
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DailyBalanceService {
+
+    private final AccountService accountService;
+    private final DailyBalanceRepository dailyBalanceRepository;
+
+    /**
+     * asOf 시점 잔액 (completedAt이 asOf 이전인 거래가 반영된 잔액)
+     * @param accountNumber
+     * @param asOf
+     * @return
+     */
+    public BalanceAsOfResponse getBalanceAsOf(String accountNumber, LocalDateTime asOf) {
+        if (asOf.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("미래 시점의 잔액은 조회할 수 없습니다: " + asOf);
+        }
+
+        Account account = accountService.getAccountByNumber(accountNumber);
+        if (account.getCreatedAt() != null && asOf.isBefore(account.getCreatedAt())) {
+            throw new IllegalArgumentException("계좌 개설 이전 시점의 잔액은 조회할 수 없습니다: " + asOf);
+        }
+
+        Optional<DailyBalance> snapshot = findNearestSnapshot(account.getId(), asOf);
+
+        return BalanceAsOfResponse.builder()
+                .accountNumber(accountNumber)
+                .asOf(asOf)
+                .balance(balanceAt(account.getId(), snapshot, asOf))
+                .snapshotDate(snapshot.map(DailyBalance::getBalanceDate).orElse(null))
+                .build();
+    }
+
+    /**
+     * 계좌 ID로 at 시점 잔액 조회 (계좌 개설 시점 확인 없이 계산, 개설 이전 시점이면 개설 시 잔액)
+     * @param accountId
+     * @param at
+     * @return
+     */
+    public BigDecimal getBalanceAt(Long accountId, LocalDateTime at) {
+        return balanceAt(accountId, findNearestSnapshot(accountId, at), at);
+    }
+
+    private Optional<DailyBalance> findNearestSnapshot(Long accountId, LocalDateTime at) {
+        return dailyBalanceRepository.findFirstByAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(accountId, at.toLocalDate());
+    }
+
+    private BigDecimal balanceAt(Long accountId, Optional<DailyBalance> snapshot, LocalDateTime at) {
+        return snapshot
+                .map(daily -> daily.getBalance().add(netFlowAfter(daily, at)))
+                .orElseGet(() -> dailyBalanceRepository.findBalanceRewoundTo(accountId, at)
+                        .orElseThrow(() -> new AccountNotFoundException("계좌를 찾을 수 없습니다. ID: " + accountId)));
+    }
+
+    private BigDecimal netFlowAfter(DailyBalance daily, LocalDateTime asOf) {
+        LocalDateTime since = daily.getBalanceDate().plusDays(1).atStartOfDay();
+        return dailyBalanceRepository.findNetFlowBetween(daily.getAccountId(), since, asOf).orElse(BigDecimal.ZERO);
+    }
+}
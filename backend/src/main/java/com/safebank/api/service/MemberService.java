@@ -1,15 +1,28 @@
 package com.safebank.api.service;
 
+import com.safebank.api.cache.MemberCache;
+import com.safebank.api.counter.CountedEntity;
+import com.safebank.api.counter.EntityCounters;
 import com.safebank.api.dto.request.MemberCreateRequest;
+import com.safebank.api.dto.response.CursorPageResponse;
+import com.safebank.api.dto.response.MemberResponse;
 import com.safebank.api.entity.Member;
 import com.safebank.api.exception.MemberNotFoundException;
+import com.safebank.api.export.NdjsonWriter;
+import com.safebank.api.pagination.CursorPages;
+import com.safebank.api.pagination.IdCursor;
 import com.safebank.api.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,12 +31,51 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final EntityCounters entityCounters;
+    private final NdjsonWriter ndjsonWriter;
+    private final MemberCache memberCache;
 
     /**
-     * 전체 회원 조회
+     * 전체 회원 조회 (ID 오름차순 전체 목록)
+     * 회원 수만큼 메모리에 올리므로 많은 회원은 키셋 페이지나 스트리밍 조회를 사용
      */
-    public List<Member> getMembers() {
-        return memberRepository.findAll();
+    public List<MemberResponse> getMembers() {
+        return memberRepository.findAllMemberResponses();
+    }
+
+    /**
+     * 전체 회원 조회 (ID 오름차순 키셋 페이지)
+     * @param cursor 이전 페이지 응답의 next (없으면 첫 페이지)
+     * @param size 페이지 크기
+     * @return
+     */
+    public CursorPageResponse<MemberResponse> getMembers(String cursor, int size) {
+        Pageable lookahead = CursorPages.lookahead(size);
+        List<MemberResponse> members = memberRepository.findMemberResponsesAfter(IdCursor.decode(cursor).id(), lookahead);
+
+        return CursorPages.of(members, size, last -> new IdCursor(last.getId()).encode(), null);
+    }
+
+    /**
+     * 전체 회원 OFFSET 페이지 조회 (기존 클라이언트 호환용, 새 클라이언트는 getMembers 사용)
+     * @param page 페이지 번호 (0부터 시작)
+     * @param size 페이지 크기
+     * @return
+     */
+    @Deprecated
+    public Page<MemberResponse> getMembersPage(int page, int size) {
+        return memberRepository.findMemberResponses(CursorPages.offset(page, size));
+    }
+
+    /**
+     * 전체 회원을 ID 오름차순 NDJSON으로 출력 스트림에 기록
+     * @param out 응답 출력 스트림 (닫지 않음)
+     * @return 기록한 회원 수
+     */
+    public long streamMembers(OutputStream out) throws IOException {
+        try (Stream<MemberResponse> rows = memberRepository.streamMemberResponses()) {
+            return ndjsonWriter.write(rows, out);
+        }
     }
 
     /**
@@ -40,36 +92,36 @@ public class MemberService {
                 .build();
 
         Member savedMember = memberRepository.save(member);
+        entityCounters.incrementAfterCommit(CountedEntity.MEMBER, 1);
         log.info("새 회원이 등록되었습니다. ID: {}, 이름: {}", savedMember.getId(), savedMember.getName());
 
         return savedMember;
     }
 
     /**
-     * 회원 찾기(by ID)
+     * 회원 찾기(by ID, 회원 캐시 사용)
      * @param id
      * @return Member
      */
     public Member getMember(Long id) {
-        return memberRepository.findById(id)
+        return memberCache.findById(id, memberRepository::findById)
                 .orElseThrow(() -> new MemberNotFoundException("회원 정보를 찾을 수 없습니다. ID: " + id));
     }
 
     /**
-     * 회원 찾기(by email)
+     * 회원 찾기(by email, 회원 캐시 사용)
      * @param email
      * @return Member
      */
     public Member getMemberByEmail(String email) {
-        return memberRepository.findByEmail(email)
+        return memberCache.findByEmail(email, memberRepository::findByEmail)
                 .orElseThrow(() -> new MemberNotFoundException("회원 정보를 찾을 수 없습니다. Email: " + email));
     }
 
     /**
-     * 회원 수 반환
+     * 회원 수 반환 (행을 읽지 않고 카운터 값을 반환)
      */
-    public int getMemberCount() {
-        List<Member> members = this.getMembers();
-        return members.size();
+    public long getMemberCount() {
+        return entityCounters.get(CountedEntity.MEMBER);
     }
 }
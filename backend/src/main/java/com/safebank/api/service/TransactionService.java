@@ -1,20 +1,49 @@
 package com.safebank.api.service;
 
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.config.TransferProperties.LockMode;
+import com.safebank.api.counter.CountedEntity;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
 import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.BatchTransferItemResponse;
+import com.safebank.api.dto.response.CursorPageResponse;
+import com.safebank.api.dto.response.TransactionResponse;
 import com.safebank.api.entity.Account;
+import com.safebank.api.entity.ArchivedTransaction;
 import com.safebank.api.entity.Transaction;
 import com.safebank.api.entity.TransactionStatus;
 import com.safebank.api.entity.TransactionType;
+import com.safebank.api.exception.AccountNotFoundException;
 import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.ledger.ShardedLedgerEngine;
+import com.safebank.api.pagination.CursorPages;
+import com.safebank.api.pagination.TransactionCursor;
+import com.safebank.api.repository.AccountIdView;
 import com.safebank.api.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,55 +53,408 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final TransferProperties transferProperties;
+    private final EntityCounters entityCounters;
+    private final BalanceAggregateService balanceAggregateService;
+    private final ReadYourWrites readYourWrites;
+    private final IdempotencyService idempotencyService;
+    // 원장 엔진은 이체 서비스에 의존하지 않지만, 켜져 있을 때만 있는 빈이라 필요할 때 가져온다
+    private final ObjectProvider<ShardedLedgerEngine> ledgerEngine;
 
+    /**
+     * 계좌 이체
+     * 락 획득 실패(PESSIMISTIC)나 커밋 시 버전 충돌(OPTIMISTIC)은 예외로 전파되므로, 재시도는 TransferFacade를 통해 호출한다
+     * @param request
+     * @return
+     */
     @Transactional
     public Transaction transfer(TransferRequest request) {
+        Account[] accounts = loadAccounts(request);
+        Account fromAccount = accounts[0];
+        Account toAccount = accounts[1];
+
+        moveBalance(fromAccount, toAccount, request.getAmount());
+
+        // 거래 내역 저장
+        Transaction transaction = Transaction.builder()
+                .fromAccount(fromAccount)
+                .toAccount(toAccount)
+                .amount(request.getAmount())
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .description(request.getDescription())
+                .build();
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, 1);
+        readYourWrites.recordAfterCommit(request.getFromAccountNumber(), request.getToAccountNumber());
+        idempotencyService.linkTransaction(savedTransaction.getId());
+
+        log.info("이체가 완료되었습니다. 거래 ID: {}, 금액: {}, {} -> {}", savedTransaction.getId(), request.getAmount(), request.getFromAccountNumber(), request.getToAccountNumber());
+
+        return savedTransaction;
+    }
+
+    /**
+     * 비동기 이체 접수
+     * 계좌 존재와 동일 계좌 여부만 확인하고 PENDING 거래를 저장한다 (잔액은 작업자가 completePendingTransfer에서 변경)
+     * @param request
+     * @return PENDING 상태의 거래
+     */
+    @Transactional
+    public Transaction createPendingTransfer(TransferRequest request) {
         Account fromAccount = accountService.getAccountByNumber(request.getFromAccountNumber());
         Account toAccount = accountService.getAccountByNumber(request.getToAccountNumber());
 
         // 동일 계좌 검증
-        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+        if (fromAccount.getId().equals(toAccount.getId())) {
             throw new IllegalArgumentException("동일한 계좌로는 이체할 수 없습니다.");
         }
 
-        // 잔액 확인
-        if (!fromAccount.hasEnoughBalance(request.getAmount())) {
-            throw new InsufficientBalanceException("잔액이 부족합니다. 현재 잔액 " + fromAccount.getBalance());
-        }
-
-        // 계좌 간 이체 실행
-        fromAccount.withdraw(request.getAmount());
-        toAccount.deposit(request.getAmount());
-
-        // 거래 내역 저장
         Transaction transaction = Transaction.builder()
                 .fromAccount(fromAccount)
                 .toAccount(toAccount)
                 .amount(request.getAmount())
                 .type(TransactionType.TRANSFER)
-                .status(TransactionStatus.COMPLETED)
+                .status(TransactionStatus.PENDING)
                 .description(request.getDescription())
                 .build();
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, 1);
+        readYourWrites.recordAfterCommit(request.getFromAccountNumber(), request.getToAccountNumber());
+        idempotencyService.linkTransaction(savedTransaction.getId());
 
-        log.info("이체가 완료되었습니다. 거래 ID: {}, 금액: {}, {} -> {}", savedTransaction.getId(), request.getAmount(), request.getFromAccountNumber(), request.getToAccountNumber());
+        log.info("이체가 접수되었습니다. 거래 ID: {}, 금액: {}, {} -> {}", savedTransaction.getId(), request.getAmount(), request.getFromAccountNumber(), request.getToAccountNumber());
 
         return savedTransaction;
     }
 
+    /**
+     * PENDING 거래 완료 처리 (transfer와 같은 락 전략으로 잔액을 옮기고 COMPLETED로 변경)
+     * 상태를 먼저 PENDING -> COMPLETED로 바꿔 거래를 선점하므로, 같은 거래가 두 번 처리되어도 잔액은 한 번만 변경된다
+     * @param transactionId
+     * @param request 접수 시 요청
+     * @return
+     */
+    @Transactional
+    public Transaction completePendingTransfer(Long transactionId, TransferRequest request) {
+        if (transactionRepository.completePending(transactionId, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("처리 대기 중인 거래가 아닙니다. ID: " + transactionId);
+        }
+
+        Account[] accounts = loadAccounts(request);
+        moveBalance(accounts[0], accounts[1], request.getAmount());
+        readYourWrites.recordAfterCommit(request.getFromAccountNumber(), request.getToAccountNumber());
+
+        log.info("접수된 이체가 완료되었습니다. 거래 ID: {}", transactionId);
+
+        return getTransaction(transactionId);
+    }
+
+    /**
+     * PENDING 거래를 FAILED로 변경 (이미 처리된 거래는 변경하지 않음)
+     * @param transactionId
+     */
+    @Transactional
+    public void failPendingTransfer(Long transactionId) {
+        transactionRepository.updateStatus(transactionId, TransactionStatus.PENDING, TransactionStatus.FAILED);
+    }
+
+    /**
+     * PENDING 거래들을 FAILED로 변경 (이미 처리된 거래는 변경하지 않음)
+     * @param transactionIds
+     * @return FAILED로 바뀐 거래 수
+     */
+    @Transactional
+    public int failPendingTransfers(Collection<Long> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+        return transactionRepository.updateStatusIn(transactionIds, TransactionStatus.PENDING, TransactionStatus.FAILED);
+    }
+
+    /**
+     * before 이전에 접수되어 아직 PENDING인 거래 (오래된 순, 계좌번호 포함)
+     * @param before
+     * @param limit
+     * @return
+     */
+    public List<Transaction> getPendingTransfersBefore(LocalDateTime before, int limit) {
+        return transactionRepository.findByStatusCreatedBefore(TransactionStatus.PENDING, before, PageRequest.of(0, limit));
+    }
+
+    /**
+     * before 이전에 접수되어 아직 PENDING인 거래 중 afterId 다음 ID (ID 순)
+     * @param before
+     * @param afterId 이전 페이지의 마지막 ID (첫 페이지는 0)
+     * @param limit
+     * @return
+     */
+    public List<Long> getPendingTransferIdsBefore(LocalDateTime before, Long afterId, int limit) {
+        return transactionRepository.findIdsByStatusCreatedBefore(TransactionStatus.PENDING, before, afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * 락 전략에 따라 [출금 계좌, 입금 계좌] 조회
+     */
+    private Account[] loadAccounts(TransferRequest request) {
+        if (transferProperties.getLockMode() == LockMode.PESSIMISTIC) {
+            return lockAccountsInOrder(request);
+        }
+
+        Account fromAccount = accountService.getAccountByNumber(request.getFromAccountNumber());
+        Account toAccount = accountService.getAccountByNumber(request.getToAccountNumber());
+        return new Account[]{fromAccount, toAccount};
+    }
+
+    /**
+     * 출금 계좌에서 입금 계좌로 잔액 이동
+     */
+    private void moveBalance(Account fromAccount, Account toAccount, BigDecimal amount) {
+        // 동일 계좌 검증
+        if (fromAccount.getAccountNumber().equals(toAccount.getAccountNumber())) {
+            throw new IllegalArgumentException("동일한 계좌로는 이체할 수 없습니다.");
+        }
+
+        // 분할 계좌는 분할 잔액에서 부족분을 먼저 끌어온다
+        if (fromAccount.isStriped()) {
+            accountService.sweepStripes(fromAccount, amount);
+        }
+
+        // 잔액 확인
+        if (!fromAccount.hasEnoughBalance(amount)) {
+            throw new InsufficientBalanceException("잔액이 부족합니다. 현재 잔액 " + fromAccount.getBalance());
+        }
+
+        // 계좌 간 이체 실행 (분할 계좌 입금은 계좌 행 대신 분할 잔액 행 하나만 갱신)
+        fromAccount.withdraw(amount);
+        if (toAccount.isStriped()) {
+            accountService.creditStripe(toAccount, amount);
+        } else {
+            toAccount.deposit(amount);
+        }
+
+        balanceAggregateService.applyTransfer(fromAccount.getStatus(), toAccount.getStatus(), amount);
+    }
+
+    /**
+     * 출금/입금 계좌에 account_id 오름차순으로 비관적 쓰기 락 획득
+     * A->B, B->A 이체가 동시에 들어와도 두 트랜잭션이 같은 순서로 락을 잡으므로 교착 상태가 발생하지 않는다
+     * 입금 계좌가 분할 계좌면 계좌 행은 잠그지 않는다 (입금은 분할 잔액 행에만 반영)
+     * @param request
+     * @return [출금 계좌, 입금 계좌]
+     */
+    private Account[] lockAccountsInOrder(TransferRequest request) {
+        AccountIdView from = accountService.getAccountRefByNumber(request.getFromAccountNumber());
+        AccountIdView to = accountService.getAccountRefByNumber(request.getToAccountNumber());
+        Long fromId = from.getId();
+        Long toId = to.getId();
+
+        // 동일 계좌 검증 (같은 행에 락을 두 번 요청하지 않도록 락 획득 전에 확인)
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("동일한 계좌로는 이체할 수 없습니다.");
+        }
+
+        if (to.getStripeCount() > 0) {
+            Account fromAccount = accountService.getAccountForUpdate(fromId);
+            Account toAccount = accountService.getAccount(toId);
+            return new Account[]{fromAccount, toAccount};
+        }
+
+        if (fromId < toId) {
+            Account fromAccount = accountService.getAccountForUpdate(fromId);
+            Account toAccount = accountService.getAccountForUpdate(toId);
+            return new Account[]{fromAccount, toAccount};
+        }
+
+        Account toAccount = accountService.getAccountForUpdate(toId);
+        Account fromAccount = accountService.getAccountForUpdate(fromId);
+        return new Account[]{fromAccount, toAccount};
+    }
+
+    /**
+     * 일괄 이체 (한 청크를 하나의 DB 트랜잭션으로 처리)
+     * 청크에 등장하는 계좌를 account_id 오름차순으로 한 번에 잠근 뒤 요청 순서대로 적용하고,
+     * 건별 실패(계좌 없음, 동일 계좌, 잔액 부족)는 해당 건만 실패로 기록한다
+     * 입금만 받는 분할 계좌는 단건 이체와 같이 계좌 행을 잠그지 않고 분할 잔액 행 하나에 입금한다
+     * @param requests 이체 요청 청크
+     * @param accountIds 계좌번호 -> 계좌 ID (존재하지 않는 계좌번호는 없음)
+     * @return 요청 순서와 같은 건별 결과 (index는 청크 내 순번)
+     */
+    @Transactional
+    public List<BatchTransferItemResponse> transferBatch(List<TransferRequest> requests, Map<String, Long> accountIds) {
+        TreeSet<Long> lockIds = requests.stream()
+                .map(request -> accountIds.get(request.getFromAccountNumber()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<Long> creditOnlyIds = requests.stream()
+                .map(request -> accountIds.get(request.getToAccountNumber()))
+                .filter(id -> id != null && !lockIds.contains(id))
+                .collect(Collectors.toSet());
+
+        // 입금만 받는 분할 계좌는 잠그지 않는다 (출금도 하는 분할 계좌는 출금 시 분할 잔액을 잠가 읽으므로 계좌 행을 잠그고 balance에 입금)
+        Set<Long> stripedCreditIds = creditOnlyIds.isEmpty() ? Set.of() : new HashSet<>(accountService.getStripedAccountIds(creditOnlyIds));
+        creditOnlyIds.stream().filter(id -> !stripedCreditIds.contains(id)).forEach(lockIds::add);
+
+        Map<Long, Account> accounts = new HashMap<>();
+        if (!lockIds.isEmpty()) {
+            accountService.getAccountsForUpdate(lockIds).forEach(account -> accounts.put(account.getId(), account));
+        }
+        if (!stripedCreditIds.isEmpty()) {
+            accountService.getAccounts(stripedCreditIds).forEach(account -> accounts.put(account.getId(), account));
+        }
+
+        Transaction[] completed = new Transaction[requests.size()];
+        RuntimeException[] failures = new RuntimeException[requests.size()];
+        List<Transaction> transactions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            try {
+                Account fromAccount = lockedAccount(accounts, accountIds, request.getFromAccountNumber());
+                Account toAccount = lockedAccount(accounts, accountIds, request.getToAccountNumber());
+
+                // 동일 계좌 검증
+                if (fromAccount.getId().equals(toAccount.getId())) {
+                    throw new IllegalArgumentException("동일한 계좌로는 이체할 수 없습니다.");
+                }
+
+                if (fromAccount.isStriped()) {
+                    accountService.sweepStripes(fromAccount, request.getAmount());
+                }
+
+                // 잔액 확인 (앞선 건이 반영된 잔액 기준)
+                if (!fromAccount.hasEnoughBalance(request.getAmount())) {
+                    throw new InsufficientBalanceException("잔액이 부족합니다. 현재 잔액 " + fromAccount.getBalance());
+                }
+
+                fromAccount.withdraw(request.getAmount());
+                if (stripedCreditIds.contains(toAccount.getId())) {
+                    accountService.creditStripe(toAccount, request.getAmount());
+                } else {
+                    toAccount.deposit(request.getAmount());
+                }
+                balanceAggregateService.applyTransfer(fromAccount.getStatus(), toAccount.getStatus(), request.getAmount());
+
+                Transaction transaction = Transaction.builder()
+                        .fromAccount(fromAccount)
+                        .toAccount(toAccount)
+                        .amount(request.getAmount())
+                        .type(TransactionType.TRANSFER)
+                        .status(TransactionStatus.COMPLETED)
+                        .description(request.getDescription())
+                        .build();
+
+                completed[i] = transaction;
+                transactions.add(transaction);
+            } catch (AccountNotFoundException | IllegalArgumentException | InsufficientBalanceException e) {
+                failures[i] = e;
+            }
+        }
+
+        // 거래 ID는 시퀀스에서 미리 할당되므로, INSERT와 잔액 UPDATE 모두 플러시 시 JDBC 배치로 전송된다
+        transactionRepository.saveAll(transactions);
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, transactions.size());
+        readYourWrites.recordAfterCommit(accountIds.keySet());
+
+        List<BatchTransferItemResponse> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(completed[i] != null
+                    ? BatchTransferItemResponse.success(i, requests.get(i), completed[i])
+                    : BatchTransferItemResponse.failure(i, requests.get(i), Objects.requireNonNull(failures[i])));
+        }
+
+        log.info("일괄 이체가 처리되었습니다. 요청: {}건, 성공: {}건", requests.size(), transactions.size());
+
+        return results;
+    }
+
+    private Account lockedAccount(Map<Long, Account> accounts, Map<String, Long> accountIds, String accountNumber) {
+        Long id = accountIds.get(accountNumber);
+        Account account = (id != null) ? accounts.get(id) : null;
+        if (account == null) {
+            throw new AccountNotFoundException("계좌를 찾을 수 없습니다. 계좌번호: " + accountNumber);
+        }
+
+        return account;
+    }
+
+    /**
+     * 계좌 거래 내역 페이지 조회 (이체 직후면 주 DB에서 조회)
+     */
     public Page<Transaction> getAccountTransactions(String accountNumber, Pageable pageable) {
-        return transactionRepository.findByAccountNumber(accountNumber, pageable);
+        try (ReadYourWrites.Pin pin = readYourWrites.pinIfRecentlyWritten(accountNumber)) {
+            return transactionRepository.findByAccountId(accountService.getAccountIdByNumber(accountNumber), pageable);
+        }
     }
 
-    public Transaction getTransaction(Long id) {
-        return transactionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("거래 내역을 찾을 수 없습니다. ID: " + id));
+    /**
+     * 계좌 거래 내역 OFFSET 페이지 조회 (기존 클라이언트 호환용, 새 클라이언트는 getAccountTransactionHistory 사용)
+     * @param accountNumber
+     * @param page 페이지 번호 (0부터 시작)
+     * @param size 페이지 크기
+     * @return
+     */
+    @Deprecated
+    public Page<TransactionResponse> getAccountTransactionsPage(String accountNumber, int page, int size) {
+        return getAccountTransactions(accountNumber, CursorPages.offset(page, size)).map(TransactionResponse::from);
+    }
+
+    /**
+     * 계좌 거래 내역 커서 조회
+     * (createdAt, id) 기준 키셋 페이지네이션이라 OFFSET 페이지와 달리 깊은 페이지도 첫 페이지와 같은 비용으로 조회된다
+     * 복제본 라우팅 사용 시 이 인스턴스에서 방금 이체한 계좌는 주 DB에서 조회한다 (ReadYourWrites)
+     * @param accountNumber
+     * @param cursor 이전 페이지 응답의 next (첫 페이지는 null)
+     * @param size
+     * @param includeTotal true일 때만 전체 건수를 세어 포함 (전체 이력을 다시 세므로 기본은 생략)
+     * @return
+     */
+    public CursorPageResponse<TransactionResponse> getAccountTransactionHistory(String accountNumber, String cursor, int size, boolean includeTotal) {
+        try (ReadYourWrites.Pin pin = readYourWrites.pinIfRecentlyWritten(accountNumber)) {
+            Pageable lookahead = CursorPages.lookahead(size);
+            Long accountId = accountService.getAccountIdByNumber(accountNumber);
+
+            List<Transaction> transactions;
+            if (cursor == null || cursor.isBlank()) {
+                transactions = transactionRepository.findHistoryByAccountId(accountId, lookahead);
+            } else {
+                TransactionCursor after = TransactionCursor.decode(cursor);
+                transactions = transactionRepository.findHistoryByAccountIdBefore(accountId, after.createdAt(), after.id(), lookahead);
+            }
+
+            return CursorPages.of(
+                    transactions.stream().map(TransactionResponse::from).toList(),
+                    size,
+                    last -> new TransactionCursor(last.getCreatedAt(), last.getId()).encode(),
+                    includeTotal ? transactionRepository.countByAccountId(accountId) : null);
+        }
     }
 
-    public int getTransactionCount() {
-        List<Transaction> transactions = transactionRepository.findAll();
+    /**
+     * 거래 단건 조회 (거래 테이블에 없으면 보관 테이블에서 조회)
+     * 이체 접수/완료 직후 상태를 확인하는 조회라 복제 지연으로 거래가 없거나 PENDING으로 보이지 않도록 주 DB에서 조회한다
+     * 원장 저널 모드에서 응답했지만 아직 DB에 반영하지 않은 거래는 엔진이 응답한 상태로 돌려준다
+     */
+    public Transaction getTransaction(Long id) {
+        ShardedLedgerEngine engine = ledgerEngine.getIfAvailable();
+        Optional<Transaction> unflushed = engine != null ? engine.findUnflushed(id) : Optional.empty();
+        if (unflushed.isPresent()) {
+            return unflushed.get();
+        }
+
+        try (ReadYourWrites.Pin pin = readYourWrites.pinToPrimary()) {
+            return transactionRepository.findById(id)
+                    .or(() -> transactionRepository.findArchivedById(id).map(ArchivedTransaction::toTransaction))
+                    .orElseThrow(() -> new RuntimeException("거래 내역을 찾을 수 없습니다. ID: " + id));
+        }
+    }
 
-        return transactions.size();
+    /**
+     * 전체 거래 수 (행을 읽지 않고 카운터 값을 반환)
+     */
+    public long getTransactionCount() {
+        return entityCounters.get(CountedEntity.TRANSACTION);
     }
 }
@@ -0,0 +1,132 @@
+package com.safebank.api.snapshot;
+
+import com.safebank.api.config.DailyBalanceProperties;
+import com.safebank.api.entity.DailyBalance;
+import com.safebank.api.repository.DailyBalanceRepository;
+import com.safebank.api.repository.DailyBalanceView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일말 잔액 기록기
+ * 하루에 한 번 전날 자정 기준 잔액을 계좌마다 DailyBalance 한 행으로 남긴다
+ * 1. 계좌 ID 구간을 rangeSize씩 나누어 작업자 풀에서 동시에 처리하고, 구간마다 한 트랜잭션으로 조회와 INSERT를 한다
+ * 2. 잔액은 현재 잔액에서 자정 이후 거래를 되돌려 계산하므로 자정 직후 실행하면 되돌릴 거래가 적고, 이체를 멈추지 않아도 된다
+ * 3. 이미 기록한 계좌는 건너뛰므로 실패한 구간은 같은 날짜로 다시 실행하면 채워진다
+ */
+@Component
+@ConditionalOnProperty(prefix = "safebank.daily-balance", name = "enabled", havingValue = "true")
+@Slf4j
+public class DailyBalanceSnapshotter {
+
+    private final DailyBalanceProperties properties;
+    private final DailyBalanceRepository dailyBalanceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private ExecutorService workers;
+
+    public DailyBalanceSnapshotter(DailyBalanceProperties properties, DailyBalanceRepository dailyBalanceRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.dailyBalanceRepository = dailyBalanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(properties.getWorkers(),
+                runnable -> new Thread(runnable, "daily-balance-" + sequence.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("일말 잔액 기록 작업자가 종료되지 않았습니다. 남은 구간은 같은 날짜로 다시 기록해야 합니다.");
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 전날 일말 잔액 기록
+     */
+    @Scheduled(cron = "${safebank.daily-balance.cron:0 5 0 * * *}")
+    public void recordYesterday() {
+        record(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * date 일말 잔액 기록 (date가 끝난 뒤에만 가능)
+     * @param date 잔액 기준일
+     * @return 새로 기록한 계좌 수
+     */
+    public int record(LocalDate date) {
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        if (!endOfDay.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("아직 끝나지 않은 날의 잔액은 기록할 수 없습니다: " + date);
+        }
+
+        Long minId = dailyBalanceRepository.findMinAccountId();
+        Long maxId = dailyBalanceRepository.findMaxAccountId();
+        if (minId == null) {
+            return 0;
+        }
+
+        List<CompletableFuture<Integer>> ranges = new ArrayList<>();
+        for (long fromId = minId; fromId <= maxId; fromId += properties.getRangeSize()) {
+            long rangeFrom = fromId;
+            long rangeTo = fromId + properties.getRangeSize();
+            ranges.add(CompletableFuture
+                    .supplyAsync(() -> transactionTemplate.execute(status -> recordRange(rangeFrom, rangeTo, endOfDay, date)), workers)
+                    .exceptionally(e -> {
+                        log.warn("일말 잔액 기록에 실패했습니다. 기준일: {}, 계좌 ID: {} ~ {}, 원인: {}", date, rangeFrom, rangeTo - 1, e.getMessage());
+                        return -1;
+                    }));
+        }
+
+        int recorded = 0;
+        int failed = 0;
+        for (CompletableFuture<Integer> range : ranges) {
+            int count = range.join();
+            if (count < 0) {
+                failed++;
+            } else {
+                recorded += count;
+            }
+        }
+
+        log.info("일말 잔액을 기록했습니다. 기준일: {}, 계좌 수: {}, 실패 구간: {}/{}", date, recorded, failed, ranges.size());
+        return recorded;
+    }
+
+    private int recordRange(long fromId, long toId, LocalDateTime endOfDay, LocalDate date) {
+        List<DailyBalanceView> balances = dailyBalanceRepository.findBalancesToRecord(fromId, toId, endOfDay, date);
+
+        dailyBalanceRepository.saveAll(balances.stream()
+                .map(view -> DailyBalance.builder()
+                        .accountId(view.getAccountId())
+                        .balanceDate(date)
+                        .balance(view.getBalance())
+                        .build())
+                .toList());
+
+        return balances.size();
+    }
+}
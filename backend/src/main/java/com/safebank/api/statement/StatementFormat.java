@@ -0,0 +1,21 @@
+package com.safebank.api.statement;
+
+/**
+ * 거래 명세서 파일 형식
+ */
+public enum StatementFormat {
+
+    CSV("csv"),
+    /** 고정 폭 텍스트 (인쇄/조회용) */
+    TEXT("txt");
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,197 @@
+package com.safebank.api.statement;
+
+import com.safebank.api.config.StatementProperties;
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.repository.AccountIdView;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.DailyBalanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 월간 거래 명세서 생성기
+ * 계좌마다 기초 잔액, 완료 시각순 거래와 거래 후 잔액, 기말 잔액을 담은 파일을 {directory}/{yyyy-MM}/{계좌번호}.{확장자}로 쓴다
+ * 1. 기초 잔액은 월초 직전 일말 잔액에 그 뒤 거래를 더해 구하고, 그 달에 완료된 거래는 (계좌, 완료 시각) 인덱스 범위로 한 번만 스트리밍한다
+ * 2. 계좌 목록을 스트리밍하면서 계좌마다 가상 스레드에서 한 트랜잭션으로 처리하며, 동시 처리 수는 parallelism으로 제한한다
+ * 3. 임시 파일에 다 쓴 뒤 이름을 바꾸므로 완성되지 않은 명세서가 남지 않고, 같은 달을 다시 실행하면 덮어쓴다
+ */
+@Component
+@ConditionalOnProperty(prefix = "safebank.statement", name = "enabled", havingValue = "true")
+@Slf4j
+public class StatementGenerator {
+
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final StatementProperties properties;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final DailyBalanceService dailyBalanceService;
+    private final TransactionTemplate readOnlyTemplate;
+
+    public StatementGenerator(StatementProperties properties, AccountRepository accountRepository,
+                              TransactionRepository transactionRepository, DailyBalanceService dailyBalanceService,
+                              PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.dailyBalanceService = dailyBalanceService;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 지난달 거래 명세서 생성
+     */
+    @Scheduled(cron = "${safebank.statement.cron:0 0 3 1 * *}")
+    public void generatePreviousMonth() {
+        generate(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * month 거래 명세서 생성 (그달이 끝난 뒤에만 가능, 그달 말 이전에 개설된 계좌 대상)
+     * @param month
+     * @return 생성한 명세서 수
+     */
+    public int generate(YearMonth month) {
+        LocalDateTime since = month.atDay(1).atStartOfDay();
+        LocalDateTime until = month.plusMonths(1).atDay(1).atStartOfDay();
+        if (until.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("아직 끝나지 않은 달의 명세서는 생성할 수 없습니다: " + month);
+        }
+
+        Path monthDirectory = Paths.get(properties.getDirectory()).resolve(month.toString());
+        try {
+            Files.createDirectories(monthDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("명세서 디렉터리를 만들 수 없습니다: " + monthDirectory.toAbsolutePath(), e);
+        }
+
+        Semaphore permits = new Semaphore(properties.getParallelism());
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        // 실행기를 닫을 때 제출한 작업이 모두 끝날 때까지 기다린다
+        try (ExecutorService workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("statement-", 1).factory())) {
+            readOnlyTemplate.executeWithoutResult(status -> {
+                try (Stream<AccountIdView> accounts = accountRepository.streamAccountRefsCreatedBefore(until)) {
+                    Iterator<AccountIdView> iterator = accounts.iterator();
+                    while (iterator.hasNext()) {
+                        AccountIdView account = iterator.next();
+                        Long accountId = account.getId();
+                        String accountNumber = account.getAccountNumber();
+
+                        // 처리 중인 계좌가 parallelism개면 하나가 끝날 때까지 계좌 목록을 더 읽지 않는다
+                        permits.acquireUninterruptibly();
+                        workers.execute(() -> {
+                            try {
+                                writeStatement(accountId, accountNumber, month, since, until, monthDirectory);
+                                written.incrementAndGet();
+                            } catch (IOException | RuntimeException e) {
+                                failed.incrementAndGet();
+                                log.warn("거래 명세서를 생성하지 못했습니다. 계좌번호: {}, 기간: {}, 원인: {}", accountNumber, month, e.getMessage());
+                            } finally {
+                                permits.release();
+                            }
+                        });
+                    }
+                }
+            });
+        }
+
+        log.info("거래 명세서를 생성했습니다. 기간: {}, 생성: {}, 실패: {}, 디렉터리: {}", month, written.get(), failed.get(), monthDirectory.toAbsolutePath());
+
+        return written.get();
+    }
+
+    private void writeStatement(Long accountId, String accountNumber, YearMonth month,
+                                LocalDateTime since, LocalDateTime until, Path monthDirectory) throws IOException {
+        Path target = monthDirectory.resolve(accountNumber + "." + properties.getFormat().getExtension());
+        Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+
+        try {
+            readOnlyTemplate.executeWithoutResult(status -> {
+                try {
+                    write(accountId, accountNumber, month, since, until, partial);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+    }
+
+    private void write(Long accountId, String accountNumber, YearMonth month,
+                       LocalDateTime since, LocalDateTime until, Path file) throws IOException {
+        BigDecimal balance = dailyBalanceService.getBalanceAt(accountId, since);
+
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             Stream<TransactionResponse> rows = transactionRepository.streamCompletedHistoryBetween(accountId, since, until)) {
+            StatementWriter statement = StatementWriter.of(properties.getFormat(), out);
+            statement.opening(accountNumber, month, since, balance);
+
+            Iterator<TransactionResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionResponse row = iterator.next();
+                BigDecimal amount = signedAmount(row, accountNumber);
+                balance = balance.add(amount);
+                statement.line(row, counterparty(row, accountNumber), amount, balance);
+            }
+
+            statement.closing(until, balance);
+        }
+    }
+
+    /**
+     * 계좌 기준 부호를 붙인 금액 (입금 +, 출금 -, 자기 계좌 간 이체는 잔액이 변하지 않으므로 0)
+     * 출금 거래는 from = to로 기록되므로 계좌번호가 아니라 거래 유형으로 부호를 정한다
+     */
+    static BigDecimal signedAmount(TransactionResponse row, String accountNumber) {
+        if (TransactionType.WITHDRAWAL.name().equals(row.getType())) {
+            return row.getAmount().negate();
+        }
+        if (TransactionType.DEPOSIT.name().equals(row.getType()) && row.getFromAccountNumber() == null) {
+            return row.getAmount();
+        }
+
+        boolean outgoing = accountNumber.equals(row.getFromAccountNumber());
+        boolean incoming = accountNumber.equals(row.getToAccountNumber());
+        if (outgoing == incoming) {
+            return BigDecimal.ZERO;
+        }
+        return outgoing ? row.getAmount().negate() : row.getAmount();
+    }
+
+    private static String counterparty(TransactionResponse row, String accountNumber) {
+        if (TransactionType.WITHDRAWAL.name().equals(row.getType())) {
+            return null;
+        }
+        return accountNumber.equals(row.getFromAccountNumber()) ? row.getToAccountNumber() : row.getFromAccountNumber();
+    }
+}
@@ -0,0 +1,133 @@
+package com.safebank.api.statement;
+
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.export.TransactionExportService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 거래 명세서 한 건 기록 (기초 잔액 → 거래 행 → 기말 잔액 순으로 호출)
+ * 행을 받는 대로 바로 쓰므로 거래 수와 관계없이 메모리 사용량이 일정하다
+ */
+abstract class StatementWriter {
+
+    protected final Writer writer;
+
+    protected StatementWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    static StatementWriter of(StatementFormat format, Writer writer) {
+        return switch (format) {
+            case CSV -> new Csv(writer);
+            case TEXT -> new Text(writer);
+        };
+    }
+
+    abstract void opening(String accountNumber, YearMonth month, LocalDateTime at, BigDecimal balance) throws IOException;
+
+    /**
+     * 거래 행 (시각 열은 잔액에 반영된 완료 시각)
+     * @param amount 계좌 기준 부호를 붙인 금액 (입금 +, 출금 -, 자기 이체 0)
+     * @param balance 이 거래까지 반영한 잔액
+     */
+    abstract void line(TransactionResponse row, String counterparty, BigDecimal amount, BigDecimal balance) throws IOException;
+
+    abstract void closing(LocalDateTime at, BigDecimal balance) throws IOException;
+
+    /**
+     * CSV: 한 가지 열 구성으로 기초/거래/기말 행을 entry 열로 구분
+     */
+    private static class Csv extends StatementWriter {
+
+        static final String HEADER = "accountNumber,entry,completedAt,transactionId,type,counterpartyAccountNumber,description,amount,balance";
+
+        private String accountNumber;
+
+        Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void opening(String accountNumber, YearMonth month, LocalDateTime at, BigDecimal balance) throws IOException {
+            this.accountNumber = accountNumber;
+            writer.write(HEADER);
+            writer.write('\n');
+            row("OPENING", at, "", "", null, null, "", balance);
+        }
+
+        @Override
+        void line(TransactionResponse row, String counterparty, BigDecimal amount, BigDecimal balance) throws IOException {
+            row("TRANSACTION", row.getCompletedAt(), String.valueOf(row.getId()), row.getType(),
+                    counterparty, row.getDescription(), amount.toPlainString(), balance);
+        }
+
+        @Override
+        void closing(LocalDateTime at, BigDecimal balance) throws IOException {
+            row("CLOSING", at, "", "", null, null, "", balance);
+        }
+
+        private void row(String entry, LocalDateTime at, String id, String type, String counterparty,
+                         String description, String amount, BigDecimal balance) throws IOException {
+            writer.write(accountNumber);
+            writer.write(',');
+            writer.write(entry);
+            writer.write(',');
+            writer.write(String.valueOf(at));
+            writer.write(',');
+            writer.write(id);
+            writer.write(',');
+            writer.write(type);
+            writer.write(',');
+            writer.write(TransactionExportService.csv(counterparty));
+            writer.write(',');
+            writer.write(TransactionExportService.csv(description));
+            writer.write(',');
+            writer.write(amount);
+            writer.write(',');
+            writer.write(balance.toPlainString());
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * 고정 폭 텍스트: 머리글 뒤에 열을 맞춘 거래 행, 적요는 폭이 일정하지 않으므로 마지막 열에 둔다
+     */
+    private static class Text extends StatementWriter {
+
+        private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        private static final String ROW = "%-19s %12s %-10s %-16s %18s %18s %s%n";
+        private static final String RULE = "-".repeat(98) + "\n";
+
+        Text(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void opening(String accountNumber, YearMonth month, LocalDateTime at, BigDecimal balance) throws IOException {
+            writer.write("STATEMENT  " + accountNumber + "  " + month + "\n");
+            writer.write(RULE);
+            writer.write(String.format(ROW, "DATE", "TXN_ID", "TYPE", "COUNTERPARTY", "AMOUNT", "BALANCE", "DESCRIPTION"));
+            writer.write(RULE);
+            writer.write(String.format(ROW, TIME.format(at), "", "OPENING", "", "", balance.toPlainString(), ""));
+        }
+
+        @Override
+        void line(TransactionResponse row, String counterparty, BigDecimal amount, BigDecimal balance) throws IOException {
+            writer.write(String.format(ROW, TIME.format(row.getCompletedAt()), row.getId(), row.getType(),
+                    counterparty == null ? "" : counterparty, amount.toPlainString(), balance.toPlainString(),
+                    row.getDescription() == null ? "" : row.getDescription().replace('\n', ' ').replace('\r', ' ')));
+        }
+
+        @Override
+        void closing(LocalDateTime at, BigDecimal balance) throws IOException {
+            writer.write(RULE);
+            writer.write(String.format(ROW, TIME.format(at), "", "CLOSING", "", "", balance.toPlainString(), ""));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.safebank.api.benchmark;
+
+import com.safebank.api.directory.LongLongMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 계좌번호 -> 계좌 ID 디렉터리 메모리 사용량 비교 (./gradlew benchmark)
+ * - LongLongMap(heap / off-heap): 계좌 5천만 개 (-Dbenchmark.directory.accounts로 조정)
+ * - HashMap<String, Long>: 같은 규모는 2GB 힙에 들어가지 않으므로 1백만 개로 재고 계좌당 바이트로 환산
+ */
+@Tag("benchmark")
+@DisplayName("계좌 디렉터리 메모리 사용량 벤치마크")
+class AccountDirectoryFootprintBenchmarkTest {
+
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.directory.accounts", 50_000_000);
+    private static final int BOXED_ACCOUNTS = 1_000_000;
+    private static final long ACCOUNT_BASE = 3333_000000000000L;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    @DisplayName("계좌당 바이트 - 기본형 맵(heap, off-heap) vs 박싱된 HashMap")
+    void compareFootprint() {
+        // 박싱된 HashMap (계좌번호 문자열 키)
+        long before = usedHeap();
+        Map<String, Long> boxed = new HashMap<>();
+        for (int i = 0; i < BOXED_ACCOUNTS; i++) {
+            boxed.put(Long.toString(ACCOUNT_BASE + i * 7L), (long) i + 1);
+        }
+        double boxedBytesPerAccount = (usedHeap() - before) / (double) BOXED_ACCOUNTS;
+        assertThat(boxed.get(Long.toString(ACCOUNT_BASE + 7L))).isEqualTo(2L);
+        boxed = null;
+
+        // 기본형 맵 (heap)
+        before = usedHeap();
+        long start = System.nanoTime();
+        LongLongMap heap = fill(new LongLongMap(ACCOUNTS, false));
+        long heapFillMillis = (System.nanoTime() - start) / 1_000_000;
+        double heapBytesPerAccount = (usedHeap() - before) / (double) ACCOUNTS;
+        double heapLookupNanos = lookupNanos(heap);
+        long heapFootprint = heap.footprintBytes();
+        heap = null;
+
+        // 기본형 맵 (off-heap)
+        long heapBefore = usedHeap();
+        long directBefore = directMemory();
+        start = System.nanoTime();
+        LongLongMap offHeap = fill(new LongLongMap(ACCOUNTS, true));
+        long offHeapFillMillis = (System.nanoTime() - start) / 1_000_000;
+        double offHeapHeapBytesPerAccount = (usedHeap() - heapBefore) / (double) ACCOUNTS;
+        double offHeapDirectBytesPerAccount = (directMemory() - directBefore) / (double) ACCOUNTS;
+        double offHeapLookupNanos = lookupNanos(offHeap);
+
+        System.out.printf("HashMap<String, Long>: 계좌당 %.1f bytes (%,d개 기준, %,d개면 약 %,d MB)%n",
+                boxedBytesPerAccount, BOXED_ACCOUNTS, ACCOUNTS, (long) (boxedBytesPerAccount * ACCOUNTS) / (1024 * 1024));
+        System.out.printf("LongLongMap heap: 계좌 %,d개, 계좌당 %.1f bytes (슬롯 %,d MB), 채우기 %,d ms, 조회 %.0f ns%n",
+                ACCOUNTS, heapBytesPerAccount, heapFootprint / (1024 * 1024), heapFillMillis, heapLookupNanos);
+        System.out.printf("LongLongMap off-heap: 계좌 %,d개, 계좌당 힙 %.1f bytes / direct %.1f bytes, 채우기 %,d ms, 조회 %.0f ns%n",
+                ACCOUNTS, offHeapHeapBytesPerAccount, offHeapDirectBytesPerAccount, offHeapFillMillis, offHeapLookupNanos);
+
+        // then
+        assertThat(offHeap.size()).isEqualTo(ACCOUNTS);
+        assertThat(heapBytesPerAccount).isLessThan(48);
+        assertThat(heapBytesPerAccount * 3).isLessThan(boxedBytesPerAccount);
+        assertThat(offHeapHeapBytesPerAccount).isLessThan(1);
+    }
+
+    private LongLongMap fill(LongLongMap map) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            map.put(ACCOUNT_BASE + i * 7L, i + 1);
+        }
+        return map;
+    }
+
+    /**
+     * 임의 계좌 조회 평균 시간
+     */
+    private double lookupNanos(LongLongMap map) {
+        int lookups = 5_000_000;
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            int index = (int) ((i * 0x9E3779B97F4A7C15L >>> 1) % ACCOUNTS);
+            sum += map.get(ACCOUNT_BASE + index * 7L);
+        }
+        long nanos = System.nanoTime() - start;
+        assertThat(sum).isPositive();
+        return nanos / (double) lookups;
+    }
+
+    private long usedHeap() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
@@ -0,0 +1,130 @@
+package com.safebank.api.benchmark;
+
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 거래 내역 페이지 깊이별 조회 시간 비교: OFFSET 페이지 vs 키셋(커서) 페이지 (./gradlew benchmark)
+ * 키셋 조회는 10,000번째 페이지도 첫 페이지와 비슷한 시간에 끝나야 한다
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("거래 내역 페이지네이션 벤치마크")
+class HistoryPaginationBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int ROWS = (DEEP_PAGE + 1) * PAGE_SIZE;
+    private static final int INSERT_BATCH = 5_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("10,000번째 페이지 조회 시간 - 커서 조회는 첫 페이지와 비슷")
+    void deepPageLatency() {
+        // given
+        Member member = memberRepository.save(Member.builder()
+                .name("페이지")
+                .email("paging@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+        Account from = accountRepository.save(account(member, "9400000000000001"));
+        Account to = accountRepository.save(account(member, "9400000000000002"));
+        seedHistory(from.getId(), to.getId());
+
+        Long accountId = from.getId();
+        Transaction last = transactionRepository.findByAccountId(accountId, PageRequest.of(DEEP_PAGE - 1, PAGE_SIZE)).getContent().get(PAGE_SIZE - 1);
+
+        // when
+        double offsetFirst = measure(() -> transactionRepository.findByAccountId(accountId, PageRequest.of(0, PAGE_SIZE)).getContent());
+        double offsetDeep = measure(() -> transactionRepository.findByAccountId(accountId, PageRequest.of(DEEP_PAGE, PAGE_SIZE)).getContent());
+        double cursorFirst = measure(() -> transactionRepository.findHistoryByAccountId(accountId, PageRequest.of(0, PAGE_SIZE + 1)));
+        double cursorDeep = measure(() -> transactionRepository.findHistoryByAccountIdBefore(accountId, last.getCreatedAt(), last.getId(), PageRequest.of(0, PAGE_SIZE + 1)));
+
+        // then
+        System.out.printf("거래 %,d건, 페이지 크기 %d%n", ROWS, PAGE_SIZE);
+        System.out.printf("OFFSET 0페이지: %.2f ms, %,d페이지: %.2f ms%n", offsetFirst, DEEP_PAGE, offsetDeep);
+        System.out.printf("커서   0페이지: %.2f ms, %,d페이지: %.2f ms%n", cursorFirst, DEEP_PAGE, cursorDeep);
+
+        assertThat(cursorDeep).isLessThan(cursorFirst * 2 + 5);
+    }
+
+    private void seedHistory(Long fromId, Long toId) {
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= ROWS; i++) {
+            batch.add(new Object[]{
+                    1_000_000L + i, fromId, toId, new BigDecimal("10.00"), "TRANSFER", "COMPLETED",
+                    Timestamp.valueOf(base.plusSeconds(i))
+            });
+            if (batch.size() == INSERT_BATCH) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, type, status, created_at)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    private double measure(Supplier<List<Transaction>> query) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertThat(query.get()).isNotEmpty();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            assertThat(query.get()).isNotEmpty();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ROUNDS;
+    }
+
+    private Account account(Member member, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(BigDecimal.ZERO)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
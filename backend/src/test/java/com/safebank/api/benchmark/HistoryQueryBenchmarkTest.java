@@ -0,0 +1,119 @@
+package com.safebank.api.benchmark;
+
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 계좌 거래 내역 첫 페이지 조회: from = ? OR to = ? 단일 쿼리 vs 출금/입금 갈래 병합 (./gradlew benchmark)
+ * 거래 수는 -Dbenchmark.history.rows로 지정 (기본 100만 건, 1,000만 건은 -Dbenchmark.history.rows=10000000 과 힙 여유 필요)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        // 대량 데이터를 넣으므로 기본 테스트 DB와 분리
+        "spring.datasource.url=jdbc:h2:mem:historyquerybench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "decorator.datasource.p6spy.enable-logging=false"
+})
+@ActiveProfiles("test")
+@DisplayName("거래 내역 조회 쿼리 벤치마크")
+class HistoryQueryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.history.rows", 1_000_000);
+    private static final int ACCOUNT_COUNT = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    // 분리 전 findByAccountNumber와 같은 조건/정렬
+    private static final String OR_CONDITION = "SELECT t.* FROM transaction t" +
+            " LEFT JOIN account f ON f.account_id = t.from_account_id" +
+            " JOIN account a ON a.account_id = t.to_account_id" +
+            " WHERE f.account_number = ? OR a.account_number = ?" +
+            " ORDER BY t.created_at DESC LIMIT " + PAGE_SIZE;
+
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE transaction");
+        accountRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("갈래 병합 조회는 전체 거래 수와 무관하게 해당 계좌 거래만 읽음")
+    void firstPageLatency() {
+        // given
+        Member member = memberRepository.save(Member.builder()
+                .name("벤치마크")
+                .email("history@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+        List<Account> accounts = new ArrayList<>(ACCOUNT_COUNT);
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            accounts.add(Account.builder()
+                    .accountNumber(String.format("96%014d", i))
+                    .member(member)
+                    .balance(BigDecimal.ZERO)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+        }
+        accounts = accountRepository.saveAll(accounts);
+        long base = accounts.get(0).getId();
+
+        long seedStart = System.nanoTime();
+        jdbcTemplate.update(String.format("INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, type, status, created_at)" +
+                " SELECT n, %1$d + MOD(n, %2$d), %1$d + MOD(n * 7 + 1, %2$d), 1, 'TRANSFER', 'COMPLETED', DATEADD('SECOND', n, TIMESTAMP '2020-01-01 00:00:00')" +
+                " FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, %3$d))", base, ACCOUNT_COUNT, ROWS));
+        System.out.printf("거래 %,d건 생성: %,d ms%n", ROWS, (System.nanoTime() - seedStart) / 1_000_000);
+
+        // 같은 쿼리 결과를 재사용하지 않도록 라운드마다 다른 계좌를 조회
+        List<Account> targets = accounts;
+
+        // when
+        double orCondition = measure(round -> {
+            String accountNumber = targets.get(round).getAccountNumber();
+            return jdbcTemplate.queryForList(OR_CONDITION, accountNumber, accountNumber).size();
+        });
+        double branches = measure(round -> transactionRepository.findHistoryByAccountId(targets.get(round).getId(), PageRequest.of(0, PAGE_SIZE)).size());
+
+        // then
+        System.out.printf("OR 단일 쿼리: %.2f ms, 갈래 병합: %.2f ms%n", orCondition, branches);
+        assertThat(branches).isLessThan(orCondition);
+    }
+
+    private double measure(IntUnaryOperator query) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertThat(query.applyAsInt(i)).isEqualTo(PAGE_SIZE);
+        }
+        long start = System.nanoTime();
+        for (int i = WARMUP_ROUNDS; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            assertThat(query.applyAsInt(i)).isEqualTo(PAGE_SIZE);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ROUNDS;
+    }
+}
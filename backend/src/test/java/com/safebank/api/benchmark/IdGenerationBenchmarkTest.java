@@ -0,0 +1,133 @@
+package com.safebank.api.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ID 생성 전략별 INSERT 처리량 비교 (./gradlew benchmark)
+ * Hibernate가 각 전략에서 실제로 보내는 JDBC 호출을 그대로 재현한다
+ * - IDENTITY: 생성된 키를 받아야 하므로 건마다 INSERT를 즉시 실행 (배치 불가)
+ * - SEQUENCE(pooled, allocationSize 50): 50건마다 시퀀스 1회 조회, INSERT는 100건 단위 JDBC 배치
+ */
+@Tag("benchmark")
+@DisplayName("ID 생성 전략별 INSERT 처리량 벤치마크")
+class IdGenerationBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP_ROWS = 2_000;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int BATCH_SIZE = 100;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "jdbc:h2:mem:id_bench;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:id_bench_mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+    })
+    @DisplayName("IDENTITY 건별 INSERT vs pooled 시퀀스 배치 INSERT")
+    void compareInsertThroughput(String url) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            createTables(connection);
+            connection.setAutoCommit(false);
+
+            // JIT 워밍업
+            insertWithIdentity(connection, WARMUP_ROWS);
+            insertWithPooledSequence(connection, WARMUP_ROWS);
+            connection.commit();
+
+            long identityStart = System.nanoTime();
+            insertWithIdentity(connection, ROWS);
+            connection.commit();
+            long identityNanos = System.nanoTime() - identityStart;
+
+            long pooledStart = System.nanoTime();
+            insertWithPooledSequence(connection, ROWS);
+            connection.commit();
+            long pooledNanos = System.nanoTime() - pooledStart;
+
+            System.out.printf("[%s] IDENTITY: %,d rows/s, SEQUENCE(pooled): %,d rows/s%n",
+                    url, throughput(identityNanos), throughput(pooledNanos));
+
+            assertThat(count(connection, "bench_identity")).isEqualTo(WARMUP_ROWS + ROWS);
+            assertThat(count(connection, "bench_pooled")).isEqualTo(WARMUP_ROWS + ROWS);
+        }
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_pooled");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_pooled_seq");
+            statement.execute("CREATE TABLE bench_identity (id BIGINT AUTO_INCREMENT PRIMARY KEY, amount DECIMAL(15,2) NOT NULL, description VARCHAR(255))");
+            statement.execute("CREATE TABLE bench_pooled (id BIGINT PRIMARY KEY, amount DECIMAL(15,2) NOT NULL, description VARCHAR(255))");
+            statement.execute("CREATE SEQUENCE bench_pooled_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+
+    private void insertWithIdentity(Connection connection, int rows) throws SQLException {
+        String sql = "INSERT INTO bench_identity (amount, description) VALUES (?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                insert.setBigDecimal(1, BigDecimal.valueOf(i));
+                insert.setString(2, "bench");
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+    }
+
+    private void insertWithPooledSequence(Connection connection, int rows) throws SQLException {
+        String sql = "INSERT INTO bench_pooled (id, amount, description) VALUES (?, ?, ?)";
+        try (PreparedStatement nextVal = connection.prepareStatement("SELECT NEXT VALUE FOR bench_pooled_seq");
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            long nextId = 0;
+            long maxId = -1;
+
+            for (int i = 0; i < rows; i++) {
+                if (nextId > maxId) {
+                    // 시퀀스 1회 조회로 50개 구간을 한 번에 확보
+                    try (ResultSet resultSet = nextVal.executeQuery()) {
+                        resultSet.next();
+                        nextId = resultSet.getLong(1);
+                        maxId = nextId + ALLOCATION_SIZE - 1;
+                    }
+                }
+
+                insert.setLong(1, nextId++);
+                insert.setBigDecimal(2, BigDecimal.valueOf(i));
+                insert.setString(3, "bench");
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private long throughput(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
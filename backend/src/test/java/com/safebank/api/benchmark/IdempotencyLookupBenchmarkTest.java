@@ -0,0 +1,82 @@
+package com.safebank.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebank.api.config.IdempotencyProperties;
+import com.safebank.api.config.ReplicaRoutingProperties;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.IdempotencyRecord;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.idempotency.IdempotentResponse;
+import com.safebank.api.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Idempotency-Key 캐시 적중 시 조회 비용 측정 (./gradlew benchmark)
+ * 요청 본문 직렬화 + SHA-256 지문 + 캐시 조회까지, 재요청 1건에 드는 전체 비용을 잰다
+ */
+@Tag("benchmark")
+@DisplayName("Idempotency-Key 캐시 적중 조회 벤치마크")
+class IdempotencyLookupBenchmarkTest {
+
+    private static final int KEYS = 1_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 1_000;
+
+    @Test
+    @DisplayName("캐시 적중 시 재요청 1건당 수 마이크로초 이내")
+    void cacheHitLatency() throws Exception {
+        // given
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        IdempotencyService service = new IdempotencyService(repository, new IdempotencyProperties(), new ObjectMapper(),
+                new ReadYourWrites(new ReplicaRoutingProperties()));
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber("3333123456789012");
+        request.setToAccountNumber("3333234567890123");
+        request.setAmount(new BigDecimal("10000.00"));
+        request.setDescription("벤치마크");
+
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "bench-" + i;
+            given(repository.findById(keys[i])).willReturn(Optional.empty(), Optional.of(new IdempotencyRecord()));
+            service.execute(keys[i], request, () -> Map.of("id", 1));
+        }
+
+        // when
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            replayAll(service, keys, request);
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            replayAll(service, keys, request);
+        }
+        double nanosPerLookup = (double) (System.nanoTime() - start) / ((long) ROUNDS * KEYS);
+
+        // then
+        System.out.printf("Idempotency-Key 캐시 적중: %.0f ns/건%n", nanosPerLookup);
+        assertThat(nanosPerLookup).isLessThan(20_000);
+    }
+
+    private void replayAll(IdempotencyService service, String[] keys, TransferRequest request) {
+        for (String key : keys) {
+            IdempotentResponse response = service.execute(key, request, () -> {
+                throw new AssertionError("캐시 적중 시 다시 실행하지 않아야 합니다");
+            });
+            if (!response.replayed()) {
+                throw new AssertionError("캐시에서 응답을 찾지 못했습니다. 키: " + key);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.safebank.api.benchmark;
+
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.AccountStripeRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 입금이 몰리는 계좌 하나에 대한 동시 입금 처리량을 분할 수별로 비교 (./gradlew benchmark)
+ * 분할 수 0은 기존 방식 (모든 입금이 계좌 행 하나의 락에서 직렬화)
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("분할 계좌 입금 경합 벤치마크")
+class StripedCreditBenchmarkTest {
+
+    private static final int SOURCE_COUNT = 64;
+    private static final int THREAD_COUNT = 32;
+    private static final int CREDIT_COUNT = 4000;
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private AccountService accountService;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountStripeRepository accountStripeRepository;
+    @Autowired private TransactionRepository transactionRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountStripeRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "분할 수 {0}")
+    @ValueSource(ints = {0, 4, 16})
+    @DisplayName("분할 수별 동시 입금 처리량")
+    void creditThroughput(int stripeCount) throws Exception {
+        // given
+        Member member = memberRepository.save(Member.builder()
+                .name("벤치마크")
+                .email("stripe-bench@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < SOURCE_COUNT; i++) {
+            sources.add(accountRepository.save(account(member, String.format("9200%012d", i), new BigDecimal("1000000.00"))).getAccountNumber());
+        }
+        String hot = accountRepository.save(account(member, "9299000000000000", BigDecimal.ZERO)).getAccountNumber();
+        if (stripeCount > 0) {
+            accountService.enableStriping(hot, stripeCount);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(CREDIT_COUNT);
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < CREDIT_COUNT; i++) {
+            TransferRequest request = new TransferRequest();
+            request.setFromAccountNumber(sources.get(i % SOURCE_COUNT));
+            request.setToAccountNumber(hot);
+            request.setAmount(AMOUNT);
+
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    transferFacade.transfer(request);
+                } catch (Throwable t) {
+                    failures.incrementAndGet();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        // when
+        long start = System.nanoTime();
+        startLatch.countDown();
+        assertThat(doneLatch.await(5, TimeUnit.MINUTES)).isTrue();
+        long elapsedMs = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+        executor.shutdown();
+
+        // then
+        System.out.printf("[분할 수 %d] 입금 %d건: %dms (%d tps, 실패 %d건)%n",
+                stripeCount, CREDIT_COUNT, elapsedMs, CREDIT_COUNT * 1000L / elapsedMs, failures.get());
+        assertThat(accountRepository.findBalanceById(accountService.getAccountIdByNumber(hot)).orElseThrow())
+                .isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(CREDIT_COUNT - failures.get())));
+    }
+
+    private Account account(Member member, String accountNumber, BigDecimal balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(balance)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
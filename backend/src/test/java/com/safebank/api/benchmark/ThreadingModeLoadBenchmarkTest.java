@@ -0,0 +1,183 @@
+package com.safebank.api.benchmark;
+
+import com.safebank.api.SafebankApiApplication;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 처리 스레드 모드별 지연 시간과 처리량 비교 (./gradlew benchmark)
+ * 모드마다 애플리케이션을 실제 포트로 띄우고, 동시 클라이언트 수를 1천/5천/1만으로 늘려가며 계좌 조회 API를 호출한다
+ * 클라이언트마다 요청을 순서대로 보내므로 동시 클라이언트 수가 곧 서버에 걸리는 동시 요청 수다
+ */
+@Tag("benchmark")
+@DisplayName("플랫폼 스레드 / 가상 스레드 부하 벤치마크")
+class ThreadingModeLoadBenchmarkTest {
+
+    private static final int[] CLIENT_COUNTS = {1_000, 5_000, 10_000};
+    private static final int WARMUP_CLIENTS = 500;
+    private static final int REQUESTS_PER_CLIENT = 3;
+    private static final int ACCOUNT_COUNT = 100;
+
+    @ParameterizedTest(name = "가상 스레드 {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("동시 클라이언트 수별 p50/p99 지연 시간과 처리량")
+    void latencyAndThroughput(boolean virtual) throws Exception {
+        String mode = virtual ? "가상 스레드" : "플랫폼 스레드";
+
+        try (ConfigurableApplicationContext context = start(virtual)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<URI> uris = seedAccounts(context, port);
+
+            run(uris, WARMUP_CLIENTS);
+
+            for (int clientCount : CLIENT_COUNTS) {
+                Result result = run(uris, clientCount);
+
+                System.out.printf("[%s] 동시 클라이언트 %,d명: 요청 %,d건, %,d req/s, p50 %.1fms, p99 %.1fms (실패 %d건)%n",
+                        mode, clientCount, result.requests(), result.throughput(),
+                        result.percentileMs(50), result.percentileMs(99), result.failures());
+                assertThat(result.failures()).isLessThan(result.requests() / 100 + 1);
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(SafebankApiApplication.class)
+                .profiles("test")
+                // application.yml보다 우선하도록 기본 속성이 아닌 명령행 인자로 넘긴다
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:loadbench-" + virtual + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        // 클라이언트와 서버가 한 프로세스의 파일 디스크립터를 나눠 쓰므로, 서버가 받는 연결 수를 제한하고 나머지는 접속 대기열에서 기다리게 한다
+                        // (두 모드 모두 같은 값이며, 요청 처리 스레드 수는 각 모드 기본값)
+                        "--server.tomcat.max-connections=7000",
+                        "--server.tomcat.accept-count=4096",
+                        "--decorator.datasource.p6spy.enable-logging=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN");
+    }
+
+    private List<URI> seedAccounts(ConfigurableApplicationContext context, int port) {
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+
+        Member member = memberRepository.save(Member.builder()
+                .name("부하")
+                .email("load-bench@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .accountNumber(String.format("9500%012d", i))
+                    .member(member)
+                    .balance(new BigDecimal("10000.00"))
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+            uris.add(URI.create("http://localhost:" + port + "/api/accounts/number/" + account.getAccountNumber()));
+        }
+        return uris;
+    }
+
+    /**
+     * 측정 단계마다 HttpClient를 새로 만들고 닫아, 이전 단계의 연결이 다음 단계로 넘어가지 않게 한다
+     */
+    private Result run(List<URI> uris, int clientCount) throws InterruptedException {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(60))
+                     .executor(clients)
+                     .build()) {
+            return run(httpClient, clients, uris, clientCount);
+        }
+    }
+
+    private Result run(HttpClient httpClient, ExecutorService clients, List<URI> uris, int clientCount) throws InterruptedException {
+        long[] latencies = new long[clientCount * REQUESTS_PER_CLIENT];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(clientCount);
+
+        for (int client = 0; client < clientCount; client++) {
+            URI uri = uris.get(client % uris.size());
+            clients.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(
+                                HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(120)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            latencies[recorded.getAndIncrement()] = System.nanoTime() - start;
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        startLatch.countDown();
+        assertThat(doneLatch.await(10, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] succeeded = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(succeeded);
+        return new Result(clientCount * REQUESTS_PER_CLIENT, failures.get(), succeeded, elapsedNanos);
+    }
+
+    private record Result(int requests, long failures, long[] sortedLatencies, long elapsedNanos) {
+
+        long throughput() {
+            return sortedLatencies.length * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+        }
+
+        double percentileMs(int percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(sortedLatencies.length * percentile / 100.0) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.safebank.api.benchmark;
+
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 거래 내역 내보내기의 응답 시작 시간과 힙 사용량 측정 (./gradlew benchmark)
+ * 거래 수는 -Dbenchmark.export.rows로 지정 (기본 100만 건)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // 대량 데이터를 넣으므로 기본 테스트 DB와 분리
+        "spring.datasource.url=jdbc:h2:mem:exportbench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "decorator.datasource.p6spy.enable-logging=false"
+})
+@ActiveProfiles("test")
+@DisplayName("거래 내역 내보내기 벤치마크")
+class TransactionExportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.export.rows", 1_000_000);
+    private static final int SAMPLE_EVERY = Math.max(ROWS / 5, 1);
+    private static final String ACCOUNT_NUMBER = "9700000000000001";
+
+    @LocalServerPort private int port;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE transaction");
+        accountRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"csv", "ndjson"})
+    @DisplayName("거래 수와 무관하게 응답이 1초 안에 시작되고 힙 사용량이 일정")
+    void export(String format) throws Exception {
+        // given
+        Member member = memberRepository.save(Member.builder()
+                .name("내보내기")
+                .email("export@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+        Account account = accountRepository.save(account(member, ACCOUNT_NUMBER));
+        Account counterparty = accountRepository.save(account(member, "9700000000000002"));
+        jdbcTemplate.update(String.format("INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, type, status, description, created_at)" +
+                " SELECT n, CASE WHEN MOD(n, 2) = 0 THEN %1$d ELSE %2$d END, CASE WHEN MOD(n, 2) = 0 THEN %2$d ELSE %1$d END," +
+                " 10, 'TRANSFER', 'COMPLETED', '내보내기 벤치마크', DATEADD('SECOND', n, TIMESTAMP '2020-01-01 00:00:00')" +
+                " FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, %3$d))", account.getId(), counterparty.getId(), ROWS));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        long peak = baseline;
+
+        // when
+        long lines = 0;
+        long firstByteMillis;
+        long start = System.nanoTime();
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/" + ACCOUNT_NUMBER + "/transactions/export?format=" + format)).build();
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            assertThat(response.statusCode()).isEqualTo(200);
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                reader.readLine();
+                firstByteMillis = (System.nanoTime() - start) / 1_000_000;
+                lines = 1;
+                while (reader.readLine() != null) {
+                    // 전송 도중 GC 후에도 남아 있는 힙 (내보내기가 행을 쌓아 두면 여기서 커짐)
+                    if (++lines % SAMPLE_EVERY == 0) {
+                        System.gc();
+                        peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+                    }
+                }
+            }
+        }
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        long rows = format.equals("csv") ? lines - 1 : lines;
+        long peakGrowthMb = (peak - baseline) / (1024 * 1024);
+        System.out.printf("%s: 거래 %,d건, 첫 행까지 %,d ms, 전체 %,d ms, GC 후 힙 증가 최대 %,d MB%n", format, rows, firstByteMillis, totalMillis, peakGrowthMb);
+
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(firstByteMillis).isLessThan(1_000);
+        assertThat(peakGrowthMb).isLessThan(64);
+    }
+
+    private Account account(Member member, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(BigDecimal.ZERO)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.safebank.api.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NearCache 테스트")
+class NearCacheTest {
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 조회되지 않은 항목을 제거")
+    void put_evictsLeastRecentlyUsed() {
+        // given
+        NearCache<Long, String> cache = new NearCache<>(2, Duration.ofMinutes(1));
+        cache.put(1L, "a", cache.version());
+        cache.put(2L, "b", cache.version());
+        cache.get(1L);
+
+        // when
+        cache.put(3L, "c", cache.version());
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isEqualTo("a");
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(3L)).isEqualTo("c");
+        assertThat(cache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료된 항목은 미스로 처리")
+    void get_expiredEntryIsMiss() {
+        // given
+        NearCache<Long, String> cache = new NearCache<>(10, Duration.ZERO);
+        cache.put(1L, "a", cache.version());
+
+        // when
+        String result = cache.get(1L);
+
+        // then
+        assertThat(result).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("읽는 도중 무효화가 있었으면 읽은 값을 저장하지 않음")
+    void put_discardsValueReadBeforeInvalidation() {
+        // given
+        NearCache<Long, String> cache = new NearCache<>(10, Duration.ofMinutes(1));
+        long readVersion = cache.version();
+        cache.invalidate(1L);
+
+        // when
+        cache.put(1L, "stale", readVersion);
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("적중률 = 적중 / (적중 + 미스)")
+    void hitRate() {
+        // given
+        NearCache<Long, String> cache = new NearCache<>(10, Duration.ofMinutes(1));
+        cache.put(1L, "a", cache.version());
+
+        // when
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        // then
+        assertThat(cache.getHits()).isEqualTo(3);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.75);
+    }
+}
@@ -0,0 +1,65 @@
+package com.safebank.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CursorFetchVerifier 단위 테스트")
+class CursorFetchVerifierTest {
+
+    private final CursorFetchVerifier verifier = new CursorFetchVerifier();
+
+    @Test
+    @DisplayName("MySQL 풀에 useCursorFetch 설정이 없으면 드라이버 속성으로 켠다")
+    void missingCursorFetch_enabledAsDataSourceProperty() {
+        // given
+        HikariDataSource pool = pool("jdbc:mysql://localhost:3306/safebank");
+
+        // when
+        verifier.postProcessAfterInitialization(pool, "primaryDataSource");
+
+        // then
+        assertThat(pool.getDataSourceProperties().getProperty("useCursorFetch")).isEqualTo("true");
+        assertThat(pool.getDataSourceProperties().getProperty("rewriteBatchedStatements")).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("URL이나 data-source-properties에 설정되어 있으면 그대로 둔다")
+    void configuredCursorFetch_leftAsIs() {
+        // given
+        HikariDataSource inUrl = pool("jdbc:mysql://localhost:3306/safebank?useCursorFetch=true&rewriteBatchedStatements=true");
+        HikariDataSource inProperties = pool("jdbc:mysql://localhost:3306/safebank");
+        inProperties.addDataSourceProperty("useCursorFetch", "false");
+        inProperties.addDataSourceProperty("rewriteBatchedStatements", "false");
+
+        // when
+        verifier.postProcessAfterInitialization(inUrl, "primaryDataSource");
+        verifier.postProcessAfterInitialization(inProperties, "primaryDataSource");
+
+        // then
+        assertThat(inUrl.getDataSourceProperties()).isEmpty();
+        assertThat(inProperties.getDataSourceProperties().getProperty("useCursorFetch")).isEqualTo("false");
+        assertThat(inProperties.getDataSourceProperties().getProperty("rewriteBatchedStatements")).isEqualTo("false");
+    }
+
+    @Test
+    @DisplayName("MySQL이 아닌 풀은 바꾸지 않는다")
+    void nonMysqlPool_untouched() {
+        // given
+        HikariDataSource pool = pool("jdbc:h2:mem:testdb;MODE=MySQL");
+
+        // when
+        verifier.postProcessAfterInitialization(pool, "dataSource");
+
+        // then
+        assertThat(pool.getDataSourceProperties()).isEmpty();
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        return pool;
+    }
+}
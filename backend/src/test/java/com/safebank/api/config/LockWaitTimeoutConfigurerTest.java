@@ -0,0 +1,61 @@
+package com.safebank.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LockWaitTimeoutConfigurer 단위 테스트")
+class LockWaitTimeoutConfigurerTest {
+
+    private final TransferProperties transferProperties = new TransferProperties();
+    private final LockWaitTimeoutConfigurer configurer = configurer(transferProperties);
+
+    @Test
+    @DisplayName("MySQL 풀의 sessionVariables에 락 대기 시간을 덧붙인다")
+    void mysqlPool_lockWaitTimeoutAppended() {
+        // given
+        transferProperties.setLockWaitTimeout(Duration.ofSeconds(5));
+        HikariDataSource pool = pool("jdbc:mysql://localhost:3306/safebank?useCursorFetch=true");
+        pool.addDataSourceProperty("sessionVariables", "sql_mode='STRICT_TRANS_TABLES'");
+
+        // when
+        configurer.postProcessAfterInitialization(pool, "primaryDataSource");
+
+        // then
+        assertThat(pool.getDataSourceProperties().getProperty("sessionVariables"))
+                .isEqualTo("sql_mode='STRICT_TRANS_TABLES',innodb_lock_wait_timeout=5");
+    }
+
+    @Test
+    @DisplayName("이미 지정되어 있거나 MySQL이 아닌 풀은 바꾸지 않는다")
+    void configuredOrNonMysqlPool_untouched() {
+        // given
+        HikariDataSource inUrl = pool("jdbc:mysql://localhost:3306/safebank?sessionVariables=innodb_lock_wait_timeout=10");
+        HikariDataSource h2 = pool("jdbc:h2:mem:testdb;MODE=MySQL");
+
+        // when
+        configurer.postProcessAfterInitialization(inUrl, "primaryDataSource");
+        configurer.postProcessAfterInitialization(h2, "dataSource");
+
+        // then
+        assertThat(inUrl.getDataSourceProperties()).isEmpty();
+        assertThat(h2.getDataSourceProperties()).isEmpty();
+    }
+
+    private LockWaitTimeoutConfigurer configurer(TransferProperties properties) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("transferProperties", properties);
+        return new LockWaitTimeoutConfigurer(beanFactory.getBeanProvider(TransferProperties.class));
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        return pool;
+    }
+}
@@ -0,0 +1,194 @@
+package com.safebank.api.config;
+
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.IdempotencyRecordRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 스레드 모드 (spring.threads.virtual.enabled=true) 통합 테스트
+ * JDBC 경로에서 synchronized 블록 안에서 대기하며 캐리어 스레드를 고정하는 코드가 들어오면 JFR jdk.VirtualThreadPinned 이벤트로 잡아낸다
+ */
+@SpringBootTest(properties = {
+        // 설정이 다른 컨텍스트가 기본 테스트 DB 스키마를 다시 만들지 않도록 별도 인메모리 DB 사용
+        "spring.datasource.url=jdbc:h2:mem:virtualthreadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.threads.virtual.enabled=true"
+})
+@ActiveProfiles("test")
+@DisplayName("가상 스레드 모드 통합 테스트")
+class VirtualThreadModeTest {
+
+    private static final int TRANSFER_COUNT = 200;
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+    private static final List<String> JDBC_PATH_PACKAGES = List.of(
+            "com.safebank.", "org.hibernate.", "com.zaxxer.hikari.", "org.h2.", "com.mysql.", "com.p6spy.", "java.sql.");
+
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired @Qualifier("applicationTaskExecutor") private AsyncTaskExecutor taskExecutor;
+    @Autowired private TaskScheduler taskScheduler;
+
+    private Account first;
+    private Account second;
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("가상스레드")
+                .email("virtual@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        first = accountRepository.save(account(member, "9400000000000001"));
+        second = accountRepository.save(account(member, "9400000000000002"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("@Async 실행기와 스케줄러가 가상 스레드에서 작업을 실행")
+    void executorsRunOnVirtualThreads() throws Exception {
+        // when
+        boolean asyncVirtual = taskExecutor.submitCompletable(() -> Thread.currentThread().isVirtual())
+                .get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Boolean> scheduled = new CompletableFuture<>();
+        taskScheduler.schedule(() -> scheduled.complete(Thread.currentThread().isVirtual()), Instant.now());
+
+        // then
+        assertThat(asyncVirtual).isTrue();
+        assertThat(scheduled.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서 동시 이체 시 JDBC 경로에서 캐리어 스레드 고정이 발생하지 않음")
+    void concurrentTransfersDoNotPinCarrierThreads() throws Exception {
+        // given
+        ConcurrentLinkedQueue<RecordedEvent> pinned = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        // when
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ZERO);
+            recording.onEvent(pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < TRANSFER_COUNT; i++) {
+                    // 양방향 이체로 같은 계좌 행 락을 두고 대기하게 하고, 절반은 Idempotency-Key 경로로 보낸다
+                    TransferRequest request = (i % 2 == 0)
+                            ? request(first.getAccountNumber(), second.getAccountNumber())
+                            : request(second.getAccountNumber(), first.getAccountNumber());
+                    String key = (i % 4 < 2) ? "virtual-" + i : null;
+
+                    executor.submit(() -> {
+                        try {
+                            if (key == null) {
+                                transferFacade.transfer(request);
+                            } else {
+                                idempotencyService.execute(key, request,
+                                        () -> TransactionResponse.from(transferFacade.transfer(request)));
+                            }
+                        } catch (Throwable t) {
+                            failures.add(t);
+                        }
+                    });
+                }
+            }
+
+            recording.stop();
+        }
+
+        // then
+        assertThat(failures).isEmpty();
+        assertThat(transactionRepository.count()).isEqualTo(TRANSFER_COUNT);
+
+        List<String> jdbcPathPins = pinned.stream()
+                .filter(this::onJdbcPath)
+                .map(this::describe)
+                .toList();
+        assertThat(jdbcPathPins).as("JDBC 경로의 캐리어 스레드 고정").isEmpty();
+    }
+
+    private boolean onJdbcPath(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(frame -> frame.getMethod().getType().getName())
+                .anyMatch(type -> JDBC_PATH_PACKAGES.stream().anyMatch(type::startsWith));
+    }
+
+    private String describe(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+                .limit(20)
+                .map(this::frame)
+                .collect(Collectors.joining("\n  at ", "pinned " + event.getDuration() + "\n  at ", ""));
+    }
+
+    private String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private Account account(Member member, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(new BigDecimal("100000.00"))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private TransferRequest request(String from, String to) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from);
+        request.setToAccountNumber(to);
+        request.setAmount(AMOUNT);
+        return request;
+    }
+}
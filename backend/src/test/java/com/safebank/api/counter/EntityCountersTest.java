@@ -0,0 +1,137 @@
+package com.safebank.api.counter;
+
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityCounters 테스트")
+class EntityCountersTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @InjectMocks
+    private EntityCounters entityCounters;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("시작 시 COUNT(*)로 초기값을 채움")
+    void seed_loadsCountsFromDatabase() {
+        // given
+        given(memberRepository.count()).willReturn(10L);
+        given(accountRepository.count()).willReturn(20L);
+        given(transactionRepository.count()).willReturn(5_000_000L);
+
+        // when
+        entityCounters.seed();
+
+        // then
+        assertThat(entityCounters.get(CountedEntity.MEMBER)).isEqualTo(10L);
+        assertThat(entityCounters.get(CountedEntity.ACCOUNT)).isEqualTo(20L);
+        assertThat(entityCounters.get(CountedEntity.TRANSACTION)).isEqualTo(5_000_000L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 증가시키면 커밋된 뒤에만 반영되고, 롤백되면 반영되지 않음")
+    void incrementAfterCommit_appliesOnlyOnCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, 3);
+        assertThat(entityCounters.get(CountedEntity.TRANSACTION)).isZero();
+
+        // when: 커밋
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // then
+        assertThat(entityCounters.get(CountedEntity.TRANSACTION)).isEqualTo(3L);
+
+        // when: 롤백 (afterCommit이 호출되지 않음)
+        TransactionSynchronizationManager.initSynchronization();
+        entityCounters.incrementAfterCommit(CountedEntity.TRANSACTION, 1);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // then
+        assertThat(entityCounters.get(CountedEntity.TRANSACTION)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서는 바로 증가")
+    void incrementAfterCommit_withoutTransaction_appliesImmediately() {
+        // when
+        entityCounters.incrementAfterCommit(CountedEntity.MEMBER, 1);
+
+        // then
+        assertThat(entityCounters.get(CountedEntity.MEMBER)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("재조정 시 카운터를 거치지 않은 변경(일괄 삭제 등)을 COUNT(*) 기준으로 맞춤")
+    void reconcile_correctsDrift() {
+        // given
+        entityCounters.incrementAfterCommit(CountedEntity.ACCOUNT, 100);
+        given(memberRepository.count()).willReturn(0L);
+        given(accountRepository.count()).willReturn(40L);
+        given(transactionRepository.count()).willReturn(0L);
+
+        // when
+        entityCounters.reconcile();
+
+        // then
+        assertThat(entityCounters.get(CountedEntity.ACCOUNT)).isEqualTo(40L);
+    }
+
+    @Test
+    @DisplayName("재조정은 거래 테이블과 보관 테이블 건수를 주 DB의 한 트랜잭션에서 셈")
+    void reconcile_countsInOnePrimaryTransaction() {
+        // given
+        given(transactionRepository.count()).willReturn(70L);
+        given(transactionRepository.countArchived()).willReturn(30L);
+
+        // when
+        entityCounters.reconcile();
+
+        // then
+        assertThat(entityCounters.get(CountedEntity.TRANSACTION)).isEqualTo(100L);
+        verify(readYourWrites).pinToPrimary();
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+}
@@ -0,0 +1,232 @@
+package com.safebank.api.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebank.api.config.IdempotencyProperties;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.idempotency.IdempotentResponse;
+import com.safebank.api.repository.IdempotencyRecordRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 복제본 라우팅 통합 테스트
+ * 인메모리 H2 두 개를 주 DB와 복제본으로 띄우고, 복제는 테스트가 복제본에 직접 하트비트를 써서 흉내 낸다
+ */
+@SpringBootTest(properties = {
+        // 설정이 다른 컨텍스트가 기본 테스트 DB 스키마를 다시 만들지 않도록 별도 인메모리 DB 사용
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "safebank.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "spring.datasource.hikari.maximum-pool-size=7",
+        // 스케줄러가 테스트 도중 지연을 다시 측정하지 않도록 주기를 길게 잡고 check()를 직접 호출
+        "safebank.datasource.heartbeat-interval=PT1H",
+        "safebank.datasource.max-lag=PT5S"
+})
+@ActiveProfiles("test")
+@DisplayName("복제본 라우팅 통합 테스트")
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routingprimary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routingreplica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String ACCOUNT_NUMBER = "3333000000000001";
+
+    // 복제본에는 스키마만 있고 키는 아직 복제되지 않은 상태
+    private static final String CREATE_IDEMPOTENCY_KEY = "CREATE TABLE IF NOT EXISTS idempotency_key (" +
+            "idempotency_key VARCHAR(100) PRIMARY KEY, request_hash VARCHAR(64) NOT NULL, response_body BLOB," +
+            " created_at TIMESTAMP, completed_at TIMESTAMP, transaction_id BIGINT, outcome_unknown BOOLEAN NOT NULL)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyProperties idempotencyProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node_marker (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node_marker");
+        jdbcTemplate.update("INSERT INTO node_marker (name) VALUES ('primary')");
+
+        executeOnReplica("CREATE TABLE IF NOT EXISTS node_marker (name VARCHAR(20))");
+        executeOnReplica("DELETE FROM node_marker");
+        executeOnReplica("INSERT INTO node_marker (name) VALUES ('replica')");
+        executeOnReplica(ReplicaLagMonitor.CREATE_TABLE);
+        executeOnReplica("DELETE FROM replica_heartbeat");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executeOnReplica("DELETE FROM replica_heartbeat");
+        replicaLagMonitor.check();
+        idempotencyRecordRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("복제본을 켜도 주 DB 풀에는 spring.datasource.hikari.* 설정이 적용됨")
+    void primaryPool_bindsHikariProperties() {
+        assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("지연이 허용치 이내인 복제본이 있으면 readOnly 트랜잭션은 복제본에서 읽음")
+    void readOnly_routesToReplica() throws SQLException {
+        // given
+        replicateHeartbeat(System.currentTimeMillis());
+        replicaLagMonitor.check();
+
+        // when, then
+        assertThat(readNode(true)).isEqualTo("replica");
+        assertThat(readNode(false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("하트비트가 복제되지 않은 복제본은 사용하지 않고 주 DB에서 읽음")
+    void readOnly_noHeartbeat_fallsBackToPrimary() {
+        // given
+        replicaLagMonitor.check();
+
+        // when, then
+        assertThat(readNode(true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치를 넘으면 주 DB에서 읽음")
+    void readOnly_lagging_fallsBackToPrimary() throws SQLException {
+        // given
+        replicateHeartbeat(System.currentTimeMillis() - 60_000);
+        replicaLagMonitor.check();
+
+        // when, then
+        assertThat(readNode(true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("방금 이체한 계좌의 조회는 복제본이 정상이어도 주 DB에서 읽음")
+    void readYourWrites_pinsRecentlyWrittenAccountToPrimary() throws SQLException {
+        // given
+        replicateHeartbeat(System.currentTimeMillis());
+        replicaLagMonitor.check();
+        readYourWrites.recordAfterCommit(ACCOUNT_NUMBER);
+
+        // when
+        String pinned;
+        try (ReadYourWrites.Pin pin = readYourWrites.pinIfRecentlyWritten(ACCOUNT_NUMBER)) {
+            pinned = readNode(true);
+        }
+        String other;
+        try (ReadYourWrites.Pin pin = readYourWrites.pinIfRecentlyWritten("3333999999999999")) {
+            other = readNode(true);
+        }
+
+        // then
+        assertThat(pinned).isEqualTo("primary");
+        assertThat(other).isEqualTo("replica");
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+
+    @Test
+    @DisplayName("ID 단건 조회 고정은 최근 쓰기와 관계없이 주 DB에서 읽음")
+    void pinToPrimary_readsFromPrimary() throws SQLException {
+        // given
+        replicateHeartbeat(System.currentTimeMillis());
+        replicaLagMonitor.check();
+
+        // when
+        String pinned;
+        try (ReadYourWrites.Pin pin = readYourWrites.pinToPrimary()) {
+            pinned = readNode(true);
+        }
+
+        // then
+        assertThat(pinned).isEqualTo("primary");
+        assertThat(readNode(true)).isEqualTo("replica");
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스에서 완료된 Idempotency-Key 재요청은 복제본이 정상이어도 주 DB에서 저장된 응답을 읽어 돌려줌")
+    void idempotentRetry_readsStoredResponseFromPrimary() throws SQLException {
+        // given
+        replicateHeartbeat(System.currentTimeMillis());
+        replicaLagMonitor.check();
+        executeOnReplica(CREATE_IDEMPOTENCY_KEY);
+
+        // 메모리 캐시를 공유하지 않는 두 인스턴스
+        IdempotencyService first = new IdempotencyService(idempotencyRecordRepository, idempotencyProperties, objectMapper, readYourWrites);
+        IdempotencyService second = new IdempotencyService(idempotencyRecordRepository, idempotencyProperties, objectMapper, readYourWrites);
+        AtomicInteger executions = new AtomicInteger();
+        IdempotentResponse original = first.execute("retry-key", "request", () -> "transfer-" + executions.incrementAndGet());
+
+        // when
+        IdempotentResponse retried = second.execute("retry-key", "request", () -> "transfer-" + executions.incrementAndGet());
+
+        // then
+        assertThat(retried.replayed()).isTrue();
+        assertThat(retried.body()).isEqualTo(original.body());
+        assertThat(executions).hasValue(1);
+        assertThat(readNode(true)).isEqualTo("replica");
+    }
+
+    private String readNode(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node_marker", String.class));
+    }
+
+    private void replicateHeartbeat(long beatAt) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(ReplicaLagMonitor.INSERT_BEAT)) {
+            insert.setLong(1, beatAt);
+            insert.executeUpdate();
+        }
+    }
+
+    private void executeOnReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.safebank.api.datasource;
+
+import com.safebank.api.config.ReplicaRoutingProperties.Policy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ReplicaSelector 테스트")
+class ReplicaSelectorTest {
+
+    @Test
+    @DisplayName("ROUND_ROBIN은 사용 가능한 복제본을 차례로 선택")
+    void roundRobin_rotatesAvailableReplicas() {
+        // given
+        ReplicaNode first = replica("replica-0", true);
+        ReplicaNode second = replica("replica-1", true);
+        ReplicaSelector selector = new ReplicaSelector(List.of(first, second), Policy.ROUND_ROBIN);
+
+        // when, then
+        assertThat(selector.select()).isSameAs(first);
+        assertThat(selector.select()).isSameAs(second);
+        assertThat(selector.select()).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("지연 초과나 측정 실패로 제외된 복제본은 건너뜀")
+    void roundRobin_skipsUnavailableReplicas() {
+        // given
+        ReplicaNode lagging = replica("replica-0", false);
+        ReplicaNode healthy = replica("replica-1", true);
+        ReplicaSelector selector = new ReplicaSelector(List.of(lagging, healthy), Policy.ROUND_ROBIN);
+
+        // when, then
+        assertThat(selector.select()).isSameAs(healthy);
+        assertThat(selector.select()).isSameAs(healthy);
+    }
+
+    @Test
+    @DisplayName("사용 가능한 복제본이 없으면 null (주 DB에서 읽음)")
+    void select_noneAvailable_returnsNull() {
+        // given
+        ReplicaNode unreachable = replica("replica-0", true);
+        unreachable.markUnreachable();
+
+        // when, then
+        assertThat(new ReplicaSelector(List.of(unreachable), Policy.ROUND_ROBIN).select()).isNull();
+        assertThat(new ReplicaSelector(List.of(unreachable), Policy.LEAST_LOADED).select()).isNull();
+    }
+
+    @Test
+    @DisplayName("LEAST_LOADED는 사용 가능한 복제본 중 첫 번째 최소 부하 복제본을 선택")
+    void leastLoaded_picksAvailableReplica() {
+        // given
+        ReplicaNode lagging = replica("replica-0", false);
+        ReplicaNode healthy = replica("replica-1", true);
+        ReplicaSelector selector = new ReplicaSelector(List.of(lagging, healthy), Policy.LEAST_LOADED);
+
+        // when, then
+        assertThat(selector.select()).isSameAs(healthy);
+    }
+
+    private static ReplicaNode replica(String name, boolean available) {
+        ReplicaNode replica = new ReplicaNode(name, mock(DataSource.class));
+        replica.updateLag(available ? 0 : 60_000, available);
+        return replica;
+    }
+}
@@ -0,0 +1,126 @@
+package com.safebank.api.directory;
+
+import com.safebank.api.config.AccountDirectoryProperties;
+import com.safebank.api.repository.AccountIdView;
+import com.safebank.api.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountDirectory 테스트")
+class AccountDirectoryTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AccountDirectory accountDirectory;
+
+    @BeforeEach
+    void setUp() {
+        accountDirectory = new AccountDirectory(accountRepository, new AccountDirectoryProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("시작 시 전체 계좌로 채움")
+    void warmUp_loadsAllAccounts() {
+        // given
+        Stream<AccountIdView> refs = Stream.of(ref(1L, "3333123456789012"), ref(2L, "3333234567890123"));
+        given(accountRepository.count()).willReturn(2L);
+        given(accountRepository.streamAccountRefs()).willReturn(refs);
+
+        // when
+        accountDirectory.warmUp();
+
+        // then
+        assertThat(accountDirectory.size()).isEqualTo(2);
+        assertThat(accountDirectory.find("3333123456789012")).hasValue(1L);
+        assertThat(accountDirectory.find("3333234567890123")).hasValue(2L);
+        assertThat(accountDirectory.find("3333999999999999")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("clear 후에는 모든 계좌번호가 디렉터리에 없음")
+    void clear_removesAll() {
+        // given
+        accountDirectory.put("3333123456789012", 1L);
+
+        // when
+        accountDirectory.clear();
+
+        // then
+        assertThat(accountDirectory.size()).isZero();
+        assertThat(accountDirectory.find("3333123456789012")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 추가하면 커밋된 뒤에만 반영되고, 롤백되면 반영되지 않음")
+    void putAfterCommit_appliesOnlyOnCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        accountDirectory.putAfterCommit("3333123456789012", 1L);
+        assertThat(accountDirectory.find("3333123456789012")).isEmpty();
+
+        // when: 커밋
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // then
+        assertThat(accountDirectory.find("3333123456789012")).hasValue(1L);
+
+        // when: 롤백 (afterCommit이 호출되지 않음)
+        TransactionSynchronizationManager.initSynchronization();
+        accountDirectory.putAfterCommit("3333234567890123", 2L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // then
+        assertThat(accountDirectory.find("3333234567890123")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("숫자가 아니거나 0으로 시작하거나 18자리를 넘는 계좌번호는 담지 않음 (항상 DB 조회)")
+    void put_ignoresUnsupportedAccountNumbers() {
+        // when
+        accountDirectory.put("3333-00000000001", 1L);
+        accountDirectory.put("0012", 2L);
+        accountDirectory.put("1234567890123456789", 3L);
+        accountDirectory.put("12", 4L);
+
+        // then
+        assertThat(accountDirectory.size()).isEqualTo(1);
+        assertThat(accountDirectory.find("3333-00000000001")).isEmpty();
+        assertThat(accountDirectory.find("0012")).isEmpty();
+        assertThat(accountDirectory.find("1234567890123456789")).isEmpty();
+        assertThat(accountDirectory.find("12")).isEqualTo(OptionalLong.of(4L));
+        assertThat(accountDirectory.find(null)).isEmpty();
+    }
+
+    private AccountIdView ref(Long id, String accountNumber) {
+        AccountIdView ref = mock(AccountIdView.class);
+        given(ref.getId()).willReturn(id);
+        given(ref.getAccountNumber()).willReturn(accountNumber);
+        return ref;
+    }
+}
@@ -0,0 +1,128 @@
+package com.safebank.api.directory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LongLongMap 테스트")
+class LongLongMapTest {
+
+    private static final long ACCOUNT_BASE = 3333_000000000000L;
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("추가/조회/갱신 - 없는 키는 NO_VALUE, 0 키와 0 값도 저장")
+    void putAndGet(boolean offHeap) {
+        // given
+        LongLongMap map = new LongLongMap(4, offHeap);
+
+        // when
+        map.put(0L, 0L);
+        map.put(ACCOUNT_BASE + 1, 10L);
+        map.put(ACCOUNT_BASE + 2, 20L);
+        map.put(ACCOUNT_BASE + 1, 11L);
+
+        // then
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get(0L)).isZero();
+        assertThat(map.get(ACCOUNT_BASE + 1)).isEqualTo(11L);
+        assertThat(map.get(ACCOUNT_BASE + 2)).isEqualTo(20L);
+        assertThat(map.get(ACCOUNT_BASE + 3)).isEqualTo(LongLongMap.NO_VALUE);
+        assertThat(map.get(-1L)).isEqualTo(LongLongMap.NO_VALUE);
+        assertThat(map.isOffHeap()).isEqualTo(offHeap);
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("적재율을 넘으면 두 배로 늘어나며 기존 항목을 유지하고, 슬롯당 16바이트만 사용")
+    void grow(boolean offHeap) {
+        // given
+        LongLongMap map = new LongLongMap(0, offHeap);
+        int count = 100_000;
+
+        // when
+        for (int i = 0; i < count; i++) {
+            map.put(ACCOUNT_BASE + i, i);
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(map.get(ACCOUNT_BASE + i)).isEqualTo(i);
+        }
+        // 131,072 슬롯의 적재 한도(98,304)를 넘어 262,144 슬롯 x 16바이트
+        assertThat(map.footprintBytes()).isEqualTo(262_144L * 16);
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("예상 항목 수로 만들면 그만큼 넣어도 늘어나지 않음")
+    void presized(boolean offHeap) {
+        // given
+        LongLongMap map = new LongLongMap(1_000, offHeap);
+        long footprint = map.footprintBytes();
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            map.put(ACCOUNT_BASE + i, i);
+        }
+
+        // then
+        assertThat(map.footprintBytes()).isEqualTo(footprint).isEqualTo(2_048L * 16);
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("추가하는 동안 락 없이 조회해도 잘못된 값을 보지 않음 (아직 안 보이는 키는 NO_VALUE)")
+    void concurrentReadsDuringPuts(boolean offHeap) throws Exception {
+        // given
+        LongLongMap map = new LongLongMap(0, offHeap);
+        int count = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < count; i++) {
+                    map.put(ACCOUNT_BASE + i, i);
+                }
+            });
+            Future<Long> reader = executor.submit(() -> {
+                long wrong = 0;
+                while (!writer.isDone()) {
+                    for (int i = 0; i < count; i += 97) {
+                        long value = map.get(ACCOUNT_BASE + i);
+                        if (value != LongLongMap.NO_VALUE && value != i) {
+                            wrong++;
+                        }
+                    }
+                }
+                return wrong;
+            });
+            writer.get();
+
+            // then
+            assertThat(reader.get()).isZero();
+            assertThat(map.size()).isEqualTo(count);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest(name = "offHeap={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("음수 키나 값은 저장할 수 없음")
+    void negative_throwsException(boolean offHeap) {
+        LongLongMap map = new LongLongMap(0, offHeap);
+
+        assertThatThrownBy(() -> map.put(-1L, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.put(1L, -1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
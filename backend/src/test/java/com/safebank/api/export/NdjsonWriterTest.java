@@ -0,0 +1,59 @@
+package com.safebank.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.safebank.api.dto.response.MemberResponse;
+import com.safebank.api.entity.MemberStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NdjsonWriter 단위 테스트")
+class NdjsonWriterTest {
+
+    private final NdjsonWriter ndjsonWriter = new NdjsonWriter(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    @Test
+    @DisplayName("행마다 JSON 한 줄씩 기록하고 기록한 행 수 반환")
+    void write_oneJsonPerLine() throws Exception {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 30, 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = ndjsonWriter.write(Stream.of(
+                new MemberResponse(1L, "홍길동", "gildong@example.com", "01012341234", MemberStatus.ACTIVE, createdAt),
+                new MemberResponse(2L, "영희", "younghee@example.com", "01056785678", MemberStatus.ACTIVE, createdAt)
+        ), out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2L);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"id\":1,\"name\":\"홍길동\",\"email\":\"gildong@example.com\",\"phoneNumber\":\"01012341234\",\"status\":\"ACTIVE\",\"createdAt\":\"2025-01-01T09:30:00\"}");
+        assertThat(lines[1]).startsWith("{\"id\":2,");
+    }
+
+    @Test
+    @DisplayName("행이 없으면 아무것도 기록하지 않음")
+    void write_empty() throws Exception {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = ndjsonWriter.write(Stream.empty(), out);
+
+        // then
+        assertThat(count).isZero();
+        assertThat(out.size()).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package com.safebank.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.safebank.api.dto.response.TransactionResponse;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionExportService 단위 테스트")
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionExportService transactionExportService;
+    private AtomicBoolean closed;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        transactionExportService = new TransactionExportService(transactionRepository, objectMapper);
+        closed = new AtomicBoolean();
+    }
+
+    private void givenHistory() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 30, 0);
+        given(transactionRepository.streamHistoryByAccountId(1L)).willReturn(Stream.of(
+                new TransactionResponse(10L, null, "1111111111111111", new BigDecimal("5000.00"), TransactionType.DEPOSIT, TransactionStatus.COMPLETED, "급여", createdAt),
+                new TransactionResponse(11L, "1111111111111111", "2222222222222222", new BigDecimal("1000.50"), TransactionType.TRANSFER, TransactionStatus.COMPLETED, "점심, \"김밥\"", createdAt.plusHours(1))
+        ).onClose(() -> closed.set(true)));
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기 - 헤더와 시간순 행, 쉼표/따옴표가 있는 필드는 따옴표로 감쌈")
+    void export_csv() throws Exception {
+        // given
+        givenHistory();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = transactionExportService.export(1L, ExportFormat.CSV, out);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                TransactionExportService.CSV_HEADER,
+                "10,,1111111111111111,5000.00,DEPOSIT,COMPLETED,급여,2025-01-01T09:30",
+                "11,1111111111111111,2222222222222222,1000.50,TRANSFER,COMPLETED,\"점심, \"\"김밥\"\"\",2025-01-01T10:30");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기 - 한 줄에 거래 하나씩 JSON")
+    void export_ndjson() throws Exception {
+        // given
+        givenHistory();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = transactionExportService.export(1L, ExportFormat.NDJSON, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":10,").contains("\"fromAccountNumber\":null", "\"createdAt\":\"2025-01-01T09:30:00\"");
+        assertThat(lines[1]).contains("\"description\":\"점심, \\\"김밥\\\"\"");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 형식")
+    void exportFormat_unsupported() throws Exception {
+        assertThat(ExportFormat.from("ndjson")).isEqualTo(ExportFormat.NDJSON);
+        assertThatThrownBy(() -> ExportFormat.from("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("지원하지 않는 내보내기 형식");
+    }
+}
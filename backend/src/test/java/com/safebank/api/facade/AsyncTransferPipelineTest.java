@@ -0,0 +1,149 @@
+package com.safebank.api.facade;
+
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AsyncTransferPipeline 통합 테스트")
+class AsyncTransferPipelineTest {
+
+    private static final int TRANSFER_COUNT = 200;
+
+    @Autowired private AsyncTransferPipeline asyncTransferPipeline;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private TransactionService transactionService;
+    @Autowired private TransferProperties transferProperties;
+
+    private Account fromAccount;
+    private Account toAccount;
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("비동기")
+                .email("async@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        fromAccount = accountRepository.save(account(member, "9300000000000001", new BigDecimal("100000.00")));
+        toAccount = accountRepository.save(account(member, "9300000000000002", BigDecimal.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("접수된 이체는 PENDING으로 응답하고, 작업자가 처리하여 COMPLETED 또는 잔액 부족 시 FAILED가 됨")
+    void submit_completesOrFails() throws Exception {
+        // given - 1,000원씩 200건이지만 잔액은 100건 분량만 있음
+        List<Long> ids = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            Transaction pending = asyncTransferPipeline.submit(request(new BigDecimal("1000.00")));
+            assertThat(pending.getStatus()).isEqualTo(TransactionStatus.PENDING);
+            ids.add(pending.getId());
+        }
+
+        // then
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (transactionRepository.findAllById(ids).stream().anyMatch(t -> t.getStatus() == TransactionStatus.PENDING)) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+
+        List<Transaction> transactions = transactionRepository.findAllById(ids);
+        assertThat(transactions).filteredOn(t -> t.getStatus() == TransactionStatus.COMPLETED).hasSize(100);
+        assertThat(transactions).filteredOn(t -> t.getStatus() == TransactionStatus.FAILED).hasSize(100);
+        assertThat(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("0");
+        assertThat(accountRepository.findById(toAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("100000.00");
+    }
+
+    @Test
+    @DisplayName("중단되어 남은 PENDING 거래는 복구 작업이 다시 처리하고, 만료된 거래는 FAILED로 바꿈")
+    void recoverStalled_reprocessesOrExpires() throws Exception {
+        // given - 접수만 되고 작업자에 넘겨지지 않은 거래 (비정상 종료된 인스턴스가 남긴 상태)
+        TransferProperties.Async async = transferProperties.getAsync();
+        Duration recoverAfter = async.getRecoverAfter();
+        Duration expireAfter = async.getExpireAfter();
+        Transaction stalled = transactionService.createPendingTransfer(request(new BigDecimal("1000.00")));
+
+        try {
+            // when
+            Thread.sleep(10);
+            async.setRecoverAfter(Duration.ZERO);
+            asyncTransferPipeline.recoverStalled();
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (transactionRepository.findById(stalled.getId()).orElseThrow().getStatus() == TransactionStatus.PENDING) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(50);
+            }
+
+            Transaction expired = transactionService.createPendingTransfer(request(new BigDecimal("1000.00")));
+            Thread.sleep(10);
+            async.setExpireAfter(Duration.ZERO);
+            asyncTransferPipeline.recoverStalled();
+
+            // then
+            assertThat(transactionRepository.findById(stalled.getId()).orElseThrow().getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+            assertThat(transactionRepository.findById(expired.getId()).orElseThrow().getStatus()).isEqualTo(TransactionStatus.FAILED);
+            assertThat(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("99000.00");
+        } finally {
+            async.setRecoverAfter(recoverAfter);
+            async.setExpireAfter(expireAfter);
+        }
+    }
+
+    private Account account(Member member, String accountNumber, BigDecimal balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(balance)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private TransferRequest request(BigDecimal amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(fromAccount.getAccountNumber());
+        request.setToAccountNumber(toAccount.getAccountNumber());
+        request.setAmount(amount);
+        return request;
+    }
+}
@@ -0,0 +1,254 @@
+package com.safebank.api.facade;
+
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.BatchTransferItemResponse;
+import com.safebank.api.dto.response.BatchTransferResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.ledger.ShardedLedgerEngine;
+import com.safebank.api.posting.PostingLedgerService;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferFacade 테스트")
+class TransferFacadeTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountService accountService;
+
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics();
+
+    @Mock
+    private ObjectProvider<ShardedLedgerEngine> ledgerEngine;
+
+    @Mock
+    private ObjectProvider<PostingLedgerService> postingLedger;
+
+    private TransferFacade transferFacade;
+
+    private TransferRequest transferRequest;
+
+    @BeforeEach
+    void setUp() {
+        // ObjectProvider 타입 인자가 둘이라 @InjectMocks 대신 직접 생성
+        transferFacade = new TransferFacade(transactionService, accountService, transferProperties, transferMetrics, ledgerEngine, postingLedger);
+
+        transferProperties.getRetry().setMaxAttempts(3);
+        transferProperties.getRetry().setInitialBackoffMs(1);
+        transferProperties.getRetry().setMaxBackoffMs(2);
+
+        transferRequest = new TransferRequest();
+        transferRequest.setFromAccountNumber("1111111111111111");
+        transferRequest.setToAccountNumber("2222222222222222");
+        transferRequest.setAmount(new BigDecimal("10000.00"));
+    }
+
+    @Test
+    @DisplayName("락 획득 실패 후 재시도하여 이체 성공")
+    void transfer_retryOnLockFailure() throws Exception {
+        // given
+        Transaction transaction = Transaction.builder().id(1L).build();
+        given(transactionService.transfer(transferRequest))
+                .willThrow(new CannotAcquireLockException("lock timeout"))
+                .willReturn(transaction);
+
+        // when
+        Transaction result = transferFacade.transfer(transferRequest);
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(transferMetrics.getPessimisticRetries()).isEqualTo(1);
+        assertThat(transferMetrics.getSucceeded()).isEqualTo(1);
+        verify(transactionService, times(2)).transfer(transferRequest);
+    }
+
+    @Test
+    @DisplayName("버전 충돌 후 재시도하여 이체 성공")
+    void transfer_retryOnOptimisticLockFailure() throws Exception {
+        // given
+        Transaction transaction = Transaction.builder().id(1L).build();
+        given(transactionService.transfer(transferRequest))
+                .willThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+                .willThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+                .willReturn(transaction);
+
+        // when
+        Transaction result = transferFacade.transfer(transferRequest);
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(transferMetrics.getOptimisticRetries()).isEqualTo(2);
+        assertThat(transferMetrics.getAborted()).isZero();
+        verify(transactionService, times(3)).transfer(transferRequest);
+    }
+
+    @Test
+    @DisplayName("재시도 한도 초과 시 락 예외 전파")
+    void transfer_giveUpAfterMaxAttempts() throws Exception {
+        // given
+        given(transactionService.transfer(transferRequest))
+                .willThrow(new CannotAcquireLockException("lock timeout"));
+
+        // when & then
+        assertThatThrownBy(() -> transferFacade.transfer(transferRequest))
+                .isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(transferMetrics.getAborted()).isEqualTo(1);
+        assertThat(transferMetrics.getAbortRate()).isEqualTo(1.0);
+        verify(transactionService, times(3)).transfer(transferRequest);
+    }
+
+    @Test
+    @DisplayName("비즈니스 예외는 재시도하지 않음")
+    void transfer_noRetryOnBusinessException() throws Exception {
+        // given
+        given(transactionService.transfer(transferRequest))
+                .willThrow(new InsufficientBalanceException("잔액이 부족합니다."));
+
+        // when & then
+        assertThatThrownBy(() -> transferFacade.transfer(transferRequest))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        verify(transactionService, times(1)).transfer(transferRequest);
+    }
+
+    @Test
+    @DisplayName("원장 엔진이 켜져 있으면 엔진으로 위임")
+    void transfer_delegatesToLedgerEngine() throws Exception {
+        // given
+        ShardedLedgerEngine engine = mock(ShardedLedgerEngine.class);
+        Transaction transaction = Transaction.builder().id(1L).build();
+        given(ledgerEngine.getIfAvailable()).willReturn(engine);
+        given(engine.transfer(transferRequest)).willReturn(transaction);
+
+        // when
+        Transaction result = transferFacade.transfer(transferRequest);
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(transactionService, never()).transfer(transferRequest);
+    }
+
+    @Test
+    @DisplayName("분개 원장 모드면 분개 원장으로 위임")
+    void transfer_delegatesToPostingLedger() throws Exception {
+        // given
+        PostingLedgerService posting = mock(PostingLedgerService.class);
+        Transaction transaction = Transaction.builder().id(1L).build();
+        given(postingLedger.getIfAvailable()).willReturn(posting);
+        given(posting.transfer(transferRequest)).willReturn(transaction);
+
+        // when
+        Transaction result = transferFacade.transfer(transferRequest);
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(transactionService, never()).transfer(transferRequest);
+    }
+
+    @Test
+    @DisplayName("일괄 이체 - 청크 단위로 나누어 처리하고 전체 순번으로 결과 반환")
+    void transferBatch_splitsIntoChunks() throws Exception {
+        // given
+        transferProperties.setBatchChunkSize(2);
+        List<TransferRequest> requests = List.of(transferRequest, transferRequest, transferRequest);
+        Map<String, Long> accountIds = Map.of("1111111111111111", 1L, "2222222222222222", 2L);
+
+        given(accountService.getAccountIdsByNumbers(any())).willReturn(accountIds);
+        given(transactionService.transferBatch(anyList(), anyMap()))
+                .willAnswer(invocation -> {
+                    List<TransferRequest> chunk = invocation.getArgument(0);
+                    return java.util.stream.IntStream.range(0, chunk.size())
+                            .mapToObj(i -> BatchTransferItemResponse.success(i, chunk.get(i), Transaction.builder().id((long) i).build()))
+                            .toList();
+                });
+
+        // when
+        BatchTransferResponse response = transferFacade.transferBatch(requests);
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BatchTransferItemResponse::getIndex).containsExactly(0, 1, 2);
+        verify(accountService, times(1)).getAccountIdsByNumbers(any());
+        verify(transactionService, times(2)).transferBatch(anyList(), anyMap());
+    }
+
+    @Test
+    @DisplayName("일괄 이체 - 락 획득 실패한 청크만 재시도")
+    void transferBatch_retryChunkOnLockFailure() throws Exception {
+        // given
+        List<TransferRequest> requests = List.of(transferRequest);
+        given(accountService.getAccountIdsByNumbers(any())).willReturn(Map.of());
+        given(transactionService.transferBatch(anyList(), anyMap()))
+                .willThrow(new CannotAcquireLockException("lock timeout"))
+                .willReturn(List.of(BatchTransferItemResponse.success(0, transferRequest, Transaction.builder().id(1L).build())));
+
+        // when
+        BatchTransferResponse response = transferFacade.transferBatch(requests);
+
+        // then
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        verify(transactionService, times(2)).transferBatch(anyList(), anyMap());
+    }
+
+    @Test
+    @DisplayName("일괄 이체 - 재시도 한도를 넘은 청크는 건별 실패로 기록하고 다음 청크를 계속 처리")
+    void transferBatch_failedChunkReportedPerItem() throws Exception {
+        // given
+        transferProperties.setBatchChunkSize(2);
+        List<TransferRequest> requests = List.of(transferRequest, transferRequest, transferRequest);
+        CannotAcquireLockException lockTimeout = new CannotAcquireLockException("lock timeout");
+
+        given(accountService.getAccountIdsByNumbers(any())).willReturn(Map.of());
+        given(transactionService.transferBatch(anyList(), anyMap()))
+                .willThrow(lockTimeout, lockTimeout, lockTimeout)
+                .willReturn(List.of(BatchTransferItemResponse.success(0, transferRequest, Transaction.builder().id(1L).build())));
+
+        // when
+        BatchTransferResponse response = transferFacade.transferBatch(requests);
+
+        // then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchTransferItemResponse::getIndex).containsExactly(0, 1, 2);
+        assertThat(response.getResults()).extracting(BatchTransferItemResponse::getErrorCode)
+                .containsExactly("CannotAcquireLockException", "CannotAcquireLockException", null);
+        verify(transactionService, times(4)).transferBatch(anyList(), anyMap());
+    }
+}
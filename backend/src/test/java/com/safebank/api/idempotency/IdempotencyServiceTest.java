@@ -0,0 +1,407 @@
+package com.safebank.api.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safebank.api.config.IdempotencyProperties;
+import com.safebank.api.config.ReplicaRoutingProperties;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.IdempotencyRecord;
+import com.safebank.api.exception.IdempotencyConflictException;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.exception.TransferRejectedException;
+import com.safebank.api.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService 테스트")
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyService idempotencyService;
+
+    private TransferRequest transferRequest;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setCacheMaxEntries(100);
+        properties.setInFlightTimeoutMs(5000);
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, properties, objectMapper,
+                new ReadYourWrites(new ReplicaRoutingProperties()));
+
+        transferRequest = new TransferRequest();
+        transferRequest.setFromAccountNumber("1111111111111111");
+        transferRequest.setToAccountNumber("2222222222222222");
+        transferRequest.setAmount(new BigDecimal("10000.00"));
+    }
+
+    @Test
+    @DisplayName("최초 요청은 실행 후 응답을 저장하고, 재요청은 DB 조회 없이 같은 바이트를 돌려줌")
+    void execute_replaysFromCache() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(IdempotencyRecord.builder().idempotencyKey("key-1").requestHash("h").build()));
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        IdempotentResponse first = idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", executions.incrementAndGet()));
+        IdempotentResponse second = idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", executions.incrementAndGet()));
+
+        // then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.body()).isEqualTo(first.body());
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository, times(1)).complete(eq("key-1"), eq(first.body()), any(LocalDateTime.class));
+        verify(idempotencyRecordRepository, times(1)).findById("key-1");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 완료한 키는 DB에 저장된 응답을 그대로 돌려줌")
+    void execute_replaysFromDatabase() throws Exception {
+        // given
+        byte[] stored = "{\"success\":true}".getBytes();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey("key-1")
+                .requestHash(sha256(objectMapper.writeValueAsBytes(transferRequest)))
+                .responseBody(stored)
+                .createdAt(LocalDateTime.now())
+                .build();
+        given(idempotencyRecordRepository.findById("key-1")).willReturn(Optional.of(record));
+
+        // when
+        IdempotentResponse response = idempotencyService.execute("key-1", transferRequest, () -> {
+            throw new AssertionError("이미 완료된 키는 다시 실행하지 않아야 합니다");
+        });
+
+        // then
+        assertThat(response.replayed()).isTrue();
+        assertThat(response.body()).isEqualTo(stored);
+    }
+
+    @Test
+    @DisplayName("같은 키를 다른 요청 본문에 재사용하면 예외 발생")
+    void execute_keyReusedWithDifferentRequest() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(IdempotencyRecord.builder().idempotencyKey("key-1").requestHash("h").build()));
+        idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", 1));
+
+        TransferRequest otherRequest = new TransferRequest();
+        otherRequest.setFromAccountNumber("1111111111111111");
+        otherRequest.setToAccountNumber("2222222222222222");
+        otherRequest.setAmount(new BigDecimal("99999.00"));
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", otherRequest, () -> Map.of("id", 2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("다른 요청에 이미 사용되었습니다");
+    }
+
+    @Test
+    @DisplayName("처리 중인 같은 키의 요청은 최초 요청 결과를 기다렸다가 같은 응답을 받음")
+    void execute_inFlightDuplicatesWaitForFirst() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(IdempotencyRecord.builder().idempotencyKey("key-1").requestHash("h").build()));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<IdempotentResponse> first = executor.submit(() -> idempotencyService.execute("key-1", transferRequest, () -> {
+                started.countDown();
+                await(release);
+                return Map.of("id", executions.incrementAndGet());
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            Future<IdempotentResponse> second = executor.submit(() -> idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", executions.incrementAndGet())));
+            Future<IdempotentResponse> third = executor.submit(() -> idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", executions.incrementAndGet())));
+
+            // when
+            release.countDown();
+
+            // then
+            byte[] body = first.get(5, TimeUnit.SECONDS).body();
+            assertThat(second.get(5, TimeUnit.SECONDS).body()).isEqualTo(body);
+            assertThat(third.get(5, TimeUnit.SECONDS).body()).isEqualTo(body);
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("처리에 실패하면 선점을 풀어 같은 키로 다시 시도할 수 있음")
+    void execute_failureReleasesKey() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1")).willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> {
+            throw new InsufficientBalanceException("잔액이 부족합니다.");
+        })).isInstanceOf(InsufficientBalanceException.class);
+
+        verify(idempotencyRecordRepository, times(1)).deleteById("key-1");
+        verify(idempotencyRecordRepository, never()).markOutcomeUnknown(any());
+        verify(idempotencyRecordRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("원장 엔진이 반영 전에 거절한 이체는 선점을 풀어 같은 키로 다시 시도할 수 있음")
+    void execute_rejectedTransferReleasesKey() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1")).willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> {
+            throw new TransferRejectedException("이체 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        })).isInstanceOf(TransferRejectedException.class);
+
+        verify(idempotencyRecordRepository, times(1)).deleteById("key-1");
+        verify(idempotencyRecordRepository, never()).markOutcomeUnknown(any());
+    }
+
+    @Test
+    @DisplayName("락 충돌 재시도 한도를 넘긴 이체는 롤백되었으므로 선점을 풀어 같은 키로 다시 시도할 수 있음")
+    void execute_exhaustedLockRetriesReleaseKey() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1")).willReturn(Optional.empty());
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> {
+            throw new CannotAcquireLockException("lock timeout");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        verify(idempotencyRecordRepository, times(1)).deleteById("key-1");
+        verify(idempotencyRecordRepository, never()).markOutcomeUnknown(any());
+    }
+
+    @Test
+    @DisplayName("반영 여부를 알 수 없는 실패는 키를 남기고, 같은 키의 재요청은 다시 실행하지 않음")
+    void execute_ambiguousFailureKeepsKey() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(IdempotencyRecord.builder()
+                        .idempotencyKey("key-1")
+                        .requestHash("h")
+                        .outcomeUnknown(true)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+        given(idempotencyRecordRepository.markOutcomeUnknown("key-1")).willReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("이체 처리 결과 대기 시간이 초과되었습니다.");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        verify(idempotencyRecordRepository, never()).deleteById(any());
+        verify(idempotencyRecordRepository, times(1)).markOutcomeUnknown("key-1");
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", executions.incrementAndGet())))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("처리 여부를 확인할 수 없습니다");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이체는 커밋되고 응답 저장 전에 중단된 키는 기록된 거래 ID로 응답을 복구")
+    void execute_recoversLinkedKeyWithoutResponse() throws Exception {
+        // given
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey("key-1")
+                .requestHash(sha256(objectMapper.writeValueAsBytes(transferRequest)))
+                .transactionId(42L)
+                .createdAt(LocalDateTime.now())
+                .build();
+        given(idempotencyRecordRepository.findById("key-1")).willReturn(Optional.of(record));
+
+        // when
+        IdempotentResponse response = idempotencyService.execute("key-1", transferRequest,
+                () -> {
+                    throw new AssertionError("거래 ID가 기록된 키는 다시 실행하지 않아야 합니다");
+                },
+                transactionId -> Map.of("id", transactionId));
+
+        // then
+        assertThat(response.replayed()).isTrue();
+        assertThat(response.body()).isEqualTo(objectMapper.writeValueAsBytes(Map.of("id", 42L)));
+        verify(idempotencyRecordRepository, times(1)).complete(eq("key-1"), eq(response.body()), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스에서 처리 중인 키는 충돌 예외 발생")
+    void execute_conflictWhenReservedElsewhere() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(IdempotencyRecord.builder().idempotencyKey("key-1").requestHash("h").createdAt(LocalDateTime.now()).build()));
+        given(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .willThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", 1)))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("거래 ID 없이 선점 유지 시간이 지난 키는 중단된 요청으로 보고 지운 뒤 다시 실행")
+    void execute_rerunsAbandonedReservationAfterLease() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.of(IdempotencyRecord.builder()
+                        .idempotencyKey("key-1")
+                        .requestHash(sha256(objectMapper.writeValueAsBytes(transferRequest)))
+                        .createdAt(LocalDateTime.now().minusMinutes(10))
+                        .build()));
+        given(idempotencyRecordRepository.deleteAbandoned(eq("key-1"), any(LocalDateTime.class))).willReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        IdempotentResponse response = idempotencyService.execute("key-1", transferRequest, () -> Map.of("id", executions.incrementAndGet()));
+
+        // then
+        assertThat(response.replayed()).isFalse();
+        assertThat(executions.get()).isEqualTo(1);
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("선점 유지 시간이 지났어도 그 사이 거래 ID가 기록되어 지우지 못한 키는 다시 실행하지 않음")
+    void execute_keepsReservationLinkedAfterLease() throws Exception {
+        // given
+        given(idempotencyRecordRepository.findById("key-1"))
+                .willReturn(Optional.of(IdempotencyRecord.builder()
+                        .idempotencyKey("key-1")
+                        .requestHash("h")
+                        .createdAt(LocalDateTime.now().minusMinutes(10))
+                        .build()));
+        given(idempotencyRecordRepository.deleteAbandoned(eq("key-1"), any(LocalDateTime.class))).willReturn(0);
+
+        // when & then
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", transferRequest, () -> {
+            throw new AssertionError("지우지 못한 키는 다시 실행하지 않아야 합니다");
+        })).isInstanceOf(IdempotencyConflictException.class);
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("키 형식 검증")
+    void execute_invalidKey() throws Exception {
+        assertThatThrownBy(() -> idempotencyService.execute(" ", transferRequest, () -> Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> idempotencyService.execute("k".repeat(101), transferRequest, () -> Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("캐시는 최대 크기와 TTL을 넘는 항목을 제거")
+    void cache_evictsBySizeAndTtl() throws Exception {
+        // given
+        IdempotencyCache bySize = new IdempotencyCache(2, Duration.ofHours(1));
+        IdempotencyCache byTtl = new IdempotencyCache(10, Duration.ofMillis(50));
+        StoredResponse response = new StoredResponse("h", new byte[]{1}, LocalDateTime.now());
+
+        // when
+        bySize.put("a", response);
+        bySize.put("b", response);
+        bySize.put("c", response);
+        byTtl.put("a", response);
+        Thread.sleep(100);
+
+        // then
+        assertThat(bySize.get("a")).isNull();
+        assertThat(bySize.get("c")).isSameAs(response);
+        assertThat(bySize.size()).isEqualTo(2);
+        assertThat(byTtl.get("a")).isNull();
+        assertThat(byTtl.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("캐시 항목은 캐시에 넣은 시각이 아니라 키를 선점한 시각부터 TTL이 지나면 만료")
+    void cache_expiresFromCreatedAt() {
+        // given
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofHours(1));
+
+        // when
+        cache.put("old", new StoredResponse("h", new byte[]{1}, LocalDateTime.now().minusMinutes(61)));
+        cache.put("recent", new StoredResponse("h", new byte[]{2}, LocalDateTime.now().minusMinutes(30)));
+
+        // then
+        assertThat(cache.get("old")).isNull();
+        assertThat(cache.get("recent")).isNotNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("정리 작업은 보관 기간 이전에 만들어진 키만 삭제")
+    void purgeExpired_deletesKeysOlderThanTtl() {
+        // given
+        given(idempotencyRecordRepository.deleteCreatedBefore(any())).willReturn(3);
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+        // when
+        idempotencyService.purgeExpired();
+
+        // then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(idempotencyRecordRepository).deleteCreatedBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isBetween(before, LocalDateTime.now().minusHours(24));
+    }
+
+    private String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
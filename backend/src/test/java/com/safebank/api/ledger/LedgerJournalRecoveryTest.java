@@ -0,0 +1,411 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.config.LedgerProperties;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.LedgerCheckpoint;
+import com.safebank.api.entity.LedgerWriterLease;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.LedgerCheckpointRepository;
+import com.safebank.api.repository.LedgerWriterLeaseRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.BalanceAggregateService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 원장 저널 모드 중단/재시작 통합 테스트
+ * 엔진을 직접 만들어 시작/종료하므로 컨텍스트에서는 원장 엔진을 켜지 않는다
+ */
+@SpringBootTest(properties = {
+        // 설정이 다른 컨텍스트가 기본 테스트 DB 스키마를 다시 만들지 않도록 별도 인메모리 DB 사용
+        "spring.datasource.url=jdbc:h2:mem:ledgerjournaltest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@DisplayName("원장 저널 재시작 통합 테스트")
+class LedgerJournalRecoveryTest {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired private AccountService accountService;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private LedgerCheckpointRepository checkpointRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityCounters entityCounters;
+    @Autowired private BalanceAggregateService balanceAggregateService;
+    @Autowired private ReadYourWrites readYourWrites;
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private LedgerWriterLeaseRepository writerLeaseRepository;
+
+    @TempDir
+    Path directory;
+
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("저널")
+                .email("journal@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        from = accountRepository.save(account(member, "9600000000000001"));
+        to = accountRepository.save(account(member, "9600000000000002"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAllInBatch();
+        writerLeaseRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("fsync 후 응답한 이체를 종료 시 응답한 거래 ID와 생성 시각 그대로 DB에 반영하고 반영 위치를 기록")
+    void transfer_acknowledgedAfterJournalAndFlushedAsync() throws Exception {
+        // given
+        ShardedLedgerEngine engine = engine();
+        engine.start();
+
+        // when
+        Transaction result = null;
+        for (int i = 0; i < 10; i++) {
+            result = engine.transfer(request("10.00"));
+        }
+        engine.stop();
+
+        // then
+        Transaction saved = transactionRepository.findById(result.getId()).orElseThrow();
+        assertThat(saved.getCreatedAt()).isEqualTo(result.getCreatedAt());
+        assertThat(saved.getAmount()).isEqualByComparingTo("10.00");
+        assertThat(result.getFromAccount().getBalance()).isEqualByComparingTo("900.00");
+        assertThat(transactionRepository.count()).isEqualTo(10);
+        assertThat(balanceOf(from)).isEqualByComparingTo("900.00");
+        assertThat(balanceOf(to)).isEqualByComparingTo("1100.00");
+        assertThat(appliedSeq()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("응답 후 DB 반영 전에 중단되면 재시작 시 저널에서 한 번만 다시 반영")
+    void restart_replaysUnappliedEntriesExactlyOnce() throws Exception {
+        // given
+        // 저널 기록까지만 하고 DB 반영 전에 프로세스가 중단된 상태 (플러셔가 아무것도 하지 않음)
+        LedgerJournal crashed = new LedgerJournal(mock(ShardedLedgerEngine.class), mock(LedgerFlusher.class),
+                new TransactionIdAllocator(entityManagerFactory), journalProperties());
+        crashed.recover(0);
+        crashed.start();
+        Transaction acknowledged = null;
+        for (int i = 0; i < 5; i++) {
+            LedgerTransfer transfer = new LedgerTransfer(request("30.00"), from.getId(), to.getId(), AccountStatus.ACTIVE, AccountStatus.ACTIVE);
+            crashed.enqueue(transfer);
+            acknowledged = transfer.getResult().get(5, TimeUnit.SECONDS);
+        }
+        crashed.stop();
+        assertThat(transactionRepository.count()).isZero();
+
+        // when
+        ShardedLedgerEngine restarted = engine();
+        restarted.start();
+        Transaction afterRestart = restarted.transfer(request("50.00"));
+        restarted.stop();
+
+        ShardedLedgerEngine restartedAgain = engine();
+        restartedAgain.start();
+        restartedAgain.stop();
+
+        // then
+        assertThat(afterRestart.getFromAccount().getBalance()).isEqualByComparingTo("800.00");
+        assertThat(transactionRepository.count()).isEqualTo(6);
+        assertThat(transactionRepository.findById(acknowledged.getId()).orElseThrow().getCreatedAt()).isEqualTo(acknowledged.getCreatedAt());
+        assertThat(balanceOf(from)).isEqualByComparingTo("800.00");
+        assertThat(balanceOf(to)).isEqualByComparingTo("1200.00");
+        assertThat(appliedSeq()).isEqualTo(6);
+        try (Stream<Path> segments = Files.list(directory)) {
+            // 반영이 끝난 세그먼트는 삭제되고 마지막 기동 때 연 빈 세그먼트만 남는다
+            assertThat(segments.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("반영되지 않는 저널 항목은 건너뛰지 않고 그 앞까지만 반영한 뒤 기동을 중단하며, 남은 항목은 저널에 그대로 둠")
+    void restart_haltsAtPoisonEntryWithoutSkipping() throws Exception {
+        // given
+        // 두 번째 이체는 없는 계좌로 기록되어 DB에 반영할 수 없는 상태
+        LedgerJournal crashed = new LedgerJournal(mock(ShardedLedgerEngine.class), mock(LedgerFlusher.class),
+                new TransactionIdAllocator(entityManagerFactory), journalProperties());
+        crashed.recover(0);
+        crashed.start();
+        for (int i = 0; i < 3; i++) {
+            Long toAccountId = (i == 1) ? Long.MAX_VALUE : to.getId();
+            LedgerTransfer transfer = new LedgerTransfer(request("10.00"), from.getId(), toAccountId, AccountStatus.ACTIVE, AccountStatus.ACTIVE);
+            crashed.enqueue(transfer);
+            transfer.getResult().get(5, TimeUnit.SECONDS);
+        }
+        crashed.stop();
+
+        // when & then
+        ShardedLedgerEngine restarted = engine();
+        assertThatThrownBy(restarted::start)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("순번: 2");
+
+        // 응답한 이체는 되돌리거나 버리지 않으므로, 막힌 항목부터는 반영 위치를 넘기지 않고 저널에 남긴다
+        assertThat(transactionRepository.count()).isEqualTo(1);
+        assertThat(balanceOf(from)).isEqualByComparingTo("990.00");
+        assertThat(balanceOf(to)).isEqualByComparingTo("1010.00");
+        assertThat(appliedSeq()).isEqualTo(1);
+
+        LedgerJournal reopened = new LedgerJournal(mock(ShardedLedgerEngine.class), mock(LedgerFlusher.class),
+                new TransactionIdAllocator(entityManagerFactory), journalProperties());
+        assertThat(reopened.recover(appliedSeq())).extracting(LedgerTransfer::getJournalSeq).containsExactly(2L, 3L);
+        reopened.closeSegments();
+
+        // 실패한 기동은 쓰기 임대를 반납하므로 원인을 고친 뒤 다시 기동할 수 있다
+        assertThat(writerLeaseRepository.findById(LedgerWriterLease.ENGINE_ID).orElseThrow().getExpiresAt())
+                .isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("일시적인 DB 오류는 나누거나 멈추지 않고 반영될 때까지 재시도")
+    void flush_retriesTransientFailureWithoutIsolating() throws Exception {
+        // given
+        // 플러셔 트랜잭션 시작이 세 번 연속 실패 (데이터 오류의 재시도 한도와 같은 횟수)
+        AtomicInteger failuresLeft = new AtomicInteger();
+        ShardedLedgerEngine engine = engine(new FlakyTransactionManager(transactionManager, failuresLeft));
+        engine.start();
+        failuresLeft.set(3);
+
+        // when
+        Transaction acknowledged = engine.transfer(request("10.00"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (transactionRepository.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        engine.stop();
+
+        // then
+        assertThat(failuresLeft.get()).isLessThanOrEqualTo(0);
+        assertThat(transactionRepository.findById(acknowledged.getId())).isPresent();
+        assertThat(balanceOf(from)).isEqualByComparingTo("990.00");
+        assertThat(balanceOf(to)).isEqualByComparingTo("1010.00");
+        assertThat(appliedSeq()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("응답했지만 아직 DB에 반영하지 않은 이체도 응답한 상태로 조회되고, 반영된 뒤에는 DB에서 조회")
+    void findUnflushed_servesAcknowledgedTransferUntilFlushed() throws Exception {
+        // given
+        // 플러셔 트랜잭션 시작을 막아 응답 직후 DB에 거래가 없는 상태를 만든다
+        AtomicInteger failuresLeft = new AtomicInteger();
+        ShardedLedgerEngine engine = engine(new FlakyTransactionManager(transactionManager, failuresLeft));
+        engine.start();
+        failuresLeft.set(Integer.MAX_VALUE);
+
+        // when
+        Transaction acknowledged = engine.transfer(request("10.00"));
+        Transaction unflushed = engine.findUnflushed(acknowledged.getId()).orElseThrow();
+
+        // then
+        assertThat(transactionRepository.findById(acknowledged.getId())).isEmpty();
+        assertThat(unflushed.getId()).isEqualTo(acknowledged.getId());
+        assertThat(unflushed.getAmount()).isEqualByComparingTo("10.00");
+        assertThat(unflushed.getCreatedAt()).isEqualTo(acknowledged.getCreatedAt());
+
+        // DB가 돌아오면 반영된 뒤 엔진에서는 빠진다
+        failuresLeft.set(0);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (transactionRepository.count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        engine.stop();
+
+        assertThat(transactionRepository.findById(acknowledged.getId())).isPresent();
+        assertThat(engine.findUnflushed(acknowledged.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("종료 시 새 이체는 거절하고, 처리 중이던 이체가 샤드 간 입금까지 끝난 뒤 멈춰 응답한 이체를 모두 반영")
+    void stop_drainsInFlightTransfersBeforeStoppingShards() throws Exception {
+        // given
+        // 두 계좌는 서로 다른 샤드에 있어 입금이 다른 샤드로 넘어간다
+        ShardedLedgerEngine engine = engine();
+        engine.start();
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch started = new CountDownLatch(50);
+        AtomicInteger acknowledged = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> rejections = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                while (true) {
+                    try {
+                        engine.transfer(request("1.00"));
+                        acknowledged.incrementAndGet();
+                        started.countDown();
+                    } catch (Throwable t) {
+                        rejections.add(t);
+                        return;
+                    }
+                }
+            });
+        }
+
+        // when
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        engine.stop();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(rejections).hasSize(threads)
+                .allSatisfy(rejection -> assertThat(rejection).isInstanceOf(IllegalStateException.class));
+        assertThatThrownBy(() -> engine.transfer(request("1.00")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("종료 중");
+        assertThat(transactionRepository.count()).isEqualTo(acknowledged.get());
+        assertThat(balanceOf(from)).isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.valueOf(acknowledged.get())));
+        assertThat(balanceOf(to)).isEqualByComparingTo(INITIAL_BALANCE.add(BigDecimal.valueOf(acknowledged.get())));
+        assertThat(appliedSeq()).isEqualTo(acknowledged.get());
+    }
+
+    @Test
+    @DisplayName("다른 엔진이 쓰기 임대를 가지고 있으면 시작에 실패하고, 임대를 반납한 뒤에는 시작할 수 있음")
+    void start_failsWhileAnotherEngineHoldsWriterLease() throws Exception {
+        // given
+        ShardedLedgerEngine first = engine();
+        first.start();
+
+        // when & then
+        try {
+            assertThatThrownBy(() -> engine().start())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("다른 인스턴스가 원장 엔진을 사용 중");
+        } finally {
+            first.stop();
+        }
+
+        ShardedLedgerEngine next = engine();
+        next.start();
+        next.stop();
+    }
+
+    private ShardedLedgerEngine engine() {
+        return engine(transactionManager);
+    }
+
+    private ShardedLedgerEngine engine(PlatformTransactionManager transactionManager) {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setShards(2);
+        properties.setJournal(journalProperties());
+
+        return new ShardedLedgerEngine(properties, accountService, accountRepository, transactionRepository,
+                transactionManager, entityCounters, balanceAggregateService, readYourWrites, checkpointRepository,
+                idempotencyService, entityManagerFactory, writerLeaseRepository);
+    }
+
+    private LedgerProperties.Journal journalProperties() {
+        LedgerProperties.Journal properties = new LedgerProperties.Journal();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofMegabytes(1));
+        return properties;
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+    }
+
+    private long appliedSeq() {
+        return checkpointRepository.findAppliedSeqById(LedgerCheckpoint.JOURNAL_ID).orElseThrow();
+    }
+
+    private TransferRequest request(String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from.getAccountNumber());
+        request.setToAccountNumber(to.getAccountNumber());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static Account account(Member member, String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    /**
+     * failuresLeft가 남아 있는 동안 트랜잭션 시작을 DB 접속 실패로 거절
+     */
+    private record FlakyTransactionManager(PlatformTransactionManager delegate, AtomicInteger failuresLeft) implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new CannotCreateTransactionException("DB 접속 실패");
+            }
+            return delegate.getTransaction(definition);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            delegate.commit(status);
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            delegate.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.config.LedgerProperties;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerJournal 테스트")
+class LedgerJournalTest {
+
+    @Mock private ShardedLedgerEngine engine;
+    @Mock private LedgerFlusher flusher;
+    @Mock private TransactionIdAllocator idAllocator;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong lastId = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        given(idAllocator.next(anyInt())).willAnswer(invocation -> LongStream.rangeClosed(1, invocation.<Integer>getArgument(0))
+                .mapToObj(i -> lastId.incrementAndGet())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("fsync 후 미리 할당한 거래 ID로 응답하고, 재시작 시 반영 위치 이후 항목만 같은 ID와 처리 시각으로 복구")
+    void recover_returnsEntriesAfterAppliedSeq() throws Exception {
+        // given
+        LedgerJournal journal = new LedgerJournal(engine, flusher, idAllocator, properties(DataSize.ofMegabytes(1)));
+        journal.recover(0);
+        journal.start();
+
+        List<LedgerTransfer> transfers = append(journal, 5);
+        List<Transaction> results = new ArrayList<>();
+        for (LedgerTransfer transfer : transfers) {
+            Transaction result = transfer.getResult().get(5, TimeUnit.SECONDS);
+            assertThat(result.getId()).isEqualTo(transfer.getTransactionId()).isNotNull();
+            assertThat(result.getCreatedAt()).isEqualTo(transfer.getProcessedAt()).isNotNull();
+            assertThat(result.getToAccount().getBalance()).isEqualByComparingTo("10.00");
+            results.add(result);
+        }
+        journal.stop();
+
+        // when
+        LedgerJournal restarted = new LedgerJournal(engine, flusher, idAllocator, properties(DataSize.ofMegabytes(1)));
+        List<LedgerTransfer> recovered = restarted.recover(2);
+
+        // then
+        verify(flusher, times(5)).enqueue(any());
+        assertThat(recovered).extracting(LedgerTransfer::getJournalSeq).containsExactly(3L, 4L, 5L);
+
+        LedgerTransfer first = recovered.get(0);
+        assertThat(first.getFromAccountId()).isEqualTo(3L);
+        assertThat(first.getToAccountId()).isEqualTo(1003L);
+        assertThat(first.getFromStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(first.getRequest().getFromAccountNumber()).isEqualTo("7000000000000003");
+        assertThat(first.getRequest().getAmount()).isEqualByComparingTo("10.00");
+        assertThat(first.getRequest().getDescription()).isEqualTo("저널 3");
+        assertThat(first.getTransactionId()).isEqualTo(results.get(2).getId());
+        assertThat(first.getProcessedAt()).isEqualTo(results.get(2).getCreatedAt());
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("기록 도중 중단되어 손상된 마지막 항목은 버리고, 그 순번부터 새 세그먼트에 기록")
+    void recover_discardsTornTail() throws Exception {
+        // given
+        LedgerJournal journal = new LedgerJournal(engine, flusher, idAllocator, properties(DataSize.ofMegabytes(1)));
+        journal.recover(0);
+        journal.start();
+        awaitAll(append(journal, 3));
+        journal.stop();
+
+        Path segment = segments().get(0);
+        corruptLastEntry(segment, LedgerJournal.encode(transfer(3)).length);
+
+        // when
+        LedgerJournal restarted = new LedgerJournal(engine, flusher, idAllocator, properties(DataSize.ofMegabytes(1)));
+        List<LedgerTransfer> recovered = restarted.recover(0);
+        restarted.start();
+        List<LedgerTransfer> next = append(restarted, 1);
+        awaitAll(next);
+        restarted.stop();
+
+        // then
+        assertThat(recovered).extracting(LedgerTransfer::getJournalSeq).containsExactly(1L, 2L);
+        assertThat(next.get(0).getJournalSeq()).isEqualTo(3L);
+        assertThat(segments()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 파일로 넘어가고, DB 반영이 끝난 세그먼트만 삭제")
+    void release_deletesAppliedSegments() throws Exception {
+        // given
+        LedgerJournal journal = new LedgerJournal(engine, flusher, idAllocator, properties(DataSize.ofBytes(256)));
+        journal.recover(0);
+        journal.start();
+        List<LedgerTransfer> transfers = append(journal, 10);
+        awaitAll(transfers);
+        int segmentCount = segments().size();
+
+        // when
+        journal.release(transfers.get(4).getJournalSeq());
+
+        // then
+        assertThat(segmentCount).isGreaterThan(2);
+        assertThat(segments()).hasSizeLessThan(segmentCount);
+        journal.stop();
+
+        LedgerJournal restarted = new LedgerJournal(engine, flusher, idAllocator, properties(DataSize.ofBytes(256)));
+        assertThat(restarted.recover(5)).extracting(LedgerTransfer::getJournalSeq).containsExactly(6L, 7L, 8L, 9L, 10L);
+        restarted.stop();
+    }
+
+    private List<LedgerTransfer> append(LedgerJournal journal, int count) {
+        List<LedgerTransfer> transfers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LedgerTransfer transfer = transfer(i + 1);
+            transfers.add(transfer);
+            journal.enqueue(transfer);
+        }
+        return transfers;
+    }
+
+    private static LedgerTransfer transfer(long id) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(String.format("7000%012d", id));
+        request.setToAccountNumber(String.format("7100%012d", id));
+        request.setAmount(new BigDecimal("10.00"));
+        request.setDescription("저널 " + id);
+
+        LedgerTransfer transfer = new LedgerTransfer(request, id, 1000 + id, AccountStatus.ACTIVE, AccountStatus.ACTIVE);
+        transfer.setProcessedAt(LocalDateTime.now());
+        transfer.setFromBalance(new BigDecimal("90.00"));
+        transfer.setToBalance(new BigDecimal("10.00"));
+        return transfer;
+    }
+
+    private static void awaitAll(List<LedgerTransfer> transfers) throws Exception {
+        for (LedgerTransfer transfer : transfers) {
+            transfer.getResult().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 마지막 항목 본문의 마지막 바이트를 바꿔 기록 도중 중단된 상태를 흉내 낸다
+     */
+    private static void corruptLastEntry(Path segment, int payloadLength) throws IOException {
+        int entryBytes = JournalSegment.HEADER_BYTES + payloadLength;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long lastByte = entryBytes * 3L - 1;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, lastByte);
+            one.put(0, (byte) (one.get(0) ^ 0xFF));
+            one.rewind();
+            channel.write(one, lastByte);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private LedgerProperties.Journal properties(DataSize segmentSize) {
+        LedgerProperties.Journal properties = new LedgerProperties.Journal();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        return properties;
+    }
+}
@@ -0,0 +1,66 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerShard 테스트")
+class LedgerShardTest {
+
+    @Mock private ShardedLedgerEngine engine;
+    @Mock private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("보유 계좌 수가 한도를 넘으면 DB 반영이 끝난 계좌만 내보내고, 다시 접근하면 DB 잔액을 읽는다")
+    void balances_evictOnlySettledAccounts() throws Exception {
+        // given
+        LedgerShard shard = new LedgerShard(0, 16, 1, engine, accountRepository);
+        given(accountRepository.findBalanceById(1L)).willReturn(Optional.of(new BigDecimal("1000.00")));
+        given(accountRepository.findBalanceById(2L)).willReturn(Optional.of(new BigDecimal("500.00")));
+        given(accountRepository.findBalanceById(3L)).willReturn(Optional.of(new BigDecimal("300.00")));
+
+        // when
+        // 반영 전인 계좌는 한도를 넘어도 남는다
+        LedgerTransfer first = transfer(1L, 2L, "100.00");
+        shard.debit(first);
+        shard.credit(first);
+        assertThat(shard.cachedAccounts()).isEqualTo(2);
+
+        // 반영이 끝나면 다음 적재 때 오래 쓰지 않은 계좌부터 내보낸다
+        given(accountRepository.findBalanceById(1L)).willReturn(Optional.of(new BigDecimal("900.00")));
+        shard.settle(1L);
+        shard.settle(2L);
+        shard.debit(transfer(3L, 1L, "10.00"));
+
+        // then
+        assertThat(shard.cachedAccounts()).isEqualTo(1);
+
+        LedgerTransfer overdraft = transfer(1L, 2L, "950.00");
+        shard.debit(overdraft);
+        assertThatThrownBy(() -> overdraft.getResult().join())
+                .hasCauseInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("현재 잔액 900.00");
+    }
+
+    private LedgerTransfer transfer(Long fromAccountId, Long toAccountId, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(String.valueOf(fromAccountId));
+        request.setToAccountNumber(String.valueOf(toAccountId));
+        request.setAmount(new BigDecimal(amount));
+        return new LedgerTransfer(request, fromAccountId, toAccountId, AccountStatus.ACTIVE, AccountStatus.ACTIVE);
+    }
+}
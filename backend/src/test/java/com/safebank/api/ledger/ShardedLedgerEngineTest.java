@@ -0,0 +1,327 @@
+package com.safebank.api.ledger;
+
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.BatchTransferItemResponse;
+import com.safebank.api.dto.response.BatchTransferResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.AccountStripe;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.exception.AccountNotFoundException;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.AccountStripeRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import com.safebank.api.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 설정이 달라 별도 컨텍스트가 뜨므로, 다른 통합 테스트 컨텍스트와 같은 인메모리 DB(스키마/시퀀스)를 공유하지 않도록 분리
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledgertest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "safebank.ledger.enabled=true",
+        "safebank.ledger.shards=4",
+        "safebank.ledger.flush-batch-size=100"
+})
+@ActiveProfiles("test")
+@DisplayName("ShardedLedgerEngine 통합 테스트")
+class ShardedLedgerEngineTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedLedgerEngineTest.class);
+    private static final int ACCOUNT_COUNT = 8;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private TransactionService transactionService;
+    @Autowired private AccountService accountService;
+    @Autowired private AccountStripeRepository accountStripeRepository;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("원장")
+                .email("ledger@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .accountNumber(String.format("8000%012d", i))
+                    .member(member)
+                    .balance(INITIAL_BALANCE)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+            accountNumbers.add(account.getAccountNumber());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountStripeRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("샤드 내/샤드 간 동시 이체 - 모든 계좌 잔액이 기대값과 일치")
+    void concurrentTransfers_matchExpectedBalances() throws Exception {
+        // given
+        int transferCount = 2000;
+        BigDecimal[] expected = new BigDecimal[ACCOUNT_COUNT];
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            expected[i] = INITIAL_BALANCE;
+        }
+
+        List<TransferRequest> requests = new ArrayList<>();
+        for (int i = 0; i < transferCount; i++) {
+            int from = i % ACCOUNT_COUNT;
+            int to = (from + 1 + (i / ACCOUNT_COUNT) % (ACCOUNT_COUNT - 1)) % ACCOUNT_COUNT;
+            BigDecimal amount = BigDecimal.valueOf(i % 97 + 1);
+
+            requests.add(transferRequest(accountNumbers.get(from), accountNumbers.get(to), amount));
+            expected[from] = expected[from].subtract(amount);
+            expected[to] = expected[to].add(amount);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch doneLatch = new CountDownLatch(transferCount);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        // when
+        long startTime = System.nanoTime();
+        for (TransferRequest request : requests) {
+            executor.submit(() -> {
+                try {
+                    transferFacade.transfer(request);
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        boolean finished = doneLatch.await(2, TimeUnit.MINUTES);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        executor.shutdown();
+
+        // then
+        // 응답은 DB 커밋 이후에 반환되므로 완료 시점에 DB가 최종 상태여야 한다
+        assertThat(finished).isTrue();
+        assertThat(failures).isEmpty();
+        assertThat(transactionRepository.count()).isEqualTo(transferCount);
+
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = accountRepository.findByAccountNumber(accountNumbers.get(i)).orElseThrow();
+            assertThat(account.getBalance()).isEqualByComparingTo(expected[i]);
+        }
+
+        log.info("원장 엔진 이체 {}건 처리 시간: {}ms ({} tps)",
+                transferCount, elapsedMs, transferCount * 1000L / Math.max(elapsedMs, 1));
+    }
+
+    @Test
+    @DisplayName("원장 엔진 이체 성공 - 응답에 계좌번호 포함")
+    void transfer_success() throws Exception {
+        // given
+        TransferRequest request = transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("5000.00"));
+
+        // when
+        Transaction result = transferFacade.transfer(request);
+
+        // then
+        assertThat(result.getId()).isNotNull();
+        assertThat(result.getFromAccount().getAccountNumber()).isEqualTo(accountNumbers.get(0));
+        assertThat(result.getToAccount().getAccountNumber()).isEqualTo(accountNumbers.get(1));
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(0)).orElseThrow().getBalance())
+                .isEqualByComparingTo("995000.00");
+    }
+
+    @Test
+    @DisplayName("원장 엔진 이체 실패 - 잔액 부족 시 DB 변경 없음")
+    void transfer_insufficientBalance() throws Exception {
+        // given
+        TransferRequest request = transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("2000000.00"));
+
+        // when & then
+        assertThatThrownBy(() -> transferFacade.transfer(request))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("잔액이 부족합니다");
+
+        assertThat(transactionRepository.count()).isZero();
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(0)).orElseThrow().getBalance())
+                .isEqualByComparingTo(INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("원장 엔진 이체 실패 - 존재하지 않는 계좌, 동일 계좌")
+    void transfer_invalidAccounts() throws Exception {
+        assertThatThrownBy(() -> transferFacade.transfer(transferRequest(accountNumbers.get(0), "9999999999999999", BigDecimal.TEN)))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        assertThatThrownBy(() -> transferFacade.transfer(transferRequest(accountNumbers.get(0), accountNumbers.get(0), BigDecimal.TEN)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("동일한 계좌로는 이체할 수 없습니다");
+    }
+
+    @Test
+    @DisplayName("원장 엔진 일괄 이체 - 모든 건을 넣은 뒤 함께 기다리고 요청 순서대로 건별 결과 반환")
+    void transferBatch_submitsAllThenReportsPerItem() throws Exception {
+        // given
+        List<TransferRequest> requests = List.of(
+                transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("100.00")),
+                transferRequest(accountNumbers.get(0), "9999999999999999", new BigDecimal("100.00")),
+                transferRequest(accountNumbers.get(2), accountNumbers.get(3), new BigDecimal("2000000.00")),
+                transferRequest(accountNumbers.get(1), accountNumbers.get(2), new BigDecimal("50.00")));
+
+        // when
+        BatchTransferResponse response = transferFacade.transferBatch(requests);
+
+        // then
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BatchTransferItemResponse::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(response.getResults()).extracting(BatchTransferItemResponse::isSuccess).containsExactly(true, false, false, true);
+        assertThat(transactionRepository.count()).isEqualTo(2);
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(0)).orElseThrow().getBalance())
+                .isEqualByComparingTo("999900.00");
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(2)).orElseThrow().getBalance())
+                .isEqualByComparingTo("1000050.00");
+    }
+
+    @Test
+    @DisplayName("배치 중 한 건만 DB 반영에 실패하면 그 이체만 되돌리고 실패 처리, 나머지는 반영")
+    void flushFailure_rejectsOnlyFailingTransfer() throws Exception {
+        // given
+        int transferCount = 50;
+        TransferRequest poison = transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("100.00"));
+        // description 컬럼(255자)보다 길어 이 이체의 INSERT만 실패한다
+        poison.setDescription("x".repeat(300));
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Transaction>> futures = new ArrayList<>();
+
+        // when
+        Future<Transaction> poisoned = executor.submit(() -> transferFacade.transfer(poison));
+        for (int i = 1; i < transferCount; i++) {
+            futures.add(executor.submit(() -> transferFacade.transfer(transferRequest(accountNumbers.get(2), accountNumbers.get(3), BigDecimal.ONE))));
+        }
+        executor.shutdown();
+
+        // then
+        assertThatThrownBy(() -> poisoned.get(30, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이체 내역 저장에 실패했습니다");
+        for (Future<Transaction> future : futures) {
+            assertThat(future.get(30, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+
+        assertThat(transactionRepository.count()).isEqualTo(transferCount - 1);
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(0)).orElseThrow().getBalance())
+                .isEqualByComparingTo(INITIAL_BALANCE);
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(2)).orElseThrow().getBalance())
+                .isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.valueOf(transferCount - 1)));
+        // 되돌린 샤드 잔액으로 이후 이체도 검증된다
+        assertThat(transferFacade.transfer(transferRequest(accountNumbers.get(0), accountNumbers.get(1), INITIAL_BALANCE)).getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("접수된 이체도 원장 엔진으로 처리 - PENDING 거래를 선점하고 이후 이체는 갱신된 잔액으로 검증")
+    void completePendingTransfer_routedThroughEngine() throws Exception {
+        // given
+        // 일반 이체로 출금 계좌 잔액을 샤드 메모리에 올려 둔다
+        transferFacade.transfer(transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("1000.00")));
+        TransferRequest request = transferRequest(accountNumbers.get(0), accountNumbers.get(2), new BigDecimal("600000.00"));
+        Transaction pending = transactionService.createPendingTransfer(request);
+
+        // when
+        Transaction completed = transferFacade.completePendingTransfer(pending.getId(), request);
+
+        // then
+        assertThat(completed.getId()).isEqualTo(pending.getId());
+        assertThat(transactionRepository.findById(pending.getId()).orElseThrow().getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(transactionRepository.count()).isEqualTo(2);
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(0)).orElseThrow().getBalance())
+                .isEqualByComparingTo("399000.00");
+
+        // 샤드 메모리 잔액도 접수된 이체를 반영했으므로 남은 잔액을 넘는 이체는 거절된다
+        assertThatThrownBy(() -> transferFacade.transfer(transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("399000.01"))))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        // 이미 완료된 거래를 다시 처리하면 선점에 실패하고 잔액은 그대로
+        assertThatThrownBy(() -> transferFacade.completePendingTransfer(pending.getId(), request))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("처리 대기 중인 거래가 아닙니다");
+        assertThat(accountRepository.findByAccountNumber(accountNumbers.get(0)).orElseThrow().getBalance())
+                .isEqualByComparingTo("399000.00");
+        transferFacade.transfer(transferRequest(accountNumbers.get(0), accountNumbers.get(1), new BigDecimal("399000.00")));
+    }
+
+    @Test
+    @DisplayName("분할 계좌 출금 - 부족분을 분할 잔액에서 옮겨 계좌 잔액 컬럼이 음수가 되지 않고 총 잔액은 출금액만큼 감소")
+    void transfer_stripedAccount_sweepsStripes() throws Exception {
+        // given
+        String from = accountNumbers.get(0);
+        accountService.enableStriping(from, 2);
+        List<AccountStripe> stripes = accountStripeRepository.findAll();
+        stripes.forEach(stripe -> stripe.setBalance(new BigDecimal("500000.00")));
+        accountStripeRepository.saveAll(stripes);
+        Account account = accountRepository.findByAccountNumber(from).orElseThrow();
+        account.setBalance(new BigDecimal("100.00"));
+        accountRepository.save(account);
+
+        // when
+        transferFacade.transfer(transferRequest(from, accountNumbers.get(1), new BigDecimal("300000.00")));
+
+        // then
+        Account debited = accountRepository.findByAccountNumber(from).orElseThrow();
+        BigDecimal stripeTotal = accountStripeRepository.findAll().stream()
+                .map(AccountStripe::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(debited.getBalance()).isEqualByComparingTo("0.00");
+        assertThat(debited.getBalance().add(stripeTotal)).isEqualByComparingTo("700100.00");
+        assertThat(accountRepository.findBalanceById(debited.getId()).orElseThrow()).isEqualByComparingTo("700100.00");
+    }
+
+    private TransferRequest transferRequest(String from, String to, BigDecimal amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from);
+        request.setToAccountNumber(to);
+        request.setAmount(amount);
+        return request;
+    }
+}
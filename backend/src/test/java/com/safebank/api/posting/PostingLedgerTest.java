@@ -0,0 +1,243 @@
+package com.safebank.api.posting;
+
+import com.safebank.api.archive.TransactionArchiver;
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.BalanceSnapshot;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Posting;
+import com.safebank.api.entity.PostingType;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.BalanceSnapshotRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.PostingRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 분개 원장 모드 (safebank.posting.enabled=true) 통합 테스트
+ */
+@SpringBootTest(properties = {
+        // 설정이 다른 컨텍스트가 기본 테스트 DB 스키마를 다시 만들지 않도록 별도 인메모리 DB 사용
+        "spring.datasource.url=jdbc:h2:mem:postingtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "safebank.posting.enabled=true",
+        "safebank.posting.snapshot-every=3",
+        // 스케줄러가 테스트 도중 압축하지 않도록 주기를 길게 잡고 compact()를 직접 호출
+        "safebank.posting.compact-interval=PT1H",
+        // 보관 이동도 켜되 archive()를 직접 호출 (만들어진 거래는 바로 보관 대상)
+        "safebank.transaction-archive.enabled=true",
+        "safebank.transaction-archive.hot-retention=PT0S",
+        "safebank.transaction-archive.move-interval=PT1H"
+})
+@ActiveProfiles("test")
+@DisplayName("분개 원장 모드 통합 테스트")
+class PostingLedgerTest {
+
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private PostingCompactor postingCompactor;
+    @Autowired private TransactionArchiver transactionArchiver;
+    @Autowired private AccountService accountService;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private PostingRepository postingRepository;
+    @Autowired private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("분개")
+                .email("posting@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        from = accountRepository.save(account(member, "9500000000000001", "1000.00"));
+        to = accountRepository.save(account(member, "9500000000000002", "0.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        balanceSnapshotRepository.deleteAllInBatch();
+        postingRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM transaction_archive");
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("이체는 계좌 잔액을 갱신하지 않고 DEBIT/CREDIT 분개 두 행을 기록")
+    void transfer_insertsPostingsWithoutUpdatingAccounts() {
+        // when
+        Transaction transaction = transferFacade.transfer(request("100.00"));
+
+        // then
+        List<Posting> postings = postingRepository.findByTransactionId(transaction.getId());
+        assertThat(postings).extracting(Posting::getType).containsExactlyInAnyOrder(PostingType.DEBIT, PostingType.CREDIT);
+        assertThat(postings).extracting(Posting::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("-100.00"), new BigDecimal("100.00"));
+
+        Account storedFrom = accountRepository.findById(from.getId()).orElseThrow();
+        assertThat(storedFrom.getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(storedFrom.getVersion()).isEqualTo(from.getVersion());
+
+        assertThat(accountService.getCurrentBalance(from.getId())).isEqualByComparingTo("900.00");
+        assertThat(accountService.getCurrentBalance(to.getId())).isEqualByComparingTo("100.00");
+        assertThat(accountService.getAccountResponseByNumber(to.getAccountNumber()).getBalance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 분개를 더한 잔액으로 잔액 부족을 판단")
+    void transfer_insufficientDerivedBalance_throws() {
+        // given
+        transferFacade.transfer(request("700.00"));
+
+        // when, then
+        assertThatThrownBy(() -> transferFacade.transfer(request("400.00")))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThat(accountService.getCurrentBalance(from.getId())).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    @DisplayName("압축기는 snapshotEvery건 이상 쌓인 계좌만 스냅샷으로 접고, 잔액은 그대로 유지")
+    void compact_foldsPostingsIntoSnapshot() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            transferFacade.transfer(request("100.00"));
+        }
+
+        // when
+        int compacted = postingCompactor.compact();
+
+        // then
+        assertThat(compacted).isEqualTo(2);
+
+        Account storedFrom = accountRepository.findById(from.getId()).orElseThrow();
+        assertThat(storedFrom.getBalance()).isEqualByComparingTo("700.00");
+        assertThat(storedFrom.getSnapshotNo()).isEqualTo(1);
+        assertThat(accountService.getCurrentBalance(from.getId())).isEqualByComparingTo("700.00");
+        assertThat(accountService.getCurrentBalance(to.getId())).isEqualByComparingTo("300.00");
+
+        List<BalanceSnapshot> snapshots = balanceSnapshotRepository.findByAccountId(from.getId());
+        assertThat(snapshots).hasSize(1);
+        assertThat(snapshots.get(0).getPostingCount()).isEqualTo(3);
+        assertThat(snapshots.get(0).getPostingSum()).isEqualByComparingTo("-300.00");
+
+        // 접은 뒤 이체는 새 차수로 기록되어 다시 더해진다
+        transferFacade.transfer(request("50.00"));
+        assertThat(accountService.getCurrentBalance(from.getId())).isEqualByComparingTo("650.00");
+        assertThat(postingCompactor.compact()).isZero();
+    }
+
+    @Test
+    @DisplayName("보관 이동은 분개가 모두 스냅샷으로 접힌 거래만 옮기고, 옮긴 거래의 분개는 삭제")
+    void archive_movesTransactionsWithFoldedPostings() {
+        // given
+        List<Long> folded = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            folded.add(transferFacade.transfer(request("100.00")).getId());
+        }
+        assertThat(transactionArchiver.archive()).isZero();
+
+        postingCompactor.compact();
+        Transaction unfolded = transferFacade.transfer(request("50.00"));
+
+        // when
+        int moved = transactionArchiver.archive();
+
+        // then
+        assertThat(moved).isEqualTo(3);
+        assertThat(transactionRepository.countArchived()).isEqualTo(3);
+        assertThat(transactionRepository.findById(unfolded.getId())).isPresent();
+        for (Long id : folded) {
+            assertThat(transactionRepository.findById(id)).isEmpty();
+            assertThat(postingRepository.findByTransactionId(id)).isEmpty();
+        }
+        assertThat(postingRepository.findByTransactionId(unfolded.getId())).hasSize(2);
+
+        assertThat(accountService.getCurrentBalance(from.getId())).isEqualByComparingTo("650.00");
+        assertThat(accountService.getCurrentBalance(to.getId())).isEqualByComparingTo("350.00");
+    }
+
+    @Test
+    @DisplayName("동시 출금과 압축이 섞여도 잔액이 음수가 되지 않고 합계가 보존됨")
+    void concurrentTransfersAndCompaction_preserveTotal() throws Exception {
+        // given
+        int transfers = 40;
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            Future<?> compaction = executor.submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    postingCompactor.compact();
+                }
+            });
+            for (int i = 0; i < transfers; i++) {
+                executor.submit(() -> {
+                    try {
+                        transferFacade.transfer(request("30.00"));
+                    } catch (InsufficientBalanceException ignored) {
+                        // 잔액 1000으로 33건까지만 성공
+                    }
+                });
+            }
+            compaction.get();
+        }
+        postingCompactor.compact();
+
+        // then
+        BigDecimal fromBalance = accountService.getCurrentBalance(from.getId());
+        BigDecimal toBalance = accountService.getCurrentBalance(to.getId());
+        assertThat(fromBalance).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+        assertThat(fromBalance.add(toBalance)).isEqualByComparingTo("1000.00");
+    }
+
+    private TransferRequest request(String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from.getAccountNumber());
+        request.setToAccountNumber(to.getAccountNumber());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static Account account(Member member, String accountNumber, String balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
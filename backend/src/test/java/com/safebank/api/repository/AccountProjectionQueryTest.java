@@ -0,0 +1,156 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.dto.response.AccountResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.AccountStripe;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 계좌 응답 프로젝션 쿼리의 SQL 실행 횟수 회귀 테스트 (Hibernate 통계)
+ * 계좌 목록 응답을 만들 때 계좌마다 회원/분할 잔액 조회가 추가로 나가지 않아야 한다
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AccountProjectionQueryTest {
+
+    private static final int MEMBER_COUNT = 100;
+    private static final int ACCOUNTS_PER_MEMBER = 100;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired TestEntityManager em;
+    @Autowired AccountRepository accountRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Member firstMember;
+
+    @BeforeEach
+    void setUp() {
+        for (int m = 0; m < MEMBER_COUNT; m++) {
+            Member member = em.persist(Member.builder()
+                    .name("회원" + m)
+                    .email("member" + m + "@example.com")
+                    .phoneNumber("010" + String.format("%08d", m))
+                    .status(MemberStatus.ACTIVE)
+                    .build());
+            if (firstMember == null) {
+                firstMember = member;
+            }
+
+            for (int a = 0; a < ACCOUNTS_PER_MEMBER; a++) {
+                em.persist(Account.builder()
+                        .accountNumber(String.format("8%05d%04d", m, a))
+                        .member(member)
+                        .balance(new BigDecimal("1000.00"))
+                        .status(AccountStatus.ACTIVE)
+                        .build());
+            }
+            em.flush();
+            em.clear();
+        }
+
+        // 분할 계좌 하나 (응답 잔액에 분할 잔액이 포함되어야 함)
+        Account striped = accountRepository.findByAccountNumber("8000000000").orElseThrow();
+        striped.setStripeCount(2);
+        em.persist(AccountStripe.builder().account(striped).stripeNo(0).balance(new BigDecimal("200.00")).build());
+        em.persist(AccountStripe.builder().account(striped).stripeNo(1).balance(new BigDecimal("300.00")).build());
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("전체 계좌 응답 키셋 페이지 - 페이지마다 쿼리 1번, 전체를 빠짐없이 ID 순으로 순회")
+    void findAccountResponsesAfter_walksAllPages() {
+        // when
+        List<AccountResponse> responses = new ArrayList<>();
+        long afterId = 0L;
+        int pages = 0;
+        while (true) {
+            List<AccountResponse> page = accountRepository.findAccountResponsesAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            responses.addAll(page);
+            afterId = page.get(page.size() - 1).getId();
+            pages++;
+        }
+
+        // then
+        assertThat(responses).hasSize(MEMBER_COUNT * ACCOUNTS_PER_MEMBER);
+        assertThat(responses).extracting(AccountResponse::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages + 1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        AccountResponse first = responses.get(0);
+        assertThat(first.getAccountNumber()).isEqualTo("8000000000");
+        assertThat(first.getOwnerName()).isEqualTo("회원0");
+        assertThat(first.getBalance()).isEqualByComparingTo("1500.00");
+        assertThat(first.getStatus()).isEqualTo("ACTIVE");
+        assertThat(responses.get(1).getBalance()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("전체 계좌 응답 스트리밍 - 계좌 1만 개를 쿼리 1번으로 조회")
+    void streamAccountResponses_singleStatement() {
+        // when
+        List<AccountResponse> responses;
+        try (Stream<AccountResponse> rows = accountRepository.streamAccountResponses()) {
+            responses = rows.toList();
+        }
+
+        // then
+        assertThat(responses).hasSize(MEMBER_COUNT * ACCOUNTS_PER_MEMBER);
+        assertThat(responses).extracting(AccountResponse::getId).isSorted();
+        assertThat(responses.get(0).getBalance()).isEqualByComparingTo("1500.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("회원의 계좌 응답 목록 - 쿼리 1번으로 조회")
+    void findAccountResponsesByMemberId_singleStatement() {
+        // when
+        List<AccountResponse> responses = accountRepository.findAccountResponsesByMemberId(firstMember.getId());
+
+        // then
+        assertThat(responses).hasSize(ACCOUNTS_PER_MEMBER);
+        assertThat(responses).extracting(AccountResponse::getOwnerName).containsOnly("회원0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("엔티티 조회 후 AccountResponse.from 변환은 회원마다 추가 조회가 발생 (프로젝션 쿼리를 쓰는 이유)")
+    void entityMapping_issuesQueryPerMember() {
+        // when
+        List<AccountResponse> responses = accountRepository.findAll().stream()
+                .map(AccountResponse::from)
+                .toList();
+
+        // then
+        assertThat(responses).hasSize(MEMBER_COUNT * ACCOUNTS_PER_MEMBER);
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(MEMBER_COUNT);
+    }
+}
@@ -0,0 +1,210 @@
+package com.safebank.api.repository;
+
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 계좌 거래 내역 쿼리 실행 계획 검증 (H2 EXPLAIN ANALYZE)
+ * 출금/입금 갈래는 TransactionRepository 메서드를 실제로 실행해 Hibernate가 만든 SQL을 잡아 실행 계획을 확인한다
+ * 출금/입금 갈래는 계좌 인덱스로 해당 계좌의 거래만 읽고, from = ? OR to = ? 조건은 전체 테이블을 읽는다
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.safebank.api.repository.TransactionHistoryPlanTest$CapturingInspector")
+@ActiveProfiles("test")
+@DisplayName("거래 내역 쿼리 실행 계획 테스트")
+class TransactionHistoryPlanTest {
+
+    private static final int ACCOUNT_COUNT = 50;
+    private static final int TRANSACTION_COUNT = 20_000;
+    private static final int PAGE_SIZE = 21;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final Pattern LIMIT_PARAMETER = Pattern.compile("(?:limit|fetch first|fetch next)\\s*$");
+    private static final Pattern OFFSET_PARAMETER = Pattern.compile("offset\\s*$");
+
+    // 갈래를 나누지 않았을 때의 비교용 쿼리 (리포지토리에는 없음)
+    private static final String OR_CONDITION = "SELECT * FROM transaction t WHERE t.from_account_id = ? OR t.to_account_id = ?" +
+            " ORDER BY t.created_at DESC, t.transaction_id DESC LIMIT " + PAGE_SIZE;
+
+    @Autowired private TestEntityManager em;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private Long firstAccountId;
+
+    @BeforeEach
+    void setUp() {
+        Member member = em.persist(Member.builder()
+                .name("실행계획")
+                .email("plan@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = em.persist(Account.builder()
+                    .accountNumber("95000000000000" + String.format("%02d", i))
+                    .member(member)
+                    .balance(BigDecimal.ZERO)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+            if (firstAccountId == null) {
+                firstAccountId = account.getId();
+            }
+        }
+        em.flush();
+
+        // 계좌마다 출금/입금 거래가 고르게 분포하도록 대량 생성
+        em.getEntityManager().createNativeQuery("INSERT INTO transaction (transaction_id, from_account_id, to_account_id, amount, type, status, created_at)" +
+                        " SELECT X, :base + MOD(X, :accounts), :base + MOD(X * 7, :accounts), 1, 'TRANSFER', 'COMPLETED', DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00')" +
+                        " FROM SYSTEM_RANGE(1, :count)")
+                .setParameter("base", firstAccountId)
+                .setParameter("accounts", ACCOUNT_COUNT)
+                .setParameter("count", TRANSACTION_COUNT)
+                .executeUpdate();
+    }
+
+    @Test
+    @DisplayName("(계좌, created_at) 복합 인덱스 생성")
+    void compositeIndexes() {
+        // when
+        List<?> columns = em.getEntityManager().createNativeQuery("SELECT LOWER(index_name || '.' || column_name) FROM information_schema.index_columns" +
+                        " WHERE UPPER(table_name) = 'TRANSACTION' AND UPPER(index_name) LIKE 'IDX_TRANSACTION_%ACCOUNT_CREATED_AT' ORDER BY index_name, ordinal_position")
+                .getResultList();
+
+        // then
+        assertThat(columns).map(String::valueOf).containsExactly(
+                "idx_transaction_from_account_created_at.from_account_id",
+                "idx_transaction_from_account_created_at.created_at",
+                "idx_transaction_from_account_created_at.transaction_id",
+                "idx_transaction_to_account_created_at.to_account_id",
+                "idx_transaction_to_account_created_at.created_at",
+                "idx_transaction_to_account_created_at.transaction_id");
+    }
+
+    @Test
+    @DisplayName("출금/입금 갈래는 계좌 인덱스로 해당 계좌의 거래만 읽음")
+    void branches_useAccountIndex() {
+        // given
+        String outgoingSql = capture(() -> transactionRepository.findOutgoingHistoryKeys(firstAccountId, PageRequest.of(0, PAGE_SIZE)));
+        String incomingSql = capture(() -> transactionRepository.findIncomingHistoryKeys(firstAccountId, PageRequest.of(0, PAGE_SIZE)));
+
+        // when
+        String outgoing = explain(outgoingSql);
+        String incoming = explain(incomingSql);
+
+        // then
+        assertThat(outgoing).doesNotContain("tableScan").containsIgnoringCase("FROM_ACCOUNT_ID = ");
+        assertThat(incoming).doesNotContain("tableScan").containsIgnoringCase("TO_ACCOUNT_ID = ");
+        assertThat(scanCount(outgoing)).isLessThanOrEqualTo(TRANSACTION_COUNT / ACCOUNT_COUNT + 1);
+        assertThat(scanCount(incoming)).isLessThanOrEqualTo(TRANSACTION_COUNT / ACCOUNT_COUNT + 1);
+    }
+
+    @Test
+    @DisplayName("from = ? OR to = ? 조건은 전체 테이블을 읽음 (갈래를 나누는 이유)")
+    void orCondition_scansWholeTable() {
+        // when
+        String plan = explain(OR_CONDITION);
+
+        // then
+        assertThat(plan).contains("tableScan");
+        assertThat(scanCount(plan)).isGreaterThanOrEqualTo(TRANSACTION_COUNT);
+    }
+
+    /**
+     * 리포지토리 메서드를 실행하고 그때 Hibernate가 보낸 거래 테이블 조회 SQL을 반환
+     */
+    private String capture(Runnable query) {
+        CapturingInspector.clear();
+        query.run();
+
+        List<String> selects = CapturingInspector.captured().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select") && sql.toLowerCase(Locale.ROOT).contains("transaction"))
+                .toList();
+        assertThat(selects).as("거래 조회 SQL이 잡히지 않았습니다").isNotEmpty();
+        return selects.get(selects.size() - 1);
+    }
+
+    /**
+     * 잡은 SQL을 그대로 EXPLAIN ANALYZE로 실행 (페이지 크기/오프셋 자리에는 첫 페이지 값, 나머지 파라미터에는 계좌 ID를 바인딩)
+     */
+    private String explain(String sql) {
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN ANALYZE " + sql)) {
+                int index = 1;
+                for (int i = 0; i < sql.length(); i++) {
+                    if (sql.charAt(i) != '?') {
+                        continue;
+                    }
+                    String preceding = sql.substring(0, i).toLowerCase(Locale.ROOT);
+                    if (LIMIT_PARAMETER.matcher(preceding).find()) {
+                        statement.setInt(index++, PAGE_SIZE);
+                    } else if (OFFSET_PARAMETER.matcher(preceding).find()) {
+                        statement.setInt(index++, 0);
+                    } else {
+                        statement.setLong(index++, firstAccountId);
+                    }
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertThat(resultSet.next()).isTrue();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private long scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertThat(matcher.find()).as("scanCount가 실행 계획에 없습니다: %s", plan).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Hibernate가 JDBC로 보내는 SQL을 기록 (session_factory.statement_inspector로 등록되어 리플렉션으로 생성됨)
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        private static final List<String> CAPTURED = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (CAPTURED) {
+                CAPTURED.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (CAPTURED) {
+                CAPTURED.clear();
+            }
+        }
+
+        static List<String> captured() {
+            synchronized (CAPTURED) {
+                return List.copyOf(CAPTURED);
+            }
+        }
+    }
+}
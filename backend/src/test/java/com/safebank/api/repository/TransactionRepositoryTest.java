@@ -1,5 +1,6 @@
 package com.safebank.api.repository;
 
+import com.safebank.api.dto.response.TransactionResponse;
 import com.safebank.api.entity.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +15,11 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -237,7 +241,7 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         //when
-        Page<Transaction> result = transactionRepository.findByAccountNumber(accountNumber, pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(accountIdOf(accountNumber), pageable);
 
         //then
         assertThat(result).isNotNull();
@@ -308,9 +312,9 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 20);
 
         //when
-        Page<Transaction> account1Transactions = transactionRepository.findByAccountNumber(account1.getAccountNumber(), pageable);
-        Page<Transaction> account2Transactions = transactionRepository.findByAccountNumber(account2.getAccountNumber(), pageable);
-        Page<Transaction> account4Transactions = transactionRepository.findByAccountNumber(account4.getAccountNumber(), pageable);
+        Page<Transaction> account1Transactions = transactionRepository.findByAccountId(account1.getId(), pageable);
+        Page<Transaction> account2Transactions = transactionRepository.findByAccountId(account2.getId(), pageable);
+        Page<Transaction> account4Transactions = transactionRepository.findByAccountId(account4.getId(), pageable);
 
         //then
         // account1: TRANSFER, WITHDRAWAL
@@ -337,7 +341,7 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // when
-        Page<Transaction> result = transactionRepository.findByAccountNumber(accountNumber, pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(accountIdOf(accountNumber), pageable);
 
         // then
         List<Transaction> transactions = result.getContent();
@@ -365,7 +369,7 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // when
-        Page<Transaction> result = transactionRepository.findByAccountNumber(accountNumber, pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(accountIdOf(accountNumber), pageable);
 
         // then
         assertThat(result.getContent()).hasSize(3);  // account3 관련 거래 2건
@@ -406,7 +410,7 @@ class TransactionRepositoryTest {
 
         // when
         long startTime = System.currentTimeMillis();
-        Page<Transaction> result = transactionRepository.findByAccountNumber(account1.getAccountNumber(), pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(account1.getId(), pageable);
         long endTime = System.currentTimeMillis();
 
         // then
@@ -428,7 +432,7 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // when
-        Page<Transaction> result = transactionRepository.findByAccountNumber(accountNumber, pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(accountIdOf(accountNumber), pageable);
 
         // then
         List<Transaction> transactions = result.getContent();
@@ -455,7 +459,7 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         // when
-        Page<Transaction> result = transactionRepository.findByAccountNumber(accountNumber, pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(accountIdOf(accountNumber), pageable);
 
         // then
         List<Transaction> transactions = result.getContent();
@@ -477,7 +481,7 @@ class TransactionRepositoryTest {
         Pageable pageable = PageRequest.of(0, 20);
 
         // when
-        Page<Transaction> result = transactionRepository.findByAccountNumber(accountNumber, pageable);
+        Page<Transaction> result = transactionRepository.findByAccountId(accountIdOf(accountNumber), pageable);
 
         // then
         List<Transaction> transactions = result.getContent();
@@ -498,4 +502,146 @@ class TransactionRepositoryTest {
         assertThat(totalWithdraw).isGreaterThan(BigDecimal.ZERO);
         assertThat(totalDeposit).isGreaterThan(BigDecimal.ZERO);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("키셋 페이지네이션 - 커서를 따라가면 OFFSET 조회와 같은 순서로 누락/중복 없이 조회")
+    void findHistoryByAccountIdBefore_walksAllPages() throws Exception {
+        // given
+        Long accountId = account1.getId();
+        List<Long> expected = transactionRepository.findHistoryByAccountId(accountId, PageRequest.of(0, 100)).stream()
+                .map(Transaction::getId)
+                .toList();
+
+        // when
+        List<Long> walked = walkHistory(accountId, 1);
+
+        // then
+        assertThat(expected).hasSize(4);
+        assertThat(walked).containsExactlyElementsOf(expected);
+        assertThat(transactionRepository.countByAccountId(accountId)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("키셋 페이지네이션 - createdAt이 같은 거래는 id 역순으로 이어서 조회")
+    void findHistoryByAccountIdBefore_sameCreatedAt() throws Exception {
+        // given - 모든 거래의 생성 시각을 동일하게 맞춤
+        LocalDateTime sameTime = LocalDateTime.of(2025, 1, 1, 9, 0, 0);
+        em.getEntityManager().createQuery("UPDATE Transaction t SET t.createdAt = :createdAt")
+                .setParameter("createdAt", sameTime)
+                .executeUpdate();
+        em.clear();
+
+        // when
+        List<Long> walked = walkHistory(account1.getId(), 3);
+
+        // then
+        assertThat(walked).hasSize(4);
+        assertThat(walked).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    @DisplayName("접수 거래 ID 페이지 - 이전 페이지의 마지막 ID 다음부터 ID 순으로 누락/중복 없이 조회")
+    void findIdsByStatusCreatedBefore_pagesById() throws Exception {
+        // given - 모든 거래를 접수 상태로 맞춤
+        em.getEntityManager().createQuery("UPDATE Transaction t SET t.status = :status")
+                .setParameter("status", TransactionStatus.PENDING)
+                .executeUpdate();
+        em.clear();
+        LocalDateTime before = LocalDateTime.now().plusMinutes(1);
+        List<Long> expected = transactionRepository.findAll().stream()
+                .map(Transaction::getId)
+                .sorted()
+                .toList();
+
+        // when
+        List<Long> walked = new ArrayList<>();
+        List<Long> page;
+        long lastSeen = 0;
+        do {
+            page = transactionRepository.findIdsByStatusCreatedBefore(TransactionStatus.PENDING, before, lastSeen, PageRequest.of(0, 3));
+            walked.addAll(page);
+            lastSeen = page.isEmpty() ? lastSeen : page.get(page.size() - 1);
+        } while (page.size() == 3);
+
+        // then
+        assertThat(walked).containsExactlyElementsOf(expected);
+        assertThat(transactionRepository.findIdsByStatusCreatedBefore(TransactionStatus.COMPLETED, before, 0L, PageRequest.of(0, 3))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("내보내기 스트림 - 출금/입금 갈래를 시간순으로 병합하고 자기 계좌 간 거래는 한 번만 포함")
+    void streamHistoryByAccountId() throws Exception {
+        // given
+        List<Long> history = transactionRepository.findHistoryByAccountId(account1.getId(), PageRequest.of(0, 100)).stream()
+                .map(Transaction::getId)
+                .toList();
+
+        // when
+        List<TransactionResponse> exported;
+        try (Stream<TransactionResponse> rows = transactionRepository.streamHistoryByAccountId(account1.getId())) {
+            exported = rows.toList();
+        }
+
+        // then
+        assertThat(exported).hasSize(4);
+        assertThat(exported).extracting(TransactionResponse::getId).containsExactlyElementsOf(history.reversed());
+        assertThat(exported).allMatch(row -> account1.getAccountNumber().equals(row.getFromAccountNumber())
+                || account1.getAccountNumber().equals(row.getToAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("보관 이동 - 오래된 거래를 보관 테이블로 옮겨도 거래 내역, 건수, 내보내기 결과가 같음")
+    void archivedTransactions_routedWithHotTransactions() throws Exception {
+        // given
+        Long accountId = account1.getId();
+        List<Long> history = walkHistory(accountId, 1);
+        List<Long> secondPage = transactionRepository.findByAccountId(accountId, PageRequest.of(1, 2)).stream()
+                .map(Transaction::getId)
+                .toList();
+        List<Long> exported;
+        try (Stream<TransactionResponse> rows = transactionRepository.streamHistoryByAccountId(accountId)) {
+            exported = rows.map(TransactionResponse::getId).toList();
+        }
+
+        // 가장 오래된 거래 3건(tx1 ~ tx3)을 보관 테이블로 이동
+        List<Transaction> byCreatedAt = transactionRepository.findAll().stream()
+                .sorted(Comparator.comparing(Transaction::getCreatedAt))
+                .toList();
+        LocalDateTime cutoff = byCreatedAt.get(3).getCreatedAt();
+
+        // when
+        List<Long> archivable = transactionRepository.findArchivableIds(cutoff, TransactionStatus.PENDING, PageRequest.of(0, 100));
+        transactionRepository.copyToArchive(archivable);
+        transactionRepository.deleteByIdIn(archivable);
+        em.clear();
+
+        // then
+        assertThat(archivable).hasSize(3);
+        assertThat(transactionRepository.count()).isEqualTo(4);
+        assertThat(transactionRepository.countArchived()).isEqualTo(3);
+        assertThat(transactionRepository.findArchivedById(archivable.get(0))).isPresent();
+
+        assertThat(walkHistory(accountId, 1)).containsExactlyElementsOf(history);
+        assertThat(transactionRepository.findByAccountId(accountId, PageRequest.of(1, 2)).stream().map(Transaction::getId).toList())
+                .containsExactlyElementsOf(secondPage);
+        assertThat(transactionRepository.countByAccountId(accountId)).isEqualTo(4);
+        try (Stream<TransactionResponse> rows = transactionRepository.streamHistoryByAccountId(accountId)) {
+            assertThat(rows.map(TransactionResponse::getId).toList()).containsExactlyElementsOf(exported);
+        }
+    }
+
+    private Long accountIdOf(String accountNumber) {
+        return accountRepository.findIdByAccountNumber(accountNumber).orElseThrow();
+    }
+
+    private List<Long> walkHistory(Long accountId, int size) {
+        List<Long> walked = new ArrayList<>();
+        List<Transaction> page = transactionRepository.findHistoryByAccountId(accountId, PageRequest.of(0, size));
+        while (!page.isEmpty()) {
+            page.forEach(t -> walked.add(t.getId()));
+            Transaction last = page.get(page.size() - 1);
+            page = transactionRepository.findHistoryByAccountIdBefore(accountId, last.getCreatedAt(), last.getId(), PageRequest.of(0, size));
+        }
+        return walked;
+    }
+}
@@ -1,13 +1,23 @@
 package com.safebank.api.service;
 
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
+import com.safebank.api.directory.AccountDirectory;
 import com.safebank.api.dto.request.AccountCreateRequest;
+import com.safebank.api.dto.response.AccountResponse;
+import com.safebank.api.dto.response.CursorPageResponse;
 import com.safebank.api.entity.Account;
 import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.AccountStripe;
 import com.safebank.api.entity.Member;
 import com.safebank.api.entity.MemberStatus;
 import com.safebank.api.exception.AccountNotFoundException;
 import com.safebank.api.exception.MemberNotFoundException;
+import com.safebank.api.export.NdjsonWriter;
+import com.safebank.api.pagination.CursorPages;
+import com.safebank.api.pagination.IdCursor;
 import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.AccountStripeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,15 +25,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
@@ -38,6 +56,24 @@ class AccountServiceTest {
     @Mock
     private MemberService memberService;
 
+    @Mock
+    private AccountStripeRepository accountStripeRepository;
+
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private BalanceAggregateService balanceAggregateService;
+
+    @Mock
+    private NdjsonWriter ndjsonWriter;
+
+    @Mock
+    private AccountDirectory accountDirectory;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -99,6 +135,8 @@ class AccountServiceTest {
 
         verify(memberService, times(1)).getMember(1L);
         verify(accountRepository, times(1)).save(any(Account.class));
+        verify(balanceAggregateService, times(1)).apply(AccountStatus.ACTIVE, new BigDecimal("10000.00"));
+        verify(accountDirectory, times(1)).putAfterCommit("3333123456789012", 1L);
     }
 
     @Test
@@ -203,6 +241,59 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).findByAccountNumber(nonExistentAccountNumber);
     }
 
+    @Test
+    @DisplayName("계좌번호로 조회 - 디렉터리에 있으면 기본 키로 조회하고 계좌번호로는 조회하지 않음")
+    void getAccountByNumber_directoryHit_usesPrimaryKey() throws Exception {
+        // given
+        String accountNumber = "3333123456789012";
+        given(accountDirectory.find(accountNumber)).willReturn(OptionalLong.of(1L));
+        given(accountRepository.findById(1L)).willReturn(Optional.of(testAccount1));
+
+        // when
+        Account result = accountService.getAccountByNumber(accountNumber);
+
+        // then
+        assertThat(result).isSameAs(testAccount1);
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(accountDirectory, never()).put(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("계좌번호로 조회 - 디렉터리의 ID가 다른 계좌면 계좌번호로 다시 조회하고 디렉터리를 갱신")
+    void getAccountByNumber_staleDirectory_fallsBackAndRefreshes() throws Exception {
+        // given
+        String accountNumber = "3333123456789012";
+        given(accountDirectory.find(accountNumber)).willReturn(OptionalLong.of(2L));
+        given(accountRepository.findById(2L)).willReturn(Optional.of(testAccount2));
+        given(accountRepository.findByAccountNumber(accountNumber)).willReturn(Optional.of(testAccount1));
+
+        // when
+        Account result = accountService.getAccountByNumber(accountNumber);
+
+        // then
+        assertThat(result).isSameAs(testAccount1);
+        verify(accountDirectory, times(1)).put(accountNumber, 1L);
+    }
+
+    @Test
+    @DisplayName("계좌번호로 ID 조회 - 디렉터리에 없으면 DB에서 찾아 디렉터리에 채우고, 있으면 DB를 조회하지 않음")
+    void getAccountIdByNumber_directory() throws Exception {
+        // given
+        given(accountDirectory.find("3333123456789012")).willReturn(OptionalLong.empty());
+        given(accountRepository.findIdByAccountNumber("3333123456789012")).willReturn(Optional.of(1L));
+        given(accountDirectory.find("3333234567890123")).willReturn(OptionalLong.of(2L));
+
+        // when
+        Long missed = accountService.getAccountIdByNumber("3333123456789012");
+        Long hit = accountService.getAccountIdByNumber("3333234567890123");
+
+        // then
+        assertThat(missed).isEqualTo(1L);
+        assertThat(hit).isEqualTo(2L);
+        verify(accountDirectory, times(1)).put("3333123456789012", 1L);
+        verify(accountRepository, never()).findIdByAccountNumber("3333234567890123");
+    }
+
     @Test
     @DisplayName("회원 ID로 계좌 목록 조회 성공")
     void getAccountsByMemberId_success() throws Exception {
@@ -268,6 +359,114 @@ class AccountServiceTest {
         verify(accountRepository, never()).findByMemberId(nonExistentMemberId);
     }
 
+    @Test
+    @DisplayName("회원 ID로 계좌 응답 목록 조회 - 회원 확인 후 프로젝션 쿼리 사용")
+    void getAccountResponsesByMemberId_success() throws Exception {
+        // given
+        Long memberId = 1L;
+        List<AccountResponse> expected = Arrays.asList(AccountResponse.from(testAccount1), AccountResponse.from(testAccount2));
+
+        given(memberService.getMember(memberId)).willReturn(testMember);
+        given(accountRepository.findAccountResponsesByMemberId(memberId)).willReturn(expected);
+
+        // when
+        List<AccountResponse> result = accountService.getAccountResponsesByMemberId(memberId);
+
+        // then
+        assertThat(result).isSameAs(expected);
+        verify(memberService, times(1)).getMember(memberId);
+        verify(accountRepository, never()).findByMemberId(memberId);
+    }
+
+    @Test
+    @DisplayName("전체 계좌 조회 - 페이지 파라미터 없이 전체 목록을 단일 쿼리로 반환")
+    void getAccounts_all() throws Exception {
+        // given
+        List<AccountResponse> expected = List.of(AccountResponse.from(testAccount1), AccountResponse.from(testAccount2));
+        given(accountRepository.findAllAccountResponses()).willReturn(expected);
+
+        // when
+        List<AccountResponse> result = accountService.getAccounts();
+
+        // then
+        assertThat(result).isSameAs(expected);
+        verify(accountRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("전체 계좌 페이지 조회 - 한 건 더 조회하여 다음 페이지 커서를 만들고, 커서의 ID 이후부터 조회")
+    void getAccounts_nextCursor() throws Exception {
+        // given
+        AccountResponse first = AccountResponse.from(testAccount1);
+        AccountResponse second = AccountResponse.from(testAccount2);
+        given(accountRepository.findAccountResponsesAfter(0L, PageRequest.of(0, 2))).willReturn(List.of(first, second));
+
+        // when
+        CursorPageResponse<AccountResponse> result = accountService.getAccounts(null, 1);
+
+        // then
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(IdCursor.decode(result.getNext()).id()).isEqualTo(first.getId());
+
+        // given
+        given(accountRepository.findAccountResponsesAfter(first.getId(), PageRequest.of(0, 2))).willReturn(List.of(second));
+
+        // when
+        CursorPageResponse<AccountResponse> next = accountService.getAccounts(result.getNext(), 1);
+
+        // then
+        assertThat(next.getContent()).containsExactly(second);
+        assertThat(next.isHasNext()).isFalse();
+        assertThat(next.getNext()).isNull();
+    }
+
+    @Test
+    @DisplayName("전체 계좌 페이지 조회 - 페이지 크기가 범위를 벗어나면 조회하지 않고 예외 발생")
+    void getAccounts_invalidSize_throwsException() throws Exception {
+        // when, then
+        assertThatThrownBy(() -> accountService.getAccounts(null, CursorPages.MAX_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("페이지 크기");
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("전체 계좌 OFFSET 페이지 조회 (사용 중단 예정) - 요청한 페이지 번호와 크기로 조회")
+    void getAccountsPage_success() throws Exception {
+        // given
+        Page<AccountResponse> expected = new PageImpl<>(List.of(AccountResponse.from(testAccount2)), PageRequest.of(1, 1), 2);
+        given(accountRepository.findAccountResponses(PageRequest.of(1, 1))).willReturn(expected);
+
+        // when
+        Page<AccountResponse> result = accountService.getAccountsPage(1, 1);
+
+        // then
+        assertThat(result).isSameAs(expected);
+        assertThatThrownBy(() -> accountService.getAccountsPage(-1, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("페이지 번호");
+    }
+
+    @Test
+    @DisplayName("전체 계좌 스트리밍 - 조회 스트림을 NDJSON으로 기록한 뒤 닫음")
+    void streamAccounts_writesAndClosesStream() throws Exception {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<AccountResponse> rows = Stream.of(AccountResponse.from(testAccount1)).onClose(() -> closed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        given(accountRepository.streamAccountResponses()).willReturn(rows);
+        given(ndjsonWriter.write(rows, out)).willReturn(1L);
+
+        // when
+        long count = accountService.streamAccounts(out);
+
+        // then
+        assertThat(count).isEqualTo(1L);
+        assertThat(closed).isTrue();
+    }
+
     @Test
     @DisplayName("계좌 생성 시 Builder 패턴 사용 검증")
     void createAccount_usesBuilderPattern() throws Exception {
@@ -333,4 +532,71 @@ class AccountServiceTest {
         assertThat(result.getAccountNumber()).hasSize(16);
         assertThat(result.getAccountNumber()).matches("^3333\\d{12}$");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("계좌 잔액 분할 - 늘어난 분할 수만큼 잔액 0인 분할 잔액 행 추가")
+    void enableStriping_addsStripes() throws Exception {
+        // given
+        testAccount1.setStripeCount(2);
+        given(accountRepository.findIdByAccountNumber("3333123456789012")).willReturn(Optional.of(1L));
+        given(accountRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testAccount1));
+
+        // when
+        Account result = accountService.enableStriping("3333123456789012", 4);
+
+        // then
+        assertThat(result.getStripeCount()).isEqualTo(4);
+        assertThat(result.getBalance()).isEqualTo(new BigDecimal("10000.00"));
+        verify(accountStripeRepository).saveAll(argThat((List<AccountStripe> stripes) ->
+                stripes.stream().map(AccountStripe::getStripeNo).toList().equals(List.of(2, 3))
+                        && stripes.stream().allMatch(stripe -> stripe.getBalance().signum() == 0)));
+    }
+
+    @Test
+    @DisplayName("계좌 잔액 분할 실패 - 분할 수 감소")
+    void enableStriping_cannotShrink() throws Exception {
+        // given
+        testAccount1.setStripeCount(8);
+        given(accountRepository.findIdByAccountNumber("3333123456789012")).willReturn(Optional.of(1L));
+        given(accountRepository.findByIdForUpdate(1L)).willReturn(Optional.of(testAccount1));
+
+        // when & then
+        assertThatThrownBy(() -> accountService.enableStriping("3333123456789012", 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("분할 수는 줄일 수 없습니다");
+        verify(accountStripeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("분할 잔액 정리 - 부족분만큼만 분할 잔액에서 계좌 잔액으로 이동")
+    void sweepStripes_movesShortfall() throws Exception {
+        // given
+        testAccount1.setStripeCount(3);
+        AccountStripe stripe0 = AccountStripe.builder().stripeNo(0).balance(new BigDecimal("3000.00")).build();
+        AccountStripe stripe1 = AccountStripe.builder().stripeNo(1).balance(new BigDecimal("4000.00")).build();
+        AccountStripe stripe2 = AccountStripe.builder().stripeNo(2).balance(new BigDecimal("5000.00")).build();
+        given(accountStripeRepository.findByAccountIdForUpdate(1L)).willReturn(List.of(stripe0, stripe1, stripe2));
+
+        // when
+        accountService.sweepStripes(testAccount1, new BigDecimal("15000.00"));
+
+        // then
+        assertThat(testAccount1.getBalance()).isEqualByComparingTo("15000.00");
+        assertThat(stripe0.getBalance()).isEqualByComparingTo("0");
+        assertThat(stripe1.getBalance()).isEqualByComparingTo("2000.00");
+        assertThat(stripe2.getBalance()).isEqualByComparingTo("5000.00");
+    }
+
+    @Test
+    @DisplayName("분할 잔액 정리 - 계좌 잔액으로 충분하면 분할 잔액 행을 잠그지 않음")
+    void sweepStripes_notNeeded() throws Exception {
+        // given
+        testAccount1.setStripeCount(3);
+
+        // when
+        accountService.sweepStripes(testAccount1, new BigDecimal("5000.00"));
+
+        // then
+        verify(accountStripeRepository, never()).findByAccountIdForUpdate(any());
+    }
+}
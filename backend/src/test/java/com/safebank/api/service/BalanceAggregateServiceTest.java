@@ -0,0 +1,114 @@
+package com.safebank.api.service;
+
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.BalanceAggregate;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.BalanceAggregateRepository;
+import com.safebank.api.repository.StatusBalanceView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceAggregateService 테스트")
+class BalanceAggregateServiceTest {
+
+    @Mock
+    private BalanceAggregateRepository balanceAggregateRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private BalanceAggregateService balanceAggregateService;
+
+    @Test
+    @DisplayName("같은 상태의 계좌끼리 이체하면 집계 행을 갱신하지 않음")
+    void applyTransfer_sameStatus_noUpdate() {
+        // when
+        balanceAggregateService.applyTransfer(AccountStatus.ACTIVE, AccountStatus.ACTIVE, new BigDecimal("10000.00"));
+
+        // then
+        verify(balanceAggregateRepository, never()).addToTotalBalance(any(), any());
+    }
+
+    @Test
+    @DisplayName("상태가 다른 계좌 간 이체는 출금 상태에서 빼고 입금 상태에 더함")
+    void applyTransfer_differentStatus_movesBetweenAggregates() {
+        // given
+        BigDecimal amount = new BigDecimal("10000.00");
+        given(balanceAggregateRepository.addToTotalBalance(AccountStatus.SUSPENDED, amount.negate())).willReturn(1);
+        given(balanceAggregateRepository.addToTotalBalance(AccountStatus.ACTIVE, amount)).willReturn(1);
+
+        // when
+        balanceAggregateService.applyTransfer(AccountStatus.SUSPENDED, AccountStatus.ACTIVE, amount);
+
+        // then
+        verify(balanceAggregateRepository).addToTotalBalance(AccountStatus.SUSPENDED, amount.negate());
+        verify(balanceAggregateRepository).addToTotalBalance(AccountStatus.ACTIVE, amount);
+    }
+
+    @Test
+    @DisplayName("집계 행이 없으면 예외 발생")
+    void apply_notInitialized_throwsException() {
+        // given
+        given(balanceAggregateRepository.addToTotalBalance(AccountStatus.ACTIVE, BigDecimal.TEN)).willReturn(0);
+
+        // when, then
+        assertThatThrownBy(() -> balanceAggregateService.apply(AccountStatus.ACTIVE, BigDecimal.TEN))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("총 잔액 집계가 초기화되지 않았습니다");
+    }
+
+    @Test
+    @DisplayName("검증 시 집계와 실제 합계가 다른 상태만 차이로 보고")
+    void verify_reportsDrift() {
+        // given
+        given(accountRepository.sumBalanceByStatus()).willReturn(List.of(
+                view(AccountStatus.ACTIVE, "1000.00"),
+                view(AccountStatus.SUSPENDED, "300.00")));
+        given(balanceAggregateRepository.findAll()).willReturn(List.of(
+                aggregate(AccountStatus.ACTIVE, "1000.00"),
+                aggregate(AccountStatus.INACTIVE, "0"),
+                aggregate(AccountStatus.SUSPENDED, "250.00")));
+
+        // when
+        Map<AccountStatus, BigDecimal> drift = balanceAggregateService.verify();
+
+        // then
+        assertThat(drift).containsOnlyKeys(AccountStatus.SUSPENDED);
+        assertThat(drift.get(AccountStatus.SUSPENDED)).isEqualByComparingTo("-50.00");
+    }
+
+    private BalanceAggregate aggregate(AccountStatus status, String total) {
+        return BalanceAggregate.builder().status(status).totalBalance(new BigDecimal(total)).build();
+    }
+
+    private StatusBalanceView view(AccountStatus status, String total) {
+        return new StatusBalanceView() {
+            @Override
+            public AccountStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public BigDecimal getTotalBalance() {
+                return new BigDecimal(total);
+            }
+        };
+    }
+}
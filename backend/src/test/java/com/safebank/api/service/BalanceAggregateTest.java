@@ -0,0 +1,126 @@
+package com.safebank.api.service;
+
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.AccountCreateRequest;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.BalanceAggregateRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("총 잔액 집계 통합 테스트")
+class BalanceAggregateTest {
+
+    @Autowired private BalanceAggregateService balanceAggregateService;
+    @Autowired private AccountService accountService;
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private BalanceAggregateRepository balanceAggregateRepository;
+
+    private Member member;
+    private Account suspended;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+                .name("집계")
+                .email("aggregate@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        // 상태 변경 API가 없으므로 정지 계좌는 직접 저장하고, 집계는 현재 데이터 기준으로 다시 초기화한다
+        suspended = accountRepository.save(Account.builder()
+                .accountNumber("9600000000000001")
+                .member(member)
+                .balance(new BigDecimal("3000.00"))
+                .status(AccountStatus.SUSPENDED)
+                .build());
+        resetAggregates();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+        resetAggregates();
+    }
+
+    @Test
+    @DisplayName("계좌 개설과 상태가 다른 계좌 간 이체가 집계에 반영되고, 실제 합계와 차이가 없음")
+    void aggregateFollowsCreationAndTransfers() {
+        // given
+        Account first = accountService.createAccount(createRequest("10000.00"));
+        Account second = accountService.createAccount(createRequest("5000.00"));
+
+        // when
+        transferFacade.transfer(request(first.getAccountNumber(), second.getAccountNumber(), "1000.00"));
+        transferFacade.transfer(request(first.getAccountNumber(), suspended.getAccountNumber(), "2000.00"));
+        transferFacade.transferBatch(List.of(
+                request(suspended.getAccountNumber(), second.getAccountNumber(), "500.00"),
+                request(second.getAccountNumber(), first.getAccountNumber(), "700.00")));
+
+        // then
+        assertThat(accountService.getTotalBalance()).isEqualByComparingTo("13500.00");
+        assertThat(balanceAggregateService.getTotalBalance(AccountStatus.SUSPENDED)).isEqualByComparingTo("4500.00");
+        assertThat(accountService.getTotalBalance()).isEqualByComparingTo(accountRepository.calculateTotalBalance());
+        assertThat(balanceAggregateService.verify()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("집계를 거치지 않은 잔액 변경은 검증에서 차이로 보고")
+    void verifyReportsDrift() {
+        // given
+        suspended.setBalance(new BigDecimal("3100.00"));
+        accountRepository.save(suspended);
+
+        // when, then
+        assertThat(balanceAggregateService.verify())
+                .containsOnlyKeys(AccountStatus.SUSPENDED)
+                .hasEntrySatisfying(AccountStatus.SUSPENDED, drift -> assertThat(drift).isEqualByComparingTo("-100.00"));
+    }
+
+    private void resetAggregates() {
+        balanceAggregateRepository.deleteAllInBatch();
+        balanceAggregateService.initialize();
+    }
+
+    private AccountCreateRequest createRequest(String initialBalance) {
+        return AccountCreateRequest.builder()
+                .memberId(member.getId())
+                .initialBalance(new BigDecimal(initialBalance))
+                .build();
+    }
+
+    private TransferRequest request(String from, String to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from);
+        request.setToAccountNumber(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
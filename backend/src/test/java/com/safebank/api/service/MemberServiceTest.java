@@ -1,9 +1,18 @@
 package com.safebank.api.service;
 
+import com.safebank.api.cache.MemberCache;
+import com.safebank.api.config.MemberCacheProperties;
+import com.safebank.api.config.ReplicaRoutingProperties;
+import com.safebank.api.counter.CountedEntity;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
 import com.safebank.api.dto.request.MemberCreateRequest;
+import com.safebank.api.dto.response.CursorPageResponse;
+import com.safebank.api.dto.response.MemberResponse;
 import com.safebank.api.entity.Member;
 import com.safebank.api.entity.MemberStatus;
 import com.safebank.api.exception.MemberNotFoundException;
+import com.safebank.api.export.NdjsonWriter;
 import com.safebank.api.repository.MemberRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,16 +20,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("MemberService 테스트")
@@ -29,6 +46,15 @@ class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private NdjsonWriter ndjsonWriter;
+
+    @Spy
+    private MemberCache memberCache = new MemberCache(new MemberCacheProperties(), new ReadYourWrites(new ReplicaRoutingProperties()));
+
     @InjectMocks
     private MemberService memberService;
 
@@ -73,6 +99,87 @@ class MemberServiceTest {
 
         // Repository save 메서드가 호출되었는지 검증
         verify(memberRepository, times(1)).save(any(Member.class));
+        verify(entityCounters, times(1)).incrementAfterCommit(CountedEntity.MEMBER, 1);
+    }
+
+    @Test
+    @DisplayName("회원 수는 회원을 조회하지 않고 카운터 값을 반환")
+    void getMemberCount_returnsCounter() {
+        //given
+        given(entityCounters.get(CountedEntity.MEMBER)).willReturn(3_000_000L);
+
+        //when
+        long result = memberService.getMemberCount();
+
+        //then
+        assertThat(result).isEqualTo(3_000_000L);
+        verify(memberRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("전체 회원 조회 - 페이지 파라미터 없이 전체 목록을 반환")
+    void getMembers_all() {
+        //given
+        List<MemberResponse> expected = List.of(MemberResponse.from(testMember));
+        given(memberRepository.findAllMemberResponses()).willReturn(expected);
+
+        //when
+        List<MemberResponse> result = memberService.getMembers();
+
+        //then
+        assertThat(result).isSameAs(expected);
+        verify(memberRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("전체 회원 페이지 조회 - 한 건 더 조회하여 다음 페이지 커서를 만들고, 커서의 ID 이후부터 조회")
+    void getMembers_nextCursor() {
+        //given
+        MemberResponse first = MemberResponse.from(testMember);
+        MemberResponse second = MemberResponse.builder().id(2L).name("영희").status("ACTIVE").build();
+        given(memberRepository.findMemberResponsesAfter(0L, PageRequest.of(0, 2))).willReturn(List.of(first, second));
+        given(memberRepository.findMemberResponsesAfter(1L, PageRequest.of(0, 2))).willReturn(List.of(second));
+
+        //when
+        CursorPageResponse<MemberResponse> result = memberService.getMembers(null, 1);
+        CursorPageResponse<MemberResponse> next = memberService.getMembers(result.getNext(), 1);
+
+        //then
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(next.getContent()).containsExactly(second);
+        assertThat(next.isHasNext()).isFalse();
+        assertThat(next.getNext()).isNull();
+        verify(memberRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("전체 회원 페이지 조회 - 잘못된 커서는 예외 발생")
+    void getMembers_invalidCursor_throwsException() {
+        //when, then
+        assertThatThrownBy(() -> memberService.getMembers("not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 커서입니다");
+
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    @DisplayName("전체 회원 스트리밍 - 조회 스트림을 NDJSON으로 기록한 뒤 닫음")
+    void streamMembers_writesAndClosesStream() throws Exception {
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<MemberResponse> rows = Stream.of(MemberResponse.from(testMember)).onClose(() -> closed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        given(memberRepository.streamMemberResponses()).willReturn(rows);
+        given(ndjsonWriter.write(rows, out)).willReturn(1L);
+
+        //when
+        long count = memberService.streamMembers(out);
+
+        //then
+        assertThat(count).isEqualTo(1L);
+        assertThat(closed).isTrue();
     }
 
     @Test
@@ -95,6 +202,23 @@ class MemberServiceTest {
         verify(memberRepository, times(1)).findById(memberId);
     }
 
+    @Test
+    @DisplayName("같은 회원을 다시 조회하면 캐시에서 반환하고 DB는 한 번만 조회")
+    void getMember_cachedAfterFirstLookup() {
+        //given
+        given(memberRepository.findById(1L)).willReturn(Optional.of(testMember));
+
+        //when
+        memberService.getMember(1L);
+        Member result = memberService.getMember(1L);
+
+        //then
+        assertThat(result.getName()).isEqualTo("홍길동");
+        assertThat(memberCache.getByIdCache().getHits()).isEqualTo(1);
+        assertThat(memberCache.getByIdCache().getMisses()).isEqualTo(1);
+        verify(memberRepository, times(1)).findById(1L);
+    }
+
     @Test
     @DisplayName("미등록 회원 ID로 조회 시 예외 발생")
     void getMember_NotFound_ThrowException() throws Exception{
@@ -0,0 +1,149 @@
+package com.safebank.api.service;
+
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.config.TransferProperties.LockMode;
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.AccountResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.AccountStripeRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("분할 계좌 통합 테스트")
+class StripedAccountTest {
+
+    private static final int SOURCE_COUNT = 8;
+    private static final int STRIPE_COUNT = 8;
+    private static final int THREAD_COUNT = 16;
+    private static final int CREDIT_COUNT = 800;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private TransferProperties transferProperties;
+    @Autowired private AccountService accountService;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private AccountStripeRepository accountStripeRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private final List<String> sourceNumbers = new ArrayList<>();
+    private String hotNumber;
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("분할")
+                .email("striped@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        for (int i = 0; i < SOURCE_COUNT; i++) {
+            sourceNumbers.add(saveAccount(member, String.format("9100%012d", i), INITIAL_BALANCE).getAccountNumber());
+        }
+        hotNumber = saveAccount(member, "9199000000000000", BigDecimal.ZERO).getAccountNumber();
+        accountService.enableStriping(hotNumber, STRIPE_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setLockMode(new TransferProperties().getLockMode());
+        transferProperties.getRetry().setMaxAttempts(new TransferProperties().getRetry().getMaxAttempts());
+        transactionRepository.deleteAllInBatch();
+        accountStripeRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @EnumSource(LockMode.class)
+    @DisplayName("분할 계좌로 동시 입금 후 분할 잔액을 쓸어 출금 - 총 잔액과 조회 잔액이 일치")
+    void concurrentCreditsThenSweep(LockMode lockMode) throws Exception {
+        // given
+        transferProperties.setLockMode(lockMode);
+        // 출금 계좌끼리의 버전 충돌은 이 테스트의 관심사가 아니므로 낙관적 락의 재시도 한도를 넉넉하게 설정
+        transferProperties.getRetry().setMaxAttempts(30);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch doneLatch = new CountDownLatch(CREDIT_COUNT);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        // when
+        for (int i = 0; i < CREDIT_COUNT; i++) {
+            TransferRequest request = request(sourceNumbers.get(i % SOURCE_COUNT), hotNumber, AMOUNT);
+            executor.submit(() -> {
+                try {
+                    transferFacade.transfer(request);
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        assertThat(doneLatch.await(2, TimeUnit.MINUTES)).isTrue();
+        executor.shutdown();
+        assertThat(failures).isEmpty();
+
+        // 분할 잔액 전체보다 1건만큼 적게 출금하여 여러 분할 잔액 행을 쓸어오게 한다
+        BigDecimal credited = AMOUNT.multiply(BigDecimal.valueOf(CREDIT_COUNT));
+        BigDecimal withdrawn = credited.subtract(AMOUNT);
+        transferFacade.transfer(request(hotNumber, sourceNumbers.get(0), withdrawn));
+
+        // then
+        BigDecimal hotBalance = transactionTemplate.execute(status ->
+                AccountResponse.from(accountService.getAccountByNumber(hotNumber)).getBalance());
+        assertThat(hotBalance).isEqualByComparingTo(AMOUNT);
+
+        BigDecimal expectedTotal = INITIAL_BALANCE.multiply(BigDecimal.valueOf(SOURCE_COUNT));
+        assertThat(accountRepository.calculateTotalBalance()).isEqualByComparingTo(expectedTotal);
+    }
+
+    private Account saveAccount(Member member, String accountNumber, BigDecimal balance) {
+        return accountRepository.save(Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(balance)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    private TransferRequest request(String from, String to, BigDecimal amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from);
+        request.setToAccountNumber(to);
+        request.setAmount(amount);
+        return request;
+    }
+}
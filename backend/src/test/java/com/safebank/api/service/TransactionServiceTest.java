@@ -1,30 +1,50 @@
 package com.safebank.api.service;
 
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.config.TransferProperties.LockMode;
+import com.safebank.api.counter.EntityCounters;
+import com.safebank.api.datasource.ReadYourWrites;
 import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.dto.response.BatchTransferItemResponse;
+import com.safebank.api.dto.response.CursorPageResponse;
+import com.safebank.api.dto.response.TransactionResponse;
 import com.safebank.api.entity.*;
 import com.safebank.api.exception.AccountNotFoundException;
 import com.safebank.api.exception.InsufficientBalanceException;
+import com.safebank.api.idempotency.IdempotencyService;
+import com.safebank.api.ledger.ShardedLedgerEngine;
+import com.safebank.api.pagination.TransactionCursor;
+import com.safebank.api.repository.AccountIdView;
 import com.safebank.api.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +58,24 @@ class TransactionServiceTest {
     @Mock
     private AccountService accountService;
 
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @Mock
+    private EntityCounters entityCounters;
+
+    @Mock
+    private BalanceAggregateService balanceAggregateService;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private ObjectProvider<ShardedLedgerEngine> ledgerEngine;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -50,6 +88,9 @@ class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
+        // 기본 시나리오는 락 없이 조회하는 낙관적 락 경로 기준으로 검증 (비관적 락 경로는 별도 테스트)
+        transferProperties.setLockMode(LockMode.OPTIMISTIC);
+
         testMember1 = Member.builder()
                 .id(1L)
                 .name("홍길동")
@@ -215,7 +256,8 @@ class TransactionServiceTest {
         List<Transaction> transactions = Arrays.asList(testTransaction);
         Page<Transaction> transactionPage = new PageImpl<>(transactions, pageable, 1);
 
-        given(transactionRepository.findByAccountNumber(accountNumber, pageable)).willReturn(transactionPage);
+        given(accountService.getAccountIdByNumber(accountNumber)).willReturn(1L);
+        given(transactionRepository.findByAccountId(1L, pageable)).willReturn(transactionPage);
 
         // when
         Page<Transaction> result = transactionService.getAccountTransactions(accountNumber, pageable);
@@ -226,7 +268,7 @@ class TransactionServiceTest {
         assertThat(result.getContent().get(0).getId()).isEqualTo(testTransaction.getId());
         assertThat(result.getTotalElements()).isEqualTo(1);
 
-        verify(transactionRepository, times(1)).findByAccountNumber(accountNumber, pageable);
+        verify(transactionRepository, times(1)).findByAccountId(1L, pageable);
     }
 
     @Test
@@ -238,7 +280,8 @@ class TransactionServiceTest {
 
         Page<Transaction> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
 
-        given(transactionRepository.findByAccountNumber(accountNumber, pageable)).willReturn(emptyPage);
+        given(accountService.getAccountIdByNumber(accountNumber)).willReturn(9L);
+        given(transactionRepository.findByAccountId(9L, pageable)).willReturn(emptyPage);
 
         // when
         Page<Transaction> result = transactionService.getAccountTransactions(accountNumber, pageable);
@@ -248,7 +291,88 @@ class TransactionServiceTest {
         assertThat(result.getContent()).isEmpty();
         assertThat(result.getTotalElements()).isEqualTo(0);
 
-        verify(transactionRepository, times(1)).findByAccountNumber(accountNumber, pageable);
+        verify(transactionRepository, times(1)).findByAccountId(9L, pageable);
+    }
+
+    @Test
+    @DisplayName("계좌별 거래 내역 OFFSET 페이지 조회 - page 파라미터를 쓰던 기존 클라이언트 호환")
+    void getAccountTransactionsPage_success() throws Exception {
+        // given
+        String accountNumber = "1111111111111111";
+        Pageable pageable = PageRequest.of(2, 10);
+
+        given(accountService.getAccountIdByNumber(accountNumber)).willReturn(1L);
+        given(transactionRepository.findByAccountId(1L, pageable)).willReturn(new PageImpl<>(List.of(testTransaction), pageable, 21));
+
+        // when
+        Page<TransactionResponse> result = transactionService.getAccountTransactionsPage(accountNumber, 2, 10);
+
+        // then
+        assertThat(result.getNumber()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(TransactionResponse::getId).containsExactly(testTransaction.getId());
+        assertThatThrownBy(() -> transactionService.getAccountTransactionsPage(accountNumber, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("페이지 번호");
+    }
+
+    @Test
+    @DisplayName("거래 내역 커서 조회 - 한 건 더 조회되면 다음 페이지 커서를 반환하고, 커서로 다음 페이지를 조회")
+    void getAccountTransactionHistory_nextCursor() throws Exception {
+        // given
+        String accountNumber = "1111111111111111";
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0, 0);
+        List<Transaction> firstPage = Arrays.asList(history(30L, now), history(20L, now), history(10L, now.minusSeconds(1)));
+        given(accountService.getAccountIdByNumber(accountNumber)).willReturn(1L);
+        given(transactionRepository.findHistoryByAccountId(1L, PageRequest.of(0, 3))).willReturn(firstPage);
+
+        // when
+        CursorPageResponse<TransactionResponse> result = transactionService.getAccountTransactionHistory(accountNumber, null, 2, false);
+
+        // then
+        assertThat(result.getContent()).extracting(TransactionResponse::getId).containsExactly(30L, 20L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalCount()).isNull();
+        assertThat(TransactionCursor.decode(result.getNext())).isEqualTo(new TransactionCursor(now, 20L));
+
+        // when - 다음 페이지
+        given(transactionRepository.findHistoryByAccountIdBefore(1L, now, 20L, PageRequest.of(0, 3))).willReturn(List.of(history(10L, now.minusSeconds(1))));
+        CursorPageResponse<TransactionResponse> next = transactionService.getAccountTransactionHistory(accountNumber, result.getNext(), 2, false);
+
+        // then
+        assertThat(next.getContent()).extracting(TransactionResponse::getId).containsExactly(10L);
+        assertThat(next.isHasNext()).isFalse();
+        assertThat(next.getNext()).isNull();
+        verify(transactionRepository, never()).countByAccountId(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래 내역 커서 조회 - includeTotal이면 전체 건수 포함")
+    void getAccountTransactionHistory_includeTotal() throws Exception {
+        // given
+        given(accountService.getAccountIdByNumber("1111111111111111")).willReturn(1L);
+        given(transactionRepository.findHistoryByAccountId(1L, PageRequest.of(0, 21))).willReturn(List.of());
+        given(transactionRepository.countByAccountId(1L)).willReturn(0L);
+
+        // when
+        CursorPageResponse<TransactionResponse> result = transactionService.getAccountTransactionHistory("1111111111111111", null, 20, true);
+
+        // then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("거래 내역 커서 조회 실패 - 잘못된 커서")
+    void getAccountTransactionHistory_invalidCursor() throws Exception {
+        // given
+        given(accountService.getAccountIdByNumber("1111111111111111")).willReturn(1L);
+
+        // when & then
+        assertThatThrownBy(() -> transactionService.getAccountTransactionHistory("1111111111111111", "not-a-cursor", 20, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 커서");
+
+        verify(transactionRepository, never()).findHistoryByAccountIdBefore(anyLong(), any(), anyLong(), any());
     }
 
     @Test
@@ -270,6 +394,22 @@ class TransactionServiceTest {
         verify(transactionRepository, times(1)).findById(transactionId);
     }
 
+    @Test
+    @DisplayName("거래 내역 단건 조회 성공 - 응답했지만 아직 DB에 반영하지 않은 원장 저널 거래")
+    void getTransaction_unflushedJournaledTransfer() throws Exception {
+        // given
+        ShardedLedgerEngine engine = mock(ShardedLedgerEngine.class);
+        given(ledgerEngine.getIfAvailable()).willReturn(engine);
+        given(engine.findUnflushed(1L)).willReturn(Optional.of(testTransaction));
+
+        // when
+        Transaction result = transactionService.getTransaction(1L);
+
+        // then
+        assertThat(result).isSameAs(testTransaction);
+        verify(transactionRepository, never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("거래 내역 단건 조회 실패 - 존재하지 않는 거래")
     void getTransaction_notFound() throws Exception {
@@ -401,4 +541,240 @@ class TransactionServiceTest {
 
         verify(transactionRepository, times(1)).save(any(Transaction.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("비관적 락 이체 - account_id 오름차순으로 락 획득")
+    void transfer_pessimistic_locksInAscendingIdOrder() throws Exception {
+        // given
+        transferProperties.setLockMode(LockMode.PESSIMISTIC);
+
+        // 출금 계좌 ID(2)가 입금 계좌 ID(1)보다 큰 역방향 이체
+        transferRequest.setFromAccountNumber("2222222222222222");
+        transferRequest.setToAccountNumber("1111111111111111");
+
+        given(accountService.getAccountRefByNumber("2222222222222222")).willReturn(ref(2L, "2222222222222222", 0));
+        given(accountService.getAccountRefByNumber("1111111111111111")).willReturn(ref(1L, "1111111111111111", 0));
+        given(accountService.getAccountForUpdate(1L)).willReturn(fromAccount);
+        given(accountService.getAccountForUpdate(2L)).willReturn(toAccount);
+        given(transactionRepository.save(any(Transaction.class))).willReturn(testTransaction);
+
+        // when
+        transactionService.transfer(transferRequest);
+
+        // then
+        InOrder inOrder = inOrder(accountService);
+        inOrder.verify(accountService).getAccountForUpdate(1L);
+        inOrder.verify(accountService).getAccountForUpdate(2L);
+
+        // ID 2 계좌(toAccount 픽스처)에서 ID 1 계좌(fromAccount 픽스처)로 이체됨
+        assertThat(toAccount.getBalance()).isEqualTo(new BigDecimal("40000.00"));
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("110000.00"));
+        verify(accountService, never()).getAccountByNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("비관적 락 이체 실패 - 동일 계좌는 락 획득 전에 차단")
+    void transfer_pessimistic_sameAccount() throws Exception {
+        // given
+        transferProperties.setLockMode(LockMode.PESSIMISTIC);
+        transferRequest.setToAccountNumber("1111111111111111");
+
+        given(accountService.getAccountRefByNumber("1111111111111111")).willReturn(ref(1L, "1111111111111111", 0));
+
+        // when & then
+        assertThatThrownBy(() -> transactionService.transfer(transferRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("동일한 계좌로는 이체할 수 없습니다");
+
+        verify(accountService, never()).getAccountForUpdate(any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("비관적 락 이체 실패 - 잔액 부족")
+    void transfer_pessimistic_insufficientBalance() throws Exception {
+        // given
+        transferProperties.setLockMode(LockMode.PESSIMISTIC);
+        transferRequest.setAmount(new BigDecimal("200000.00"));
+
+        given(accountService.getAccountRefByNumber("1111111111111111")).willReturn(ref(1L, "1111111111111111", 0));
+        given(accountService.getAccountRefByNumber("2222222222222222")).willReturn(ref(2L, "2222222222222222", 0));
+        given(accountService.getAccountForUpdate(1L)).willReturn(fromAccount);
+        given(accountService.getAccountForUpdate(2L)).willReturn(toAccount);
+
+        // when & then
+        assertThatThrownBy(() -> transactionService.transfer(transferRequest))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("잔액이 부족합니다");
+
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("100000.00"));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("비관적 락 이체 - 분할 계좌로 입금 시 입금 계좌 행은 잠그지 않고 분할 잔액에 반영")
+    void transfer_pessimistic_stripedReceiver() throws Exception {
+        // given
+        transferProperties.setLockMode(LockMode.PESSIMISTIC);
+        toAccount.setStripeCount(4);
+
+        given(accountService.getAccountRefByNumber("1111111111111111")).willReturn(ref(1L, "1111111111111111", 0));
+        given(accountService.getAccountRefByNumber("2222222222222222")).willReturn(ref(2L, "2222222222222222", 4));
+        given(accountService.getAccountForUpdate(1L)).willReturn(fromAccount);
+        given(accountService.getAccount(2L)).willReturn(toAccount);
+        given(transactionRepository.save(any(Transaction.class))).willReturn(testTransaction);
+
+        // when
+        transactionService.transfer(transferRequest);
+
+        // then
+        verify(accountService, never()).getAccountForUpdate(2L);
+        verify(accountService, times(1)).creditStripe(toAccount, new BigDecimal("10000.00"));
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("90000.00"));
+        assertThat(toAccount.getBalance()).isEqualTo(new BigDecimal("50000.00"));
+    }
+
+    @Test
+    @DisplayName("비동기 이체 접수 - 잔액은 그대로 두고 PENDING 거래 저장")
+    void createPendingTransfer_savesPending() throws Exception {
+        // given
+        given(accountService.getAccountByNumber("1111111111111111")).willReturn(fromAccount);
+        given(accountService.getAccountByNumber("2222222222222222")).willReturn(toAccount);
+        given(transactionRepository.save(any(Transaction.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        Transaction result = transactionService.createPendingTransfer(transferRequest);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(TransactionStatus.PENDING);
+        assertThat(result.getAmount()).isEqualTo(new BigDecimal("10000.00"));
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("100000.00"));
+        assertThat(toAccount.getBalance()).isEqualTo(new BigDecimal("50000.00"));
+    }
+
+    @Test
+    @DisplayName("접수된 이체 완료 - 거래를 선점한 뒤 잔액 이동")
+    void completePendingTransfer_success() throws Exception {
+        // given
+        given(transactionRepository.completePending(eq(1L), any(LocalDateTime.class))).willReturn(1);
+        given(accountService.getAccountByNumber("1111111111111111")).willReturn(fromAccount);
+        given(accountService.getAccountByNumber("2222222222222222")).willReturn(toAccount);
+        given(transactionRepository.findById(1L)).willReturn(Optional.of(testTransaction));
+
+        // when
+        Transaction result = transactionService.completePendingTransfer(1L, transferRequest);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("90000.00"));
+        assertThat(toAccount.getBalance()).isEqualTo(new BigDecimal("60000.00"));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("접수된 이체 완료 실패 - 이미 처리된 거래는 잔액을 건드리지 않음")
+    void completePendingTransfer_alreadyProcessed() throws Exception {
+        // given
+        given(transactionRepository.completePending(eq(1L), any(LocalDateTime.class))).willReturn(0);
+
+        // when & then
+        assertThatThrownBy(() -> transactionService.completePendingTransfer(1L, transferRequest))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("처리 대기 중인 거래가 아닙니다");
+
+        verify(accountService, never()).getAccountByNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("일괄 이체 - 건별 성공/실패 결과와 순차 잔액 반영")
+    void transferBatch_perItemResults() throws Exception {
+        // given
+        TransferRequest ok = batchRequest("1111111111111111", "2222222222222222", "60000.00");
+        TransferRequest insufficient = batchRequest("1111111111111111", "2222222222222222", "60000.00"); // 앞 건 반영 후 잔액 40,000
+        TransferRequest unknown = batchRequest("1111111111111111", "9999999999999999", "1000.00");
+        TransferRequest same = batchRequest("2222222222222222", "2222222222222222", "1000.00");
+        Map<String, Long> accountIds = Map.of("1111111111111111", 1L, "2222222222222222", 2L);
+
+        given(accountService.getAccountsForUpdate(any())).willReturn(List.of(fromAccount, toAccount));
+
+        // when
+        List<BatchTransferItemResponse> results = transactionService.transferBatch(List.of(ok, insufficient, unknown, same), accountIds);
+
+        // then
+        assertThat(results).extracting(BatchTransferItemResponse::isSuccess).containsExactly(true, false, false, false);
+        assertThat(results).extracting(BatchTransferItemResponse::getErrorCode)
+                .containsExactly(null, "InsufficientBalanceException", "AccountNotFoundException", "IllegalArgumentException");
+
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("40000.00"));
+        assertThat(toAccount.getBalance()).isEqualTo(new BigDecimal("110000.00"));
+
+        verify(transactionRepository, times(1)).saveAll(argThat((List<Transaction> transactions) -> transactions.size() == 1));
+    }
+
+    @Test
+    @DisplayName("일괄 이체 - 입금만 받는 분할 계좌는 잠그지 않고 분할 잔액에 입금")
+    void transferBatch_stripedReceiverNotLocked() throws Exception {
+        // given
+        toAccount.setStripeCount(4);
+        TransferRequest request = batchRequest("1111111111111111", "2222222222222222", "10000.00");
+        Map<String, Long> accountIds = Map.of("1111111111111111", 1L, "2222222222222222", 2L);
+
+        given(accountService.getStripedAccountIds(any())).willReturn(List.of(2L));
+        given(accountService.getAccountsForUpdate(any())).willReturn(List.of(fromAccount));
+        given(accountService.getAccounts(any())).willReturn(List.of(toAccount));
+
+        // when
+        List<BatchTransferItemResponse> results = transactionService.transferBatch(List.of(request), accountIds);
+
+        // then
+        assertThat(results).extracting(BatchTransferItemResponse::isSuccess).containsExactly(true);
+        verify(accountService).getAccountsForUpdate(argThat((Collection<Long> ids) -> ids.size() == 1 && ids.contains(1L)));
+        verify(accountService, times(1)).creditStripe(toAccount, new BigDecimal("10000.00"));
+        assertThat(fromAccount.getBalance()).isEqualTo(new BigDecimal("90000.00"));
+        assertThat(toAccount.getBalance()).isEqualTo(new BigDecimal("50000.00"));
+    }
+
+    private Transaction history(Long id, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .id(id)
+                .fromAccount(fromAccount)
+                .toAccount(toAccount)
+                .amount(new BigDecimal("1000.00"))
+                .type(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private AccountIdView ref(Long id, String accountNumber, int stripeCount) {
+        return new AccountIdView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public int getStripeCount() {
+                return stripeCount;
+            }
+
+            @Override
+            public AccountStatus getStatus() {
+                return AccountStatus.ACTIVE;
+            }
+        };
+    }
+
+    private TransferRequest batchRequest(String from, String to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from);
+        request.setToAccountNumber(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
@@ -0,0 +1,153 @@
+package com.safebank.api.service;
+
+import com.safebank.api.config.TransferProperties;
+import com.safebank.api.config.TransferProperties.LockMode;
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.request.TransferRequest;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.facade.TransferFacade;
+import com.safebank.api.facade.TransferMetrics;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("이체 동시성 통합 테스트")
+class TransferConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferConcurrencyTest.class);
+    private static final int ACCOUNT_COUNT = 8;
+    private static final int THREAD_COUNT = 16;
+    private static final int TRANSFER_COUNT = 2000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired private TransferFacade transferFacade;
+    @Autowired private TransferProperties transferProperties;
+    @Autowired private TransferMetrics transferMetrics;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Member member = memberRepository.save(Member.builder()
+                .name("동시성")
+                .email("concurrency@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .accountNumber(String.format("9000%012d", i))
+                    .member(member)
+                    .balance(INITIAL_BALANCE)
+                    .status(AccountStatus.ACTIVE)
+                    .build());
+            accountNumbers.add(account.getAccountNumber());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setLockMode(new TransferProperties().getLockMode());
+        transferProperties.getRetry().setMaxAttempts(new TransferProperties().getRetry().getMaxAttempts());
+
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @EnumSource(LockMode.class)
+    @DisplayName("양방향 동시 이체 - 교착 상태 없이 총 잔액 보존")
+    void concurrentTransfers_conserveTotalBalance(LockMode lockMode) throws Exception {
+        // given
+        transferProperties.setLockMode(lockMode);
+        // 경합이 극단적인 테스트이므로 낙관적 락의 재시도 한도를 넉넉하게 설정
+        transferProperties.getRetry().setMaxAttempts(30);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(TRANSFER_COUNT);
+        AtomicInteger succeeded = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            // 인접한 두 계좌 사이에서 방향을 번갈아 이체하여 A->B / B->A 경합을 유도
+            int from = i % ACCOUNT_COUNT;
+            int to = (i % 2 == 0) ? (from + 1) % ACCOUNT_COUNT : (from + ACCOUNT_COUNT - 1) % ACCOUNT_COUNT;
+
+            TransferRequest request = new TransferRequest();
+            request.setFromAccountNumber(accountNumbers.get(from));
+            request.setToAccountNumber(accountNumbers.get(to));
+            request.setAmount(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 1000)));
+
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    transferFacade.transfer(request);
+                    succeeded.incrementAndGet();
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        // when
+        long retriesBefore = transferMetrics.getOptimisticRetries() + transferMetrics.getPessimisticRetries();
+        long startTime = System.nanoTime();
+        startLatch.countDown();
+        boolean finished = doneLatch.await(2, TimeUnit.MINUTES);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        executor.shutdown();
+
+        // then
+        assertThat(finished).isTrue();
+        assertThat(failures).isEmpty();
+        assertThat(succeeded.get()).isEqualTo(TRANSFER_COUNT);
+        assertThat(transactionRepository.count()).isEqualTo(TRANSFER_COUNT);
+
+        BigDecimal total = accountRepository.findAll().stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNT_COUNT)));
+
+        log.info("[{}] 동시 이체 {}건 처리 시간: {}ms ({} tps, 재시도 {}회)", lockMode, TRANSFER_COUNT, elapsedMs,
+                TRANSFER_COUNT * 1000L / Math.max(elapsedMs, 1),
+                transferMetrics.getOptimisticRetries() + transferMetrics.getPessimisticRetries() - retriesBefore);
+    }
+}
@@ -0,0 +1,214 @@
+package com.safebank.api.snapshot;
+
+import com.safebank.api.directory.AccountDirectory;
+import com.safebank.api.dto.response.BalanceAsOfResponse;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.DailyBalance;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.DailyBalanceRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.service.DailyBalanceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일말 잔액 기록과 과거 시점 잔액 조회 통합 테스트
+ */
+@SpringBootTest(properties = {
+        // 설정이 다른 컨텍스트가 기본 테스트 DB 스키마를 다시 만들지 않도록 별도 인메모리 DB 사용
+        "spring.datasource.url=jdbc:h2:mem:dailybalancetest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "safebank.daily-balance.enabled=true",
+        // 스케줄러가 테스트 도중 기록하지 않도록 끄고 record()를 직접 호출
+        "safebank.daily-balance.cron=-",
+        // 계좌마다 다른 구간으로 나뉘도록 구간 크기를 1로 지정
+        "safebank.daily-balance.range-size=1"
+})
+@ActiveProfiles("test")
+@DisplayName("일말 잔액 통합 테스트")
+class DailyBalanceSnapshotterTest {
+
+    @Autowired private DailyBalanceSnapshotter snapshotter;
+    @Autowired private DailyBalanceService dailyBalanceService;
+    @Autowired private DailyBalanceRepository dailyBalanceRepository;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private AccountDirectory accountDirectory;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private LocalDate day;
+    private Account a;
+    private Account b;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        day = LocalDate.now().minusDays(2);
+
+        Member member = memberRepository.save(Member.builder()
+                .name("일말")
+                .email("daily@test.com")
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build());
+
+        // 이체가 모두 반영된 현재 잔액 (a: 1000 - 100 + 30, b: 1000 + 100 - 30)
+        a = accountRepository.save(account(member, "9700000000000001", "930.00"));
+        b = accountRepository.save(account(member, "9700000000000002", "1070.00"));
+
+        transfer(a, b, "100.00", TransactionStatus.COMPLETED, day.atTime(10, 0));
+        transfer(b, a, "30.00", TransactionStatus.COMPLETED, day.plusDays(1).atTime(9, 0));
+        transfer(a, b, "50.00", TransactionStatus.FAILED, day.plusDays(1).atTime(15, 0));
+
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Account a SET a.createdAt = :createdAt")
+                .setParameter("createdAt", day.minusDays(1).atStartOfDay())
+                .executeUpdate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dailyBalanceRepository.deleteAllInBatch();
+        transactionTemplate.executeWithoutResult(status -> entityManager.createQuery("DELETE FROM ArchivedTransaction").executeUpdate());
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountDirectory.clear();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("현재 잔액에서 자정 이후 완료 거래를 되돌려 계좌마다 한 번만 기록")
+    void record_rewindsTransactionsAfterMidnight() {
+        // when
+        int recorded = snapshotter.record(day);
+        int again = snapshotter.record(day);
+
+        // then
+        assertThat(recorded).isEqualTo(2);
+        assertThat(again).isZero();
+        assertThat(dailyBalance(a).getBalance()).isEqualByComparingTo("900.00");
+        assertThat(dailyBalance(b).getBalance()).isEqualByComparingTo("1100.00");
+    }
+
+    @Test
+    @DisplayName("자정 전에 접수되어 자정 이후 완료된 거래와 출금 거래(from = to)도 되돌림")
+    void record_rewindsByCompletedAtAndWithdrawals() {
+        // given
+        // 자정 전 접수, 자정 이후 완료된 비동기 이체 (a -> b 40)와 자정 이후 출금 (a 20)
+        record(a, b, "40.00", TransactionType.TRANSFER, TransactionStatus.COMPLETED, day.atTime(23, 0), day.plusDays(1).atTime(1, 0));
+        record(a, a, "20.00", TransactionType.WITHDRAWAL, TransactionStatus.COMPLETED, day.plusDays(1).atTime(3, 0), day.plusDays(1).atTime(3, 0));
+        setBalance(a, "870.00");
+        setBalance(b, "1110.00");
+
+        // when
+        snapshotter.record(day);
+
+        // then
+        assertThat(dailyBalance(a).getBalance()).isEqualByComparingTo("900.00");
+        assertThat(dailyBalance(b).getBalance()).isEqualByComparingTo("1100.00");
+    }
+
+    @Test
+    @DisplayName("과거 시점 잔액은 이전 일말 잔액에 그 뒤 거래를 더하고, 일말 잔액이 없으면 현재 잔액에서 되돌림")
+    void getBalanceAsOf_usesNearestSnapshot() {
+        // given
+        snapshotter.record(day);
+
+        // 오래된 거래를 보관 테이블로 옮겨도 같은 결과
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = transactionRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Transaction::getCreatedAt))
+                    .limit(2)
+                    .map(Transaction::getId)
+                    .toList();
+            transactionRepository.copyToArchive(ids);
+            transactionRepository.deleteByIdIn(ids);
+        });
+
+        // when
+        BalanceAsOfResponse nextMorning = dailyBalanceService.getBalanceAsOf(a.getAccountNumber(), day.plusDays(1).atTime(8, 0));
+        BalanceAsOfResponse nextNoon = dailyBalanceService.getBalanceAsOf(a.getAccountNumber(), day.plusDays(1).atTime(12, 0));
+        BalanceAsOfResponse beforeFirstTransfer = dailyBalanceService.getBalanceAsOf(a.getAccountNumber(), day.atTime(9, 0));
+        BalanceAsOfResponse afterFirstTransfer = dailyBalanceService.getBalanceAsOf(b.getAccountNumber(), day.atTime(12, 0));
+
+        // then
+        assertThat(nextMorning.getBalance()).isEqualByComparingTo("900.00");
+        assertThat(nextMorning.getSnapshotDate()).isEqualTo(day);
+        assertThat(nextNoon.getBalance()).isEqualByComparingTo("930.00");
+        assertThat(nextNoon.getSnapshotDate()).isEqualTo(day);
+        assertThat(beforeFirstTransfer.getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(beforeFirstTransfer.getSnapshotDate()).isNull();
+        assertThat(afterFirstTransfer.getBalance()).isEqualByComparingTo("1100.00");
+        assertThat(afterFirstTransfer.getSnapshotDate()).isNull();
+    }
+
+    private DailyBalance dailyBalance(Account account) {
+        return dailyBalanceRepository
+                .findFirstByAccountIdAndBalanceDateLessThanOrderByBalanceDateDesc(account.getId(), day.plusDays(1))
+                .orElseThrow();
+    }
+
+    private void transfer(Account from, Account to, String amount, TransactionStatus status, LocalDateTime createdAt) {
+        record(from, to, amount, TransactionType.TRANSFER, status, createdAt, status == TransactionStatus.COMPLETED ? createdAt : null);
+    }
+
+    private void record(Account from, Account to, String amount, TransactionType type, TransactionStatus status,
+                        LocalDateTime createdAt, LocalDateTime completedAt) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .fromAccount(from)
+                .toAccount(to)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .status(status)
+                .build());
+
+        transactionTemplate.executeWithoutResult(tx -> entityManager
+                .createQuery("UPDATE Transaction t SET t.createdAt = :createdAt, t.completedAt = :completedAt WHERE t.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("completedAt", completedAt)
+                .setParameter("id", transaction.getId())
+                .executeUpdate());
+    }
+
+    private void setBalance(Account account, String balance) {
+        transactionTemplate.executeWithoutResult(tx -> entityManager
+                .createQuery("UPDATE Account a SET a.balance = :balance WHERE a.id = :id")
+                .setParameter("balance", new BigDecimal(balance))
+                .setParameter("id", account.getId())
+                .executeUpdate());
+    }
+
+    private static Account account(Member member, String accountNumber, String balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+package com.safebank.api.statement;
+
+import com.safebank.api.config.StatementProperties;
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.Transaction;
+import com.safebank.api.entity.TransactionStatus;
+import com.safebank.api.entity.TransactionType;
+import com.safebank.api.repository.AccountRepository;
+import com.safebank.api.repository.MemberRepository;
+import com.safebank.api.repository.TransactionRepository;
+import com.safebank.api.support.TestDataCleaner;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.safebank.api.support.TestFixtures.account;
+import static com.safebank.api.support.TestFixtures.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 월간 거래 명세서 생성 통합 테스트
+ */
+@SpringBootTest(properties = {
+        // 설정이 다른 컨텍스트가 기본 테스트 DB 스키마를 다시 만들지 않도록 별도 인메모리 DB 사용
+        "spring.datasource.url=jdbc:h2:mem:statementtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "safebank.statement.enabled=true",
+        // 스케줄러가 테스트 도중 생성하지 않도록 끄고 generate()를 직접 호출
+        "safebank.statement.cron=-"
+})
+@ActiveProfiles("test")
+@DisplayName("거래 명세서 통합 테스트")
+@Import(TestDataCleaner.class)
+class StatementGeneratorTest {
+
+    @Autowired private StatementGenerator statementGenerator;
+    @Autowired private StatementProperties statementProperties;
+    @Autowired private MemberRepository memberRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private TestDataCleaner testDataCleaner;
+
+    @TempDir
+    Path directory;
+
+    private TransactionTemplate transactionTemplate;
+    private YearMonth month;
+    private Account a;
+    private Account b;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        month = YearMonth.now().minusMonths(2);
+        statementProperties.setDirectory(directory.toString());
+
+        Member member = memberRepository.save(member("명세서", "statement@test.com"));
+
+        // 아래 거래가 모두 반영된 현재 잔액 (a: 1000 - 100 + 30 - 20 - 15, b: 1000 + 100 - 30 + 20 + 15)
+        a = accountRepository.save(account(member, "9800000000000001", "895.00"));
+        b = accountRepository.save(account(member, "9800000000000002", "1105.00"));
+
+        transfer(a, b, "100.00", TransactionStatus.COMPLETED, month.minusMonths(1).atDay(15).atTime(12, 0));
+        transfer(b, a, "30.00", TransactionStatus.COMPLETED, month.atDay(2).atTime(10, 0));
+        transfer(a, b, "50.00", TransactionStatus.FAILED, month.atDay(3).atTime(10, 0));
+        transfer(a, b, "20.00", TransactionStatus.COMPLETED, month.atDay(5).atTime(10, 0));
+        transfer(a, b, "15.00", TransactionStatus.COMPLETED, month.plusMonths(1).atDay(1).atTime(10, 0));
+
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Account a SET a.createdAt = :createdAt")
+                .setParameter("createdAt", month.minusMonths(2).atDay(1).atStartOfDay())
+                .executeUpdate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        statementProperties.setFormat(StatementFormat.CSV);
+        testDataCleaner.deleteAll();
+    }
+
+    @Test
+    @DisplayName("기초 잔액, 그달 완료 거래와 거래 후 잔액, 기말 잔액을 계좌별 CSV로 기록")
+    void generate_writesCsvWithRunningBalance() throws Exception {
+        // when
+        int generated = statementGenerator.generate(month);
+
+        // then
+        assertThat(generated).isEqualTo(2);
+
+        List<String[]> rows = csvRows(a);
+        assertThat(rows).extracting(row -> row[1]).containsExactly("OPENING", "TRANSACTION", "TRANSACTION", "CLOSING");
+        assertThat(rows).extracting(row -> row[7]).containsExactly("", "30.00", "-20.00", "");
+        assertThat(rows).extracting(row -> row[8]).containsExactly("900.00", "930.00", "910.00", "910.00");
+        assertThat(rows.get(1)[5]).isEqualTo(b.getAccountNumber());
+
+        assertThat(csvRows(b)).extracting(row -> row[8]).containsExactly("1100.00", "1070.00", "1090.00", "1090.00");
+        try (Stream<Path> files = Files.list(directory.resolve(month.toString()))) {
+            // 임시 파일은 남지 않는다
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder(
+                    a.getAccountNumber() + ".csv", b.getAccountNumber() + ".csv");
+        }
+    }
+
+    @Test
+    @DisplayName("고정 폭 텍스트 형식으로도 같은 기말 잔액을 기록")
+    void generate_writesFixedWidthText() throws Exception {
+        // given
+        statementProperties.setFormat(StatementFormat.TEXT);
+
+        // when
+        statementGenerator.generate(month);
+
+        // then
+        List<String> lines = Files.readAllLines(directory.resolve(month.toString()).resolve(a.getAccountNumber() + ".txt"));
+        assertThat(lines.get(0)).contains(a.getAccountNumber(), month.toString());
+        assertThat(lines).filteredOn(line -> line.contains("TRANSFER")).hasSize(2);
+        assertThat(lines.get(lines.size() - 1)).contains("CLOSING").endsWith("910.00 ");
+    }
+
+    @Test
+    @DisplayName("출금 거래(from = to)는 잔액에서 빼고, 다음 달 기초 잔액은 이번 달 기말 잔액과 같다")
+    void generate_subtractsWithdrawalsAndChainsMonths() throws Exception {
+        // given
+        LocalDateTime at = month.atDay(10).atTime(10, 0);
+        record(a, a, "40.00", TransactionType.WITHDRAWAL, at, at);
+        setBalance(a, "855.00");
+
+        // when
+        statementGenerator.generate(month);
+        statementGenerator.generate(month.plusMonths(1));
+
+        // then
+        List<String[]> rows = csvRows(a);
+        assertThat(rows).extracting(row -> row[4]).containsExactly("", "TRANSFER", "TRANSFER", "WITHDRAWAL", "");
+        assertThat(rows).extracting(row -> row[7]).containsExactly("", "30.00", "-20.00", "-40.00", "");
+        assertThat(rows).extracting(row -> row[8]).containsExactly("900.00", "930.00", "910.00", "870.00", "870.00");
+        assertThat(rows.get(3)[5]).isEmpty();
+
+        List<String[]> next = csvRows(a, month.plusMonths(1));
+        assertThat(next.get(0)[8]).isEqualTo("870.00");
+        assertThat(next.get(next.size() - 1)[8]).isEqualTo("855.00");
+    }
+
+    @Test
+    @DisplayName("월말에 접수되어 다음 달에 완료된 거래는 완료 시각 기준으로 다음 달 명세서에만 기록")
+    void generate_placesTransfersByCompletedAtAcrossMonths() throws Exception {
+        // given
+        LocalDateTime completedAt = month.plusMonths(1).atDay(1).atTime(0, 5);
+        record(a, b, "25.00", TransactionType.TRANSFER, month.atEndOfMonth().atTime(23, 59), completedAt);
+        setBalance(a, "870.00");
+        setBalance(b, "1130.00");
+
+        // when
+        statementGenerator.generate(month);
+        statementGenerator.generate(month.plusMonths(1));
+
+        // then
+        List<String[]> rows = csvRows(a);
+        assertThat(rows).extracting(row -> row[7]).containsExactly("", "30.00", "-20.00", "");
+        assertThat(rows.get(rows.size() - 1)[8]).isEqualTo("910.00");
+
+        List<String[]> next = csvRows(a, month.plusMonths(1));
+        assertThat(next).extracting(row -> row[7]).containsExactly("", "-25.00", "-15.00", "");
+        assertThat(next).extracting(row -> row[8]).containsExactly("910.00", "885.00", "870.00", "870.00");
+        assertThat(next.get(1)[2]).isEqualTo(completedAt.toString());
+    }
+
+    private List<String[]> csvRows(Account account) throws Exception {
+        return csvRows(account, month);
+    }
+
+    private List<String[]> csvRows(Account account, YearMonth month) throws Exception {
+        List<String> lines = Files.readAllLines(directory.resolve(month.toString()).resolve(account.getAccountNumber() + ".csv"));
+        assertThat(lines.get(0)).startsWith("accountNumber,entry,");
+        return lines.stream().skip(1).map(line -> line.split(",", -1)).toList();
+    }
+
+    private void transfer(Account from, Account to, String amount, TransactionStatus status, LocalDateTime createdAt) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .fromAccount(from)
+                .toAccount(to)
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.TRANSFER)
+                .status(status)
+                .build());
+
+        // 완료 거래는 생성 시각에 바로 완료된 것으로 기록
+        String jpql = status == TransactionStatus.COMPLETED
+                ? "UPDATE Transaction t SET t.createdAt = :createdAt, t.completedAt = :createdAt WHERE t.id = :id"
+                : "UPDATE Transaction t SET t.createdAt = :createdAt WHERE t.id = :id";
+        transactionTemplate.executeWithoutResult(tx -> entityManager
+                .createQuery(jpql)
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", transaction.getId())
+                .executeUpdate());
+    }
+
+    private void record(Account from, Account to, String amount, TransactionType type,
+                        LocalDateTime createdAt, LocalDateTime completedAt) {
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .fromAccount(from)
+                .toAccount(to)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .status(TransactionStatus.COMPLETED)
+                .build());
+
+        transactionTemplate.executeWithoutResult(tx -> entityManager
+                .createQuery("UPDATE Transaction t SET t.createdAt = :createdAt, t.completedAt = :completedAt WHERE t.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("completedAt", completedAt)
+                .setParameter("id", transaction.getId())
+                .executeUpdate());
+    }
+
+    private void setBalance(Account account, String balance) {
+        transactionTemplate.executeWithoutResult(tx -> entityManager
+                .createQuery("UPDATE Account a SET a.balance = :balance WHERE a.id = :id")
+                .setParameter("balance", new BigDecimal(balance))
+                .setParameter("id", account.getId())
+                .executeUpdate());
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.safebank.api.support;
+
+import com.safebank.api.cache.MemberCache;
+import com.safebank.api.directory.AccountDirectory;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 통합 테스트 데이터 정리 (사용하는 테스트가 @Import로 등록)
+ * 다른 테이블을 참조하는 쪽 테이블부터 비운다
+ */
+@TestComponent
+public class TestDataCleaner {
+
+    private static final List<String> ENTITIES = List.of(
+            "DailyBalance",
+            "BalanceSnapshot",
+            "Posting",
+            "IdempotencyRecord",
+            "LedgerCheckpoint",
+            "ArchivedTransaction",
+            "Transaction",
+            "AccountStripe",
+            "Account",
+            "Member");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountDirectory accountDirectory;
+    private final MemberCache memberCache;
+
+    public TestDataCleaner(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                           AccountDirectory accountDirectory, MemberCache memberCache) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountDirectory = accountDirectory;
+        this.memberCache = memberCache;
+    }
+
+    /**
+     * 회원, 계좌와 계좌에 딸린 모든 데이터를 지우고 메모리 캐시를 비운다
+     */
+    public void deleteAll() {
+        transactionTemplate.executeWithoutResult(status -> ENTITIES.forEach(entity ->
+                entityManager.createQuery("DELETE FROM " + entity).executeUpdate()));
+        accountDirectory.clear();
+        memberCache.invalidateAll();
+    }
+}
@@ -0,0 +1,35 @@
+package com.safebank.api.support;
+
+import com.safebank.api.entity.Account;
+import com.safebank.api.entity.AccountStatus;
+import com.safebank.api.entity.Member;
+import com.safebank.api.entity.MemberStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * 통합 테스트 공용 회원/계좌 생성 (저장하지 않은 엔티티를 반환)
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Member member(String name, String email) {
+        return Member.builder()
+                .name(name)
+                .email(email)
+                .phoneNumber("010-0000-0000")
+                .status(MemberStatus.ACTIVE)
+                .build();
+    }
+
+    public static Account account(Member member, String accountNumber, String balance) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .member(member)
+                .balance(new BigDecimal(balance))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
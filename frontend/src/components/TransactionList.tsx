@@ -12,6 +12,10 @@ export const TransactionList = () => {
     const [loading, setLoading] = useState(false)
     const [error, setError] = useState<string | null>(null)
     const [searchAccount, setSearchAccount] = useState('')
+    // 다음 페이지 조회용 (검색한 계좌번호와 응답의 next 커서)
+    const [searchedAccount, setSearchedAccount] = useState('')
+    const [next, setNext] = useState<string | null>(null)
+    const [loadingMore, setLoadingMore] = useState(false)
 
     const handleSearch = async () => {
         if (!searchAccount.trim()) {
@@ -22,15 +26,34 @@ export const TransactionList = () => {
         try {
             setLoading(true)
             setError(null)
-            const response = await transactionService.getByAccountNumber(searchAccount.trim())
+            const accountNumber = searchAccount.trim()
+            const response = await transactionService.getByAccountNumber(accountNumber)
             setTransactions(response.data.content || [])
+            setSearchedAccount(accountNumber)
+            setNext(response.data.next ?? null)
         } catch (err) {
             setError('거래 내역을 불러오는데 실패했습니다.')
+            setNext(null)
         } finally {
             setLoading(false)
         }
     }
 
+    const handleLoadMore = async () => {
+        if (!next) return
+
+        try {
+            setLoadingMore(true)
+            const response = await transactionService.getByAccountNumber(searchedAccount, next)
+            setTransactions((prev) => [...prev, ...(response.data.content || [])])
+            setNext(response.data.next ?? null)
+        } catch (err) {
+            setError('거래 내역을 불러오는데 실패했습니다.')
+        } finally {
+            setLoadingMore(false)
+        }
+    }
+
     return (
         <div className="space-y-6">
             <Card>
@@ -99,6 +122,13 @@ export const TransactionList = () => {
                                     </div>
                                 ))}
                             </div>
+                            {next && (
+                                <div className="flex justify-center">
+                                    <Button variant="secondary" onClick={handleLoadMore} disabled={loadingMore}>
+                                        {loadingMore ? '불러오는 중...' : '더 보기'}
+                                    </Button>
+                                </div>
+                            )}
                         </div>
                     </Card>
                 ) : searchAccount && !loading ? (
@@ -11,14 +11,17 @@ import { toast } from "sonner";
 export const MemberPage = () => {
   const {
     members,
+    next,
     loading,
     error,
     setMembers,
+    appendMembers,
     addMember,
     setLoading,
     setError,
   } = useMemberStore();
   const [showForm, setShowForm] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadMembers();
@@ -27,8 +30,8 @@ export const MemberPage = () => {
   const loadMembers = async () => {
     try {
       setLoading(true);
-      const response = await memberService.getAll();
-      setMembers(response.data);
+      const response = await memberService.getPage();
+      setMembers(response.data.content, response.data.next);
     } catch (err) {
       toast.error("회원 목록을 불러오는데 실패했습니다.");
       setError("회원 목록을 불러오는데 실패했습니다.");
@@ -37,6 +40,20 @@ export const MemberPage = () => {
     }
   };
 
+  // 다음 페이지는 사용자가 요청할 때만 조회
+  const loadMoreMembers = async () => {
+    if (!next) return;
+    try {
+      setLoadingMore(true);
+      const response = await memberService.getPage(next);
+      appendMembers(response.data.content, response.data.next);
+    } catch (err) {
+      toast.error("회원 목록을 불러오는데 실패했습니다.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleCreateMember = async (data: MemberCreateRequest) => {
     try {
       setLoading(true);
@@ -76,7 +93,16 @@ export const MemberPage = () => {
       {showForm ? (
         <MemberForm onSubmit={handleCreateMember} isLoading={loading} />
       ) : (
-        <MemberList members={members} loading={loading} />
+        <>
+          <MemberList members={members} loading={loading} />
+          {next && (
+            <div className="flex justify-center">
+              <Button variant="secondary" onClick={loadMoreMembers} disabled={loadingMore}>
+                {loadingMore ? "불러오는 중..." : "더 보기"}
+              </Button>
+            </div>
+          )}
+        </>
       )}
     </div>
   );
@@ -12,9 +12,10 @@ import { TransactionList } from "../components/TransactionList";
 import { toast } from "sonner";
 
 export const TransactionPage = () => {
-  const { accounts, setAccounts } = useAccountStore();
+  const { accounts, next, setAccounts, appendAccounts } = useAccountStore();
   const [showForm, setShowForm] = useState(false);
   const [loading, setLoading] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
 
   useEffect(() => {
@@ -23,14 +24,28 @@ export const TransactionPage = () => {
 
   const loadAccounts = async () => {
     try {
-      const response = await accountService.getAll();
-      setAccounts(response.data);
+      const response = await accountService.getPage();
+      setAccounts(response.data.content, response.data.next);
     } catch (err) {
       toast.error("계좌 목록을 불러오는데 실패했습니다.");
       setError("계좌 목록을 불러오는데 실패했습니다.");
     }
   };
 
+  // 다음 페이지는 사용자가 요청할 때만 조회
+  const loadMoreAccounts = async () => {
+    if (!next) return;
+    try {
+      setLoadingMore(true);
+      const response = await accountService.getPage(next);
+      appendAccounts(response.data.content, response.data.next);
+    } catch (err) {
+      toast.error("계좌 목록을 불러오는데 실패했습니다.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleTransfer = async (data: TransferRequest) => {
     try {
       setLoading(true);
@@ -66,11 +81,20 @@ export const TransactionPage = () => {
       )}
 
       {showForm ? (
-        <TransferForm
-          onSubmit={handleTransfer}
-          isLoading={loading}
-          accounts={accounts}
-        />
+        <>
+          <TransferForm
+            onSubmit={handleTransfer}
+            isLoading={loading}
+            accounts={accounts}
+          />
+          {next && (
+            <div className="flex justify-center">
+              <Button variant="secondary" onClick={loadMoreAccounts} disabled={loadingMore}>
+                {loadingMore ? "불러오는 중..." : "계좌 더 불러오기"}
+              </Button>
+            </div>
+          )}
+        </>
       ) : (
         <TransactionList />
       )}
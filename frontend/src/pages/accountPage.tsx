@@ -13,15 +13,23 @@ import { toast } from "sonner";
 export const AccountPage = () => {
   const {
     accounts,
+    next,
     loading,
     error,
     setAccounts,
+    appendAccounts,
     addAccount,
     setLoading,
     setError,
   } = useAccountStore();
-  const { members, setMembers } = useMemberStore();
+  const {
+    members,
+    next: nextMembers,
+    setMembers,
+    appendMembers,
+  } = useMemberStore();
   const [showForm, setShowForm] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadAccounts();
@@ -31,8 +39,8 @@ export const AccountPage = () => {
   const loadAccounts = async () => {
     try {
       setLoading(true);
-      const response = await accountService.getAll();
-      setAccounts(response.data);
+      const response = await accountService.getPage();
+      setAccounts(response.data.content, response.data.next);
     } catch (err) {
       toast.error("계좌 목록을 불러오는데 실패했습니다.");
       setError("계좌 목록을 불러오는데 실패했습니다.");
@@ -43,13 +51,40 @@ export const AccountPage = () => {
 
   const loadMembers = async () => {
     try {
-      const response = await memberService.getAll();
-      setMembers(response.data);
+      const response = await memberService.getPage();
+      setMembers(response.data.content, response.data.next);
     } catch (err) {
       console.error("회원 목록 로드 실패 : ", error);
     }
   };
 
+  // 다음 페이지는 사용자가 요청할 때만 조회
+  const loadMoreAccounts = async () => {
+    if (!next) return;
+    try {
+      setLoadingMore(true);
+      const response = await accountService.getPage(next);
+      appendAccounts(response.data.content, response.data.next);
+    } catch (err) {
+      toast.error("계좌 목록을 불러오는데 실패했습니다.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const loadMoreMembers = async () => {
+    if (!nextMembers) return;
+    try {
+      setLoadingMore(true);
+      const response = await memberService.getPage(nextMembers);
+      appendMembers(response.data.content, response.data.next);
+    } catch (err) {
+      toast.error("회원 목록을 불러오는데 실패했습니다.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleCreateAccount = async (data: AccountCreateRequest) => {
     try {
       setLoading(true);
@@ -85,13 +120,31 @@ export const AccountPage = () => {
       )}
 
       {showForm ? (
-        <AccountForm
-          onSubmit={handleCreateAccount}
-          isLoading={loading}
-          members={members}
-        />
+        <>
+          <AccountForm
+            onSubmit={handleCreateAccount}
+            isLoading={loading}
+            members={members}
+          />
+          {nextMembers && (
+            <div className="flex justify-center">
+              <Button variant="secondary" onClick={loadMoreMembers} disabled={loadingMore}>
+                {loadingMore ? "불러오는 중..." : "회원 더 불러오기"}
+              </Button>
+            </div>
+          )}
+        </>
       ) : (
-        <AccountList accounts={accounts} loading={loading} />
+        <>
+          <AccountList accounts={accounts} loading={loading} />
+          {next && (
+            <div className="flex justify-center">
+              <Button variant="secondary" onClick={loadMoreAccounts} disabled={loadingMore}>
+                {loadingMore ? "불러오는 중..." : "더 보기"}
+              </Button>
+            </div>
+          )}
+        </>
       )}
     </div>
   );
@@ -1,10 +1,10 @@
-import type { ApiResponse } from "../types/api.ts";
+import type { ApiResponse, CursorPage } from "../types/api.ts";
 import type { Account, AccountCreateRequest } from "../types/account.ts";
-import api from "./api.ts";
+import api, { getPage } from "./api.ts";
 
 export const accountService = {
-  getAll: (): Promise<ApiResponse<Account[]>> =>
-    api.get("/accounts").then((res) => res.data),
+  getPage: (cursor?: string): Promise<ApiResponse<CursorPage<Account>>> =>
+    getPage<Account>("/accounts", cursor),
   getCount: (): Promise<ApiResponse<number>> =>
     api.get("/accounts/count").then((res) => res.data),
   getByNumber: (accountNumber: string): Promise<ApiResponse<Account>> =>
@@ -1,4 +1,5 @@
 import axios from "axios";
+import type { ApiResponse, CursorPage } from "../types/api.ts";
 
 const api = axios.create({
     baseURL: '/api',
@@ -27,4 +28,8 @@ api.interceptors.response.use(
     }
 )
 
-export default api;
\ No newline at end of file
+export default api;
+
+// 키셋 페이지 목록 API에서 한 페이지만 조회 (다음 페이지는 응답의 next를 cursor로 넘겨 필요할 때 조회)
+export const getPage = <T>(url: string, cursor?: string, size = 20): Promise<ApiResponse<CursorPage<T>>> =>
+    api.get(url, { params: { cursor, size } }).then((res) => res.data)
@@ -1,11 +1,11 @@
-import type { ApiResponse } from "../types/api.ts";
+import type { ApiResponse, CursorPage } from "../types/api.ts";
 import type { Member, MemberCreateRequest } from "../types/member.ts";
-import api from "./api.ts";
+import api, { getPage } from "./api.ts";
 import type { Account } from "../types/account.ts";
 
 export const memberService = {
-  getAll: (): Promise<ApiResponse<Member[]>> =>
-    api.get("/members").then((res) => res.data),
+  getPage: (cursor?: string): Promise<ApiResponse<CursorPage<Member>>> =>
+    getPage<Member>("/members", cursor),
   getCount: (): Promise<ApiResponse<number>> =>
     api.get("/members/count").then((res) => res.data),
   getById: (id: number): Promise<ApiResponse<Member>> =>
@@ -1,19 +1,16 @@
-/* eslint-disable @typescript-eslint/no-explicit-any */
-import type { ApiResponse } from "../types/api";
+import type { ApiResponse, CursorPage } from "../types/api";
 import type { Transaction, TransferRequest } from "../types/transaction";
-import api from "./api";
+import api, { getPage } from "./api";
 
 export const transactionService = {
   transfer: (data: TransferRequest): Promise<ApiResponse<Transaction>> =>
     api.post("/accounts/transfer", data).then((res) => res.data),
   getByAccountNumber: (
     accountNumber: string,
-    page = 0,
+    cursor?: string,
     size = 20
-  ): Promise<ApiResponse<any>> =>
-    api
-      .get(`/accounts/${accountNumber}/transactions?page=${page}&size=${size}`)
-      .then((res) => res.data),
+  ): Promise<ApiResponse<CursorPage<Transaction>>> =>
+    getPage<Transaction>(`/accounts/${accountNumber}/transactions`, cursor, size),
   getTransactionCount: (): Promise<ApiResponse<number>> =>
     api.get("/accounts/transactions/count").then((res) => res.data),
 };
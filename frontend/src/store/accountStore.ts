@@ -3,10 +3,12 @@ import {create} from "zustand/react";
 
 interface AccountState {
     accounts: Account[];
+    next: string | null;
     selectedAccount: Account | null;
     loading: boolean;
     error: string | null;
-    setAccounts: (accounts: Account[]) => void;
+    setAccounts: (accounts: Account[], next?: string | null) => void;
+    appendAccounts: (accounts: Account[], next?: string | null) => void;
     setSelectedAccount: (account: Account | null) => void;
     addAccount: (account: Account) => void;
     setLoading: (loading: boolean) => void;
@@ -15,10 +17,12 @@ interface AccountState {
 
 export const useAccountStore = create<AccountState>((set) => ({
     accounts: [],
+    next: null,
     selectedAccount: null,
     loading: false,
     error: null,
-    setAccounts: (accounts) => set({ accounts }),
+    setAccounts: (accounts, next = null) => set({ accounts, next }),
+    appendAccounts: (accounts, next = null) => set((state) => ({ accounts: [...state.accounts, ...accounts], next })),
     setSelectedAccount: (account) => set({ selectedAccount: account }),
     addAccount: (account) => set((state) => ({ accounts: [...state.accounts, account]})),
     setLoading: (loading) => set({ loading }),
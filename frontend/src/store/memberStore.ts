@@ -3,10 +3,12 @@ import {create} from "zustand/react";
 
 interface MemberState {
     members: Member[];
+    next: string | null;
     selectedMember: Member | null;
     loading: boolean;
     error: string | null;
-    setMembers: (members: Member[]) => void;
+    setMembers: (members: Member[], next?: string | null) => void;
+    appendMembers: (members: Member[], next?: string | null) => void;
     setSelectedMember: (member: Member | null) => void;
     addMember: (member: Member) => void;
     setLoading: (loading: boolean) => void;
@@ -15,10 +17,12 @@ interface MemberState {
 
 export const useMemberStore = create<MemberState>((set) => ({
     members: [],
+    next: null,
     selectedMember: null,
     loading: false,
     error: null,
-    setMembers: (members) => set({ members }),
+    setMembers: (members, next = null) => set({ members, next }),
+    appendMembers: (members, next = null) => set((state) => ({ members: [...state.members, ...members], next })),
     setSelectedMember: (member) => set({ selectedMember: member }),
     addMember: (member) => set((state) => ({ members: [...state.members, member]})),
     setLoading: (loading) => set({ loading }),
@@ -3,4 +3,12 @@ export interface ApiResponse<T> {
     message: string;
     data: T;
     timestamp: string;
-}
\ No newline at end of file
+}
+
+export interface CursorPage<T> {
+    content: T[];
+    size: number;
+    hasNext: boolean;
+    next?: string;
+    totalCount?: number;
+}